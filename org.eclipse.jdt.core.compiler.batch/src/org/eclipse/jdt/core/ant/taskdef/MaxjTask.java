@@ -9,6 +9,9 @@ import org.apache.tools.ant.Project;
 import org.apache.tools.ant.Task;
 import org.apache.tools.ant.types.Path;
 import org.apache.tools.ant.types.Reference;
+import org.eclipse.jdt.internal.compiler.batch.ClassFileArchive;
+import org.eclipse.jdt.internal.compiler.batch.CompileClient;
+import org.eclipse.jdt.internal.compiler.batch.CompileServer;
 import org.eclipse.jdt.internal.compiler.batch.Main;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.compiler.util.Util;
@@ -37,6 +40,16 @@ public class MaxjTask extends Task{
 		private String source;
 		private String encoding;
 		private boolean listFiles;
+		private int parseWorkers;
+		private int waveSize;
+		private int readAhead;
+		private int readThreads;
+		private File timingReport;
+		private boolean methodLookupCache;
+		private boolean compress;
+		private boolean compileServer;
+		private File compileServerPortFile;
+		private File incrementalState;
 
 		private Path classpathPath;
 		private Path modulePath;
@@ -66,6 +79,16 @@ public class MaxjTask extends Task{
 			this.nowarn = false;
 			this.encoding = EMPTY_STRING;
 			this.listFiles = false;
+			this.parseWorkers = 0;
+			this.waveSize = 0;
+			this.readAhead = 0;
+			this.readThreads = 0;
+			this.timingReport = null;
+			this.methodLookupCache = false;
+			this.compress = true;
+			this.compileServer = false;
+			this.compileServerPortFile = null;
+			this.incrementalState = null;
 
 			this.classpathPath = null;
 			this.modulePath = null;
@@ -122,8 +145,15 @@ public class MaxjTask extends Task{
 						log("Compiler options:",Project.MSG_VERBOSE);//$NON-NLS-1$
 					}
 				}
-				Main compiler = new Main(new PrintWriter(System.out), new PrintWriter(System.err),true, this.customDefaultOptions, null);
-				boolean success = compiler.compile(argStringArray);
+				boolean success;
+				if (this.compileServer) {
+					// compiles in-process if no server is running
+					File portFile = this.compileServerPortFile != null ? this.compileServerPortFile : CompileServer.getDefaultPortFile();
+					success = new CompileClient(portFile).compile(argStringArray, this.customDefaultOptions, new PrintWriter(System.out), new PrintWriter(System.err));
+				} else {
+					Main compiler = new Main(new PrintWriter(System.out), new PrintWriter(System.err), false/*systemExit*/, this.customDefaultOptions, null);
+					success = compiler.compile(argStringArray);
+				}
 				if(!success){
 					if(this.failonerror){
 						throw new BuildException(FAIL_MSG, getLocation());
@@ -263,7 +293,18 @@ public class MaxjTask extends Task{
 				this.customDefaultOptions.put(CompilerOptions.OPTION_ReportDeprecationInDeprecatedCode, CompilerOptions.DISABLED);
 				this.customDefaultOptions.put(CompilerOptions.OPTION_ReportDeprecationWhenOverridingDeprecatedMethod, CompilerOptions.DISABLED);
 			}
-			if(!this.destdir.equals(EMPTY_STRING)){
+			if (ClassFileArchive.isArchive(this.destdir)) {
+				this.arguments.add("-d"); //$NON-NLS-1$
+				this.arguments.add(this.destdir);
+				this.arguments.add("-proc:none"); //$NON-NLS-1$
+				if (!this.compress) {
+					this.arguments.add("-uncompressed"); //$NON-NLS-1$
+				}
+				log("",Project.MSG_INFO);//$NON-NLS-1$
+				log("",Project.MSG_INFO);//$NON-NLS-1$
+				log("Compiling to archive " + this.destdir ,Project.MSG_INFO);//$NON-NLS-1$
+			}
+			else if(!this.destdir.equals(EMPTY_STRING)){
 				this.arguments.add("-d"); //$NON-NLS-1$
 				this.arguments.add(this.destdir);
 				log("",Project.MSG_INFO);//$NON-NLS-1$
@@ -281,6 +322,30 @@ public class MaxjTask extends Task{
 			if (!this.failonerror) {
 				this.arguments.add("-proceedOnError"); //$NON-NLS-1$
 			}
+			if (this.parseWorkers > 0) {
+				this.arguments.add("-parseWorkers"); //$NON-NLS-1$
+				this.arguments.add(String.valueOf(this.parseWorkers));
+			}
+			if (this.waveSize > 0) {
+				this.arguments.add("-waveSize"); //$NON-NLS-1$
+				this.arguments.add(String.valueOf(this.waveSize));
+			}
+			if (this.readAhead > 0) {
+				this.arguments.add("-readAhead"); //$NON-NLS-1$
+				this.arguments.add(String.valueOf(this.readAhead));
+			}
+			if (this.readThreads > 0) {
+				this.arguments.add("-readThreads"); //$NON-NLS-1$
+				this.arguments.add(String.valueOf(this.readThreads));
+			}
+			if (this.timingReport != null) {
+				this.arguments.add("-timingReport"); //$NON-NLS-1$
+				this.arguments.add(this.timingReport.getAbsolutePath());
+			}
+			if (this.incrementalState != null) {
+				this.arguments.add("-incremental"); //$NON-NLS-1$
+				this.arguments.add(this.incrementalState.getAbsolutePath());
+			}
 
 			for(int i = 0; i < this.compilersArg.size(); i++){
 				this.arguments.add(this.compilersArg.get(i).getValue());
@@ -288,6 +353,9 @@ public class MaxjTask extends Task{
 			if (this.targetPlatform != null) {
 				this.customDefaultOptions.put(CompilerOptions.OPTION_TargetPlatform, this.targetPlatform);
 			}
+			if (this.methodLookupCache) {
+				this.customDefaultOptions.put(CompilerOptions.OPTION_MethodLookupCache, CompilerOptions.ENABLED);
+			}
 			if (this.source != null) {
 				this.customDefaultOptions.put(CompilerOptions.OPTION_Source, this.source);
 			}
@@ -457,4 +525,34 @@ public class MaxjTask extends Task{
 	    public void setEncoding(String encoding) {
 			this.encoding = encoding;
 	    }
+	    public void setParseworkers(int parseWorkers) {
+			this.parseWorkers = parseWorkers;
+	    }
+	    public void setWavesize(int waveSize) {
+			this.waveSize = waveSize;
+	    }
+	    public void setReadahead(int readAhead) {
+			this.readAhead = readAhead;
+	    }
+	    public void setReadthreads(int readThreads) {
+			this.readThreads = readThreads;
+	    }
+	    public void setTimingreport(File timingReport) {
+			this.timingReport = timingReport;
+	    }
+	    public void setCompress(boolean compress) {
+			this.compress = compress;
+	    }
+	    public void setMethodlookupcache(boolean methodLookupCache) {
+			this.methodLookupCache = methodLookupCache;
+	    }
+	    public void setCompileserver(boolean compileServer) {
+			this.compileServer = compileServer;
+	    }
+	    public void setCompileserverportfile(File portFile) {
+			this.compileServerPortFile = portFile;
+	    }
+	    public void setIncrementalstate(File incrementalState) {
+			this.incrementalState = incrementalState;
+	    }
 }
@@ -6134,7 +6134,7 @@ public class ClassFile implements TypeConstants, TypeIds {
 		}
 	}
 
-	private void initializeLocals(boolean isStatic, int currentPC, StackMapFrame currentFrame) {
+	private void initializeLocals(boolean isStatic, int currentPC, StackMapFrame currentFrame, VerificationTypeInfo[] localTypes) {
 		VerificationTypeInfo[] locals = currentFrame.locals;
 		int localsLength = locals.length;
 		int i = 0;
@@ -6159,9 +6159,11 @@ public class ClassFile implements TypeConstants, TypeIds {
 				} else if (currentPC < endPC) {
 					// the current local is an active local
 					if (currentFrame.locals[resolvedPosition] == null) {
-						currentFrame.locals[resolvedPosition] =
-								new VerificationTypeInfo(
-										localVariableTypeBinding);
+						VerificationTypeInfo localType = localTypes[i];
+						if (localType == null) {
+							localTypes[i] = localType = new VerificationTypeInfo(localVariableTypeBinding);
+						}
+						currentFrame.locals[resolvedPosition] = localType;
 					}
 					continue locals;
 				}
@@ -6667,6 +6669,8 @@ public class ClassFile implements TypeConstants, TypeIds {
 		}
 		frame.pc = -1;
 		add(frames, frame.duplicate(), scope);
+		// one verification type per local variable, shared by all the frames where the local is live
+		VerificationTypeInfo[] localTypes = new VerificationTypeInfo[this.codeStream.allLocalsCounter];
 		addRealJumpTarget(realJumpTarget, -1);
 		for (int i = 0, max = this.codeStream.exceptionLabelsCounter; i < max; i++) {
 			ExceptionLabel exceptionLabel = this.codeStream.exceptionLabels[i];
@@ -6700,10 +6704,10 @@ public class ClassFile implements TypeConstants, TypeIds {
 				// need to build a new frame and create a stack map attribute entry
 				StackMapFrame currentFrame = frames.get(Integer.valueOf(currentPC));
 				if (currentFrame == null) {
-					currentFrame = createNewFrame(currentPC, frame, isClinit, methodBinding);
+					currentFrame = createNewFrame(currentPC, frame, localTypes, isClinit, methodBinding);
 					add(frames, currentFrame, scope);
 				} else {
-					frame = currentFrame.merge(frame.duplicate(), scope).duplicate();
+					frame = currentFrame.merge(frame, scope).duplicate();
 				}
 				indexInFramePositions++;
 				if (indexInFramePositions < framePositionsLength) {
@@ -7249,7 +7253,7 @@ public class ClassFile implements TypeConstants, TypeIds {
 				case Opcodes.OPC_ifle:
 					frame.numberOfStackItems--;
 					int jumpPC = currentPC + i2At(bytecodes, 1, pc);
-					addRealJumpTarget(realJumpTarget, jumpPC, frames, createNewFrame(jumpPC, frame, isClinit, methodBinding), scope);
+					addRealJumpTarget(realJumpTarget, jumpPC, frames, frame, localTypes, isClinit, methodBinding, scope);
 					pc += 3;
 					break;
 				case Opcodes.OPC_if_icmpeq:
@@ -7262,12 +7266,12 @@ public class ClassFile implements TypeConstants, TypeIds {
 				case Opcodes.OPC_if_acmpne:
 					frame.numberOfStackItems -= 2;
 					jumpPC = currentPC + i2At(bytecodes, 1, pc);
-					addRealJumpTarget(realJumpTarget, jumpPC, frames, createNewFrame(jumpPC, frame, isClinit, methodBinding), scope);
+					addRealJumpTarget(realJumpTarget, jumpPC, frames, frame, localTypes, isClinit, methodBinding, scope);
 					pc += 3;
 					break;
 				case Opcodes.OPC_goto:
 					jumpPC = currentPC + i2At(bytecodes, 1, pc);
-					addRealJumpTarget(realJumpTarget, jumpPC, frames, createNewFrame(jumpPC, frame, isClinit, methodBinding), scope);
+					addRealJumpTarget(realJumpTarget, jumpPC, frames, frame, localTypes, isClinit, methodBinding, scope);
 					pc += 3;
 					addRealJumpTarget(realJumpTarget, pc - codeOffset);
 					break;
@@ -7279,7 +7283,7 @@ public class ClassFile implements TypeConstants, TypeIds {
 					}
 					// default offset
 					jumpPC = currentPC + i4At(bytecodes, 0, pc);
-					addRealJumpTarget(realJumpTarget, jumpPC, frames, createNewFrame(jumpPC, frame, isClinit, methodBinding), scope);
+					addRealJumpTarget(realJumpTarget, jumpPC, frames, frame, localTypes, isClinit, methodBinding, scope);
 					pc += 4; // default
 					int low = i4At(bytecodes, 0, pc);
 					pc += 4;
@@ -7289,7 +7293,7 @@ public class ClassFile implements TypeConstants, TypeIds {
 					for (int i = 0; i < length; i++) {
 						// pair offset
 						jumpPC = currentPC + i4At(bytecodes, 0, pc);
-						addRealJumpTarget(realJumpTarget, jumpPC, frames, createNewFrame(jumpPC, frame, isClinit, methodBinding), scope);
+						addRealJumpTarget(realJumpTarget, jumpPC, frames, frame, localTypes, isClinit, methodBinding, scope);
 						pc += 4;
 					}
 					break;
@@ -7300,7 +7304,7 @@ public class ClassFile implements TypeConstants, TypeIds {
 						pc++;
 					}
 					jumpPC = currentPC + i4At(bytecodes, 0, pc);
-					addRealJumpTarget(realJumpTarget, jumpPC, frames, createNewFrame(jumpPC, frame, isClinit, methodBinding), scope);
+					addRealJumpTarget(realJumpTarget, jumpPC, frames, frame, localTypes, isClinit, methodBinding, scope);
 					pc += 4; // default offset
 					int npairs = (int) u4At(bytecodes, 0, pc);
 					pc += 4; // npair value
@@ -7308,7 +7312,7 @@ public class ClassFile implements TypeConstants, TypeIds {
 						pc += 4; // case value
 						// pair offset
 						jumpPC = currentPC + i4At(bytecodes, 0, pc);
-						addRealJumpTarget(realJumpTarget, jumpPC, frames, createNewFrame(jumpPC, frame, isClinit, methodBinding), scope);
+						addRealJumpTarget(realJumpTarget, jumpPC, frames, frame, localTypes, isClinit, methodBinding, scope);
 						pc += 4;
 					}
 					break;
@@ -7657,12 +7661,12 @@ public class ClassFile implements TypeConstants, TypeIds {
 				case Opcodes.OPC_ifnonnull:
 					frame.numberOfStackItems--;
 					jumpPC =  currentPC + i2At(bytecodes, 1, pc);
-					addRealJumpTarget(realJumpTarget, jumpPC, frames, createNewFrame(jumpPC, frame, isClinit, methodBinding), scope);
+					addRealJumpTarget(realJumpTarget, jumpPC, frames, frame, localTypes, isClinit, methodBinding, scope);
 					pc += 3;
 					break;
 				case Opcodes.OPC_goto_w:
 					jumpPC =  currentPC + i4At(bytecodes, 1, pc);
-					addRealJumpTarget(realJumpTarget, jumpPC, frames, createNewFrame(jumpPC, frame, isClinit, methodBinding), scope);
+					addRealJumpTarget(realJumpTarget, jumpPC, frames, frame, localTypes, isClinit, methodBinding, scope);
 					pc += 5;
 					addRealJumpTarget(realJumpTarget, pc - codeOffset); // handle infinite loop
 					break;
@@ -7701,11 +7705,11 @@ public class ClassFile implements TypeConstants, TypeIds {
 		// Plant a breakpoint at the call site to conveniently hover.
 	}
 
-	private StackMapFrame createNewFrame(int currentPC, StackMapFrame frame, boolean isClinit, MethodBinding methodBinding) {
+	private StackMapFrame createNewFrame(int currentPC, StackMapFrame frame, VerificationTypeInfo[] localTypes, boolean isClinit, MethodBinding methodBinding) {
 		StackMapFrame newFrame = frame.duplicate();
 		newFrame.pc = currentPC;
 		// initialize locals
-		initializeLocals(isClinit ? true : methodBinding.isStatic(), currentPC, newFrame);
+		initializeLocals(isClinit ? true : methodBinding.isStatic(), currentPC, newFrame, localTypes);
 		return newFrame;
 	}
 
@@ -7721,9 +7725,17 @@ public class ClassFile implements TypeConstants, TypeIds {
 		realJumpTarget.add(Integer.valueOf(pc));
 	}
 
-	private void addRealJumpTarget(Set<Integer> realJumpTarget, int pc, Map<Integer, StackMapFrame> frames, StackMapFrame frame, Scope scope) {
-		realJumpTarget.add(Integer.valueOf(pc));
-		add(frames, frame, scope);
+	private void addRealJumpTarget(Set<Integer> realJumpTarget, int pc, Map<Integer, StackMapFrame> frames, StackMapFrame frame,
+			VerificationTypeInfo[] localTypes, boolean isClinit, MethodBinding methodBinding, Scope scope) {
+		Integer key = Integer.valueOf(pc);
+		realJumpTarget.add(key);
+		StackMapFrame existingFrame = frames.get(key);
+		if (existingFrame == null) {
+			frames.put(key, createNewFrame(pc, frame, localTypes, isClinit, methodBinding));
+		} else {
+			// an existing frame keeps its locals, there is no need to build a new frame only to merge its stack items
+			existingFrame.mergeStackItems(frame, scope);
+		}
 	}
 
 	private void add(Map<Integer, StackMapFrame> frames, StackMapFrame frame, Scope scope) {
@@ -62,6 +62,7 @@ public class CompilationResult {
 	public char[][][] qualifiedReferences;
 	public char[][] simpleNameReferences;
 	public char[][] rootReferences;
+	public char[][] operatorReferences; // selectors of the overloaded operator methods looked up by the unit
 	public boolean hasAnnotations = false;
 	public boolean hasFunctionalTypes = false;
 	public int lineSeparatorPositions[];
@@ -0,0 +1,288 @@
+package org.eclipse.jdt.internal.compiler;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.core.compiler.InvalidInputException;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
+import org.eclipse.jdt.internal.compiler.parser.Scanner;
+import org.eclipse.jdt.internal.compiler.parser.TerminalToken;
+import org.eclipse.jdt.internal.compiler.problem.AbortCompilation;
+import org.eclipse.jdt.internal.compiler.util.HashtableOfIntValues;
+
+/**
+ * Splits a large set of source units into waves that can be compiled one after the other (see
+ * {@link Compiler#waveSize}).
+ * <p>
+ * A compilation keeps the declarations, bindings and results of all its units reachable until it ends. When the
+ * units are compiled in waves instead, the lookup environment is reset after each wave and the types of earlier waves
+ * are read back from their class files by a {@link WaveNameEnvironment}, so the memory needed no longer grows with
+ * the number of units. This requires every unit to be compiled no earlier than the units declaring the types it
+ * depends on.
+ * </p>
+ * <p>
+ * Dependencies are approximated from the tokens of each unit: a unit depends on every unit declaring a type whose
+ * simple name it mentions. Types a unit uses without naming them (e.g. the return type of a method it invokes) are
+ * named by the unit declaring that method, which is compiled no later. Units depending on each other are kept in the
+ * same wave, and waves are filled with such groups in dependency order.
+ * </p>
+ */
+public class CompilationWaves {
+
+	/**
+	 * Answers the indexes of the given units grouped in waves of about the given size, in the order they must be
+	 * compiled, or <code>null</code> if the units must be compiled at once.
+	 */
+	public static int[][] plan(ICompilationUnit[] sourceUnits, int waveSize, CompilerOptions options) {
+		int unitCount = sourceUnits.length;
+		if (waveSize <= 0 || unitCount <= waveSize)
+			return null;
+		for (ICompilationUnit sourceUnit : sourceUnits) {
+			if (CharOperation.endsWith(sourceUnit.getFileName(), TypeConstants.MODULE_INFO_FILE_NAME))
+				return null; // the types of a module must be compiled along with its descriptor
+		}
+		int[][] dependencies = collectDependencies(sourceUnits, options);
+		if (dependencies == null)
+			return null;
+		List<int[]> waves = new ArrayList<>();
+		int[] wave = new int[waveSize];
+		int waveLength = 0;
+		for (int[] component : stronglyConnectedComponents(dependencies)) {
+			if (waveLength + component.length > wave.length)
+				wave = Arrays.copyOf(wave, waveLength + component.length); // a group of units bigger than a wave
+			System.arraycopy(component, 0, wave, waveLength, component.length);
+			waveLength += component.length;
+			if (waveLength >= waveSize) {
+				waves.add(sortedWave(wave, waveLength));
+				wave = new int[waveSize];
+				waveLength = 0;
+			}
+		}
+		if (waveLength > 0)
+			waves.add(sortedWave(wave, waveLength));
+		return waves.size() > 1 ? waves.toArray(new int[waves.size()][]) : null;
+	}
+
+	private static int[] sortedWave(int[] wave, int length) {
+		int[] units = Arrays.copyOf(wave, length);
+		Arrays.sort(units); // units of a wave are compiled in their original order
+		return units;
+	}
+
+	/**
+	 * Answers the indexes of the units each unit depends on, or <code>null</code> if a unit cannot be tokenized.
+	 */
+	private static int[][] collectDependencies(ICompilationUnit[] sourceUnits, CompilerOptions options) {
+		int unitCount = sourceUnits.length;
+		Scanner scanner = new Scanner(
+				options.docCommentSupport /*javadoc references*/,
+				false /*whitespace*/,
+				false /*nls*/,
+				options.sourceLevel,
+				options.complianceLevel,
+				null /*taskTags*/,
+				null /*taskPriorities*/,
+				true /*taskCaseSensitive*/,
+				options.enablePreviewFeatures);
+		HashtableOfIntValues identifiers = new HashtableOfIntValues(unitCount * 16);
+		int[][] references = new int[unitCount][];
+		int[][] declarations = new int[unitCount][];
+		IdentifierSet referenced = new IdentifierSet();
+		IdentifierSet declared = new IdentifierSet();
+		int recordId = identifierId(identifiers, TypeConstants.RECORD_RESTRICTED_IDENTIFIER);
+		for (int i = 0; i < unitCount; i++) {
+			referenced.clear();
+			declared.clear();
+			try {
+				char[] source = sourceUnits[i].getContents();
+				scanner.setSource(source);
+				TerminalToken previous = TerminalToken.TokenNameEOF;
+				TerminalToken token;
+				while ((token = scanner.getNextToken()) != TerminalToken.TokenNameEOF) {
+					int id = -1;
+					switch (token) {
+						case TokenNameIdentifier:
+							id = identifierId(identifiers, scanner.getCurrentIdentifierSource());
+							referenced.add(id);
+							switch (previous) {
+								case TokenNameclass:
+								case TokenNameinterface:
+								case TokenNameenum:
+								case TokenNameRestrictedIdentifierrecord:
+									declared.add(id);
+									break;
+								default:
+									break;
+							}
+							break;
+						case TokenNameCOMMENT_JAVADOC:
+							addJavadocReferences(identifiers, source, scanner.startPosition, scanner.currentPosition, referenced);
+							continue; // not a token of the declarations
+						case TokenNameCOMMENT_LINE:
+						case TokenNameCOMMENT_BLOCK:
+						case TokenNameCOMMENT_MARKDOWN:
+							continue;
+						default:
+							break;
+					}
+					// without a parser, 'record' may be scanned as a plain identifier
+					previous = id == recordId ? TerminalToken.TokenNameRestrictedIdentifierrecord : token;
+				}
+			} catch (InvalidInputException | AbortCompilation e) {
+				return null; // leave the problem to be reported by a regular compilation
+			}
+			references[i] = referenced.toArray();
+			declarations[i] = declared.toArray();
+		}
+
+		// units declaring each simple name
+		int[][] declaringUnits = new int[identifiers.elementSize][];
+		int[] declaringCounts = new int[identifiers.elementSize];
+		for (int i = 0; i < unitCount; i++) {
+			for (int id : declarations[i]) {
+				int[] units = declaringUnits[id];
+				if (units == null)
+					declaringUnits[id] = units = new int[1];
+				else if (declaringCounts[id] == units.length)
+					declaringUnits[id] = units = Arrays.copyOf(units, units.length * 2);
+				units[declaringCounts[id]++] = i;
+			}
+		}
+		int[][] dependencies = new int[unitCount][];
+		int[] seenBy = new int[unitCount]; // unit index + 1 of the last unit which recorded a dependency on a unit
+		int[] buffer = new int[16];
+		for (int i = 0; i < unitCount; i++) {
+			int count = 0;
+			for (int id : references[i]) {
+				int[] units = declaringUnits[id];
+				for (int j = 0, max = declaringCounts[id]; j < max; j++) {
+					int unit = units[j];
+					if (unit == i || seenBy[unit] == i + 1)
+						continue;
+					seenBy[unit] = i + 1;
+					if (count == buffer.length)
+						buffer = Arrays.copyOf(buffer, count * 2);
+					buffer[count++] = unit;
+				}
+			}
+			dependencies[i] = Arrays.copyOf(buffer, count);
+			references[i] = null;
+		}
+		return dependencies;
+	}
+
+	private static int identifierId(HashtableOfIntValues identifiers, char[] identifier) {
+		int id = identifiers.get(identifier);
+		if (id == HashtableOfIntValues.NO_VALUE) {
+			id = identifiers.elementSize;
+			identifiers.put(identifier, id);
+		}
+		return id;
+	}
+
+	// names in javadoc may refer to types, which are resolved when javadoc is checked
+	private static void addJavadocReferences(HashtableOfIntValues identifiers, char[] source, int start, int end, IdentifierSet referenced) {
+		int i = start;
+		while (i < end) {
+			if (!Character.isJavaIdentifierStart(source[i])) {
+				i++;
+				continue;
+			}
+			int nameStart = i;
+			while (++i < end && Character.isJavaIdentifierPart(source[i])) {
+				// scan the name
+			}
+			referenced.add(identifierId(identifiers, CharOperation.subarray(source, nameStart, i)));
+		}
+	}
+
+	/**
+	 * Answers the strongly connected components of the given dependency graph, each component after the components
+	 * it depends on (Tarjan's algorithm, iterative since dependency chains can be as long as the number of units).
+	 */
+	private static List<int[]> stronglyConnectedComponents(int[][] dependencies) {
+		int unitCount = dependencies.length;
+		List<int[]> components = new ArrayList<>();
+		int[] index = new int[unitCount];
+		Arrays.fill(index, -1);
+		int[] lowLink = new int[unitCount];
+		boolean[] onStack = new boolean[unitCount];
+		int[] stack = new int[unitCount];
+		int stackSize = 0;
+		int[] path = new int[unitCount]; // units being visited
+		int[] nextDependency = new int[unitCount];
+		int counter = 0;
+		for (int root = 0; root < unitCount; root++) {
+			if (index[root] != -1)
+				continue;
+			int pathLength = 0;
+			index[root] = lowLink[root] = counter++;
+			stack[stackSize++] = root;
+			onStack[root] = true;
+			path[pathLength++] = root;
+			while (pathLength > 0) {
+				int unit = path[pathLength - 1];
+				int[] unitDependencies = dependencies[unit];
+				if (nextDependency[unit] < unitDependencies.length) {
+					int dependency = unitDependencies[nextDependency[unit]++];
+					if (index[dependency] == -1) {
+						index[dependency] = lowLink[dependency] = counter++;
+						stack[stackSize++] = dependency;
+						onStack[dependency] = true;
+						path[pathLength++] = dependency;
+					} else if (onStack[dependency]) {
+						lowLink[unit] = Math.min(lowLink[unit], index[dependency]);
+					}
+					continue;
+				}
+				pathLength--;
+				if (pathLength > 0) {
+					int parent = path[pathLength - 1];
+					lowLink[parent] = Math.min(lowLink[parent], lowLink[unit]);
+				}
+				if (lowLink[unit] == index[unit]) {
+					int size = 0;
+					while (stack[stackSize - 1 - size] != unit)
+						size++;
+					size++;
+					int[] component = new int[size];
+					System.arraycopy(stack, stackSize - size, component, 0, size);
+					stackSize -= size;
+					for (int member : component)
+						onStack[member] = false;
+					components.add(component);
+				}
+			}
+		}
+		return components;
+	}
+
+	// identifiers of one unit, without duplicates
+	private static final class IdentifierSet {
+		private int[] ids = new int[64];
+		private int size;
+		private int[] stamps = new int[64]; // stamp of the last time an identifier was added
+		private int stamp = 1;
+
+		void clear() {
+			this.size = 0;
+			this.stamp++;
+		}
+		void add(int id) {
+			if (id >= this.stamps.length)
+				this.stamps = Arrays.copyOf(this.stamps, Math.max(id + 1, this.stamps.length * 2));
+			if (this.stamps[id] == this.stamp)
+				return;
+			this.stamps[id] = this.stamp;
+			if (this.size == this.ids.length)
+				this.ids = Arrays.copyOf(this.ids, this.size * 2);
+			this.ids[this.size++] = id;
+		}
+		int[] toArray() {
+			return Arrays.copyOf(this.ids, this.size);
+		}
+	}
+}
@@ -33,11 +33,17 @@ import org.eclipse.jdt.internal.compiler.env.IBinaryType;
 import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
 import org.eclipse.jdt.internal.compiler.env.INameEnvironment;
 import org.eclipse.jdt.internal.compiler.env.ISourceType;
+import org.eclipse.jdt.internal.compiler.impl.CompilerEvents;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
 import org.eclipse.jdt.internal.compiler.impl.ITypeRequestor;
+import org.eclipse.jdt.internal.compiler.impl.PhaseTimer;
 import org.eclipse.jdt.internal.compiler.impl.ReferenceContext;
+import org.eclipse.jdt.internal.compiler.impl.UnitTimings;
+import org.eclipse.jdt.internal.compiler.lookup.InferenceCache;
 import org.eclipse.jdt.internal.compiler.lookup.LookupEnvironment;
+import org.eclipse.jdt.internal.compiler.lookup.MethodLookupCache;
+import org.eclipse.jdt.internal.compiler.lookup.OperatorOverloadCache;
 import org.eclipse.jdt.internal.compiler.lookup.PackageBinding;
 import org.eclipse.jdt.internal.compiler.lookup.ReferenceBinding;
 import org.eclipse.jdt.internal.compiler.lookup.SourceTypeCollisionException;
@@ -79,6 +85,12 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 	public int annotationProcessorStartIndex = 0;
 	public ReferenceBinding[] referenceBindings;
 	public boolean useSingleThread = true; // by default the compiler will not use worker threads to read/process/write
+	public int parseWorkers = 1; // threads parsing sources ahead of building their type bindings, see SourceParseManager
+	public int waveSize; // units compiled at once, in dependency-ordered waves (0: all units at once), see CompilationWaves
+	public int readAheadDepth = ReadManager.DEFAULT_DEPTH; // source files read ahead of parsing, see ReadManager
+	public int readAheadThreads; // threads reading source files ahead of parsing (0: default), see ReadManager
+	public String classFileDirectory; // where the requestor writes class files in their package structure, if known
+	public UnitTimings unitTimings; // time spent by each unit in each phase, collected when set
 
 	// number of initial units parsed at once (-1: none)
 
@@ -306,8 +318,60 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 	}
 
 	public void compile(ICompilationUnit[] sourceUnits) {
+		if (this.waveSize > 0 && this.annotationProcessorManager == null) {
+			int[][] waves = CompilationWaves.plan(sourceUnits, this.waveSize, this.options);
+			if (waves != null) {
+				compileInWaves(sourceUnits, waves);
+				return;
+			}
+		}
 		compile(sourceUnits, false);
 	}
+	/**
+	 * Compiles the given units one wave after the other, answering the types of the waves already compiled from their
+	 * class files (see {@link CompilationWaves}).
+	 */
+	private void compileInWaves(ICompilationUnit[] sourceUnits, int[][] waves) {
+		INameEnvironment environment = this.lookupEnvironment.nameEnvironment;
+		ICompilerRequestor unitRequestor = this.requestor;
+		WaveNameEnvironment generatedTypes = WaveNameEnvironment.create(environment, this.classFileDirectory);
+		this.lookupEnvironment.nameEnvironment = generatedTypes;
+		this.requestor = new ICompilerRequestor() {
+			@Override
+			public void acceptResult(CompilationResult result) {
+				// the requestor may release the class files to the pool once written
+				generatedTypes.record(result);
+				unitRequestor.acceptResult(result);
+			}
+			@Override
+			public void startBatch() {
+				unitRequestor.startBatch();
+			}
+			@Override
+			public void flushBatch() {
+				unitRequestor.flushBatch();
+			}
+			@Override
+			public void endBatch() {
+				unitRequestor.endBatch(); // class files of the wave are written before the next one looks them up
+			}
+		};
+		try {
+			for (int[] wave : waves) {
+				if (this.progress != null && this.progress.isCanceled())
+					return;
+				ICompilationUnit[] units = new ICompilationUnit[wave.length];
+				for (int i = 0; i < wave.length; i++) {
+					units[i] = sourceUnits[wave[i]];
+					sourceUnits[wave[i]] = null; // no longer hold onto the unit
+				}
+				compile(units, false);
+			}
+		} finally {
+			this.requestor = unitRequestor;
+			this.lookupEnvironment.nameEnvironment = environment;
+		}
+	}
 	/**
 	 * General API
 	 * -> compile each of supplied files
@@ -731,8 +795,8 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		abortIfVersionNotAllowed(sourceUnits,maxUnits);
 		abortIfPreviewNotAllowed(sourceUnits,maxUnits);
 		if (!this.useSingleThread)
-			this.parser.readManager = new ReadManager(sourceUnits, maxUnits);
-		try {
+			this.parser.readManager = new ReadManager(sourceUnits, maxUnits, this.readAheadDepth, this.readAheadThreads);
+		try (SourceParseManager parseManager = SourceParseManager.create(this, sourceUnits, maxUnits)) {
 			// Switch the current policy and compilation result for this unit to the requested one.
 			for (int i = 0; i < maxUnits; i++) {
 				CompilationResult unitResult = null;
@@ -750,7 +814,12 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 					CompilationUnitDeclaration parsedUnit;
 					unitResult = new CompilationResult(sourceUnits[i], i, maxUnits, this.options.maxProblemsPerUnit);
 					long parseStart = System.currentTimeMillis();
-					if (this.totalUnits < this.parseThreshold) {
+					PhaseTimer timer = PhaseTimer.start(sourceUnits[i].getFileName(), UnitTimings.PARSE, this.unitTimings);
+					boolean fullParse = this.totalUnits < this.parseThreshold;
+					parsedUnit = parseManager != null ? parseManager.getParsedUnit(i, fullParse) : null;
+					if (parsedUnit != null) {
+						unitResult = parsedUnit.compilationResult;
+					} else if (fullParse) {
 						parsedUnit = this.parser.parse(sourceUnits[i], unitResult);
 					} else {
 						unitResult.cacheSource();
@@ -758,9 +827,11 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 					}
 					long resolveStart = System.currentTimeMillis();
 					this.stats.parseTime += resolveStart - parseStart;
+					timer.next(UnitTimings.RESOLVE);
 					// initial type binding creation
 					this.lookupEnvironment.buildTypeBindings(parsedUnit, null /*no access restriction*/);
 					this.stats.resolveTime += System.currentTimeMillis() - resolveStart;
+					timer.end();
 					addCompilationUnit(sourceUnits[i], parsedUnit);
 					ImportReference currentPackage = parsedUnit.currentPackage;
 					if (currentPackage != null) {
@@ -793,11 +864,13 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 	public void process(CompilationUnitDeclaration unit, int i) {
 		this.lookupEnvironment.unitBeingCompleted = unit;
 		long parseStart = System.currentTimeMillis();
+		PhaseTimer timer = PhaseTimer.startUnit(unit.getFileName(), UnitTimings.PARSE, this.unitTimings);
 
 		this.parser.getMethodBodies(unit);
 
 		long resolveStart = System.currentTimeMillis();
 		this.stats.parseTime += resolveStart - parseStart;
+		timer.next(UnitTimings.RESOLVE);
 
 		// fault in fields & methods
 		if (unit.scope != null)
@@ -812,12 +885,14 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 
 		long analyzeStart = System.currentTimeMillis();
 		this.stats.resolveTime += analyzeStart - resolveStart;
+		timer.next(UnitTimings.ANALYZE);
 
 		//No need of analysis or generation of code if statements are not required
 		if (!this.options.ignoreMethodBodies) unit.analyseCode(); // flow analysis
 
 		long generateStart = System.currentTimeMillis();
 		this.stats.analyzeTime += generateStart - analyzeStart;
+		timer.next(UnitTimings.GENERATE);
 
 		if (!this.options.ignoreMethodBodies) unit.generateCode(); // code generation
 
@@ -828,7 +903,14 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		// finalize problems (suppressWarnings)
 		unit.finalizeProblems();
 
+		MethodLookupCache methodLookupCache = unit.scope != null ? unit.scope.methodLookupCache : null;
+		if (methodLookupCache != null) {
+			this.stats.methodLookupCacheHits += methodLookupCache.hits;
+			this.stats.methodLookupCacheMisses += methodLookupCache.misses;
+		}
+
 		this.stats.generateTime += System.currentTimeMillis() - generateStart;
+		timer.endUnit(unit.compilationResult.lineSeparatorPositions == null ? 0 : unit.compilationResult.lineSeparatorPositions.length);
 
 		// refresh the total number of units known at this stage
 		unit.compilationResult.totalUnitsKnown = this.totalUnits;
@@ -844,6 +926,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 		ReferenceBinding[] binaryTypeBindingsTemp = this.referenceBindings;
 		if (top == 0 && binaryTypeBindingsTemp == null) return;
 		this.referenceBindings = null;
+		int round = 0;
 		do {
 			// extract units to process
 			int length = top - bottom;
@@ -856,6 +939,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 			if (index != length) {
 				System.arraycopy(currentUnits, 0, (currentUnits = new CompilationUnitDeclaration[index]), 0, index);
 			}
+			CompilerEvents.AnnotationProcessingRound event = CompilerEvents.beginAnnotationProcessingRound(++round, currentUnits.length, false);
 			this.annotationProcessorManager.processAnnotations(currentUnits, binaryTypeBindingsTemp, false);
 			// https://bugs.eclipse.org/bugs/show_bug.cgi?id=407841
 			// It is possible that during the #processAnnotations() call, some units in the next batch would have been
@@ -873,6 +957,7 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 			ReferenceBinding[] newClassFiles = this.annotationProcessorManager.getNewClassFiles();
 			binaryTypeBindingsTemp = newClassFiles;
 			newClassFilesSize = newClassFiles.length;
+			CompilerEvents.endAnnotationProcessingRound(event, newUnitSize, newClassFilesSize);
 			if (newUnitSize != 0) {
 				ICompilationUnit[] newProcessedUnits = newUnits.clone(); // remember new units in case a source type collision occurs
 				try {
@@ -894,10 +979,12 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 			}
 		} while (newUnitSize != 0 || newClassFilesSize != 0);
 
+		CompilerEvents.AnnotationProcessingRound event = CompilerEvents.beginAnnotationProcessingRound(++round, 0, true);
 		this.annotationProcessorManager.processAnnotations(null, null, true);
 		// process potential units added in the final round see 329156
 		ICompilationUnit[] newUnits = this.annotationProcessorManager.getNewUnits();
 		newUnitSize = newUnits.length;
+		CompilerEvents.endAnnotationProcessingRound(event, newUnitSize, 0);
 		try {
 			if (newUnitSize != 0) {
 				ICompilationUnit[] newProcessedUnits = newUnits.clone(); // remember new units in case a source type collision occurs
@@ -920,6 +1007,13 @@ public class Compiler implements ITypeRequestor, ProblemSeverities {
 	}
 
 	public void reset() {
+		OperatorOverloadCache operatorOverloadCache = this.lookupEnvironment.operatorOverloadCache;
+		this.stats.operatorOverloadCacheHits += operatorOverloadCache.hits;
+		this.stats.operatorOverloadCacheMisses += operatorOverloadCache.misses;
+		this.stats.operatorOverloadCacheSkips += operatorOverloadCache.skips;
+		InferenceCache inferenceCache = this.lookupEnvironment.inferenceCache;
+		this.stats.inferenceCacheHits += inferenceCache.hits;
+		this.stats.inferenceCacheMisses += inferenceCache.misses;
 		this.lookupEnvironment.reset();
 		this.parser.scanner.source = null;
 		this.unitsToProcess = null;
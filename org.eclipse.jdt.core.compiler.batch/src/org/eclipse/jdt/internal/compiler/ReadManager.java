@@ -26,36 +26,54 @@ import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
 
-/** Reads a list of ICompilationUnit before actually needed (ahead) **/
+/**
+ * Reads a list of ICompilationUnit before actually needed (ahead), in the order they were supplied. The contents may
+ * be asked for from several threads and in any order (see {@link SourceParseManager}); a unit which is not read ahead
+ * yet when asked for is read by the caller, and the units before it are still read ahead.
+ **/
 public class ReadManager {
-	private static final int CACHE_SIZE = 15; // do not waste memory by keeping too many files in memory
+	public static final int DEFAULT_DEPTH = 15; // do not waste memory by keeping too many files in memory
 	/**
-	 * Not more threads then cache size and leave 2 threads for compiler + writer. Executor should process in fifo order
+	 * Executors by thread count, shared by all compilations in this VM. Each executor should process in fifo order
 	 * (first in first out).
 	 */
-	private static final ExecutorService READER_SERVICE = createExecutor(Math.max(0, Math.min(CACHE_SIZE, Runtime.getRuntime().availableProcessors() - 2)));
+	private static final Map<Integer, ExecutorService> READER_SERVICES = new ConcurrentHashMap<>();
 
 	private static ExecutorService createExecutor(int threadCount) {
-		if (threadCount <= 0)
-			return null;
-		else {
-			ThreadPoolExecutor executor = new ThreadPoolExecutor(threadCount, threadCount, /* keepAliveTime */ 5, TimeUnit.MINUTES,
-					new LinkedBlockingQueue<>(), r -> {
-						Thread t = new Thread(r, "Compiler Source File Reader"); //$NON-NLS-1$
-						t.setDaemon(true);
-						return t;
-					});
-			executor.allowCoreThreadTimeOut(true);
-			return executor;
-		}
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threadCount, threadCount, /* keepAliveTime */ 5, TimeUnit.MINUTES,
+				new LinkedBlockingQueue<>(), r -> {
+					Thread t = new Thread(r, "Compiler Source File Reader"); //$NON-NLS-1$
+					t.setDaemon(true);
+					return t;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
 	}
 
 	private final Queue<ICompilationUnit> unitsToRead;
 	private final Map<ICompilationUnit, Future<char[]>> cache = new ConcurrentHashMap<>();
+	private final int depth;
+	private final ExecutorService readerService;
 
 	public ReadManager(ICompilationUnit[] files, int length) {
+		this(files, length, DEFAULT_DEPTH, 0);
+	}
+
+	/**
+	 * @param depth the number of files read ahead and kept in memory until needed
+	 * @param threadCount the number of threads reading files, 0 for the default: not more threads than
+	 *        <code>depth</code> and leave 2 threads for compiler + writer. Reading on more threads than processors pays
+	 *        off on filesystems with a high latency.
+	 */
+	public ReadManager(ICompilationUnit[] files, int length, int depth, int threadCount) {
 		this.unitsToRead = new ArrayDeque<>(length);
-		if (READER_SERVICE == null) {
+		this.depth = depth;
+		if (threadCount <= 0) {
+			threadCount = Runtime.getRuntime().availableProcessors() - 2;
+		}
+		threadCount = Math.min(depth, threadCount);
+		this.readerService = threadCount > 0 ? READER_SERVICES.computeIfAbsent(threadCount, ReadManager::createExecutor) : null;
+		if (this.readerService == null) {
 			return;
 		}
 		for (int l = 0; l < length; l++) {
@@ -67,9 +85,13 @@ public class ReadManager {
 		}
 	}
 
-	/** meant to called in the order of the initial supplied files **/
+	/**
+	 * Answers the contents of the given unit, read ahead if possible: callers asking in the order of the initially
+	 * supplied files, or for units within {@link #getReadAheadDepth()} units of the first unit not asked for yet, are
+	 * normally answered contents read ahead.
+	 **/
 	public char[] getContents(ICompilationUnit unit) throws Error {
-		if (READER_SERVICE == null) {
+		if (this.readerService == null) {
 			return getWithoutExecutor(unit);
 		}
 		Future<char[]> future;
@@ -82,7 +104,7 @@ public class ReadManager {
 			}
 		}
 		if (future == null) {
-			// should not happen.
+			// asked for ahead of the read ahead, or again
 			return getWithoutFuture(unit);
 		}
 		// now: future != null
@@ -119,7 +141,7 @@ public class ReadManager {
 	}
 
 	private char[] getWithoutFuture(ICompilationUnit unit) {
-		// should not happen
+		// should not happen when asked for in order
 		return unit.getContents();
 	}
 
@@ -129,7 +151,7 @@ public class ReadManager {
 	}
 
 	private boolean queueNextReadAhead() {
-		if (this.cache.size() >= CACHE_SIZE) {
+		if (this.cache.size() >= this.depth) {
 			return false;
 		}
 		synchronized (this) { // atomic move from unitsToRead to cache
@@ -137,7 +159,7 @@ public class ReadManager {
 			if (nextUnit == null) {
 				return false;
 			}
-			Future<char[]> future = READER_SERVICE.submit(() -> readAhead(nextUnit));
+			Future<char[]> future = this.readerService.submit(() -> readAhead(nextUnit));
 			this.cache.put(nextUnit, future);
 			return true;
 		}
@@ -148,7 +170,14 @@ public class ReadManager {
 		return unit.getContents();
 	}
 
-	public void shutdown() {
+	/**
+	 * Answers the number of units read ahead of the first unit not asked for yet, 0 if units are read when asked for.
+	 */
+	public int getReadAheadDepth() {
+		return this.readerService == null ? 0 : this.depth;
+	}
+
+	public synchronized void shutdown() { // reading threads may still queue units
 		this.unitsToRead.clear();
 		this.cache.clear();
 	}
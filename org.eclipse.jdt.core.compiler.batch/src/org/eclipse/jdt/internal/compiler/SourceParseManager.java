@@ -0,0 +1,164 @@
+package org.eclipse.jdt.internal.compiler;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.eclipse.jdt.internal.compiler.ast.CompilationUnitDeclaration;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.parser.Parser;
+import org.eclipse.jdt.internal.compiler.problem.AbortCompilation;
+import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
+
+/**
+ * Parses (or diet parses) the source units passed to {@link Compiler#beginToCompile(ICompilationUnit[])} on several
+ * worker threads (see {@link Compiler#parseWorkers}), while the compiling thread builds the type bindings of the
+ * parsed units.
+ * <p>
+ * Type bindings are built in the original unit order, so the lookup environment and the resulting class files do not
+ * depend on the number of workers. Each worker owns a {@link Parser} and {@link ProblemReporter}, and problems are
+ * recorded into the compilation result of their unit. Workers stay within a window of units ahead of the compiling
+ * thread, which bounds the number of parsed units and source contents held in memory. The window does not exceed the
+ * depth of the compiler's {@link ReadManager} (unless there are more workers), so the workers, which ask for the
+ * contents of their units in no particular order, are answered contents read ahead.
+ * </p>
+ * <p>
+ * A unit is parsed exactly as the compiling thread would have parsed it. When a worker fails unexpectedly, or parsed
+ * a unit fully where a diet parse is now needed (units injected by the lookup environment count towards the parse
+ * threshold), {@link #getParsedUnit(int, boolean)} answers <code>null</code> and the compiling thread parses the unit
+ * itself, reporting any failure as it would without workers.
+ * </p>
+ */
+public class SourceParseManager implements AutoCloseable {
+
+	private static final int UNITS_PER_WORKER = 8; // window size, bounds the number of parsed units held in memory
+
+	/** Threads are reused across compilations, like those of ProcessTaskManager **/
+	private static final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+		Thread t = new Thread(r, "Compiler Source Parsing Worker"); //$NON-NLS-1$
+		t.setDaemon(true);
+		return t;
+	});
+
+	private final Compiler compiler;
+	private final ICompilationUnit[] sourceUnits;
+	private final CompilationUnitDeclaration[] parsedUnits;
+	private final boolean[] fullyParsed;
+	private final boolean[] done;
+	private final int window;
+	private final Future<?>[] tasks;
+	private int consumed; // units below this index have been taken by the compiling thread
+	private boolean closed;
+
+	/**
+	 * Answers a manager parsing the given units on the compiler's parse workers, or <code>null</code> when the
+	 * compiler parses units on a single thread.
+	 */
+	public static SourceParseManager create(Compiler compiler, ICompilationUnit[] sourceUnits, int maxUnits) {
+		if (compiler.parseWorkers <= 1 || maxUnits <= 1)
+			return null;
+		if (compiler.parser.getClass() != Parser.class)
+			return null; // subclasses record more than the parsed unit (comments, source elements)
+		return new SourceParseManager(compiler, sourceUnits, maxUnits, Math.min(compiler.parseWorkers, maxUnits));
+	}
+
+	private SourceParseManager(Compiler compiler, ICompilationUnit[] sourceUnits, int maxUnits, int workers) {
+		this.compiler = compiler;
+		this.sourceUnits = new ICompilationUnit[maxUnits];
+		System.arraycopy(sourceUnits, 0, this.sourceUnits, 0, maxUnits);
+		this.parsedUnits = new CompilationUnitDeclaration[maxUnits];
+		this.fullyParsed = new boolean[maxUnits];
+		this.done = new boolean[maxUnits];
+		ReadManager readManager = compiler.parser.readManager;
+		int readAheadDepth = readManager == null ? 0 : readManager.getReadAheadDepth();
+		this.window = readAheadDepth == 0
+				? workers * UNITS_PER_WORKER
+				: Math.max(workers, Math.min(workers * UNITS_PER_WORKER, readAheadDepth));
+		this.tasks = new Future<?>[workers];
+		ProblemReporter problemReporter = compiler.problemReporter;
+		int firstIndex = compiler.totalUnits;
+		for (int w = 0; w < workers; w++) {
+			Parser parser = new Parser(
+					new ProblemReporter(problemReporter.policy, compiler.options, problemReporter.problemFactory),
+					compiler.options.parseLiteralExpressionsAsConstants);
+			parser.readManager = readManager;
+			int first = w;
+			this.tasks[w] = executor.submit(() -> {
+				for (int i = first; i < maxUnits; i += workers) {
+					if (!awaitTurn(i))
+						return;
+					parse(parser, i, firstIndex + i < compiler.parseThreshold);
+				}
+			});
+		}
+	}
+
+	private synchronized boolean awaitTurn(int index) {
+		try {
+			while (!this.closed && index >= this.consumed + this.window)
+				wait();
+		} catch (InterruptedException e) {
+			return false;
+		}
+		return !this.closed;
+	}
+
+	private void parse(Parser parser, int index, boolean fullParse) {
+		CompilationUnitDeclaration parsedUnit = null;
+		try {
+			ICompilationUnit sourceUnit = this.sourceUnits[index];
+			CompilationResult unitResult = new CompilationResult(sourceUnit, index, this.sourceUnits.length,
+					this.compiler.options.maxProblemsPerUnit);
+			if (fullParse) {
+				parsedUnit = parser.parse(sourceUnit, unitResult);
+			} else {
+				unitResult.cacheSource();
+				parsedUnit = parser.dietParse(sourceUnit, unitResult);
+			}
+		} catch (Error | RuntimeException e) {
+			// no parsed unit: the compiling thread parses the unit again and reports the failure
+			parsedUnit = null;
+		}
+		synchronized (this) {
+			this.parsedUnits[index] = parsedUnit;
+			this.fullyParsed[index] = fullParse;
+			this.done[index] = true;
+			notifyAll();
+		}
+	}
+
+	/**
+	 * Answers the unit at the given index parsed by a worker, waiting for it if necessary, or <code>null</code> when
+	 * the compiling thread has to parse it. To be called by the compiling thread for each unit, in order.
+	 */
+	public CompilationUnitDeclaration getParsedUnit(int index, boolean fullParse) throws AbortCompilation {
+		CompilationUnitDeclaration parsedUnit;
+		synchronized (this) {
+			try {
+				while (!this.done[index])
+					wait();
+			} catch (InterruptedException interrupt) {
+				throw new AbortCompilation(true/* silent */, new RuntimeException(interrupt));
+			}
+			parsedUnit = this.fullyParsed[index] == fullParse ? this.parsedUnits[index] : null;
+			this.parsedUnits[index] = null;
+			this.sourceUnits[index] = null;
+			this.consumed = index + 1;
+			notifyAll();
+		}
+		if (parsedUnit != null)
+			parsedUnit.problemReporter = this.compiler.problemReporter;
+		return parsedUnit;
+	}
+
+	@Override
+	public void close() {
+		synchronized (this) {
+			this.closed = true;
+			notifyAll();
+		}
+		for (Future<?> task : this.tasks) {
+			if (task != null)
+				task.cancel(true);
+		}
+	}
+}
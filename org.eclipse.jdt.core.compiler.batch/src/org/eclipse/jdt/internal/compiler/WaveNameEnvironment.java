@@ -0,0 +1,211 @@
+package org.eclipse.jdt.internal.compiler;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.env.IModule;
+import org.eclipse.jdt.internal.compiler.env.IModuleAwareNameEnvironment;
+import org.eclipse.jdt.internal.compiler.env.INameEnvironment;
+import org.eclipse.jdt.internal.compiler.env.IUpdatableModule;
+import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
+import org.eclipse.jdt.internal.compiler.lookup.ModuleBinding;
+import org.eclipse.jdt.internal.compiler.util.SuffixConstants;
+
+/**
+ * Name environment of a compilation in waves (see {@link CompilationWaves}), answering the types generated by the
+ * earlier waves as binary types before delegating to the environment of the compiler.
+ * <p>
+ * The source types of a wave are dropped with the lookup environment once the wave has been generated. Later waves
+ * find them here as binary stand-ins, read from the class files just written to the class file directory of the
+ * compiler when it is known (see {@link Compiler#classFileDirectory}), so that only their names stay in memory.
+ * Otherwise, and for units with errors (whose class files may not be written), the bytes of the class files are kept.
+ * </p>
+ * Generated types belong to the unnamed module, since units are not compiled in waves along with a module descriptor.
+ */
+public class WaveNameEnvironment implements INameEnvironment, SuffixConstants {
+
+	private static final Object WRITTEN = new Object(); // the class file can be read from the class file directory
+
+	final INameEnvironment environment;
+	private final File classFileDirectory;
+	private final Map<String, Object> generatedTypes = new HashMap<>(); // qualified binary name -> WRITTEN or class file bytes
+	private final Set<String> generatedPackages = new HashSet<>(); // qualified package names, with their enclosing packages
+
+	/**
+	 * Answers an environment for the generated types in front of the given one, which is module aware if the given one
+	 * is.
+	 */
+	public static WaveNameEnvironment create(INameEnvironment environment, String classFileDirectory) {
+		File directory = classFileDirectory == null ? null : new File(classFileDirectory);
+		if (environment instanceof IModuleAwareNameEnvironment)
+			return new ModuleAware((IModuleAwareNameEnvironment) environment, directory);
+		return new WaveNameEnvironment(environment, directory);
+	}
+
+	WaveNameEnvironment(INameEnvironment environment, File classFileDirectory) {
+		this.environment = environment;
+		this.classFileDirectory = classFileDirectory;
+	}
+
+	/**
+	 * Records the class files of a result before the requestor accepts it, since it may release them once written.
+	 * Types recorded as written are only looked up by the next waves, after the requestor has ended the batch.
+	 */
+	public void record(CompilationResult result) {
+		boolean written = this.classFileDirectory != null && !result.hasErrors();
+		for (ClassFile classFile : result.getClassFiles()) {
+			char[] fileName = classFile.fileName();
+			this.generatedTypes.put(new String(fileName), written ? WRITTEN : classFile.getBytes());
+			for (int separator = CharOperation.lastIndexOf('/', fileName); separator > 0; separator = CharOperation.lastIndexOf('/', fileName, 0, separator)) {
+				if (!this.generatedPackages.add(new String(fileName, 0, separator)))
+					break; // enclosing packages were recorded along with it
+			}
+		}
+	}
+
+	NameEnvironmentAnswer findGeneratedType(String qualifiedBinaryName) {
+		Object classFile = this.generatedTypes.get(qualifiedBinaryName);
+		if (classFile == null)
+			return null;
+		try {
+			ClassFileReader reader;
+			if (classFile == WRITTEN) {
+				reader = ClassFileReader.read(new File(this.classFileDirectory, qualifiedBinaryName.replace('/', File.separatorChar) + SUFFIX_STRING_class), true);
+			} else {
+				reader = new ClassFileReader((byte[]) classFile, (qualifiedBinaryName + SUFFIX_STRING_class).toCharArray(), true);
+			}
+			return new NameEnvironmentAnswer(reader, null /*no access restriction*/);
+		} catch (ClassFormatException | IOException e) {
+			return null; // the class file could not be written, which was reported when writing it
+		}
+	}
+
+	boolean isGeneratedPackage(char[][] packageName) {
+		return this.generatedPackages.contains(new String(CharOperation.concatWith(packageName, '/')));
+	}
+
+	@Override
+	public NameEnvironmentAnswer findType(char[][] compoundTypeName) {
+		NameEnvironmentAnswer answer = findGeneratedType(new String(CharOperation.concatWith(compoundTypeName, '/')));
+		return answer != null ? answer : this.environment.findType(compoundTypeName);
+	}
+
+	@Override
+	public NameEnvironmentAnswer findType(char[] typeName, char[][] packageName) {
+		NameEnvironmentAnswer answer = findGeneratedType(new String(CharOperation.concatWith(packageName, typeName, '/')));
+		return answer != null ? answer : this.environment.findType(typeName, packageName);
+	}
+
+	@Override
+	public boolean isPackage(char[][] parentPackageName, char[] packageName) {
+		return this.environment.isPackage(parentPackageName, packageName)
+				|| isGeneratedPackage(CharOperation.arrayConcat(parentPackageName == null ? CharOperation.NO_CHAR_CHAR : parentPackageName, packageName));
+	}
+
+	@Override
+	public void cleanup() {
+		this.environment.cleanup();
+	}
+
+	static class ModuleAware extends WaveNameEnvironment implements IModuleAwareNameEnvironment {
+
+		ModuleAware(IModuleAwareNameEnvironment environment, File classFileDirectory) {
+			super(environment, classFileDirectory);
+		}
+
+		private IModuleAwareNameEnvironment environment() {
+			return (IModuleAwareNameEnvironment) this.environment;
+		}
+
+		private static boolean searchesUnnamedModule(char[] moduleName) {
+			return moduleName == null || LookupStrategy.get(moduleName).matches(moduleName, name -> false);
+		}
+
+		@Override
+		public NameEnvironmentAnswer findType(char[][] compoundTypeName) {
+			return findType(compoundTypeName, ModuleBinding.ANY);
+		}
+
+		@Override
+		public NameEnvironmentAnswer findType(char[] typeName, char[][] packageName) {
+			return findType(typeName, packageName, ModuleBinding.ANY);
+		}
+
+		@Override
+		public boolean isPackage(char[][] parentPackageName, char[] packageName) {
+			return getModulesDeclaringPackage(CharOperation.arrayConcat(parentPackageName, packageName), ModuleBinding.ANY) != null;
+		}
+
+		@Override
+		public NameEnvironmentAnswer findType(char[][] compoundName, char[] moduleName) {
+			if (searchesUnnamedModule(moduleName)) {
+				NameEnvironmentAnswer answer = findGeneratedType(new String(CharOperation.concatWith(compoundName, '/')));
+				if (answer != null)
+					return answer;
+			}
+			return environment().findType(compoundName, moduleName);
+		}
+
+		@Override
+		public NameEnvironmentAnswer findType(char[] typeName, char[][] packageName, char[] moduleName) {
+			if (searchesUnnamedModule(moduleName)) {
+				NameEnvironmentAnswer answer = findGeneratedType(new String(CharOperation.concatWith(packageName, typeName, '/')));
+				if (answer != null)
+					return answer;
+			}
+			return environment().findType(typeName, packageName, moduleName);
+		}
+
+		@Override
+		public char[][] getModulesDeclaringPackage(char[][] packageName, char[] moduleName) {
+			char[][] modules = environment().getModulesDeclaringPackage(packageName, moduleName);
+			if (!searchesUnnamedModule(moduleName) || !isGeneratedPackage(packageName))
+				return modules;
+			if (modules == null)
+				return new char[][] { ModuleBinding.UNNAMED };
+			for (char[] module : modules) {
+				if (module == ModuleBinding.UNNAMED)
+					return modules;
+			}
+			return CharOperation.arrayConcat(modules, ModuleBinding.UNNAMED);
+		}
+
+		@Override
+		public boolean hasCompilationUnit(char[][] qualifiedPackageName, char[] moduleName, boolean checkCUs) {
+			return environment().hasCompilationUnit(qualifiedPackageName, moduleName, checkCUs)
+					|| (searchesUnnamedModule(moduleName) && isGeneratedPackage(qualifiedPackageName));
+		}
+
+		@Override
+		public IModule getModule(char[] moduleName) {
+			return environment().getModule(moduleName);
+		}
+
+		@Override
+		public char[][] getAllAutomaticModules() {
+			return environment().getAllAutomaticModules();
+		}
+
+		@Override
+		public boolean isOnModulePath(ICompilationUnit unit) {
+			return environment().isOnModulePath(unit);
+		}
+
+		@Override
+		public void applyModuleUpdates(IUpdatableModule module, IUpdatableModule.UpdateKind kind) {
+			environment().applyModuleUpdates(module, kind);
+		}
+
+		@Override
+		public char[][] listPackages(char[] moduleName) {
+			return environment().listPackages(moduleName);
+		}
+	}
+}
@@ -48,6 +48,7 @@ public class BinaryExpression extends OperatorExpression {
 	public int overloadedExpresionSide = -1;
 	protected static final int overloadedLeftSide = 0;
 	protected static final int overloadedRightSide = 1;
+	private static final OperatorOverloadCache.Resolution NO_OVERLOAD = new OperatorOverloadCache.Resolution(null, -1, false);
 	public TypeBinding expectedType = null;//Operator overload, for generic function call
 
 	@Override
@@ -80,13 +81,7 @@ public BinaryExpression(BinaryExpression expression) {
 public FlowInfo analyseCode(BlockScope currentScope, FlowContext flowContext, FlowInfo flowInfo) {
 	// keep implementation in sync with CombinedBinaryExpression#analyseCode
 	try {
-		if (this.appropriateMethodForOverload != null) {
-			MethodBinding original = this.appropriateMethodForOverload.original();
-			if (original.isPrivate()) {
-				this.syntheticAccessor = ((SourceTypeBinding)original.declaringClass).addSyntheticMethod(original, false);
-				currentScope.problemReporter().needToEmulateMethodAccess(original, this);
-			}
-		}
+		analyseOperatorOverload(currentScope);
 		if (this.resolvedType.id == TypeIds.T_JavaLangString) {
 			return this.right.analyseCode(
 								currentScope, flowContext,
@@ -111,6 +106,16 @@ public FlowInfo analyseCode(BlockScope currentScope, FlowContext flowContext, Fl
 	}
 }
 
+void analyseOperatorOverload(BlockScope currentScope) {
+	if (this.appropriateMethodForOverload != null) {
+		MethodBinding original = this.appropriateMethodForOverload.original();
+		if (original.isPrivate()) {
+			this.syntheticAccessor = ((SourceTypeBinding)original.declaringClass).addSyntheticMethod(original, false);
+			currentScope.problemReporter().needToEmulateMethodAccess(original, this);
+		}
+	}
+}
+
 @Override
 protected void updateFlowOnBooleanResult(FlowInfo flowInfo, boolean result) {
 	int operator = (this.bits & OperatorMASK) >> OperatorSHIFT;
@@ -155,9 +160,9 @@ public Constant optimizedBooleanConstant() {
 /**
  * Code generation for a binary operation
  */
-// given the current focus of CombinedBinaryExpression on strings concatenation,
-// we do not provide a general, non-recursive implementation of generateCode,
-// but rely upon generateOptimizedStringConcatenationCreation instead
+// CombinedBinaryExpression provides a non-recursive implementation of generateCode
+// for chains of overloaded operators only; strings concatenation relies upon
+// generateOptimizedStringConcatenationCreation instead
 @Override
 public void generateCode(BlockScope currentScope, CodeStream codeStream, boolean valueRequired) {
 	int pc = codeStream.position;
@@ -1898,109 +1903,12 @@ public boolean isCompactableOperation() {
  */
 void nonRecursiveResolveTypeUpwards(BlockScope scope) {
 	// keep implementation in sync with BinaryExpression#resolveType
-	boolean leftIsCast, rightIsCast;
-	TypeBinding leftType = this.left.resolvedType;
-
+	boolean rightIsCast;
 	if ((rightIsCast = this.right instanceof CastExpression) == true) {
 		this.right.bits |= ASTNode.DisableUnnecessaryCastCheck; // will check later on
 	}
 	TypeBinding rightType = this.right.resolveType(scope);
-
-	// use the id of the type to navigate into the table
-	if (leftType == null || rightType == null) {
-		this.constant = Constant.NotAConstant;
-		return;
-	}
-
-	int leftTypeID = leftType.id;
-	int rightTypeID = rightType.id;
-
-	// autoboxing support
-	if (!leftType.isBaseType() && rightTypeID != TypeIds.T_JavaLangString && rightTypeID != TypeIds.T_null) {
-		leftTypeID = scope.environment().computeBoxingType(leftType).id;
-	}
-	if (!rightType.isBaseType() && leftTypeID != TypeIds.T_JavaLangString && leftTypeID != TypeIds.T_null) {
-		rightTypeID = scope.environment().computeBoxingType(rightType).id;
-	}
-	if (leftTypeID > 15
-		|| rightTypeID > 15) { // must convert String + Object || Object + String
-		if (leftTypeID == TypeIds.T_JavaLangString) {
-			rightTypeID = TypeIds.T_JavaLangObject;
-		} else if (rightTypeID == TypeIds.T_JavaLangString) {
-			leftTypeID = TypeIds.T_JavaLangObject;
-		} else {
-			this.constant = Constant.NotAConstant;
-			scope.problemReporter().invalidOperator(this, leftType, rightType);
-			return;
-		}
-	}
-	if (((this.bits & ASTNode.OperatorMASK) >> ASTNode.OperatorSHIFT) == OperatorIds.PLUS) {
-		if (leftTypeID == TypeIds.T_JavaLangString) {
-			this.left.computeConversion(scope, leftType, leftType);
-			if (rightType.isArrayType() && TypeBinding.equalsEquals(((ArrayBinding) rightType).elementsType(), TypeBinding.CHAR)) {
-				scope.problemReporter().signalNoImplicitStringConversionForCharArrayExpression(this.right);
-			}
-		}
-		if (rightTypeID == TypeIds.T_JavaLangString) {
-			this.right.computeConversion(scope, rightType, rightType);
-			if (leftType.isArrayType() && TypeBinding.equalsEquals(((ArrayBinding) leftType).elementsType(), TypeBinding.CHAR)) {
-				scope.problemReporter().signalNoImplicitStringConversionForCharArrayExpression(this.left);
-			}
-		}
-	}
-
-	// the code is an int
-	// (cast)  left   Op (cast)  right --> result
-	//  0000   0000       0000   0000      0000
-	//  <<16   <<12       <<8    <<4       <<0
-
-	// Don't test for result = 0. If it is zero, some more work is done.
-	// On the one hand when it is not zero (correct code) we avoid doing the test
-	int operator = (this.bits & ASTNode.OperatorMASK) >> ASTNode.OperatorSHIFT;
-	int operatorSignature = OperatorExpression.OperatorSignatures[operator][(leftTypeID << 4) + rightTypeID];
-
-	this.left.computeConversion(scope, 	TypeBinding.wellKnownType(scope, (operatorSignature >>> 16) & 0x0000F), leftType);
-	this.right.computeConversion(scope, TypeBinding.wellKnownType(scope, (operatorSignature >>> 8) & 0x0000F), rightType);
-	this.bits |= operatorSignature & 0xF;
-	switch (operatorSignature & 0xF) { // record the current ReturnTypeID
-		// only switch on possible result type.....
-		case T_boolean :
-			this.resolvedType = TypeBinding.BOOLEAN;
-			break;
-		case T_byte :
-			this.resolvedType = TypeBinding.BYTE;
-			break;
-		case T_char :
-			this.resolvedType = TypeBinding.CHAR;
-			break;
-		case T_double :
-			this.resolvedType = TypeBinding.DOUBLE;
-			break;
-		case T_float :
-			this.resolvedType = TypeBinding.FLOAT;
-			break;
-		case T_int :
-			this.resolvedType = TypeBinding.INT;
-			break;
-		case T_long :
-			this.resolvedType = TypeBinding.LONG;
-			break;
-		case T_JavaLangString :
-			this.resolvedType = scope.getJavaLangString();
-			break;
-		default : //error........
-			this.constant = Constant.NotAConstant;
-			scope.problemReporter().invalidOperator(this, leftType, rightType);
-			return;
-	}
-
-	// check need for operand cast
-	if ((leftIsCast = (this.left instanceof CastExpression)) == true ||
-			rightIsCast) {
-		CastExpression.checkNeedForArgumentCasts(scope, operator, operatorSignature, this.left, leftTypeID, leftIsCast, this.right, rightTypeID, rightIsCast);
-	}
-	// compute the constant when valid
-	computeConstant(scope, leftTypeID, rightTypeID);
+	resolveOperator(scope, this.left.resolvedType, rightType, this.left instanceof CastExpression, rightIsCast);
 }
 
 public void optimizedBooleanConstant(int leftId, int operator, int rightId) {
@@ -2139,34 +2047,42 @@ public MethodBinding getMethodBindingForOverload(BlockScope scope) {
 
 	String ms = getMethodName();
 
+	// identical operand types resolve identically, see OperatorOverloadCache
+	OperatorOverloadCache cache = scope.environment().root.operatorOverloadCache;
+	char[] selector = OperatorOverloadCache.selector(ms);
+	InvocationSite site = new BinaryExpressionSite(this.right);
+	OperatorOverloadCache.Resolution resolution = cache.getResolution(scope, selector, tb_left, tb_right, site);
+	if (resolution == null) {
+		resolution = resolveMethodForOverload(scope, ms, tb_left, tb_right);
+		cache.putResolution(scope, selector, tb_left, tb_right, site, resolution);
+	}
+	if (resolution.isStatic) {
+		scope.problemReporter().overloadedOperatorMethodNotStatic(this, ms);
+		return null;
+	}
+	if (resolution.binding != null && resolution.binding.isValidBinding())
+		this.overloadedExpresionSide = resolution.side;
+	return resolution.binding;
+}
+
+private OperatorOverloadCache.Resolution resolveMethodForOverload(BlockScope scope, String ms, TypeBinding tb_left, TypeBinding tb_right) {
 	//Object <op> Object
 	if (!tb_left.isBoxedPrimitiveType() && !tb_left.isBaseType() && !tb_right.isBoxedPrimitiveType() && !tb_right.isBaseType()){
 		MethodBinding mbLeft = getLeftMethod(scope, ms, tb_left, tb_right);
 		MethodBinding mbRight = getRightMethod(scope, ms, tb_left, tb_right);
 		if(mbLeft.isValidBinding() && mbRight.isValidBinding()){
 			if(mbLeft.isStatic() && mbRight.isStatic()) {
-				scope.problemReporter().overloadedOperatorMethodNotStatic(this, getMethodName());
-				return null;
+				return new OperatorOverloadCache.Resolution(null, -1, true);
 			}
-			return new ProblemMethodBinding(ms.toCharArray(), new TypeBinding[]{tb_right}, ProblemReasons.Ambiguous);
+			return new OperatorOverloadCache.Resolution(new ProblemMethodBinding(ms.toCharArray(), new TypeBinding[]{tb_right}, ProblemReasons.Ambiguous), -1, false);
 		}
 		if(mbLeft.isValidBinding()){
-			if(mbLeft.isStatic()) {
-				scope.problemReporter().overloadedOperatorMethodNotStatic(this, getMethodName());
-				return null;
-			}
-			this.overloadedExpresionSide = overloadedLeftSide;
-			return mbLeft;
+			return new OperatorOverloadCache.Resolution(mbLeft, overloadedLeftSide, mbLeft.isStatic());
 		}
 		if(mbRight.isValidBinding()){
-			if(mbRight.isStatic()) {
-				scope.problemReporter().overloadedOperatorMethodNotStatic(this, getMethodName());
-				return null;
-			}
-			this.overloadedExpresionSide = overloadedRightSide;
-			return mbRight;
+			return new OperatorOverloadCache.Resolution(mbRight, overloadedRightSide, mbRight.isStatic());
 		}
-		return null;
+		return NO_OVERLOAD;
 	}
 
 
@@ -2174,28 +2090,18 @@ public MethodBinding getMethodBindingForOverload(BlockScope scope) {
 	if(!tb_left.isBoxedPrimitiveType() && !tb_left.isBaseType() && (tb_right.isBoxedPrimitiveType() || tb_right.isBaseType())){
 		MethodBinding mbLeft = getLeftMethod(scope, ms, tb_left, tb_right);
 		if(mbLeft.isValidBinding() && isAnnotationSet(mbLeft)){
-			if(mbLeft.isStatic()) {
-				scope.problemReporter().overloadedOperatorMethodNotStatic(this, getMethodName());
-				return null;
-			}
-			this.overloadedExpresionSide = overloadedLeftSide;
-			return mbLeft;
+			return new OperatorOverloadCache.Resolution(mbLeft, overloadedLeftSide, mbLeft.isStatic());
 		}
-		return null;
+		return NO_OVERLOAD;
 	}
 	if(!tb_right.isBoxedPrimitiveType() && !tb_right.isBaseType() && (tb_left.isBoxedPrimitiveType() || tb_left.isBaseType())){
 		MethodBinding mbRight = getRightMethod(scope, ms, tb_left, tb_right);
 		if(mbRight.isValidBinding()){
-			if(mbRight.isStatic()) {
-				scope.problemReporter().overloadedOperatorMethodNotStatic(this, getMethodName());
-				return null;
-			}
-			this.overloadedExpresionSide = overloadedRightSide;
-			return mbRight;
+			return new OperatorOverloadCache.Resolution(mbRight, overloadedRightSide, mbRight.isStatic());
 		}
-		return null;
+		return NO_OVERLOAD;
 	}
-	return null;
+	return NO_OVERLOAD;
 }
 
 	public boolean isAnnotationSet(MethodBinding method){
@@ -2229,6 +2135,13 @@ public void generateOperatorOverloadCode(BlockScope currentScope, CodeStream cod
 		this.right.generateCode(currentScope, codeStream, true);
 		this.left.generateCode(currentScope, codeStream,true);
 	}
+	generateOperatorOverloadInvocation(codeStream, valueRequired);
+}
+
+/**
+ * Code generation for the invocation of the operator method, once both operands are on the stack.
+ */
+void generateOperatorOverloadInvocation(CodeStream codeStream, boolean valueRequired) {
 	if (this.appropriateMethodForOverload.hasSubstitutedParameters() || this.appropriateMethodForOverload.hasSubstitutedReturnType()) {
 		TypeBinding tbo = this.appropriateMethodForOverload.returnType;
 		MethodBinding mb3 = this.appropriateMethodForOverload.original();
@@ -2303,7 +2216,16 @@ public TypeBinding resolveType(BlockScope scope) {
 			scope.reportClashingDeclarations(this.left.bindingsWhenTrue(), this.right.bindingsWhenTrue());
 		}
 	}
+	return resolveOperator(scope, leftType, rightType, leftIsCast, rightIsCast);
+}
 
+/**
+ * Resolves the operator of this expression, including the lookup of an overloaded operator method, once both
+ * operands have been resolved. Shared by {@link #resolveType(BlockScope)} and {@link
+ * #nonRecursiveResolveTypeUpwards(BlockScope)}, so that the operands of a {@link CombinedBinaryExpression}
+ * get the same treatment as the ones of a plain binary expression.
+ */
+private TypeBinding resolveOperator(BlockScope scope, TypeBinding leftType, TypeBinding rightType, boolean leftIsCast, boolean rightIsCast) {
 	// use the id of the type to navigate into the table
 	if (leftType == null || rightType == null) {
 		this.constant = Constant.NotAConstant;
@@ -2504,10 +2426,11 @@ public void traverse(ASTVisitor visitor, BlockScope scope) {
 }
 
 protected MethodBinding getLeftMethod(BlockScope scope, String ms, TypeBinding leftType, TypeBinding rightType) {
-	return scope.getMethod(leftType, ms.toCharArray(), new TypeBinding[]{rightType}, new BinaryExpressionSite(this.right));
+	return scope.environment().root.operatorOverloadCache.getMethod(scope, leftType, OperatorOverloadCache.selector(ms), new TypeBinding[]{rightType}, new BinaryExpressionSite(this.right));
 }
 
 protected MethodBinding getRightMethod(BlockScope scope, String ms, TypeBinding leftType, TypeBinding rightType) {
-	return scope.getMethod(rightType, (ms + "AsRHS").toCharArray(), new TypeBinding[]{leftType}, new BinaryExpressionSite(this.left)); //$NON-NLS-1$
+	return scope.environment().root.operatorOverloadCache.getMethod(scope, rightType, OperatorOverloadCache.rhsSelector(ms), new TypeBinding[]{leftType}, new BinaryExpressionSite(this.left));
 }
+
 }
@@ -1,7 +1,6 @@
 package org.eclipse.jdt.internal.compiler.ast;
 
 import org.eclipse.jdt.internal.compiler.ASTVisitor;
-import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.compiler.codegen.CaseLabel;
 import org.eclipse.jdt.internal.compiler.codegen.CodeStream;
 import org.eclipse.jdt.internal.compiler.codegen.Opcodes;
@@ -11,6 +10,8 @@ import org.eclipse.jdt.internal.compiler.impl.Constant;
 import org.eclipse.jdt.internal.compiler.lookup.BlockScope;
 import org.eclipse.jdt.internal.compiler.lookup.InvocationSite;
 import org.eclipse.jdt.internal.compiler.lookup.MethodBinding;
+import org.eclipse.jdt.internal.compiler.lookup.OperatorOverloadCache;
+import org.eclipse.jdt.internal.compiler.lookup.OperatorOverloadCache.ControlFlowOperator;
 import org.eclipse.jdt.internal.compiler.lookup.OperatorOverloadInvocationSite;
 import org.eclipse.jdt.internal.compiler.lookup.SourceTypeBinding;
 import org.eclipse.jdt.internal.compiler.lookup.TypeBinding;
@@ -109,17 +110,17 @@ public Constant resolveCase(BlockScope scope, TypeBinding switchExpressionType,
 
 		// on error the last default will be the selected one ...
 		switchStatement.defaultCase = this;
-		MethodBinding mb2 = this.getMethodBindingForOverloadForCASE(scope);
-		if (mb2 != null && mb2.isValidBinding()) {
-			if((mb2.modifiers & ClassFileConstants.AccStatic) != 0) {
+		ControlFlowOperator caseOperator = this.getOperatorForCASE(scope);
+		if (caseOperator.status != ControlFlowOperator.MISSING) {
+			if(caseOperator.status == ControlFlowOperator.STATIC) {
 				scope.problemReporter().overloadedOperatorMethodNotStatic(this, getMethodName());
 				return Constant.NotAConstant;
 			}
-			if(mb2.returnType != TypeBinding.VOID){
-				scope.problemReporter().typeMismatchError(mb2.returnType, TypeBinding.VOID, this, null);
+			if(caseOperator.status == ControlFlowOperator.NOT_VOID){
+				scope.problemReporter().typeMismatchError(caseOperator.binding.returnType, TypeBinding.VOID, this, null);
 				return Constant.NotAConstant;
 			}
-			this.appropriateMethodForOverload = mb2;
+			this.appropriateMethodForOverload = caseOperator.binding;
 			if (isMethodUseDeprecated(this.appropriateMethodForOverload, scope, true, new InvocationSite.EmptyWithAstNode(this)))
 				scope.problemReporter().deprecatedMethod(this.appropriateMethodForOverload, this);
 			if(this.thisReference.resolvedType == null)
@@ -141,17 +142,17 @@ public Constant resolveCase(BlockScope scope, TypeBinding switchExpressionType,
 		if(this.constantExpression.resolvedType == null)
 			return Constant.NotAConstant;
 	}
-	MethodBinding mb2 = this.getMethodBindingForOverloadForCASE(scope);
-	if (mb2 != null && mb2.isValidBinding()) {
-		if((mb2.modifiers & ClassFileConstants.AccStatic) != 0) {
+	ControlFlowOperator caseOperator = this.getOperatorForCASE(scope);
+	if (caseOperator.status != ControlFlowOperator.MISSING) {
+		if(caseOperator.status == ControlFlowOperator.STATIC) {
 			scope.problemReporter().overloadedOperatorMethodNotStatic(this, getMethodName());
 			return Constant.NotAConstant;
 		}
-		if(mb2.returnType != TypeBinding.VOID){
-			scope.problemReporter().invalidReturnTypeForOverloadedOperator(this, getMethodName(), TypeBinding.VOID, mb2.returnType);
+		if(caseOperator.status == ControlFlowOperator.NOT_VOID){
+			scope.problemReporter().invalidReturnTypeForOverloadedOperator(this, getMethodName(), TypeBinding.VOID, caseOperator.binding.returnType);
 			return Constant.NotAConstant;
 		}
-		this.appropriateMethodForOverload = mb2;
+		this.appropriateMethodForOverload = caseOperator.binding;
 		if (isMethodUseDeprecated(this.appropriateMethodForOverload, scope, true, new InvocationSite.EmptyWithAstNode(this)))
 			scope.problemReporter().deprecatedMethod(this.appropriateMethodForOverload, this);
 		if(this.thisReference.resolvedType == null)
@@ -177,7 +178,7 @@ public void traverse(ASTVisitor visitor, BlockScope blockScope) {
  * new Milan: CASE
  */
 
-public MethodBinding getMethodBindingForOverloadForCASE(final BlockScope scope) {
+public ControlFlowOperator getOperatorForCASE(final BlockScope scope) {
 	TypeBinding [] tb_right;
 	String ms;
 	if(this.defaultStatement)
@@ -201,8 +202,7 @@ public MethodBinding getMethodBindingForOverloadForCASE(final BlockScope scope)
 		}
 	};
 
-	MethodBinding mb2 = scope.parent.getMethod(tb, ms.toCharArray(), tb_right, fakeInvocationSite);
-	return mb2;
+	return scope.environment().root.operatorOverloadCache.getControlFlowOperator(scope.parent, tb, OperatorOverloadCache.selector(ms), tb_right, fakeInvocationSite);
 }
 
 public void generateOperatorOverloadCodeForCASE(MethodBinding mb2, BlockScope currentScope, CodeStream codeStream, boolean valueRequired) {
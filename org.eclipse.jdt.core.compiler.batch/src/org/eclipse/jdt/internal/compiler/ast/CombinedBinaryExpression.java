@@ -138,17 +138,23 @@ public FlowInfo analyseCode(BlockScope currentScope, FlowContext flowContext,
 		}
 		for (int i = 0, end = this.arity; i < end; i ++) {
 			cursor = this.referencesTable[i];
+			cursor.analyseOperatorOverload(currentScope);
+			expireNullCheckedFieldInfo(cursor, flowContext);
 			flowInfo = cursor.right.
 					analyseCode(currentScope, flowContext, flowInfo).
 						unconditionalInits();
 			if (cursor.resolvedType.id != TypeIds.T_JavaLangString) {
 				cursor.right.checkNPE(currentScope, flowContext, flowInfo);
 			}
+			expireNullCheckedFieldInfo(cursor, flowContext);
 		}
+		analyseOperatorOverload(currentScope);
+		expireNullCheckedFieldInfo(this, flowContext);
 		flowInfo = this.right.analyseCode(currentScope, flowContext, flowInfo).unconditionalInits();
 		if (this.resolvedType.id != TypeIds.T_JavaLangString) {
 			this.right.checkNPE(currentScope, flowContext, flowInfo);
 		}
+		expireNullCheckedFieldInfo(this, flowContext);
 		return flowInfo;
 	} finally {
 		// account for exception possibly thrown by arithmetics
@@ -156,6 +162,56 @@ public FlowInfo analyseCode(BlockScope currentScope, FlowContext flowContext,
 	}
 }
 
+// as BinaryExpression#analyseCode does after each operand
+private static void expireNullCheckedFieldInfo(BinaryExpression expression, FlowContext flowContext) {
+	if (expression.resolvedType.id != TypeIds.T_JavaLangString
+			&& ((expression.bits & OperatorMASK) >> OperatorSHIFT) != AND) {
+		flowContext.expireNullCheckedFieldInfo();
+	}
+}
+
+@Override
+public void generateCode(BlockScope currentScope, CodeStream codeStream, boolean valueRequired) {
+	// keep implementation in sync with BinaryExpression#generateCode and
+	// BinaryExpression#generateOperatorOverloadCode
+	if (this.referencesTable == null || !isOverloadedOnLeftSide(this)) {
+		super.generateCode(currentScope, codeStream, valueRequired);
+		return;
+	}
+	// chains of overloaded operators, as found in generated kernels, are
+	// evaluated from the leftmost operand upwards: the receiver of each
+	// operator method is the value of its left subexpression
+	int pc = codeStream.position;
+	int restart;
+	for (restart = this.arity - 1; restart >= 0; restart--) {
+		if (!isOverloadedOnLeftSide(this.referencesTable[restart])) {
+			break;
+		}
+	}
+	// restart now points to the deepest BE that needs to be generated as a
+	// whole, if any
+	if (restart >= 0) {
+		this.referencesTable[restart].generateCode(currentScope, codeStream, true);
+	} else {
+		this.referencesTable[0].left.generateCode(currentScope, codeStream, true);
+	}
+	BinaryExpression cursor;
+	for (int i = restart + 1; i < this.arity; i++) {
+		(cursor = this.referencesTable[i]).right.generateCode(currentScope, codeStream, true);
+		cursor.generateOperatorOverloadInvocation(codeStream, true);
+		codeStream.recordPositionsFrom(pc, cursor.sourceStart);
+	}
+	this.right.generateCode(currentScope, codeStream, true);
+	generateOperatorOverloadInvocation(codeStream, valueRequired);
+	codeStream.recordPositionsFrom(pc, this.sourceStart);
+}
+
+private static boolean isOverloadedOnLeftSide(BinaryExpression expression) {
+	return expression.appropriateMethodForOverload != null
+			&& expression.overloadedExpresionSide == overloadedLeftSide
+			&& expression.constant == Constant.NotAConstant;
+}
+
 @Override
 public void generateOptimizedStringConcatenation(BlockScope blockScope,
 		CodeStream codeStream, int typeID) {
@@ -10,6 +10,7 @@ import org.eclipse.jdt.internal.compiler.lookup.ArrayBinding;
 import org.eclipse.jdt.internal.compiler.lookup.BlockScope;
 import org.eclipse.jdt.internal.compiler.lookup.InvocationSite;
 import org.eclipse.jdt.internal.compiler.lookup.MethodBinding;
+import org.eclipse.jdt.internal.compiler.lookup.OperatorOverloadCache;
 import org.eclipse.jdt.internal.compiler.lookup.OperatorOverloadInvocationSite;
 import org.eclipse.jdt.internal.compiler.lookup.SourceTypeBinding;
 import org.eclipse.jdt.internal.compiler.lookup.TypeBinding;
@@ -411,7 +412,7 @@ public MethodBinding getMethodBindingForOverload(BlockScope scope, final Express
 
 	String ms = getMethodName(put);
 	if ((tb_left == null) || (!tbRightValid)) return null;
-	MethodBinding mb2 = scope.getMethod(tb_left, ms.toCharArray(), tb_right, fakeInvocationSite);
+	MethodBinding mb2 = scope.environment().root.operatorOverloadCache.getMethod(scope, tb_left, OperatorOverloadCache.selector(ms), tb_right, fakeInvocationSite);
 	return mb2;
 }
 
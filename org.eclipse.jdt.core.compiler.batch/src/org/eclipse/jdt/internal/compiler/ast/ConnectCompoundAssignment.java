@@ -9,6 +9,7 @@ import org.eclipse.jdt.internal.compiler.impl.Constant;
 import org.eclipse.jdt.internal.compiler.lookup.BlockScope;
 import org.eclipse.jdt.internal.compiler.lookup.InvocationSite;
 import org.eclipse.jdt.internal.compiler.lookup.MethodBinding;
+import org.eclipse.jdt.internal.compiler.lookup.OperatorOverloadCache;
 import org.eclipse.jdt.internal.compiler.lookup.OperatorOverloadInvocationSite;
 import org.eclipse.jdt.internal.compiler.lookup.SourceTypeBinding;
 import org.eclipse.jdt.internal.compiler.lookup.TypeBinding;
@@ -187,10 +188,11 @@ public String getBindingMethodName() {
 		};
 
 		String ms = getBindingMethodName();
+		OperatorOverloadCache cache = scope.environment().root.operatorOverloadCache;
 		MethodBinding mb2;
 		//right is class
 		if (!right.isBoxedPrimitiveType() && !right.isBaseType()){
-			mb2 = scope.getMethod(left, ms.toCharArray(), tb_right,  fakeInvocationSite);
+			mb2 = cache.getMethod(scope, left, OperatorOverloadCache.selector(ms), tb_right, fakeInvocationSite);
 			if(mb2 != null && mb2.isValidBinding()){
 				if (mb2.isStatic()) {
 					scope.problemReporter().overloadedOperatorMethodNotStatic(this, assignmentToString());
@@ -206,7 +208,7 @@ public String getBindingMethodName() {
 			return null;
 		}
 		if (right.isBoxedPrimitiveType() || right.isBaseType()){
-			mb2 = scope.getMethod(left, ms.toCharArray(), tb_right, fakeInvocationSite);
+			mb2 = cache.getMethod(scope, left, OperatorOverloadCache.selector(ms), tb_right, fakeInvocationSite);
 			if(mb2 != null && mb2.isValidBinding()){
 				if (mb2.isStatic()) {
 					scope.problemReporter().overloadedOperatorMethodNotStatic(this, assignmentToString());
@@ -12,7 +12,6 @@ package org.eclipse.jdt.internal.compiler.ast;
 
 import org.eclipse.jdt.internal.compiler.ASTVisitor;
 //import org.eclipse.jdt.internal.compiler.impl.*;
-import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.compiler.codegen.BranchLabel;
 import org.eclipse.jdt.internal.compiler.codegen.CodeStream;
 import org.eclipse.jdt.internal.compiler.codegen.Opcodes;
@@ -21,6 +20,8 @@ import org.eclipse.jdt.internal.compiler.flow.FlowInfo;
 import org.eclipse.jdt.internal.compiler.lookup.BlockScope;
 import org.eclipse.jdt.internal.compiler.lookup.InvocationSite;
 import org.eclipse.jdt.internal.compiler.lookup.MethodBinding;
+import org.eclipse.jdt.internal.compiler.lookup.OperatorOverloadCache;
+import org.eclipse.jdt.internal.compiler.lookup.OperatorOverloadCache.ControlFlowOperator;
 import org.eclipse.jdt.internal.compiler.lookup.OperatorOverloadInvocationSite;
 import org.eclipse.jdt.internal.compiler.lookup.SourceTypeBinding;
 import org.eclipse.jdt.internal.compiler.lookup.TypeBinding;
@@ -263,7 +264,7 @@ public String getMethodNameForENDIF() {
  * method overloading IF
  */
 
-public MethodBinding getMethodBindingForOverloadForIF(BlockScope scope) {
+public ControlFlowOperator getOperatorForIF(BlockScope scope) {
 	TypeBinding [] tb_right = new TypeBinding[] {this.condition.resolvedType};
 	final TypeBinding tb = scope.parent.classScope().referenceContext.binding;
 	final Expression[] args = new Expression[] {this.condition};
@@ -280,8 +281,7 @@ public MethodBinding getMethodBindingForOverloadForIF(BlockScope scope) {
 
 	String ms = getMethodNameForIF();
 
-	MethodBinding mb2 = scope.parent.getMethod(tb, ms.toCharArray(), tb_right, fakeInvocationSite);
-	return mb2;
+	return scope.environment().root.operatorOverloadCache.getControlFlowOperator(scope.parent, tb, OperatorOverloadCache.selector(ms), tb_right, fakeInvocationSite);
 }
 
 public void generateOperatorOverloadCodeForIF(MethodBinding mb2, BlockScope currentScope, CodeStream codeStream, boolean valueRequired) {
@@ -311,7 +311,7 @@ public void generateOperatorOverloadCodeForIF(MethodBinding mb2, BlockScope curr
 /**
  * method overloading ELSE
  */
-public MethodBinding getMethodBindingForOverloadForELSE(BlockScope scope) {
+public ControlFlowOperator getOperatorForELSE(BlockScope scope) {
 	TypeBinding [] tb_right = new TypeBinding[] {};
 
 	final TypeBinding tb = scope.parent.classScope().referenceContext.binding;
@@ -328,8 +328,7 @@ public MethodBinding getMethodBindingForOverloadForELSE(BlockScope scope) {
 
 	String ms = getMethodNameForELSE();
 
-	MethodBinding mb2 = scope.parent.getMethod(tb, ms.toCharArray(), tb_right, fakeInvocationSite);
-	return mb2;
+	return scope.environment().root.operatorOverloadCache.getControlFlowOperator(scope.parent, tb, OperatorOverloadCache.selector(ms), tb_right, fakeInvocationSite);
 }
 
 public void generateOperatorOverloadCodeForELSE(MethodBinding mb2, BlockScope currentScope, CodeStream codeStream, boolean valueRequired) {
@@ -357,7 +356,7 @@ public void generateOperatorOverloadCodeForELSE(MethodBinding mb2, BlockScope cu
 /**
  * method overloading ENDIF
  */
-public MethodBinding getMethodBindingForOverloadForENDIF(BlockScope scope) {
+public ControlFlowOperator getOperatorForENDIF(BlockScope scope) {
 	TypeBinding [] tb_right = new TypeBinding[] {};
 
 	final TypeBinding tb = scope.parent.classScope().referenceContext.binding;
@@ -374,8 +373,7 @@ public MethodBinding getMethodBindingForOverloadForENDIF(BlockScope scope) {
 
 	String ms = getMethodNameForENDIF();
 
-	MethodBinding mb2 = scope.parent.getMethod(tb, ms.toCharArray(), tb_right,  fakeInvocationSite);
-	return mb2;
+	return scope.environment().root.operatorOverloadCache.getControlFlowOperator(scope.parent, tb, OperatorOverloadCache.selector(ms), tb_right, fakeInvocationSite);
 }
 
 public void generateOperatorOverloadCodeForENDIF(MethodBinding mb2, BlockScope currentScope, CodeStream codeStream, boolean valueRequired) {
@@ -442,17 +440,17 @@ public void resolve(BlockScope scope) {
 		if(this.condition.resolvedType == null)
 			return;
 	}
-	MethodBinding mb2 = this.getMethodBindingForOverloadForIF(scope);
-	if (mb2 != null && mb2.isValidBinding()) {
-		if((mb2.modifiers & ClassFileConstants.AccStatic) != 0) {
+	ControlFlowOperator ifOperator = this.getOperatorForIF(scope);
+	if (ifOperator.status != ControlFlowOperator.MISSING) {
+		if(ifOperator.status == ControlFlowOperator.STATIC) {
 			scope.problemReporter().overloadedOperatorMethodNotStatic(this, getMethodNameForIF());
 			return;
 		}
-		if(mb2.returnType != TypeBinding.VOID){
-			scope.problemReporter().invalidReturnTypeForOverloadedOperator(this, getMethodNameForIF(), TypeBinding.VOID, mb2.returnType);
+		if(ifOperator.status == ControlFlowOperator.NOT_VOID){
+			scope.problemReporter().invalidReturnTypeForOverloadedOperator(this, getMethodNameForIF(), TypeBinding.VOID, ifOperator.binding.returnType);
 			return;
 		}
-		this.ifAppropriateMethodForOverload = mb2;
+		this.ifAppropriateMethodForOverload = ifOperator.binding;
 		if (isMethodUseDeprecated(this.ifAppropriateMethodForOverload, scope, true, new InvocationSite.EmptyWithAstNode(this)))
 			scope.problemReporter().deprecatedMethod(this.ifAppropriateMethodForOverload, this);
 
@@ -472,17 +470,17 @@ public void resolve(BlockScope scope) {
 		if(hasThenPart)
 			this.thenStatement.resolve(scope);
 		if(hasElsePart){
-			MethodBinding mb3 = this.getMethodBindingForOverloadForELSE(scope);
-			if (mb3.isValidBinding()) {
-				if((mb3.modifiers & ClassFileConstants.AccStatic) != 0) {
+			ControlFlowOperator elseOperator = this.getOperatorForELSE(scope);
+			if (elseOperator.status != ControlFlowOperator.MISSING) {
+				if(elseOperator.status == ControlFlowOperator.STATIC) {
 					scope.problemReporter().overloadedOperatorMethodNotStatic(this, getMethodNameForELSE());
 					return;
 				}
-				if(mb3.returnType != TypeBinding.VOID){
-					scope.problemReporter().invalidReturnTypeForOverloadedOperator(this, getMethodNameForELSE(), TypeBinding.VOID, mb3.returnType);
+				if(elseOperator.status == ControlFlowOperator.NOT_VOID){
+					scope.problemReporter().invalidReturnTypeForOverloadedOperator(this, getMethodNameForELSE(), TypeBinding.VOID, elseOperator.binding.returnType);
 					return;
 				}
-				this.elseAppropriateMethodForOverload = mb3;
+				this.elseAppropriateMethodForOverload = elseOperator.binding;
 				if (isMethodUseDeprecated(this.elseAppropriateMethodForOverload, scope, true, new InvocationSite.EmptyWithAstNode(this)))
 					scope.problemReporter().deprecatedMethod(this.elseAppropriateMethodForOverload, this);
 			}else{
@@ -491,16 +489,16 @@ public void resolve(BlockScope scope) {
 			}
 			this.elseStatement.resolve(scope);
 		}
-		MethodBinding mb4 = this.getMethodBindingForOverloadForENDIF(scope);
-		if (mb4.isValidBinding()) {
-			if((mb4.modifiers & ClassFileConstants.AccStatic) != 0) {
+		ControlFlowOperator endifOperator = this.getOperatorForENDIF(scope);
+		if (endifOperator.status != ControlFlowOperator.MISSING) {
+			if(endifOperator.status == ControlFlowOperator.STATIC) {
 				scope.problemReporter().overloadedOperatorMethodNotStatic(this, getMethodNameForENDIF());
 				return;
-			}if(mb4.returnType != TypeBinding.VOID){
-				scope.problemReporter().invalidReturnTypeForOverloadedOperator(this, getMethodNameForENDIF(), TypeBinding.VOID, mb4.returnType);
+			}if(endifOperator.status == ControlFlowOperator.NOT_VOID){
+				scope.problemReporter().invalidReturnTypeForOverloadedOperator(this, getMethodNameForENDIF(), TypeBinding.VOID, endifOperator.binding.returnType);
 				return;
 			}
-			this.endifAppropriateMethodForOverload = mb4;
+			this.endifAppropriateMethodForOverload = endifOperator.binding;
 			if (isMethodUseDeprecated(this.endifAppropriateMethodForOverload, scope, true, new InvocationSite.EmptyWithAstNode(this)))
 				scope.problemReporter().deprecatedMethod(this.endifAppropriateMethodForOverload, this);
 		}else{
@@ -11,7 +11,6 @@
 package org.eclipse.jdt.internal.compiler.ast;
 
 import org.eclipse.jdt.internal.compiler.ASTVisitor;
-import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.compiler.codegen.BranchLabel;
 import org.eclipse.jdt.internal.compiler.codegen.CaseLabel;
 import org.eclipse.jdt.internal.compiler.codegen.CodeStream;
@@ -23,6 +22,8 @@ import org.eclipse.jdt.internal.compiler.impl.Constant;
 import org.eclipse.jdt.internal.compiler.lookup.BlockScope;
 import org.eclipse.jdt.internal.compiler.lookup.InvocationSite;
 import org.eclipse.jdt.internal.compiler.lookup.MethodBinding;
+import org.eclipse.jdt.internal.compiler.lookup.OperatorOverloadCache;
+import org.eclipse.jdt.internal.compiler.lookup.OperatorOverloadCache.ControlFlowOperator;
 import org.eclipse.jdt.internal.compiler.lookup.OperatorOverloadInvocationSite;
 import org.eclipse.jdt.internal.compiler.lookup.SourceTypeBinding;
 import org.eclipse.jdt.internal.compiler.lookup.TypeBinding;
@@ -255,17 +256,17 @@ public class SWITCH_Statement extends Statement {
 	    			return;
 	    	}
 
-			MethodBinding mb2 = this.getMethodBindingForOverloadForSWITCH(upperScope);
-			if (mb2 != null && mb2.isValidBinding()) {
-				if((mb2.modifiers & ClassFileConstants.AccStatic) != 0) {
+			ControlFlowOperator switchOperator = this.getOperatorForSWITCH(upperScope);
+			if (switchOperator.status != ControlFlowOperator.MISSING) {
+				if(switchOperator.status == ControlFlowOperator.STATIC) {
 					upperScope.problemReporter().overloadedOperatorMethodNotStatic(this, getMethodNameForSWITCH());
 					return;
 				}
-				if(mb2.returnType != TypeBinding.VOID){
-					upperScope.problemReporter().invalidReturnTypeForOverloadedOperator(this, getMethodNameForSWITCH(), TypeBinding.VOID, mb2.returnType);
+				if(switchOperator.status == ControlFlowOperator.NOT_VOID){
+					upperScope.problemReporter().invalidReturnTypeForOverloadedOperator(this, getMethodNameForSWITCH(), TypeBinding.VOID, switchOperator.binding.returnType);
 					return;
 				}
-				this.switchAppropriateMethodForOverload = mb2;
+				this.switchAppropriateMethodForOverload = switchOperator.binding;
 				if (isMethodUseDeprecated(this.switchAppropriateMethodForOverload, upperScope, true, new InvocationSite.EmptyWithAstNode(this)))
 					upperScope.problemReporter().deprecatedMethod(this.switchAppropriateMethodForOverload, this);
 				if(this.thisReference.resolvedType == null)
@@ -282,17 +283,17 @@ public class SWITCH_Statement extends Statement {
 				return;
 			}
 
-			mb2 = this.getMethodBindingForOverloadForENDSWITCH(upperScope);
-			if (mb2.isValidBinding()) {
-				if((mb2.modifiers & ClassFileConstants.AccStatic) != 0) {
+			ControlFlowOperator endswitchOperator = this.getOperatorForENDSWITCH(upperScope);
+			if (endswitchOperator.status != ControlFlowOperator.MISSING) {
+				if(endswitchOperator.status == ControlFlowOperator.STATIC) {
 					upperScope.problemReporter().overloadedOperatorMethodNotStatic(this, getMethodNameForENDSWITCH());
 					return;
 				}
-				if(mb2.returnType != TypeBinding.VOID){
-					upperScope.problemReporter().invalidReturnTypeForOverloadedOperator(this, getMethodNameForENDSWITCH(), TypeBinding.VOID, mb2.returnType);
+				if(endswitchOperator.status == ControlFlowOperator.NOT_VOID){
+					upperScope.problemReporter().invalidReturnTypeForOverloadedOperator(this, getMethodNameForENDSWITCH(), TypeBinding.VOID, endswitchOperator.binding.returnType);
 					return;
 				}
-				this.endswitchAppropriateMethodForOverload = mb2;
+				this.endswitchAppropriateMethodForOverload = endswitchOperator.binding;
 				if (isMethodUseDeprecated(this.endswitchAppropriateMethodForOverload, upperScope, true, new InvocationSite.EmptyWithAstNode(this)))
 					upperScope.problemReporter().deprecatedMethod(this.endswitchAppropriateMethodForOverload, this);
 			}else{
@@ -369,7 +370,7 @@ public class SWITCH_Statement extends Statement {
 		return "_END_SWITCH"; //$NON-NLS-1$
 	}
 
-	public MethodBinding getMethodBindingForOverloadForSWITCH(final BlockScope localScope) {
+	public ControlFlowOperator getOperatorForSWITCH(final BlockScope localScope) {
 		final TypeBinding [] tb_right = new TypeBinding[] {this.expression.resolvedType};
 		final TypeBinding tb = localScope.parent.classScope().referenceContext.binding;
 		final Expression[] arguments = new Expression[] { this.expression };
@@ -386,8 +387,7 @@ public class SWITCH_Statement extends Statement {
 
 		String ms = getMethodNameForSWITCH();
 
-		MethodBinding mb2 = localScope.parent.getMethod(tb, ms.toCharArray(), tb_right, fakeInvocationSite);
-		return mb2;
+		return localScope.environment().root.operatorOverloadCache.getControlFlowOperator(localScope.parent, tb, OperatorOverloadCache.selector(ms), tb_right, fakeInvocationSite);
 	}
 
 	public void generateOperatorOverloadCodeForSWITCH(MethodBinding mb2, BlockScope currentScope, CodeStream codeStream, boolean valueRequired) {
@@ -417,7 +417,7 @@ public class SWITCH_Statement extends Statement {
 	/**
 	 * endswitch
 	 */
-	public MethodBinding getMethodBindingForOverloadForENDSWITCH(final BlockScope localScope) {
+	public ControlFlowOperator getOperatorForENDSWITCH(final BlockScope localScope) {
 		final TypeBinding [] tb_right = new TypeBinding[] {};
 		final TypeBinding tb = localScope.parent.classScope().referenceContext.binding;
 		InvocationSite fakeInvocationSite = new OperatorOverloadInvocationSite(){
@@ -433,8 +433,7 @@ public class SWITCH_Statement extends Statement {
 
 		String ms = getMethodNameForENDSWITCH();
 
-		MethodBinding mb2 = localScope.parent.getMethod(tb, ms.toCharArray(), tb_right, fakeInvocationSite);
-		return mb2;
+		return localScope.environment().root.operatorOverloadCache.getControlFlowOperator(localScope.parent, tb, OperatorOverloadCache.selector(ms), tb_right, fakeInvocationSite);
 	}
 
 	public void generateOperatorOverloadCodeForENDSWITCH(MethodBinding mb2, BlockScope currentScope, CodeStream codeStream, boolean valueRequired) {
@@ -25,10 +25,12 @@ import org.eclipse.jdt.internal.compiler.flow.FlowContext;
 import org.eclipse.jdt.internal.compiler.flow.FlowInfo;
 import org.eclipse.jdt.internal.compiler.impl.BooleanConstant;
 import org.eclipse.jdt.internal.compiler.impl.Constant;
+import org.eclipse.jdt.internal.compiler.lookup.Binding;
 import org.eclipse.jdt.internal.compiler.lookup.BlockScope;
 import org.eclipse.jdt.internal.compiler.lookup.InvocationSite;
 import org.eclipse.jdt.internal.compiler.lookup.LocalVariableBinding;
 import org.eclipse.jdt.internal.compiler.lookup.MethodBinding;
+import org.eclipse.jdt.internal.compiler.lookup.OperatorOverloadCache;
 import org.eclipse.jdt.internal.compiler.lookup.OperatorOverloadInvocationSite;
 import org.eclipse.jdt.internal.compiler.lookup.SourceTypeBinding;
 import org.eclipse.jdt.internal.compiler.lookup.TypeBinding;
@@ -90,7 +92,7 @@ public class UnaryExpression extends OperatorExpression {
 
 		String ms = getMethodName();
 
-		MethodBinding mb2 = scope.getMethod(tb, ms.toCharArray(), new TypeBinding[]{}, fakeInvocationSite);
+		MethodBinding mb2 = scope.environment().root.operatorOverloadCache.getMethod(scope, tb, OperatorOverloadCache.selector(ms), Binding.NO_TYPES, fakeInvocationSite);
 		return mb2;
 	}
 
@@ -45,6 +45,16 @@ public class BatchCompilerRequestor implements ICompilerRequestor {
         this.compiler.logger.endLoggingSource();
     }
 
+    @Override
+    public void startBatch() {
+        this.compiler.startWritingClassFiles();
+    }
+
+    @Override
+    public void endBatch() {
+        this.compiler.endWritingClassFiles();
+    }
+
     protected void reportProblems(CompilationResult result) {
         // Nothing to do
     }
@@ -0,0 +1,422 @@
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
+import org.eclipse.jdt.internal.compiler.util.JRTUtil;
+import org.eclipse.jdt.internal.compiler.util.JrtFileSystem;
+import org.eclipse.jdt.internal.compiler.util.Util;
+
+/**
+ * Keeps the binary types read from class path entries across compilations run in the same JVM, possibly at the same
+ * time (e.g. by <code>maxj</code> tasks run by an Ant <code>&lt;parallel&gt;</code> task, or by a build tool calling
+ * the {@link org.eclipse.jdt.internal.compiler.tool.EclipseCompiler} repeatedly):
+ * <ul>
+ * <li>the types of jar files, which are kept open, as long as the jars keep their timestamp and size (see
+ * {@link Jar}),</li>
+ * <li>the types of class file directories, as long as each class file keeps its timestamp and size (see
+ * {@link Directory}),</li>
+ * <li>the types of JRT images, as long as their <code>jrt-fs.jar</code> keeps its timestamp and size (see
+ * {@link Jrt}).</li>
+ * </ul>
+ * <p>
+ * The cache is only used once installed with {@link #install(BinaryTypeCache)}, which the {@link CompileServer}
+ * does, or when the <code>org.eclipse.jdt.binary_type_cache</code> system property gives the limit of a cache used
+ * by all compilations of the JVM, in megabytes (<code>true</code> for the {@link #DEFAULT_LIMIT}). Cached types are
+ * read fully initialized (see {@link ClassFileReader#read(ZipFile, String, boolean)}), so they no longer refer to
+ * their class file bytes and are not modified by the compilations using them.
+ * </p>
+ * <p>
+ * The limit bounds the total size of the class files whose types are cached. Beyond it, the types cached first are
+ * evicted, unless they were used since they were last considered for eviction.
+ * </p>
+ * <p>
+ * Jars and JRT images are answered to each compilation with a reference to be released once the compilation is done
+ * (see {@link Container#release()}). When one changes, its container is replaced: the types of the old container are
+ * no longer cached, and its jar file is closed when its last user releases it.
+ * </p>
+ */
+public class BinaryTypeCache {
+
+	/** The limit of caches created without one, in bytes of class files. */
+	public static final long DEFAULT_LIMIT = 256L << 20;
+
+	private static volatile BinaryTypeCache shared = fromSystemProperty();
+
+	private static final Object MISSING = new Object(); // answered for entries that are not in their container
+
+	private static final int ENTRY_SIZE = 64; // accounted for each entry, in addition to the size of its class file
+
+	private static final int MAX_SECOND_CHANCES = 1024; // per eviction, in case types keep being used meanwhile
+
+	private static BinaryTypeCache fromSystemProperty() {
+		String limit = System.getProperty("org.eclipse.jdt.binary_type_cache"); //$NON-NLS-1$
+		if (limit == null || limit.isEmpty() || "false".equals(limit)) //$NON-NLS-1$
+			return null;
+		if ("true".equals(limit)) //$NON-NLS-1$
+			return new BinaryTypeCache();
+		try {
+			return new BinaryTypeCache(Long.parseLong(limit) << 20);
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * A type cached for a container, or {@link BinaryTypeCache#MISSING}.
+	 */
+	private static final class Entry {
+		final Container container;
+		final String name;
+		final Object type;
+		final long lastModified;
+		final long length;
+		final int size;
+		volatile boolean used;
+
+		Entry(Container container, String name, Object type, long lastModified, long length, int size) {
+			this.container = container;
+			this.name = name;
+			this.type = type;
+			this.lastModified = lastModified;
+			this.length = length;
+			this.size = size;
+		}
+	}
+
+	@FunctionalInterface
+	interface ClassFileSource {
+		/** Answers the bytes of the class file, or <code>null</code> if there is no such class file. */
+		byte[] read() throws IOException;
+	}
+
+	/**
+	 * The cached types of one class path entry.
+	 */
+	public static abstract class Container {
+		final BinaryTypeCache cache;
+		final long lastModified;
+		final long length;
+		private final Map<String, Entry> types = new ConcurrentHashMap<>();
+		private int users; // compilations which did not release this container yet, guarded by the cache
+		volatile boolean retired; // replaced or cleared, its types are no longer cached
+
+		Container(BinaryTypeCache cache, long lastModified, long length) {
+			this.cache = cache;
+			this.lastModified = lastModified;
+			this.length = length;
+		}
+
+		/**
+		 * Answers the type with the given name, read from the given source unless it was cached for the same class
+		 * file timestamp and size, or <code>null</code> if there is no such type.
+		 */
+		ClassFileReader readClass(String name, long fileLastModified, long fileLength, ClassFileSource source) throws ClassFormatException, IOException {
+			Entry entry = this.types.get(name);
+			if (entry != null && entry.lastModified == fileLastModified && entry.length == fileLength) {
+				entry.used = true;
+				return entry.type == MISSING ? null : (ClassFileReader) entry.type;
+			}
+			byte[] bytes = source.read();
+			ClassFileReader type = bytes == null ? null : createType(name, bytes);
+			entry = new Entry(this, name, type == null ? MISSING : type, fileLastModified, fileLength,
+					ENTRY_SIZE + (bytes == null ? 0 : bytes.length));
+			this.types.put(name, entry);
+			this.cache.added(entry);
+			return type;
+		}
+
+		abstract ClassFileReader createType(String name, byte[] bytes) throws ClassFormatException;
+
+		/**
+		 * Releases the reference answered by {@link BinaryTypeCache#getJar(File)} or
+		 * {@link BinaryTypeCache#getJrt(File)}, to be called once per call when the compilation is done.
+		 */
+		public void release() {
+			this.cache.release(this);
+		}
+
+		void close() {
+			// nothing to release by default
+		}
+	}
+
+	/**
+	 * The cached state of one jar file.
+	 */
+	public static class Jar extends Container {
+		final ZipFile zipFile;
+		private volatile Set<String> packages;
+
+		Jar(BinaryTypeCache cache, File file, long lastModified, long length) throws IOException {
+			super(cache, lastModified, length);
+			this.zipFile = new ZipFile(file);
+		}
+
+		/**
+		 * Answers the type read from the given entry, or <code>null</code> if the jar has no such entry.
+		 */
+		public ClassFileReader readClass(String qualifiedBinaryFileName) throws ClassFormatException, IOException {
+			return readClass(qualifiedBinaryFileName, 0, 0, () -> {
+				ZipEntry entry = this.zipFile.getEntry(qualifiedBinaryFileName);
+				if (entry == null)
+					return null;
+				try (InputStream stream = this.zipFile.getInputStream(entry)) {
+					return Util.getInputStreamAsByteArray(stream);
+				}
+			});
+		}
+
+		@Override
+		ClassFileReader createType(String name, byte[] bytes) throws ClassFormatException {
+			return ClassFileReader.read(this.zipFile.getName(), name, bytes, true);
+		}
+
+		/**
+		 * Answers the names of the packages in this jar, including their parent packages and the default package.
+		 * The answered set must not be modified.
+		 */
+		public Set<String> packages() {
+			Set<String> result = this.packages;
+			if (result == null) {
+				result = new HashSet<>(41);
+				result.add(Util.EMPTY_STRING);
+				for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
+					String fileName = e.nextElement().getName();
+					int last = fileName.lastIndexOf('/');
+					while (last > 0 && result.add(fileName = fileName.substring(0, last)))
+						last = fileName.lastIndexOf('/');
+				}
+				this.packages = result;
+			}
+			return result;
+		}
+
+		@Override
+		void close() {
+			try {
+				this.zipFile.close();
+			} catch (IOException e) {
+				// ignore
+			}
+		}
+	}
+
+	/**
+	 * The cached types of one directory of class files.
+	 */
+	public static class Directory extends Container {
+		private final String path; // ends with a separator
+
+		Directory(BinaryTypeCache cache, String path) {
+			super(cache, 0, 0);
+			this.path = path;
+		}
+
+		/**
+		 * Answers the type read from the given class file of the directory, or <code>null</code> if there is no
+		 * such file. Each call checks the timestamp and size of the file.
+		 */
+		public ClassFileReader readClass(String qualifiedBinaryFileName) throws ClassFormatException, IOException {
+			File file = new File(this.path + qualifiedBinaryFileName);
+			long fileLastModified = file.lastModified();
+			long fileLength = file.length();
+			return readClass(qualifiedBinaryFileName, fileLastModified, fileLength,
+					() -> fileLastModified == 0 ? null : Util.getFileByteContent(file));
+		}
+
+		@Override
+		ClassFileReader createType(String name, byte[] bytes) throws ClassFormatException {
+			// same as ClassFileReader.read(File)
+			File file = new File(this.path + name);
+			return ClassFileReader.read(file.toURI(), bytes, file.getAbsolutePath(), true);
+		}
+	}
+
+	/**
+	 * The cached types of one JRT image.
+	 */
+	public static class Jrt extends Container {
+
+		Jrt(BinaryTypeCache cache, long lastModified, long length) {
+			super(cache, lastModified, length);
+		}
+
+		/**
+		 * Answers the type read from the given class file of the given module of the image, or <code>null</code> if
+		 * the module has no such file.
+		 */
+		public ClassFileReader readClass(JrtFileSystem system, String qualifiedBinaryFileName, String moduleName) throws ClassFormatException, IOException {
+			return readClass(moduleName + '/' + qualifiedBinaryFileName, 0, 0,
+					() -> JRTUtil.getClassfileContent(system, qualifiedBinaryFileName, moduleName));
+		}
+
+		@Override
+		ClassFileReader createType(String name, byte[] bytes) throws ClassFormatException {
+			int separator = name.indexOf('/');
+			URI uri = URI.create("jrt:/" + name); //$NON-NLS-1$ // same as the URI of the jrt path
+			ClassFileReader reader = ClassFileReader.read(uri, bytes, name.substring(separator + 1), true);
+			reader.moduleName = name.substring(0, separator).toCharArray();
+			return reader;
+		}
+	}
+
+	@FunctionalInterface
+	private interface ContainerFactory {
+		Container create(long lastModified, long length) throws IOException;
+	}
+
+	private final long limit;
+	private final AtomicLong size = new AtomicLong();
+	private final Queue<Entry> entries = new ConcurrentLinkedQueue<>(); // in the order they were cached
+	private final Map<String, Container> containers = new ConcurrentHashMap<>();
+
+	public BinaryTypeCache() {
+		this(DEFAULT_LIMIT);
+	}
+
+	/**
+	 * Creates a cache holding types up to the given total size of their class files, in bytes.
+	 */
+	public BinaryTypeCache(long limit) {
+		this.limit = limit;
+	}
+
+	/**
+	 * Answers the cache used by the compilations of this JVM, or <code>null</code> if none is installed.
+	 */
+	public static BinaryTypeCache getShared() {
+		return shared;
+	}
+
+	/**
+	 * Installs the cache to be used by subsequent compilations of this JVM, <code>null</code> to stop caching.
+	 */
+	public static void install(BinaryTypeCache cache) {
+		BinaryTypeCache previous = shared;
+		shared = cache;
+		if (previous != null && previous != cache)
+			previous.clear();
+	}
+
+	/**
+	 * Answers the cached state of the given jar file, to be released when the compilation is done. The state is
+	 * discarded if the file changed since it was cached, which is checked on each call, so callers should call this
+	 * once per compilation.
+	 */
+	public Jar getJar(File file) throws IOException {
+		return (Jar) getContainer("jar:" + file.getAbsolutePath(), file, //$NON-NLS-1$
+				(lastModified, length) -> new Jar(this, file, lastModified, length));
+	}
+
+	/**
+	 * Answers the cached types of the class file directory with the given path, which ends with a separator.
+	 */
+	public Directory getDirectory(String path) {
+		return (Directory) this.containers.computeIfAbsent("dir:" + path, key -> new Directory(this, path)); //$NON-NLS-1$
+	}
+
+	/**
+	 * Answers the cached types of the JRT image of the given <code>jrt-fs.jar</code> file, to be released when the
+	 * compilation is done. The types are discarded if the file changed since they were cached, which is checked on
+	 * each call, so callers should call this once per compilation.
+	 */
+	public Jrt getJrt(File file) throws IOException {
+		return (Jrt) getContainer("jrt:" + file.getAbsolutePath(), file, //$NON-NLS-1$
+				(lastModified, length) -> new Jrt(this, lastModified, length));
+	}
+
+	private synchronized Container getContainer(String key, File file, ContainerFactory factory) throws IOException {
+		long lastModified = file.lastModified();
+		long length = file.length();
+		Container container = this.containers.get(key);
+		if (container == null || container.lastModified != lastModified || container.length != length) {
+			if (container != null) {
+				this.containers.remove(key);
+				retire(container);
+				removeEntries(container);
+			}
+			container = factory.create(lastModified, length);
+			this.containers.put(key, container);
+		}
+		container.users++;
+		return container;
+	}
+
+	synchronized void release(Container container) {
+		if (--container.users == 0 && container.retired)
+			container.close();
+	}
+
+	/**
+	 * Stops caching the types of a container which is no longer answered, and closes it unless compilations still
+	 * use it.
+	 */
+	private void retire(Container container) {
+		container.retired = true; // before its entries are removed, see added()
+		if (container.users == 0)
+			container.close();
+	}
+
+	private void removeEntries(Container container) {
+		for (Entry entry : this.entries) {
+			if (entry.container == container && this.entries.remove(entry))
+				this.size.addAndGet(-entry.size);
+		}
+	}
+
+	void added(Entry entry) {
+		this.entries.add(entry);
+		long total = this.size.addAndGet(entry.size);
+		if (entry.container.retired && this.entries.remove(entry)) {
+			// read by a compilation still using a replaced container
+			this.size.addAndGet(-entry.size);
+			return;
+		}
+		int secondChances = 0;
+		while (total > this.limit) {
+			Entry oldest = this.entries.poll();
+			if (oldest == null)
+				break;
+			if (oldest.used && secondChances++ < MAX_SECOND_CHANCES) {
+				oldest.used = false;
+				this.entries.add(oldest);
+				continue;
+			}
+			oldest.container.types.remove(oldest.name, oldest);
+			total = this.size.addAndGet(-oldest.size);
+		}
+	}
+
+	/**
+	 * Answers the size accounted for the cached types, in bytes: the size of their class files, plus a few bytes per
+	 * type.
+	 */
+	public long size() {
+		return this.size.get();
+	}
+
+	/**
+	 * Forgets all types, and closes the cached jar files once the compilations using them release them.
+	 */
+	public synchronized void clear() {
+		for (Container container : this.containers.values())
+			retire(container);
+		this.containers.clear();
+		this.entries.clear();
+		this.size.set(0);
+	}
+}
@@ -0,0 +1,113 @@
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import org.eclipse.jdt.internal.compiler.ClassFile;
+import org.eclipse.jdt.internal.compiler.util.SuffixConstants;
+
+/**
+ * Writes the class files of the batch compiler into the jar or zip archive named by <code>-d</code>, instead of one
+ * file per class under a directory.
+ * <p>
+ * The archive is written from scratch by each compilation, through a single buffered channel, with the entries in the
+ * order their units are accepted. Entries are compressed, unless stored ones were requested with
+ * <code>-uncompressed</code>. A directory entry precedes the first class of each package, as the jar tool would
+ * write it.
+ * </p>
+ */
+public class ClassFileArchive implements AutoCloseable {
+
+	private static final int BUFFER_SIZE = 1 << 16;
+
+	private final ZipOutputStream output;
+	private final boolean stored;
+	private final Set<String> directories = new HashSet<>();
+	private final CRC32 crc = new CRC32();
+
+	/**
+	 * Answers whether class files written to the given destination path go into an archive.
+	 */
+	public static boolean isArchive(String destinationPath) {
+		if (destinationPath == null || destinationPath == Main.NONE)
+			return false;
+		String name = destinationPath.toLowerCase(Locale.ROOT);
+		return name.endsWith(".jar") || name.endsWith(".zip"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Creates the given archive, or truncates it if it exists.
+	 */
+	public ClassFileArchive(File file, boolean stored) throws IOException {
+		File directory = file.getAbsoluteFile().getParentFile();
+		if (directory != null)
+			directory.mkdirs();
+		FileChannel channel = FileChannel.open(file.toPath(),
+				StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+		this.output = new ZipOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel), BUFFER_SIZE));
+		this.stored = stored;
+		if (stored)
+			this.output.setMethod(ZipOutputStream.STORED);
+	}
+
+	/**
+	 * Adds the given class file to the archive, under its qualified binary name.
+	 */
+	public void write(ClassFile classFile) throws IOException {
+		String name = new String(classFile.fileName()) + SuffixConstants.SUFFIX_STRING_class;
+		int separator = name.lastIndexOf('/');
+		if (separator > 0)
+			addDirectory(name.substring(0, separator + 1));
+		byte[] header = classFile.header;
+		int headerLength = classFile.headerOffset;
+		byte[] contents = classFile.contents;
+		int contentsLength = classFile.contentsOffset;
+		ZipEntry entry = new ZipEntry(name);
+		if (this.stored) {
+			this.crc.reset();
+			this.crc.update(header, 0, headerLength);
+			this.crc.update(contents, 0, contentsLength);
+			setStored(entry, headerLength + contentsLength, this.crc.getValue());
+		}
+		this.output.putNextEntry(entry);
+		this.output.write(header, 0, headerLength);
+		this.output.write(contents, 0, contentsLength);
+		this.output.closeEntry();
+	}
+
+	private void addDirectory(String directory) throws IOException {
+		if (!this.directories.add(directory))
+			return;
+		int separator = directory.lastIndexOf('/', directory.length() - 2);
+		if (separator > 0)
+			addDirectory(directory.substring(0, separator + 1));
+		ZipEntry entry = new ZipEntry(directory);
+		if (this.stored)
+			setStored(entry, 0, 0);
+		this.output.putNextEntry(entry);
+		this.output.closeEntry();
+	}
+
+	private static void setStored(ZipEntry entry, long size, long crc) {
+		entry.setSize(size);
+		entry.setCompressedSize(size);
+		entry.setCrc(crc);
+	}
+
+	/**
+	 * Writes the central directory and closes the archive.
+	 */
+	@Override
+	public void close() throws IOException {
+		this.output.close();
+	}
+}
@@ -0,0 +1,134 @@
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import org.eclipse.jdt.internal.compiler.ClassFile;
+import org.eclipse.jdt.internal.compiler.lookup.LookupEnvironment;
+import org.eclipse.jdt.internal.compiler.problem.AbortCompilation;
+import org.eclipse.jdt.internal.compiler.util.Util;
+
+/**
+ * Writes the class files of accepted compilation units on worker threads, while the compiler goes on with the
+ * next units.
+ * <p>
+ * Class file bytes are assembled and written by the workers, then handed back to the class file pool. The outcome
+ * of each write (the number of generated class files, or the failure to create one) is reported by the thread
+ * accepting the results, in the order the units were accepted. At most {@link #PENDING_UNITS} units can be waiting
+ * for write-out; beyond that, the accepting thread waits for the oldest one, which eventually holds back the
+ * processing of further units. Outcomes are only reported then and on {@link #flush()}, so the output of the batch
+ * compiler does not depend on the scheduling of the workers.
+ * </p>
+ */
+public class ClassFileWriter {
+
+	private static final int PENDING_UNITS = 100; // same bound as the queue of processed units in ProcessTaskManager
+
+	/** Not more threads than 8 and leave 2 threads for compiler + accepting thread. **/
+	private static final ExecutorService WRITER_SERVICE = createExecutor(Math.max(0, Math.min(8, Runtime.getRuntime().availableProcessors() - 2)));
+
+	private static ExecutorService createExecutor(int threadCount) {
+		if (threadCount <= 0)
+			return null;
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threadCount, threadCount, /* keepAliveTime */ 5, TimeUnit.MINUTES,
+				new LinkedBlockingQueue<>(), r -> {
+					Thread t = new Thread(r, "Compiler Class File Writer"); //$NON-NLS-1$
+					t.setDaemon(true);
+					return t;
+				});
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	private static class PendingWrite {
+		final String destinationPath;
+		final boolean generateClasspathStructure;
+		final String[] relativeNames;
+		final Future<IOException[]> failures;
+
+		PendingWrite(String destinationPath, boolean generateClasspathStructure, String[] relativeNames, Future<IOException[]> failures) {
+			this.destinationPath = destinationPath;
+			this.generateClasspathStructure = generateClasspathStructure;
+			this.relativeNames = relativeNames;
+			this.failures = failures;
+		}
+	}
+
+	private final Main main;
+	private final Queue<PendingWrite> pending = new ArrayDeque<>();
+
+	/**
+	 * Answers a writer for the given batch compiler, or <code>null</code> if this machine has no threads to spare.
+	 */
+	public static ClassFileWriter create(Main main) {
+		return WRITER_SERVICE == null ? null : new ClassFileWriter(main);
+	}
+
+	private ClassFileWriter(Main main) {
+		this.main = main;
+	}
+
+	/**
+	 * Schedules the given class files of a unit for write-out. Waits for the oldest scheduled unit if too many are
+	 * pending.
+	 */
+	public void write(ClassFile[] classFiles, boolean generateClasspathStructure, String destinationPath, String[] relativeNames) {
+		LookupEnvironment environment = this.main.batchCompiler.lookupEnvironment;
+		Future<IOException[]> failures = WRITER_SERVICE.submit(() -> {
+			IOException[] result = new IOException[classFiles.length];
+			for (int i = 0; i < classFiles.length; i++) {
+				try {
+					Util.writeToDisk(generateClasspathStructure, destinationPath, relativeNames[i], classFiles[i]);
+				} catch (IOException e) {
+					result[i] = e;
+				}
+			}
+			environment.releaseClassFiles(classFiles);
+			return result;
+		});
+		this.pending.add(new PendingWrite(destinationPath, generateClasspathStructure, relativeNames, failures));
+		if (this.pending.size() > PENDING_UNITS)
+			report(this.pending.poll());
+	}
+
+	/**
+	 * Waits for all scheduled writes and reports them.
+	 */
+	public void flush() {
+		PendingWrite oldest;
+		while ((oldest = this.pending.poll()) != null)
+			report(oldest);
+	}
+
+	private void report(PendingWrite write) {
+		IOException[] failures;
+		try {
+			failures = write.failures.get();
+		} catch (InterruptedException interrupt) {
+			throw new AbortCompilation(true/* silent */, new RuntimeException(interrupt));
+		} catch (ExecutionException e) {
+			// rethrow the caught exception from the writing threads in the accepting thread
+			if (e.getCause() instanceof Error err) {
+				throw err;
+			}
+			if (e.getCause() instanceof RuntimeException ex) {
+				throw ex;
+			}
+			throw new RuntimeException(e);
+		}
+		for (int i = 0; i < failures.length; i++) {
+			if (failures[i] == null) {
+				this.main.logger.logClassFile(write.generateClasspathStructure, write.destinationPath, write.relativeNames[i]);
+				this.main.exportedClassFilesCounter++;
+			} else {
+				this.main.logger.logNoClassFileCreated(write.destinationPath, write.relativeNames[i], failures[i]);
+			}
+		}
+	}
+}
@@ -60,6 +60,7 @@ public class ClasspathDirectory extends ClasspathLocation {
 	private final String encoding; // only useful if referenced in the source path
 	private final Map<String, Map<String, String>> packageSecondaryTypes = new ConcurrentHashMap<>();
 	private final Map<String, String> options;
+	private BinaryTypeCache.Directory cachedDirectory; // non-null while types are read through the shared binary type cache
 
 ClasspathDirectory(File directory, String encoding, int mode,
 		AccessRuleSet accessRuleSet, String destinationPath, Map<String, String> options) {
@@ -146,7 +147,9 @@ private NameEnvironmentAnswer findClassInternal(char[] typeName, String qualifie
 	}
 	if (binaryExists) {
 		try {
-			ClassFileReader reader = ClassFileReader.read(this.path + qualifiedBinaryFileName);
+			ClassFileReader reader = this.cachedDirectory != null
+					? this.cachedDirectory.readClass(qualifiedBinaryFileName)
+					: ClassFileReader.read(this.path + qualifiedBinaryFileName);
 			// https://bugs.eclipse.org/bugs/show_bug.cgi?id=321115, package names are to be treated case sensitive.
 			String typeSearched = qualifiedPackageName.length() > 0 ?
 					qualifiedPackageName.replace(File.separatorChar, '/') + "/" + fileName //$NON-NLS-1$
@@ -289,7 +292,9 @@ public char[][][] findTypeNames(String qualifiedPackageName, String moduleName)
 }
 @Override
 public void initialize() throws IOException {
-	// nothing to do
+	BinaryTypeCache cache = BinaryTypeCache.getShared();
+	if (cache != null)
+		this.cachedDirectory = cache.getDirectory(this.path);
 }
 @Override
 public char[][] getModulesDeclaringPackage(String qualifiedPackageName, /*@Nullable*/String moduleName) {
@@ -357,6 +362,7 @@ public void reset() {
 	super.reset();
 	this.directoryCache.clear();
 	this.packageSecondaryTypes.clear();
+	this.cachedDirectory = null;
 }
 @Override
 public String toString() {
@@ -16,11 +16,11 @@
  *******************************************************************************/
 package org.eclipse.jdt.internal.compiler.batch;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
-import java.util.Enumeration;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -52,6 +52,8 @@ protected ZipFile annotationZipFile;
 protected boolean closeZipFileAtEnd;
 protected Set<String> packageCache;
 protected List<String> annotationPaths;
+protected BinaryTypeCache.Jar cachedJar; // non-null while the zip file is owned by the shared binary type cache
+protected JarIndex index; // non-null if entries are read through a persistent index instead of the zip file
 
 public ClasspathJar(File file, boolean closeZipFileAtEnd,
 		AccessRuleSet accessRuleSet, String destinationPath) {
@@ -67,13 +69,10 @@ public List<Classpath> fetchLinkedJars(FileSystem.ClasspathSectionProblemReporte
 	try {
 		initialize();
 		ArrayList<Classpath> result = new ArrayList<>();
-		ZipEntry manifest = this.zipFile.getEntry(TypeConstants.META_INF_MANIFEST_MF);
+		byte[] manifest = readEntry(TypeConstants.META_INF_MANIFEST_MF);
 		if (manifest != null) { // non-null implies regular file
 			ManifestAnalyzer analyzer = new ManifestAnalyzer();
-			boolean success;
-			try (InputStream inputStream = this.zipFile.getInputStream(manifest)) {
-				success = analyzer.analyzeManifestContents(inputStream);
-			}
+			boolean success = analyzer.analyzeManifestContents(new ByteArrayInputStream(manifest));
 			List calledFileNames = analyzer.getCalledFileNames();
 			if (problemReporter != null) {
 				if (!success || analyzer.getClasspathSectionsCount() == 1 &&  calledFileNames == null) {
@@ -112,7 +111,15 @@ public NameEnvironmentAnswer findClass(char[] typeName, String qualifiedPackageN
 		return null; // most common case
 
 	try {
-		IBinaryType reader = ClassFileReader.read(this.zipFile, qualifiedBinaryFileName);
+		IBinaryType reader;
+		if (this.cachedJar != null && this.module == null) {
+			reader = this.cachedJar.readClass(qualifiedBinaryFileName);
+		} else if (this.index != null) {
+			byte[] bytes = this.index.read(qualifiedBinaryFileName);
+			reader = bytes == null ? null : ClassFileReader.read(this.file.getPath(), qualifiedBinaryFileName, bytes, false);
+		} else {
+			reader = ClassFileReader.read(this.zipFile, qualifiedBinaryFileName);
+		}
 		if (reader != null) {
 			char[] modName = this.module == null ? null : this.module.name();
 			if (reader instanceof ClassFileReader) {
@@ -151,6 +158,8 @@ public NameEnvironmentAnswer findClass(char[] typeName, String qualifiedPackageN
 }
 @Override
 public boolean hasAnnotationFileFor(String qualifiedTypeName) {
+	if (this.index != null)
+		return this.index.contains(qualifiedTypeName+ExternalAnnotationProvider.ANNOTATION_FILE_SUFFIX);
 	if (this.zipFile == null)
 		return false;
 	return this.zipFile.getEntry(qualifiedTypeName+ExternalAnnotationProvider.ANNOTATION_FILE_SUFFIX) != null;
@@ -161,8 +170,7 @@ public char[][][] findTypeNames(final String qualifiedPackageName, String module
 		return null; // most common case
 	final char[] packageArray = qualifiedPackageName.toCharArray();
 	final ArrayList answers = new ArrayList();
-	nextEntry : for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
-		String fileName = e.nextElement().getName();
+	nextEntry : for (String fileName : entryNames()) {
 
 		// add the package name & all of its parent packages
 		int last = fileName.lastIndexOf('/');
@@ -192,8 +200,39 @@ public char[][][] findTypeNames(final String qualifiedPackageName, String module
 
 @Override
 public void initialize() throws IOException {
-	if (this.zipFile == null) {
-		this.zipFile = new ZipFile(this.file);
+	if (this.zipFile == null && this.index == null) {
+		BinaryTypeCache cache = BinaryTypeCache.getShared();
+		if (cache != null) {
+			this.cachedJar = cache.getJar(this.file);
+			this.zipFile = this.cachedJar.zipFile;
+		} else {
+			// subclasses access the zip file directly
+			if (getClass() == ClasspathJar.class)
+				this.index = JarIndex.get(this.file);
+			if (this.index == null)
+				this.zipFile = new ZipFile(this.file);
+		}
+	}
+}
+/**
+ * Answers the names of all entries of this jar.
+ */
+protected Iterable<String> entryNames() {
+	if (this.index != null)
+		return this.index.names();
+	return () -> this.zipFile.stream().map(ZipEntry::getName).iterator();
+}
+/**
+ * Answers the contents of the given entry of this jar, or <code>null</code> if there is no such entry.
+ */
+protected byte[] readEntry(String name) throws IOException {
+	if (this.index != null)
+		return this.index.read(name);
+	ZipEntry entry = this.zipFile.getEntry(name);
+	if (entry == null)
+		return null;
+	try (InputStream inputStream = this.zipFile.getInputStream(entry)) {
+		return Util.getInputStreamAsByteArray(inputStream);
 	}
 }
 void acceptModule(ClassFileReader reader) {
@@ -230,11 +269,14 @@ public synchronized char[][] getModulesDeclaringPackage(String qualifiedPackageN
 	if (this.packageCache != null)
 		return singletonModuleNameIf(this.packageCache.contains(qualifiedPackageName));
 
+	if (this.cachedJar != null) {
+		this.packageCache = this.cachedJar.packages();
+		return singletonModuleNameIf(this.packageCache.contains(qualifiedPackageName));
+	}
 	this.packageCache = new HashSet<>(41);
 	this.packageCache.add(Util.EMPTY_STRING);
 
-	for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
-		String fileName = e.nextElement().getName();
+	for (String fileName : entryNames()) {
 		addToPackageCache(fileName, false);
 	}
 	return singletonModuleNameIf(this.packageCache.contains(qualifiedPackageName));
@@ -242,8 +284,7 @@ public synchronized char[][] getModulesDeclaringPackage(String qualifiedPackageN
 @Override
 public boolean hasCompilationUnit(String qualifiedPackageName, String moduleName) {
 	qualifiedPackageName += '/';
-	for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
-		String fileName = e.nextElement().getName();
+	for (String fileName : entryNames()) {
 		if (fileName.startsWith(qualifiedPackageName) && fileName.length() > qualifiedPackageName.length()) {
 			String tail = fileName.substring(qualifiedPackageName.length());
 			if (tail.indexOf('/') != -1)
@@ -258,8 +299,7 @@ public boolean hasCompilationUnit(String qualifiedPackageName, String moduleName
 @Override
 public char[][] listPackages() {
 	Set<String> packageNames = new HashSet<>();
-	for (Enumeration<? extends ZipEntry> e = this.zipFile.entries(); e.hasMoreElements(); ) {
-		String fileName = e.nextElement().getName();
+	for (String fileName : entryNames()) {
 		int lastSlash = fileName.lastIndexOf('/');
 		if (lastSlash != -1 && fileName.toLowerCase().endsWith(SUFFIX_STRING_class))
 			packageNames.add(fileName.substring(0, lastSlash).replace('/', '.'));
@@ -270,7 +310,17 @@ public char[][] listPackages() {
 @Override
 public void reset() {
 	super.reset();
+	if (this.cachedJar != null) {
+		// the zip file stays open for the next compilation, unless the jar changed meanwhile
+		this.cachedJar.release();
+		this.zipFile = null;
+		this.cachedJar = null;
+	}
 	if (this.closeZipFileAtEnd) {
+		if (this.index != null) {
+			this.index.close();
+			this.index = null;
+		}
 		if (this.zipFile != null) {
 			try {
 				this.zipFile.close();
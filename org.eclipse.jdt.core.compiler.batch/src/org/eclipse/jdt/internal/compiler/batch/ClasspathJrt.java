@@ -53,6 +53,7 @@ public class ClasspathJrt extends ClasspathLocation implements IMultiModuleEntry
 	protected static final Map<String, Map<String,IModule>> ModulesCache = new ConcurrentHashMap<>();
 	public final Set<String> moduleNamesCache;
 	protected List<String> annotationPaths;
+	protected BinaryTypeCache.Jrt cachedJrt; // non-null while types are read through the shared binary type cache
 
 	public ClasspathJrt(File file, boolean closeZipFileAtEnd,
 			AccessRuleSet accessRuleSet, String destinationPath) {
@@ -90,7 +91,9 @@ public class ClasspathJrt extends ClasspathLocation implements IMultiModuleEntry
 			return null; // most common case
 
 		try {
-			IBinaryType reader = JRTUtil.getClassfile(this.jrtFileSystem, qualifiedBinaryFileName, moduleName, this.moduleNamesCache::contains);
+			IBinaryType reader = this.cachedJrt != null
+					? readCachedClass(qualifiedBinaryFileName, moduleName)
+					: JRTUtil.getClassfile(this.jrtFileSystem, qualifiedBinaryFileName, moduleName, this.moduleNamesCache::contains);
 
 			if (reader != null) {
 				reader = maybeDecorateForExternalAnnotations(qualifiedBinaryFileName, reader);
@@ -105,6 +108,20 @@ public class ClasspathJrt extends ClasspathLocation implements IMultiModuleEntry
 		return null;
 	}
 
+	private ClassFileReader readCachedClass(String qualifiedBinaryFileName, String moduleName) throws ClassFormatException, IOException {
+		if (moduleName != null)
+			return this.cachedJrt.readClass(this.jrtFileSystem, qualifiedBinaryFileName, moduleName);
+		// same search as JRTUtil.getClassfile()
+		for (String module : this.jrtFileSystem.getModules(qualifiedBinaryFileName)) {
+			if (!this.moduleNamesCache.contains(module))
+				continue;
+			ClassFileReader reader = this.cachedJrt.readClass(this.jrtFileSystem, qualifiedBinaryFileName, module);
+			if (reader != null)
+				return reader;
+		}
+		return null;
+	}
+
 	protected IBinaryType maybeDecorateForExternalAnnotations(String qualifiedBinaryFileName, IBinaryType reader) {
 		searchPaths:
 		if (this.annotationPaths != null) {
@@ -209,11 +226,31 @@ public class ClasspathJrt extends ClasspathLocation implements IMultiModuleEntry
 	@Override
 	public void initialize() throws IOException {
 		loadModules();
+		BinaryTypeCache cache = BinaryTypeCache.getShared();
+		if (cache != null && this.cachedJrt == null)
+			this.cachedJrt = cache.getJrt(this.file);
 	}
 
 	public void loadModules() {
 		Map<String, IModule> cache = ModulesCache.computeIfAbsent(this.file.getPath(), key -> {
 			HashMap<String,IModule> newCache = new HashMap<>();
+			List<String> knownModules = this.jrtFileSystem.getKnownModules();
+			if (knownModules != null) {
+				// no need to walk the image
+				for (String moduleName : knownModules) {
+					try {
+						acceptModule(this.jrtFileSystem.getClassfile(IModule.MODULE_INFO_CLASS, moduleName), newCache);
+					} catch (ClassFormatException | IOException e) {
+						String error = "Failed to read module " + moduleName + " of " + key; //$NON-NLS-1$ //$NON-NLS-2$
+						if (JRTUtil.PROPAGATE_IO_ERRORS) {
+							throw new IllegalStateException(error, e);
+						}
+						System.err.println(error);
+						e.printStackTrace();
+					}
+				}
+				return newCache.isEmpty() ? null : Collections.unmodifiableMap(newCache);
+			}
 			try {
 				org.eclipse.jdt.internal.compiler.util.JRTUtil.walkModuleImage(this.jrtFileSystem,
 						new org.eclipse.jdt.internal.compiler.util.JRTUtil.JrtFileVisitor<Path>() {
@@ -319,6 +356,11 @@ public class ClasspathJrt extends ClasspathLocation implements IMultiModuleEntry
 			//this.packageCache = null;
 			this.annotationPaths = null;
 		}
+		this.jrtFileSystem.saveSnapshot();
+		if (this.cachedJrt != null) {
+			this.cachedJrt.release();
+			this.cachedJrt = null;
+		}
 	}
 	@Override
 	public String toString() {
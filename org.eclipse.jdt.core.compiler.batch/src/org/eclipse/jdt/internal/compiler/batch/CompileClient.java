@@ -0,0 +1,176 @@
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+
+/**
+ * Runs batch compilations on a {@link CompileServer} when one is running, in-process otherwise.
+ * <p>
+ * The client only falls back to in-process compilation as long as the server did not start compiling: once the
+ * server accepted the request, the compiler output has been forwarded and the compilation is not run again.
+ * </p>
+ */
+public class CompileClient {
+
+	private static final int CONNECT_TIMEOUT = 1000; // ms, the server is local
+
+	private final File portFile;
+
+	public CompileClient(File portFile) {
+		this.portFile = portFile;
+	}
+
+	/**
+	 * Compiles like {@link Main#main(String[])}, on the server described by the default port file if one is running.
+	 */
+	public static void main(String[] args) {
+		PrintWriter out = new PrintWriter(System.out);
+		PrintWriter err = new PrintWriter(System.err);
+		boolean success = new CompileClient(CompileServer.getDefaultPortFile()).compile(args, null, out, err);
+		System.exit(success ? 0 : -1);
+	}
+
+	/**
+	 * Compiles with the given arguments and custom default options (see
+	 * {@link Main#Main(PrintWriter, PrintWriter, boolean, Map, org.eclipse.jdt.core.compiler.CompilationProgress)}),
+	 * on the server if possible, in-process otherwise.
+	 *
+	 * @return whether the compilation succeeded, as answered by {@link Main#compile(String[])}
+	 */
+	public boolean compile(String[] args, Map<String, String> customDefaultOptions, PrintWriter out, PrintWriter err) {
+		Boolean result;
+		try {
+			result = compileOnServer(args, customDefaultOptions, out, err);
+		} catch (IOException e) {
+			err.println("Lost connection to the compile server: " + e.getMessage()); //$NON-NLS-1$
+			err.flush();
+			return false;
+		}
+		if (result != null)
+			return result.booleanValue();
+		// like the server and MaxjTask, never exits the JVM of the caller
+		return new Main(out, err, false/*systemExit*/, customDefaultOptions, null/*progress*/).compile(args);
+	}
+
+	/**
+	 * Compiles on the server.
+	 *
+	 * @return whether the compilation succeeded, or <code>null</code> if no server is running or the server did
+	 *         not accept the request
+	 * @throws IOException if the connection broke after the server accepted the request
+	 */
+	public Boolean compileOnServer(String[] args, Map<String, String> customDefaultOptions, PrintWriter out, PrintWriter err) throws IOException {
+		Socket socket = connect(CompileServer.COMPILE);
+		if (socket == null)
+			return null;
+		try (Socket s = socket) {
+			DataOutputStream request = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+			DataInputStream response = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+			try {
+				CompileServer.writeString(request, System.getProperty("user.dir")); //$NON-NLS-1$
+				if (customDefaultOptions == null) {
+					request.writeInt(-1);
+				} else {
+					request.writeInt(customDefaultOptions.size());
+					for (Map.Entry<String, String> entry : customDefaultOptions.entrySet()) {
+						CompileServer.writeString(request, entry.getKey());
+						CompileServer.writeString(request, entry.getValue());
+					}
+				}
+				request.writeInt(args.length);
+				for (String arg : args)
+					CompileServer.writeString(request, arg);
+				request.flush();
+				if (response.readByte() != CompileServer.ACCEPTED)
+					return null;
+			} catch (IOException e) {
+				return null; // the server is going away, nothing was compiled yet
+			}
+			while (true) {
+				byte kind = response.readByte();
+				switch (kind) {
+					case CompileServer.OUT:
+						out.print(CompileServer.readString(response));
+						break;
+					case CompileServer.ERR:
+						err.print(CompileServer.readString(response));
+						break;
+					case CompileServer.RESULT:
+						out.flush();
+						err.flush();
+						return Boolean.valueOf(response.readBoolean());
+					default:
+						throw new IOException("Unexpected response from the compile server: " + kind); //$NON-NLS-1$
+				}
+			}
+		} finally {
+			out.flush();
+			err.flush();
+		}
+	}
+
+	/**
+	 * Asks the server to stop.
+	 *
+	 * @return whether a server was running and accepted the request
+	 */
+	public boolean stopServer() {
+		Socket socket = connect(CompileServer.STOP);
+		if (socket == null)
+			return false;
+		try (Socket s = socket) {
+			return new DataInputStream(s.getInputStream()).readByte() == CompileServer.ACCEPTED;
+		} catch (IOException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Answers a connection to the server on which the given request has been sent, or <code>null</code> if no
+	 * server is reachable.
+	 */
+	private Socket connect(byte request) {
+		int port;
+		byte[] token;
+		try {
+			String[] content = new String(Files.readAllBytes(this.portFile.toPath()), StandardCharsets.UTF_8).trim().split(" "); //$NON-NLS-1$
+			if (content.length != 2 || (content[1].length() & 1) != 0)
+				return null;
+			port = Integer.parseInt(content[0]);
+			token = new byte[content[1].length() / 2];
+			for (int i = 0; i < token.length; i++)
+				token[i] = (byte) Integer.parseInt(content[1].substring(2 * i, 2 * i + 2), 16);
+		} catch (IOException | NumberFormatException e) {
+			return null; // no server, or not started yet
+		}
+		Socket socket = new Socket();
+		try {
+			socket.connect(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), CONNECT_TIMEOUT);
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()));
+			out.writeInt(CompileServer.PROTOCOL_VERSION);
+			out.write(token);
+			out.writeByte(request);
+			out.flush();
+			return socket;
+		} catch (IOException | IllegalArgumentException e) {
+			// stale port file, the server is gone
+			try {
+				socket.close();
+			} catch (IOException e1) {
+				// ignore
+			}
+			return null;
+		}
+	}
+}
@@ -0,0 +1,322 @@
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.BufferedWriter;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.security.MessageDigest;
+import java.security.SecureRandom;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A long-lived local compile daemon running the batch compiler ({@link Main}) on behalf of {@link CompileClient}s,
+ * such as the <code>maxj</code> Ant task.
+ * <p>
+ * Compiling in a warm JVM saves the JIT warm-up, the loading of the JRT image (cached by
+ * {@link org.eclipse.jdt.internal.compiler.util.JRTUtil}) and the reading of the same library jars for every
+ * compilation: the server installs a {@link BinaryTypeCache}, which keeps the types read from class path entries as
+ * long as they are not modified.
+ * </p>
+ * <p>
+ * The server listens on a loopback port. It writes the port and a random token, which clients must present, to a
+ * port file readable by the current user only. Compilations are run one at a time, and only for clients running in
+ * the working directory of the server, since the batch compiler resolves relative paths against the working
+ * directory of its JVM. Other clients are turned away and compile in-process.
+ * </p>
+ * <pre>
+ * Usage: CompileServer [-portFile &lt;file&gt;] [-port &lt;port&gt;] [-idleTimeout &lt;minutes&gt;] [-stop]
+ * </pre>
+ */
+public class CompileServer {
+
+	static final int PROTOCOL_VERSION = 1;
+
+	// requests
+	static final byte COMPILE = 1;
+	static final byte STOP = 2;
+
+	// responses
+	static final byte REJECTED = 0;
+	static final byte ACCEPTED = 1;
+	static final byte OUT = 2;
+	static final byte ERR = 3;
+	static final byte RESULT = 4;
+
+	private static final int DEFAULT_IDLE_TIMEOUT = 120; // minutes
+
+	private final File portFile;
+	private final ServerSocket serverSocket;
+	private final byte[] token;
+	private final Object compileLock = new Object();
+	private int activeRequests; // synchronized access
+	private volatile boolean stopped;
+
+	/**
+	 * Answers the port file used when none is specified: <code>.maxj/compile-server</code> in the home directory
+	 * of the user.
+	 */
+	public static File getDefaultPortFile() {
+		return new File(new File(System.getProperty("user.home"), ".maxj"), "compile-server"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+	}
+
+	public static void main(String[] args) throws IOException {
+		File portFile = getDefaultPortFile();
+		int port = 0;
+		int idleTimeout = DEFAULT_IDLE_TIMEOUT;
+		boolean stop = false;
+		for (int i = 0; i < args.length; i++) {
+			String arg = args[i];
+			if (arg.equals("-portFile") && i + 1 < args.length) { //$NON-NLS-1$
+				portFile = new File(args[++i]);
+			} else if (arg.equals("-port") && i + 1 < args.length) { //$NON-NLS-1$
+				port = Integer.parseInt(args[++i]);
+			} else if (arg.equals("-idleTimeout") && i + 1 < args.length) { //$NON-NLS-1$
+				idleTimeout = Integer.parseInt(args[++i]);
+			} else if (arg.equals("-stop")) { //$NON-NLS-1$
+				stop = true;
+			} else {
+				System.err.println("Usage: CompileServer [-portFile <file>] [-port <port>] [-idleTimeout <minutes>] [-stop]"); //$NON-NLS-1$
+				System.exit(-1);
+			}
+		}
+		if (stop) {
+			if (!new CompileClient(portFile).stopServer())
+				System.err.println("No compile server is running for " + portFile); //$NON-NLS-1$
+			return;
+		}
+		CompileServer server = new CompileServer(portFile, port);
+		System.out.println("Compile server listening on port " + server.serverSocket.getLocalPort() + ", port file: " + portFile); //$NON-NLS-1$ //$NON-NLS-2$
+		System.out.flush();
+		server.serve(idleTimeout);
+	}
+
+	public CompileServer(File portFile, int port) throws IOException {
+		this.portFile = portFile.getAbsoluteFile();
+		this.serverSocket = new ServerSocket(port, 50, InetAddress.getLoopbackAddress());
+		this.token = new byte[16];
+		new SecureRandom().nextBytes(this.token);
+		writePortFile();
+	}
+
+	private void writePortFile() throws IOException {
+		File directory = this.portFile.getParentFile();
+		if (directory != null)
+			directory.mkdirs();
+		File temp = File.createTempFile("compile-server", ".tmp", directory); //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			try {
+				Files.setPosixFilePermissions(temp.toPath(), PosixFilePermissions.fromString("rw-------")); //$NON-NLS-1$
+			} catch (UnsupportedOperationException e) {
+				// not a POSIX file system, rely on the permissions of the user's home
+			}
+			String content = this.serverSocket.getLocalPort() + " " + toHex(this.token) + '\n'; //$NON-NLS-1$
+			Files.write(temp.toPath(), content.getBytes(StandardCharsets.UTF_8));
+			Files.move(temp.toPath(), this.portFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			temp.delete();
+		}
+	}
+
+	/**
+	 * Serves requests until stopped, or until no request came in for the given number of minutes (0 to never time
+	 * out).
+	 */
+	public void serve(int idleTimeout) throws IOException {
+		BinaryTypeCache.install(new BinaryTypeCache());
+		try {
+			this.serverSocket.setSoTimeout((int) TimeUnit.MINUTES.toMillis(idleTimeout));
+			while (!this.stopped) {
+				Socket socket;
+				try {
+					socket = this.serverSocket.accept();
+				} catch (SocketTimeoutException e) {
+					synchronized (this) {
+						if (this.activeRequests == 0)
+							break;
+					}
+					continue;
+				} catch (SocketException e) {
+					if (this.stopped)
+						break; // closed by a stop request
+					throw e;
+				}
+				synchronized (this) {
+					this.activeRequests++;
+				}
+				Thread handler = new Thread(() -> handle(socket), "Compile Server Request"); //$NON-NLS-1$
+				handler.setDaemon(true);
+				handler.start();
+			}
+		} finally {
+			stop();
+			BinaryTypeCache.install(null);
+		}
+	}
+
+	/**
+	 * Stops accepting requests and removes the port file.
+	 */
+	public void stop() {
+		this.stopped = true;
+		try {
+			this.serverSocket.close();
+		} catch (IOException e) {
+			// ignore
+		}
+		this.portFile.delete();
+	}
+
+	private void handle(Socket socket) {
+		try (Socket s = socket) {
+			DataInputStream in = new DataInputStream(new BufferedInputStream(s.getInputStream()));
+			DataOutputStream out = new DataOutputStream(new BufferedOutputStream(s.getOutputStream()));
+			if (in.readInt() != PROTOCOL_VERSION) {
+				reject(out, "Incompatible compile client"); //$NON-NLS-1$
+				return;
+			}
+			byte[] clientToken = new byte[this.token.length];
+			in.readFully(clientToken);
+			if (!MessageDigest.isEqual(clientToken, this.token)) {
+				reject(out, "Invalid token"); //$NON-NLS-1$
+				return;
+			}
+			byte request = in.readByte();
+			if (request == STOP) {
+				out.writeByte(ACCEPTED);
+				out.flush();
+				stop();
+				return;
+			}
+			String workingDirectory = readString(in);
+			Map<String, String> options = null;
+			int optionCount = in.readInt();
+			if (optionCount >= 0) {
+				options = new HashMap<>();
+				for (int i = 0; i < optionCount; i++)
+					options.put(readString(in), readString(in));
+			}
+			String[] args = new String[in.readInt()];
+			for (int i = 0; i < args.length; i++)
+				args[i] = readString(in);
+			if (!workingDirectory.equals(System.getProperty("user.dir"))) { //$NON-NLS-1$
+				reject(out, "Working directory differs from the server's"); //$NON-NLS-1$
+				return;
+			}
+			synchronized (this.compileLock) {
+				if (this.stopped) {
+					reject(out, "Server stopped"); //$NON-NLS-1$
+					return;
+				}
+				out.writeByte(ACCEPTED);
+				out.flush();
+				compile(args, options, out);
+			}
+		} catch (IOException e) {
+			// client went away
+		} finally {
+			synchronized (this) {
+				this.activeRequests--;
+			}
+		}
+	}
+
+	private static void compile(String[] args, Map<String, String> options, DataOutputStream out) throws IOException {
+		PrintWriter outWriter = new PrintWriter(new BufferedWriter(new FrameWriter(out, OUT)));
+		PrintWriter errWriter = new PrintWriter(new BufferedWriter(new FrameWriter(out, ERR)));
+		boolean success;
+		try {
+			success = new Main(outWriter, errWriter, false/*systemExit*/, options, null/*progress*/).compile(args);
+		} catch (RuntimeException | Error e) {
+			// Main reports internal compiler failures, this is anything else: report it to the client
+			StringWriter trace = new StringWriter();
+			e.printStackTrace(new PrintWriter(trace));
+			errWriter.print(trace);
+			success = false;
+		}
+		outWriter.flush();
+		errWriter.flush();
+		synchronized (out) {
+			out.writeByte(RESULT);
+			out.writeBoolean(success);
+			out.flush();
+		}
+	}
+
+	private static void reject(DataOutputStream out, String reason) throws IOException {
+		out.writeByte(REJECTED);
+		writeString(out, reason);
+		out.flush();
+	}
+
+	static String readString(DataInputStream in) throws IOException {
+		byte[] bytes = new byte[in.readInt()];
+		in.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	static void writeString(DataOutputStream out, String string) throws IOException {
+		byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	static String toHex(byte[] bytes) {
+		StringBuilder buffer = new StringBuilder(bytes.length * 2);
+		for (byte b : bytes)
+			buffer.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		return buffer.toString();
+	}
+
+	/**
+	 * Forwards the output written by the compiler to the client, tagged with the stream it was written to.
+	 */
+	private static class FrameWriter extends Writer {
+		private final DataOutputStream out;
+		private final byte stream;
+
+		FrameWriter(DataOutputStream out, byte stream) {
+			this.out = out;
+			this.stream = stream;
+		}
+
+		@Override
+		public void write(char[] buffer, int offset, int length) throws IOException {
+			if (length == 0)
+				return;
+			synchronized (this.out) {
+				this.out.writeByte(this.stream);
+				writeString(this.out, new String(buffer, offset, length));
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			synchronized (this.out) {
+				this.out.flush();
+			}
+		}
+
+		@Override
+		public void close() throws IOException {
+			// the compiler closes its writers when done, the connection stays open for the result
+			flush();
+		}
+	}
+}
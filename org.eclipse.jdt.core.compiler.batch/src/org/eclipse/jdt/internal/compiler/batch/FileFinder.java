@@ -14,12 +14,30 @@
 package org.eclipse.jdt.internal.compiler.batch;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.FileVisitOption;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.TreeMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
 import org.eclipse.jdt.internal.compiler.env.IModule;
 
 public class FileFinder {
 
+/**
+ * Number of threads listing directories. Listing is bound by the latency of the file system rather than by the
+ * processors, e.g. for source trees on network file systems.
+ */
+private static final int LISTING_THREADS = Math.max(8, Runtime.getRuntime().availableProcessors());
+
 /**
  * Although the file finder is meant to be generic for any file name patters,
  * at the moment it is used only for *.java files. This method handles the
@@ -27,33 +45,97 @@ public class FileFinder {
  * of the resulting array.
  */
 public static String[] find(File f, String pattern) {
-	List<String> files = new ArrayList<>();
-	find0(f, pattern, files);
-	String[] result = new String[files.size()];
-	files.toArray(result);
-	return result;
+	return find(f, new String[] { pattern });
 }
-private static void find0(File f, String pattern, List<String> collector) {
-	if (f.isDirectory()) {
-		String[] files = f.list();
-		if (files == null) return;
-		for (String file : files) {
-			File current = new File(f, file);
-			if (current.isDirectory()) {
-				find0(current, pattern, collector);
-			} else {
-				String name = current.getName().toLowerCase();
-				if (name.endsWith(pattern)) {
-					// NOTE: This handles only the lower case name. Check with the spec about
-					// Naming of the module descriptor before making this code code insensitive.
-					if (name.endsWith(IModule.MODULE_INFO_JAVA)) {
-						collector.add(0, current.getAbsolutePath());
-					} else {
-						collector.add(current.getAbsolutePath());
+
+/**
+ * Answers the absolute paths of the files under the given directory whose names end with one of the given
+ * (lower case) suffixes, in a single walk of the directory tree. Subdirectories are listed in parallel. The files are
+ * answered in the order of their paths, whatever the order of the directory entries, except for module-info.java
+ * which always comes first.
+ */
+public static String[] find(File f, String[] suffixes) {
+	if (!f.isDirectory())
+		return new String[0];
+	List<String> files;
+	ForkJoinPool pool = new ForkJoinPool(LISTING_THREADS);
+	try {
+		files = pool.invoke(new DirectoryTask(f.toPath().toAbsolutePath(), suffixes));
+	} finally {
+		pool.shutdown();
+	}
+	List<String> result = new ArrayList<>(files.size());
+	for (String file : files) {
+		// NOTE: This handles only the lower case name. Check with the spec about
+		// Naming of the module descriptor before making this code code insensitive.
+		if (file.toLowerCase(Locale.ROOT).endsWith(IModule.MODULE_INFO_JAVA))
+			result.add(0, file);
+	}
+	for (String file : files) {
+		if (!file.toLowerCase(Locale.ROOT).endsWith(IModule.MODULE_INFO_JAVA))
+			result.add(file);
+	}
+	return result.toArray(new String[result.size()]);
+}
+
+/*
+ * Lists one directory, answering its matching files and the ones of its subdirectories (listed by subtasks) in the
+ * order of their names.
+ */
+private static class DirectoryTask extends RecursiveTask<List<String>> {
+	private static final long serialVersionUID = 1L;
+
+	private final Path directory;
+	private final String[] suffixes;
+
+	DirectoryTask(Path directory, String[] suffixes) {
+		this.directory = directory;
+		this.suffixes = suffixes;
+	}
+
+	@Override
+	protected List<String> compute() {
+		TreeMap<String, Object> entries = new TreeMap<>(); // name -> path of a file or task of a subdirectory
+		try {
+			// depth 1 visits the entries of the directory as files, with the attributes of their targets
+			Files.walkFileTree(this.directory, EnumSet.of(FileVisitOption.FOLLOW_LINKS), 1, new SimpleFileVisitor<Path>() {
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attributes) {
+					String name = file.getFileName().toString();
+					if (attributes.isDirectory()) {
+						DirectoryTask task = new DirectoryTask(file, DirectoryTask.this.suffixes);
+						task.fork();
+						entries.put(name, task);
+					} else if (matches(name)) {
+						entries.put(name, file.toString());
 					}
+					return FileVisitResult.CONTINUE;
 				}
-			}
+				@Override
+				public FileVisitResult visitFileFailed(Path file, IOException e) {
+					return FileVisitResult.CONTINUE; // e.g. a broken link, skipped as before
+				}
+			});
+		} catch (IOException e) {
+			// unreadable directory, skipped
+		}
+		List<String> files = new ArrayList<>();
+		for (Object entry : entries.values()) {
+			if (entry instanceof DirectoryTask)
+				files.addAll(((DirectoryTask) entry).join());
+			else
+				files.add((String) entry);
+		}
+		return files;
+	}
+
+	boolean matches(String name) {
+		String lowerCaseName = name.toLowerCase(Locale.ROOT);
+		for (String suffix : this.suffixes) {
+			if (lowerCaseName.endsWith(suffix))
+				return true;
 		}
+		return false;
 	}
 }
 }
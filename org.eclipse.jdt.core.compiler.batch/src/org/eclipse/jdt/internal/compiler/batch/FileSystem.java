@@ -30,6 +30,7 @@ import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.zip.ZipFile;
@@ -47,6 +48,7 @@ import org.eclipse.jdt.internal.compiler.env.IUpdatableModule;
 import org.eclipse.jdt.internal.compiler.env.IUpdatableModule.UpdateKind;
 import org.eclipse.jdt.internal.compiler.env.IUpdatableModule.UpdatesByKind;
 import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
+import org.eclipse.jdt.internal.compiler.impl.CompilerEvents;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.compiler.lookup.ModuleBinding;
 import org.eclipse.jdt.internal.compiler.parser.Parser;
@@ -167,6 +169,11 @@ public class FileSystem implements IModuleAwareNameEnvironment, SuffixConstants
 	private static HashMap<File, Classpath> JRT_CLASSPATH_CACHE = null;
 	protected Map<String,Classpath> moduleLocations = new HashMap<>();
 	private Consumer<NameEnvironmentAnswer> nameEnvironmentAnswerListener; // a listener for findType* answers
+	/**
+	 * Entries which may answer types of a package, by qualified package name ('/' separated), in classpath order.
+	 * An empty array for packages that exist nowhere. Filled lazily, see {@link #packageEntries(String, String)}.
+	 */
+	private final Map<String, Classpath[]> packageIndex = new ConcurrentHashMap<>();
 
 	/** Tasks resulting from --add-reads or --add-exports command line options. */
 	Map<String,UpdatesByKind> moduleUpdates = new HashMap<>();
@@ -432,6 +439,7 @@ public void scanForModules(Parser parser) {
 public void cleanup() {
 	for (Classpath classpath : this.classpaths)
 		classpath.reset();
+	this.packageIndex.clear();
 }
 private static String convertPathSeparators(String path) {
 	return File.separatorChar == '/'
@@ -440,7 +448,9 @@ private static String convertPathSeparators(String path) {
 }
 @SuppressWarnings("resource") // don't close classpathEntry.zipFile, which we don't own
 private NameEnvironmentAnswer findClass(String qualifiedTypeName, char[] typeName, boolean asBinaryOnly, /*NonNull*/char[] moduleName) {
+	CompilerEvents.TypeLookup event = CompilerEvents.beginTypeLookup();
 	NameEnvironmentAnswer answer = internalFindClass(qualifiedTypeName, typeName, asBinaryOnly, moduleName);
+	CompilerEvents.endTypeLookup(event, qualifiedTypeName, moduleName, answer);
 	if (this.annotationsFromClasspath && answer != null && answer.getBinaryType() instanceof ClassFileReader) {
 		for (Classpath classpathEntry : this.classpaths) {
 			if (classpathEntry.hasAnnotationFileFor(qualifiedTypeName)) {
@@ -504,9 +514,10 @@ private NameEnvironmentAnswer internalFindClass(String qualifiedTypeName, char[]
 		return null;
 	}
 	String qp2 = File.separatorChar == '/' ? qualifiedPackageName : qualifiedPackageName.replace('/', File.separatorChar);
+	Classpath[] entries = packageEntries(qualifiedPackageName, qp2);
 	NameEnvironmentAnswer suggestedAnswer = null;
 	if (qualifiedPackageName == qp2) {
-		for (Classpath classpath : this.classpaths) {
+		for (Classpath classpath : entries) {
 			if (!strategy.matches(classpath, Classpath::hasModule))
 				continue;
 			NameEnvironmentAnswer answer = classpath.findClass(typeName, qualifiedPackageName, null, qualifiedBinaryFileName, asBinaryOnly);
@@ -523,7 +534,7 @@ private NameEnvironmentAnswer internalFindClass(String qualifiedTypeName, char[]
 		}
 	} else {
 		String qb2 = qualifiedBinaryFileName.replace('/', File.separatorChar);
-		for (Classpath p : this.classpaths) {
+		for (Classpath p : entries) {
 			if (!strategy.matches(p, Classpath::hasModule))
 				continue;
 			NameEnvironmentAnswer answer = !(p instanceof ClasspathDirectory)
@@ -543,6 +554,33 @@ private NameEnvironmentAnswer internalFindClass(String qualifiedTypeName, char[]
 	}
 	return suggestedAnswer;
 }
+/**
+ * Answers the classpath entries which may answer types of the given package when looked up without a module name.
+ * <p>
+ * Jars, JRT images and directories answer types only from the packages they contain, so only those declaring the
+ * package are kept, and most lookups, which miss, do not probe every entry. Other entries are always kept. Entries
+ * cache their packages until {@link #cleanup()}, so does this index.
+ * </p>
+ */
+private Classpath[] packageEntries(String qualifiedPackageName, String qp2) {
+	Classpath[] entries = this.packageIndex.get(qualifiedPackageName);
+	if (entries == null) {
+		List<Classpath> result = new ArrayList<>();
+		for (Classpath classpath : this.classpaths) {
+			if (classpath instanceof ClasspathDirectory) {
+				if (!classpath.isPackage(qp2, null))
+					continue;
+			} else if (classpath instanceof ClasspathJar || classpath instanceof ClasspathJrt) {
+				if (!classpath.isPackage(qualifiedPackageName, null))
+					continue;
+			}
+			result.add(classpath);
+		}
+		entries = result.size() == this.classpaths.length ? this.classpaths : result.toArray(new Classpath[result.size()]);
+		this.packageIndex.put(qualifiedPackageName, entries);
+	}
+	return entries;
+}
 
 @Override
 public NameEnvironmentAnswer findType(char[][] compoundName, char[] moduleName) {
@@ -627,7 +665,8 @@ public char[][] getModulesDeclaringPackage(char[][] packageName, char[] moduleNa
 	// search the entire environment and answer which modules declare that package:
 	char[][] allNames = null;
 	boolean hasUnobserable = false;
-	for (Classpath cp : this.classpaths) {
+	String qp2 = File.separatorChar == '/' ? qualifiedPackageName : qualifiedPackageName.replace('/', File.separatorChar);
+	for (Classpath cp : packageEntries(qualifiedPackageName, qp2)) {
 		if (strategy.matches(cp, Classpath::hasModule)) {
 			if (strategy == LookupStrategy.Unnamed) {
 				// short-cut
@@ -0,0 +1,564 @@
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.ClassFile;
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem.Classpath;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFormatException;
+import org.eclipse.jdt.internal.compiler.env.IBinaryMethod;
+import org.eclipse.jdt.internal.compiler.lookup.OperatorOverloadCache;
+import org.eclipse.jdt.internal.compiler.util.Util;
+
+/**
+ * Compiles only the sources of a batch compilation that changed since the previous compilation with the same state
+ * file (see <code>-incremental</code>), and the sources depending on them.
+ * <p>
+ * Like the state of the incremental builder of the IDE, the state file records for each source file its time stamp
+ * and size, the class files generated from it and the names it references (see {@link
+ * CompilationResult#qualifiedReferences} and the following fields), including the selectors of the overloaded
+ * operators it uses. The first round compiles the added, changed and previously failing sources, and the sources
+ * referring to the types of deleted sources. Further rounds compile the sources referring to the types whose class
+ * files changed structurally in the previous round, or using an operator whose methods changed in such a class file,
+ * until no class file changes structurally. The types of the sources which are not compiled are read from the
+ * destination directory.
+ * </p>
+ * <p>
+ * All sources are compiled when there is no usable state, e.g. because the compiler options or the class path
+ * changed. The state file is deleted while compiling, so that an interrupted compilation is followed by a full one.
+ * </p>
+ */
+final class IncrementalBuild {
+
+	private static final int MAGIC = 0x4D4A4953; // "MJIS"
+	private static final int VERSION = 1;
+
+	/** What is known about one source file after its compilation. */
+	static final class SourceState {
+		final long lastModified;
+		final long length;
+		final boolean hasErrors;
+		final String[] classFiles; // '/' separated names without extension, e.g. p/X$Y
+		final Set<String> qualifiedReferences; // '.' separated
+		final Set<String> simpleReferences;
+		final Set<String> rootReferences;
+		final Set<String> operatorReferences;
+
+		SourceState(long lastModified, long length, boolean hasErrors, String[] classFiles, Set<String> qualifiedReferences,
+				Set<String> simpleReferences, Set<String> rootReferences, Set<String> operatorReferences) {
+			this.lastModified = lastModified;
+			this.length = length;
+			this.hasErrors = hasErrors;
+			this.classFiles = classFiles;
+			this.qualifiedReferences = qualifiedReferences;
+			this.simpleReferences = simpleReferences;
+			this.rootReferences = rootReferences;
+			this.operatorReferences = operatorReferences;
+		}
+
+		boolean references(String classFileName) {
+			int packageEnd = classFileName.lastIndexOf('/');
+			String typeName = classFileName.substring(packageEnd + 1);
+			int memberIndex = typeName.indexOf('$');
+			if (memberIndex > 0)
+				typeName = typeName.substring(0, memberIndex);
+			if (!this.simpleReferences.contains(typeName))
+				return false;
+			if (packageEnd < 0)
+				return this.rootReferences.contains(typeName);
+			int rootEnd = classFileName.indexOf('/');
+			if (rootEnd == packageEnd)
+				return this.rootReferences.contains(classFileName.substring(0, rootEnd));
+			return this.qualifiedReferences.contains(classFileName.substring(0, packageEnd).replace('/', '.'));
+		}
+
+		boolean usesOperator(Set<String> selectors) {
+			for (String selector : this.operatorReferences) {
+				if (selectors.contains(selector))
+					return true;
+			}
+			return false;
+		}
+
+		static SourceState read(DataInputStream input) throws IOException {
+			long lastModified = input.readLong();
+			long length = input.readLong();
+			boolean hasErrors = input.readBoolean();
+			String[] classFiles = new String[input.readInt()];
+			for (int i = 0; i < classFiles.length; i++)
+				classFiles[i] = input.readUTF();
+			return new SourceState(lastModified, length, hasErrors, classFiles, readNames(input), readNames(input),
+					readNames(input), readNames(input));
+		}
+
+		private static Set<String> readNames(DataInputStream input) throws IOException {
+			int size = input.readInt();
+			Set<String> names = new HashSet<>(size * 4 / 3 + 1);
+			for (int i = 0; i < size; i++)
+				names.add(input.readUTF().intern());
+			return names;
+		}
+
+		void write(DataOutputStream output) throws IOException {
+			output.writeLong(this.lastModified);
+			output.writeLong(this.length);
+			output.writeBoolean(this.hasErrors);
+			output.writeInt(this.classFiles.length);
+			for (String classFile : this.classFiles)
+				output.writeUTF(classFile);
+			writeNames(output, this.qualifiedReferences);
+			writeNames(output, this.simpleReferences);
+			writeNames(output, this.rootReferences);
+			writeNames(output, this.operatorReferences);
+		}
+
+		private static void writeNames(DataOutputStream output, Set<String> names) throws IOException {
+			output.writeInt(names.size());
+			for (String name : names)
+				output.writeUTF(name);
+		}
+	}
+
+	private final Main main;
+	private final File stateFile;
+	private final String destinationPath;
+	private final String key;
+
+	// all the sources of the compilation, in the order of the command line
+	private final String[] filenames;
+	private final String[] encodings;
+	private final String[] destinationPaths;
+	private final String[] modNames;
+	private final String[] canonicalNames;
+
+	private Map<String, SourceState> previousState; // null if there is no usable state
+	private final Map<String, SourceState> state = new HashMap<>();
+	private final Set<String> compiled = new HashSet<>();
+	private final Map<String, long[]> stamps = new HashMap<>(); // of the compiled sources, when they were selected
+	private final Map<String, byte[]> previousClassFiles = new HashMap<>(); // of the sources compiled in the current round
+	private final Set<String> generatedClassFiles = new HashSet<>(); // by the sources compiled so far, possibly moved
+	private final Set<String> changedClassFiles = new HashSet<>();
+	private final Set<String> changedOperators = new HashSet<>();
+	private int round;
+
+	private IncrementalBuild(Main main, File stateFile) {
+		this.main = main;
+		this.stateFile = stateFile;
+		this.destinationPath = main.destinationPath;
+		this.filenames = main.filenames;
+		this.encodings = main.encodings;
+		this.destinationPaths = main.destinationPaths;
+		this.modNames = main.modNames;
+		this.canonicalNames = new String[this.filenames.length];
+		for (int i = 0; i < this.filenames.length; i++) {
+			try {
+				this.canonicalNames[i] = new File(this.filenames[i]).getCanonicalPath();
+			} catch (IOException e) {
+				// same fall back as Main#getCompilationUnits()
+				this.canonicalNames[i] = this.filenames[i];
+			}
+		}
+		this.key = computeKey(main);
+	}
+
+	/**
+	 * Answers an incremental build of the sources given to the compiler, or <code>null</code> if they cannot be
+	 * compiled incrementally: all class files must be written to the package structure of one destination
+	 * directory, outside of modules.
+	 */
+	static IncrementalBuild create(Main main, File stateFile) {
+		if (main.destinationPath == null || main.destinationPath == Main.NONE || main.filenames == null)
+			return null;
+		if (ClassFileArchive.isArchive(main.destinationPath))
+			return null; // the archive is written from scratch
+		for (int i = 0; i < main.filenames.length; i++) {
+			if (main.destinationPaths[i] != null || main.modNames[i] != null)
+				return null;
+		}
+		return new IncrementalBuild(main, stateFile);
+	}
+
+	/*
+	 * The state is only valid for the same options and class path, class folders are assumed to be stable.
+	 */
+	private static String computeKey(Main main) {
+		StringBuilder builder = new StringBuilder();
+		for (Map.Entry<String, String> option : new TreeMap<>(main.options).entrySet())
+			builder.append(option.getKey()).append('=').append(option.getValue()).append('\n');
+		if (main.checkedClasspaths != null) {
+			File destination = new File(main.destinationPath).getAbsoluteFile();
+			for (Classpath classpath : main.checkedClasspaths) {
+				File file = new File(classpath.getPath()).getAbsoluteFile();
+				if (file.equals(destination))
+					continue; // added by a previous repetition, see -repeat
+				builder.append(file.getPath());
+				if (file.isFile())
+					builder.append('|').append(file.lastModified()).append('|').append(file.length());
+				builder.append('\n');
+			}
+		}
+		return builder.toString();
+	}
+
+	/**
+	 * Reads the previous state, removes the class files of deleted sources and selects the sources to compile in
+	 * the first round. The types of the sources which are not compiled are found in the destination directory, which
+	 * is added in front of the class path.
+	 */
+	void start() {
+		this.previousState = readState();
+		try {
+			Files.deleteIfExists(this.stateFile.toPath());
+		} catch (IOException e) {
+			// a stale state is ignored if the options or class path changed, but not if only sources did
+			this.previousState = null;
+		}
+		new File(this.destinationPath).mkdirs();
+		Classpath[] classpaths = this.main.checkedClasspaths;
+		int length = classpaths == null ? 0 : classpaths.length;
+		Classpath output = null;
+		if (length == 0 || !new File(classpaths[0].getPath()).getAbsoluteFile().equals(new File(this.destinationPath).getAbsoluteFile()))
+			output = FileSystem.getClasspath(this.destinationPath, null, null, this.main.options, this.main.releaseVersion);
+		if (output != null) {
+			Classpath[] newClasspaths = new Classpath[length + 1];
+			newClasspaths[0] = output;
+			if (length > 0)
+				System.arraycopy(classpaths, 0, newClasspaths, 1, length);
+			this.main.checkedClasspaths = newClasspaths;
+		}
+
+		List<Integer> selected = new ArrayList<>();
+		if (this.previousState == null) {
+			for (int i = 0; i < this.filenames.length; i++)
+				selected.add(i);
+		} else {
+			Set<String> sources = new HashSet<>(Arrays.asList(this.canonicalNames));
+			for (Map.Entry<String, SourceState> entry : this.previousState.entrySet()) {
+				if (!sources.contains(entry.getKey()))
+					removeClassFiles(entry.getValue().classFiles);
+			}
+			for (int i = 0; i < this.filenames.length; i++) {
+				SourceState previous = this.previousState.get(this.canonicalNames[i]);
+				File file = new File(this.filenames[i]);
+				if (previous == null || previous.hasErrors || previous.lastModified != file.lastModified()
+						|| previous.length != file.length() || isDependent(previous))
+					selected.add(i);
+			}
+		}
+		select(selected);
+	}
+
+	/**
+	 * Selects the sources to compile in the next round after a round was compiled, answering <code>false</code> if
+	 * there are none.
+	 */
+	boolean nextRound() {
+		this.previousClassFiles.clear();
+		List<Integer> selected = new ArrayList<>();
+		if (this.previousState != null && (!this.changedClassFiles.isEmpty() || !this.changedOperators.isEmpty())) {
+			for (int i = 0; i < this.filenames.length; i++) {
+				String name = this.canonicalNames[i];
+				if (this.compiled.contains(name))
+					continue;
+				SourceState previous = this.previousState.get(name);
+				if (previous != null && isDependent(previous))
+					selected.add(i);
+			}
+		}
+		if (selected.isEmpty())
+			return false;
+		select(selected);
+		return true;
+	}
+
+	private boolean isDependent(SourceState source) {
+		if (!this.changedOperators.isEmpty() && source.usesOperator(this.changedOperators))
+			return true;
+		for (String classFile : this.changedClassFiles) {
+			if (source.references(classFile))
+				return true;
+		}
+		return false;
+	}
+
+	/*
+	 * Hands the selected sources to the compiler, and moves their class files out of the way so that the types they
+	 * no longer declare are not found in the destination directory.
+	 */
+	private void select(List<Integer> selected) {
+		this.changedClassFiles.clear();
+		this.changedOperators.clear();
+		this.round++;
+		int size = selected.size();
+		String[] newFilenames = new String[size];
+		String[] newEncodings = new String[size];
+		String[] newDestinationPaths = new String[size];
+		String[] newModNames = new String[size];
+		for (int i = 0; i < size; i++) {
+			int index = selected.get(i);
+			newFilenames[i] = this.filenames[index];
+			newEncodings[i] = this.encodings[index];
+			newDestinationPaths[i] = this.destinationPaths[index];
+			newModNames[i] = this.modNames[index];
+			String name = this.canonicalNames[index];
+			this.compiled.add(name);
+			File file = new File(this.filenames[index]);
+			this.stamps.put(name, new long[] { file.lastModified(), file.length() });
+			SourceState previous = this.previousState == null ? null : this.previousState.get(name);
+			if (previous != null) {
+				for (String classFile : previous.classFiles) {
+					if (this.generatedClassFiles.contains(classFile))
+						continue; // now declared by a source compiled in an earlier round
+					File previousFile = classFile(classFile);
+					try {
+						this.previousClassFiles.put(classFile, Util.getFileByteContent(previousFile));
+						Files.delete(previousFile.toPath());
+					} catch (IOException e) {
+						// already deleted, compared as an added type
+					}
+				}
+			}
+		}
+		this.main.filenames = newFilenames;
+		this.main.encodings = newEncodings;
+		this.main.destinationPaths = newDestinationPaths;
+		this.main.modNames = newModNames;
+		if (this.main.verbose)
+			this.main.logger.logIncrementalRound(this.round, size, this.filenames.length);
+	}
+
+	private File classFile(String classFileName) {
+		return new File(this.destinationPath, classFileName.replace('/', File.separatorChar) + ".class"); //$NON-NLS-1$
+	}
+
+	/*
+	 * Deletes the given class files of a source and records them as changed, except the ones generated by a source
+	 * compiled so far: a type may move to another source compiled before this one.
+	 */
+	private void removeClassFiles(String[] classFiles) {
+		for (String classFile : classFiles) {
+			if (this.generatedClassFiles.contains(classFile))
+				continue;
+			byte[] bytes = this.previousClassFiles.remove(classFile);
+			File file = classFile(classFile);
+			if (bytes == null && file.isFile()) {
+				try {
+					bytes = Util.getFileByteContent(file);
+				} catch (IOException e) {
+					// changes of its operators are unknown, the dependents referring to the type are compiled still
+				}
+			}
+			file.delete();
+			this.changedClassFiles.add(classFile);
+			if (bytes != null)
+				addChangedOperators(classFile, bytes, null);
+		}
+	}
+
+	/**
+	 * Records the outcome of compiling a source, before its class files are written if they are.
+	 */
+	synchronized void acceptResult(CompilationResult result, boolean writesClassFiles) {
+		String name = new String(result.getFileName());
+		long[] stamp = this.stamps.get(name);
+		if (stamp == null)
+			return; // not a source of the command line
+		SourceState previous = this.previousState == null ? null : this.previousState.get(name);
+		String[] classFileNames;
+		if (writesClassFiles) {
+			ClassFile[] classFiles = result.getClassFiles();
+			classFileNames = new String[classFiles.length];
+			for (int i = 0; i < classFiles.length; i++) {
+				String classFileName = new String(classFiles[i].fileName());
+				classFileNames[i] = classFileName;
+				this.generatedClassFiles.add(classFileName);
+				byte[] previousBytes = this.previousClassFiles.remove(classFileName);
+				byte[] bytes = classFiles[i].getBytes();
+				if (previousBytes == null) {
+					this.changedClassFiles.add(classFileName);
+					addChangedOperators(classFileName, null, bytes);
+				} else if (hasStructuralChanges(classFileName, previousBytes, bytes)) {
+					this.changedClassFiles.add(classFileName);
+					addChangedOperators(classFileName, previousBytes, bytes);
+				}
+			}
+		} else {
+			classFileNames = CharOperation.NO_STRINGS;
+		}
+		if (previous != null)
+			removeClassFiles(previous.classFiles);
+		this.state.put(name, new SourceState(stamp[0], stamp[1], result.hasErrors(), classFileNames,
+				qualifiedNames(result.qualifiedReferences), names(result.simpleNameReferences),
+				names(result.rootReferences), names(result.operatorReferences)));
+	}
+
+	private static boolean hasStructuralChanges(String classFileName, byte[] previousBytes, byte[] bytes) {
+		try {
+			return new ClassFileReader(previousBytes, classFileName.toCharArray()).hasStructuralChanges(bytes);
+		} catch (ClassFormatException e) {
+			return true;
+		}
+	}
+
+	/*
+	 * Records the operators whose methods differ between the two versions of a class file, either of which may be
+	 * missing.
+	 */
+	private void addChangedOperators(String classFileName, byte[] previousBytes, byte[] bytes) {
+		Map<String, Set<String>> previousOperators = operatorMethods(classFileName, previousBytes);
+		Map<String, Set<String>> operators = operatorMethods(classFileName, bytes);
+		if (previousOperators == null || operators == null) {
+			// unreadable, any operator may have changed
+			this.changedOperators.addAll(previousOperators != null ? previousOperators.keySet() : operators != null ? operators.keySet() : Set.of());
+			return;
+		}
+		for (Map.Entry<String, Set<String>> entry : previousOperators.entrySet()) {
+			if (!entry.getValue().equals(operators.get(entry.getKey())))
+				this.changedOperators.add(entry.getKey());
+		}
+		for (String selector : operators.keySet()) {
+			if (!previousOperators.containsKey(selector))
+				this.changedOperators.add(selector);
+		}
+	}
+
+	private static Map<String, Set<String>> operatorMethods(String classFileName, byte[] bytes) {
+		Map<String, Set<String>> operators = new HashMap<>();
+		if (bytes == null)
+			return operators;
+		IBinaryMethod[] methods;
+		try {
+			methods = new ClassFileReader(bytes, classFileName.toCharArray()).getMethods();
+		} catch (ClassFormatException e) {
+			return null;
+		}
+		if (methods != null) {
+			for (IBinaryMethod method : methods) {
+				char[] selector = method.getSelector();
+				if (OperatorOverloadCache.operatorBit(selector) != 0)
+					operators.computeIfAbsent(new String(selector), s -> new HashSet<>())
+						.add(method.getModifiers() + new String(method.getMethodDescriptor()));
+			}
+		}
+		return operators;
+	}
+
+	private static Set<String> qualifiedNames(char[][][] qualifiedNames) {
+		if (qualifiedNames == null)
+			return new HashSet<>(0);
+		Set<String> names = new HashSet<>(qualifiedNames.length * 4 / 3 + 1);
+		for (char[][] qualifiedName : qualifiedNames)
+			names.add(CharOperation.toString(qualifiedName));
+		return names;
+	}
+
+	private static Set<String> names(char[][] simpleNames) {
+		if (simpleNames == null)
+			return new HashSet<>(0);
+		Set<String> names = new HashSet<>(simpleNames.length * 4 / 3 + 1);
+		for (char[] simpleName : simpleNames)
+			names.add(new String(simpleName));
+		return names;
+	}
+
+	/**
+	 * Writes the state of all sources once the compilation completed, and restores the sources of the compiler.
+	 */
+	void end() {
+		this.main.filenames = this.filenames;
+		this.main.encodings = this.encodings;
+		this.main.destinationPaths = this.destinationPaths;
+		this.main.modNames = this.modNames;
+		if (this.previousState != null) {
+			for (String name : this.canonicalNames) {
+				if (!this.state.containsKey(name) && !this.compiled.contains(name)) {
+					SourceState previous = this.previousState.get(name);
+					if (previous != null)
+						this.state.put(name, previous);
+				}
+			}
+		}
+		writeState();
+	}
+
+	private Map<String, SourceState> readState() {
+		if (!this.stateFile.isFile())
+			return null;
+		try (InputStream stream = new BufferedInputStream(Files.newInputStream(this.stateFile.toPath()), 1 << 16);
+				DataInputStream input = new DataInputStream(stream)) {
+			if (input.readInt() != MAGIC || input.readInt() != VERSION || !this.key.equals(readString(input)))
+				return null;
+			int size = input.readInt();
+			Map<String, SourceState> sources = new HashMap<>(size * 4 / 3 + 1);
+			for (int i = 0; i < size; i++)
+				sources.put(input.readUTF(), SourceState.read(input));
+			return sources;
+		} catch (IOException | RuntimeException e) {
+			// unusable state, all sources are compiled
+			return null;
+		}
+	}
+
+	private void writeState() {
+		File temporary = null;
+		try {
+			File directory = this.stateFile.getAbsoluteFile().getParentFile();
+			directory.mkdirs();
+			temporary = File.createTempFile(this.stateFile.getName(), ".tmp", directory); //$NON-NLS-1$
+			try (OutputStream stream = new BufferedOutputStream(Files.newOutputStream(temporary.toPath()), 1 << 16);
+					DataOutputStream output = new DataOutputStream(stream)) {
+				output.writeInt(MAGIC);
+				output.writeInt(VERSION);
+				writeString(output, this.key);
+				output.writeInt(this.state.size());
+				for (Map.Entry<String, SourceState> entry : this.state.entrySet()) {
+					output.writeUTF(entry.getKey());
+					entry.getValue().write(output);
+				}
+			}
+			try {
+				Files.move(temporary.toPath(), this.stateFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporary.toPath(), this.stateFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+			}
+			temporary = null;
+		} catch (IOException e) {
+			this.main.logger.logNoIncrementalStateCreated(this.stateFile.getPath(), e);
+		} finally {
+			if (temporary != null)
+				temporary.delete();
+		}
+	}
+
+	// the key can exceed the 64KB of modified UTF-8 strings
+	private static String readString(DataInputStream input) throws IOException {
+		char[] chars = new char[input.readInt()];
+		for (int i = 0; i < chars.length; i++)
+			chars[i] = input.readChar();
+		return new String(chars);
+	}
+
+	private static void writeString(DataOutputStream output, String string) throws IOException {
+		output.writeInt(string.length());
+		output.writeChars(string);
+	}
+}
@@ -0,0 +1,356 @@
+package org.eclipse.jdt.internal.compiler.batch;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+
+/**
+ * A persistent index of the entries of a jar file, stored in the directory named by the system property
+ * <code>jdt.compiler.jarIndexCache</code>.
+ * <p>
+ * The index of a jar is keyed by its path, and is valid as long as the jar keeps its size and timestamp. It lists
+ * the entry names in sorted order, together with the location of their data in the jar, and is memory-mapped by
+ * later compilations. Package and entry existence are then answered without opening the jar, and entries are read
+ * straight from their local header, without reading the central directory of the jar.
+ * </p>
+ * <p>
+ * Jars using features the index does not handle (ZIP64, encryption, compression methods other than stored and
+ * deflated) get an index marked as unusable, and are read through {@link java.util.zip.ZipFile} as before.
+ * </p>
+ */
+public class JarIndex {
+
+	public static final String CACHE_DIRECTORY_PROPERTY = "jdt.compiler.jarIndexCache"; //$NON-NLS-1$
+
+	private static final int MAGIC = 0x4d4a5849; // MJXI
+	private static final int VERSION = 1;
+	private static final int HEADER_SIZE = 32; // magic, version, length, lastModified, entry count, names size
+	private static final int RECORD_SIZE = 24; // name offset, name length, local header offset, compressed size, size, method
+	private static final int UNUSABLE = -1; // entry count of jars which cannot be indexed
+
+	// zip format, see APPNOTE.TXT
+	private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+	private static final int LOCAL_HEADER_SIZE = 30;
+	private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+	private static final int CENTRAL_HEADER_SIZE = 46;
+	private static final int END_SIGNATURE = 0x06054b50;
+	private static final int END_SIZE = 22;
+	private static final int MAX_COMMENT_SIZE = 0xFFFF;
+
+	private final File file;
+	private final ByteBuffer buffer; // records, then names
+	private final int entryCount;
+	private final int namesStart;
+	private FileChannel channel; // to read entries, opened on demand
+	private List<String> names;
+
+	/**
+	 * Answers the index of the given jar, creating or refreshing it if needed, or <code>null</code> if no index
+	 * directory is configured or the jar cannot be indexed.
+	 */
+	public static JarIndex get(File jar) {
+		String directory = System.getProperty(CACHE_DIRECTORY_PROPERTY);
+		if (directory == null || directory.isEmpty())
+			return null;
+		File absoluteJar = jar.getAbsoluteFile();
+		long length = absoluteJar.length();
+		long lastModified = absoluteJar.lastModified();
+		if (lastModified == 0)
+			return null; // missing jar
+		File indexFile = new File(directory, indexFileName(absoluteJar.getPath()));
+		try {
+			JarIndex index = load(absoluteJar, indexFile, length, lastModified);
+			if (index == null) {
+				write(absoluteJar, indexFile, length, lastModified);
+				index = load(absoluteJar, indexFile, length, lastModified);
+			}
+			return index == null || index.entryCount == UNUSABLE ? null : index;
+		} catch (IOException | RuntimeException e) {
+			// broken index or jar, read the jar as usual
+			return null;
+		}
+	}
+
+	private static String indexFileName(String path) {
+		long hash = 0xcbf29ce484222325L; // FNV-1a
+		for (int i = 0; i < path.length(); i++) {
+			hash ^= path.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		String name = path.substring(path.lastIndexOf(File.separatorChar) + 1).replaceAll("[^A-Za-z0-9._-]", "_"); //$NON-NLS-1$ //$NON-NLS-2$
+		return name + '-' + Long.toHexString(hash) + ".idx"; //$NON-NLS-1$
+	}
+
+	private static JarIndex load(File jar, File indexFile, long length, long lastModified) throws IOException {
+		if (!indexFile.isFile())
+			return null;
+		MappedByteBuffer mapped;
+		try (FileChannel indexChannel = FileChannel.open(indexFile.toPath(), StandardOpenOption.READ)) {
+			mapped = indexChannel.map(FileChannel.MapMode.READ_ONLY, 0, indexChannel.size());
+		}
+		if (mapped.limit() < HEADER_SIZE || mapped.getInt(0) != MAGIC || mapped.getInt(4) != VERSION
+				|| mapped.getLong(8) != length || mapped.getLong(16) != lastModified)
+			return null;
+		int entryCount = mapped.getInt(24);
+		int namesSize = mapped.getInt(28);
+		if (entryCount != UNUSABLE && mapped.limit() != HEADER_SIZE + (long) entryCount * RECORD_SIZE + namesSize)
+			return null; // truncated
+		mapped.position(HEADER_SIZE);
+		return new JarIndex(jar, mapped.slice(), entryCount);
+	}
+
+	private JarIndex(File file, ByteBuffer buffer, int entryCount) {
+		this.file = file;
+		this.buffer = buffer;
+		this.entryCount = entryCount;
+		this.namesStart = Math.max(0, entryCount) * RECORD_SIZE;
+	}
+
+	private static class Entry {
+		final byte[] name;
+		final int localHeaderOffset;
+		final int compressedSize;
+		final int size;
+		final int method;
+
+		Entry(byte[] name, int localHeaderOffset, int compressedSize, int size, int method) {
+			this.name = name;
+			this.localHeaderOffset = localHeaderOffset;
+			this.compressedSize = compressedSize;
+			this.size = size;
+			this.method = method;
+		}
+	}
+
+	/**
+	 * Reads the central directory of the given jar and writes its index, or an index marked as unusable.
+	 */
+	private static void write(File jar, File indexFile, long length, long lastModified) throws IOException {
+		Entry[] entries = readCentralDirectory(jar);
+		int namesSize = 0;
+		if (entries != null) {
+			// sorted by name bytes, duplicates keep their order (see indexOf)
+			Arrays.sort(entries, (e1, e2) -> Arrays.compareUnsigned(e1.name, e2.name));
+			for (Entry entry : entries)
+				namesSize += entry.name.length;
+		}
+		int entryCount = entries == null ? UNUSABLE : entries.length;
+		ByteBuffer out = ByteBuffer.allocate(HEADER_SIZE + Math.max(0, entryCount) * RECORD_SIZE + namesSize);
+		out.putInt(MAGIC).putInt(VERSION).putLong(length).putLong(lastModified).putInt(entryCount).putInt(namesSize);
+		if (entries != null) {
+			int nameOffset = 0;
+			for (Entry entry : entries) {
+				out.putInt(nameOffset).putInt(entry.name.length).putInt(entry.localHeaderOffset)
+					.putInt(entry.compressedSize).putInt(entry.size).putInt(entry.method);
+				nameOffset += entry.name.length;
+			}
+			for (Entry entry : entries)
+				out.put(entry.name);
+		}
+		File directory = indexFile.getParentFile();
+		directory.mkdirs();
+		File temp = File.createTempFile("jar", ".tmp", directory); //$NON-NLS-1$ //$NON-NLS-2$
+		try {
+			Files.write(temp.toPath(), out.array());
+			// concurrent compilations may write the same index, the last one wins
+			Files.move(temp.toPath(), indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+		} finally {
+			temp.delete();
+		}
+	}
+
+	/**
+	 * Answers the entries of the given jar, or <code>null</code> if it uses features the index does not handle.
+	 */
+	private static Entry[] readCentralDirectory(File jar) throws IOException {
+		try (RandomAccessFile raf = new RandomAccessFile(jar, "r")) { //$NON-NLS-1$
+			long fileLength = raf.length();
+			int tailLength = (int) Math.min(fileLength, END_SIZE + MAX_COMMENT_SIZE);
+			ByteBuffer tail = ByteBuffer.allocate(tailLength).order(ByteOrder.LITTLE_ENDIAN);
+			raf.seek(fileLength - tailLength);
+			raf.readFully(tail.array());
+			int end = -1;
+			for (int i = tailLength - END_SIZE; i >= 0; i--) {
+				if (tail.getInt(i) == END_SIGNATURE) {
+					end = i;
+					break;
+				}
+			}
+			if (end < 0)
+				return null;
+			int entryCount = tail.getShort(end + 10) & 0xFFFF;
+			long directorySize = tail.getInt(end + 12) & 0xFFFFFFFFL;
+			long directoryOffset = tail.getInt(end + 16) & 0xFFFFFFFFL;
+			if (entryCount == 0xFFFF || directorySize == 0xFFFFFFFFL || directoryOffset == 0xFFFFFFFFL)
+				return null; // ZIP64
+			if (directoryOffset + directorySize > fileLength)
+				return null;
+			ByteBuffer directory = ByteBuffer.allocate((int) directorySize).order(ByteOrder.LITTLE_ENDIAN);
+			raf.seek(directoryOffset);
+			raf.readFully(directory.array());
+			Entry[] entries = new Entry[entryCount];
+			int position = 0;
+			for (int i = 0; i < entryCount; i++) {
+				if (position + CENTRAL_HEADER_SIZE > directorySize || directory.getInt(position) != CENTRAL_HEADER_SIGNATURE)
+					return null;
+				int flags = directory.getShort(position + 8) & 0xFFFF;
+				int method = directory.getShort(position + 10) & 0xFFFF;
+				long compressedSize = directory.getInt(position + 20) & 0xFFFFFFFFL;
+				long size = directory.getInt(position + 24) & 0xFFFFFFFFL;
+				int nameLength = directory.getShort(position + 28) & 0xFFFF;
+				int extraLength = directory.getShort(position + 30) & 0xFFFF;
+				int commentLength = directory.getShort(position + 32) & 0xFFFF;
+				long localHeaderOffset = directory.getInt(position + 42) & 0xFFFFFFFFL;
+				if ((flags & 1) != 0 || (method != ZipEntry.STORED && method != ZipEntry.DEFLATED)
+						|| compressedSize > Integer.MAX_VALUE || size > Integer.MAX_VALUE || localHeaderOffset > Integer.MAX_VALUE)
+					return null; // encrypted, unknown compression, or ZIP64
+				byte[] name = Arrays.copyOfRange(directory.array(), position + CENTRAL_HEADER_SIZE, position + CENTRAL_HEADER_SIZE + nameLength);
+				entries[i] = new Entry(name, (int) localHeaderOffset, (int) compressedSize, (int) size, method);
+				position += CENTRAL_HEADER_SIZE + nameLength + extraLength + commentLength;
+			}
+			return entries;
+		}
+	}
+
+	private int indexOf(String name) {
+		byte[] key = name.getBytes(StandardCharsets.UTF_8);
+		int low = 0;
+		int high = this.entryCount - 1;
+		while (low <= high) {
+			int middle = (low + high) >>> 1;
+			int comparison = compare(middle, key);
+			if (comparison < 0) {
+				low = middle + 1;
+			} else if (comparison > 0) {
+				high = middle - 1;
+			} else {
+				// last of duplicates, like ZipFile
+				while (middle < this.entryCount - 1 && compare(middle + 1, key) == 0)
+					middle++;
+				return middle;
+			}
+		}
+		return -1;
+	}
+
+	private int compare(int entry, byte[] key) {
+		int record = entry * RECORD_SIZE;
+		int nameOffset = this.namesStart + this.buffer.getInt(record);
+		int nameLength = this.buffer.getInt(record + 4);
+		int length = Math.min(nameLength, key.length);
+		for (int i = 0; i < length; i++) {
+			int difference = (this.buffer.get(nameOffset + i) & 0xFF) - (key[i] & 0xFF);
+			if (difference != 0)
+				return difference;
+		}
+		return nameLength - key.length;
+	}
+
+	/**
+	 * Answers whether the jar has an entry with the given name.
+	 */
+	public boolean contains(String name) {
+		return indexOf(name) >= 0;
+	}
+
+	/**
+	 * Answers the names of all entries, in sorted order.
+	 */
+	public List<String> names() {
+		if (this.names == null) {
+			this.names = new AbstractList<String>() {
+				@Override
+				public String get(int index) {
+					int record = index * RECORD_SIZE;
+					byte[] name = new byte[JarIndex.this.buffer.getInt(record + 4)];
+					JarIndex.this.buffer.get(JarIndex.this.namesStart + JarIndex.this.buffer.getInt(record), name);
+					return new String(name, StandardCharsets.UTF_8);
+				}
+				@Override
+				public int size() {
+					return JarIndex.this.entryCount;
+				}
+			};
+		}
+		return this.names;
+	}
+
+	/**
+	 * Answers the uncompressed contents of the given entry, or <code>null</code> if there is no such entry.
+	 */
+	public synchronized byte[] read(String name) throws IOException {
+		int entry = indexOf(name);
+		if (entry < 0)
+			return null;
+		int record = entry * RECORD_SIZE;
+		long localHeaderOffset = this.buffer.getInt(record + 8) & 0xFFFFFFFFL;
+		int compressedSize = this.buffer.getInt(record + 12);
+		int size = this.buffer.getInt(record + 16);
+		int method = this.buffer.getInt(record + 20);
+		if (this.channel == null)
+			this.channel = FileChannel.open(this.file.toPath(), StandardOpenOption.READ);
+		ByteBuffer header = ByteBuffer.allocate(LOCAL_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		readFully(header, localHeaderOffset);
+		if (header.getInt(0) != LOCAL_HEADER_SIGNATURE)
+			throw new IOException("Invalid local header for " + name + " in " + this.file); //$NON-NLS-1$ //$NON-NLS-2$
+		long dataOffset = localHeaderOffset + LOCAL_HEADER_SIZE + (header.getShort(26) & 0xFFFF) + (header.getShort(28) & 0xFFFF);
+		ByteBuffer data = ByteBuffer.allocate(compressedSize);
+		readFully(data, dataOffset);
+		if (method == ZipEntry.STORED)
+			return data.array();
+		Inflater inflater = new Inflater(true);
+		try {
+			inflater.setInput(data.array());
+			byte[] result = new byte[size];
+			int inflated = 0;
+			while (inflated < size) {
+				int count = inflater.inflate(result, inflated, size - inflated);
+				if (count == 0 && (inflater.finished() || inflater.needsInput() || inflater.needsDictionary()))
+					break;
+				inflated += count;
+			}
+			if (inflated != size)
+				throw new IOException("Truncated entry " + name + " in " + this.file); //$NON-NLS-1$ //$NON-NLS-2$
+			return result;
+		} catch (DataFormatException e) {
+			throw new IOException("Invalid entry " + name + " in " + this.file, e); //$NON-NLS-1$ //$NON-NLS-2$
+		} finally {
+			inflater.end();
+		}
+	}
+
+	private void readFully(ByteBuffer target, long position) throws IOException {
+		while (target.hasRemaining()) {
+			if (this.channel.read(target, position + target.position()) < 0)
+				throw new IOException("Unexpected end of " + this.file); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Closes the jar file if entries were read.
+	 */
+	public synchronized void close() {
+		if (this.channel != null) {
+			try {
+				this.channel.close();
+			} catch (IOException e) {
+				// ignore
+			}
+			this.channel = null;
+		}
+	}
+}
@@ -38,6 +38,7 @@ import java.io.*;
 import java.lang.reflect.Field;
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.text.DateFormat;
@@ -75,6 +76,7 @@ import org.eclipse.jdt.internal.compiler.env.IModule.IPackageExport;
 import org.eclipse.jdt.internal.compiler.env.IUpdatableModule.UpdateKind;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
+import org.eclipse.jdt.internal.compiler.impl.UnitTimings;
 import org.eclipse.jdt.internal.compiler.lookup.LookupEnvironment;
 import org.eclipse.jdt.internal.compiler.lookup.ModuleBinding;
 import org.eclipse.jdt.internal.compiler.lookup.PackageBinding;
@@ -676,6 +678,15 @@ public class Main implements ProblemSeverities, SuffixConstants {
 			this.printlnErr(this.main.bind("configure.incorrectVMVersionforAPT")); //$NON-NLS-1$
 		}
 
+		public void logNoArchiveCreated(String fileName, IOException e) {
+			if ((this.tagBits & Logger.XML) != 0) {
+				HashMap<String, Object> parameters = new HashMap<>();
+				parameters.put(Logger.MESSAGE, this.main.bind("output.noArchiveCreated", fileName, e.getMessage())); //$NON-NLS-1$
+				printTag(Logger.ERROR_TAG, parameters, true, true);
+			}
+			this.printlnErr(this.main.bind("output.noArchiveCreated", fileName, e.getMessage())); //$NON-NLS-1$
+		}
+
 		public void logNoClassFileCreated(String outputDir, String relativeFileName, IOException e) {
 			if ((this.tagBits & Logger.XML) != 0) {
 				HashMap<String, Object> parameters = new HashMap<>();
@@ -695,6 +706,15 @@ public class Main implements ProblemSeverities, SuffixConstants {
 				}));
 		}
 
+		public void logNoTimingReportCreated(String fileName, IOException e) {
+			if ((this.tagBits & Logger.XML) != 0) {
+				HashMap<String, Object> parameters = new HashMap<>();
+				parameters.put(Logger.MESSAGE, this.main.bind("output.noTimingReportCreated", fileName, e.getMessage())); //$NON-NLS-1$
+				printTag(Logger.ERROR_TAG, parameters, true, true);
+			}
+			this.printlnErr(this.main.bind("output.noTimingReportCreated", fileName, e.getMessage())); //$NON-NLS-1$
+		}
+
 		public void logNumberOfClassFilesGenerated(int exportedClassFilesCounter) {
 			if ((this.tagBits & Logger.XML) != 0) {
 				HashMap<String, Object> parameters = new HashMap<>();
@@ -957,6 +977,20 @@ public class Main implements ProblemSeverities, SuffixConstants {
 		 * @param repetitions
 		 *            the given number of repetitions
 		 */
+		public void logIncrementalRound(int round, int unitCount, int totalUnitCount) {
+			printlnOut(this.main.bind("compile.incrementalRound", //$NON-NLS-1$
+				new String[] { String.valueOf(round), String.valueOf(unitCount), String.valueOf(totalUnitCount) }));
+		}
+
+		public void logNoIncrementalStateCreated(String fileName, IOException e) {
+			if ((this.tagBits & Logger.XML) != 0) {
+				HashMap<String, Object> parameters = new HashMap<>();
+				parameters.put(Logger.MESSAGE, this.main.bind("output.noIncrementalStateCreated", fileName, e.getMessage())); //$NON-NLS-1$
+				printTag(Logger.ERROR_TAG, parameters, true, true);
+			}
+			this.printlnErr(this.main.bind("output.noIncrementalStateCreated", fileName, e.getMessage())); //$NON-NLS-1$
+		}
+
 		public void logRepetition(int i, int repetitions) {
 			printlnOut(this.main.bind("compile.repetition", //$NON-NLS-1$
 				String.valueOf(i + 1), String.valueOf(repetitions)));
@@ -999,6 +1033,28 @@ public class Main implements ProblemSeverities, SuffixConstants {
 								String.valueOf(compilerStats.generateTime),
 								String.valueOf(((int) (compilerStats.generateTime * 1000.0 / time)) / 10.0),
 							}));
+				if (compilerStats.operatorOverloadCacheHits != 0 || compilerStats.operatorOverloadCacheMisses != 0
+						|| compilerStats.operatorOverloadCacheSkips != 0) {
+					printlnOut(
+							this.main.bind("compile.operatorOverloadCache", //$NON-NLS-1$
+								new String[] {
+									String.valueOf(compilerStats.operatorOverloadCacheHits),
+									String.valueOf(compilerStats.operatorOverloadCacheMisses),
+									String.valueOf(compilerStats.operatorOverloadCacheSkips),
+								}));
+				}
+				if (compilerStats.inferenceCacheHits != 0 || compilerStats.inferenceCacheMisses != 0) {
+					printlnOut(
+							this.main.bind("compile.inferenceCache", //$NON-NLS-1$
+								String.valueOf(compilerStats.inferenceCacheHits),
+								String.valueOf(compilerStats.inferenceCacheMisses)));
+				}
+				if (compilerStats.methodLookupCacheHits != 0 || compilerStats.methodLookupCacheMisses != 0) {
+					printlnOut(
+							this.main.bind("compile.methodLookupCache", //$NON-NLS-1$
+								String.valueOf(compilerStats.methodLookupCacheHits),
+								String.valueOf(compilerStats.methodLookupCacheMisses)));
+				}
 			}
 		}
 
@@ -1347,6 +1403,8 @@ public class Main implements ProblemSeverities, SuffixConstants {
 	private boolean didSpecifyTarget;
 	public String[] encodings;
 	public int exportedClassFilesCounter;
+	private ClassFileWriter classFileWriter; // writes class files on worker threads between startBatch and endBatch
+	private IncrementalBuild incrementalBuild; // set while compiling incrementally, see -incremental
 	public String[] filenames;
 	public String[] modNames;
 	public String[] classNames;
@@ -1376,6 +1434,14 @@ public class Main implements ProblemSeverities, SuffixConstants {
 	public boolean failOnWarning = false;
 	public boolean produceRefInfo = false;
 	public int currentRepetition, maxRepetition;
+	public int parseWorkers;
+	public int waveSize;
+	public int readAheadDepth;
+	public int readAheadThreads;
+	public boolean uncompressedArchive; // store the entries of the archive named by -d
+	private ClassFileArchive classFileArchive; // open while a compilation writes class files into an archive
+	public String timingReport;
+	public String incrementalState;
 	public boolean showProgress = false;
 	public long startTime;
 	public ArrayList<String> pendingErrors;
@@ -1756,6 +1822,12 @@ public void configure(String[] argv) {
 	final int INSIDE_LIMIT_MODULES = 31;
 	final int INSIDE_MODULE_VERSION = 32;
 	final int INSIDE_PATCH_MODULE = 33;
+	final int INSIDE_PARSE_WORKERS = 34;
+	final int INSIDE_WAVE_SIZE = 35;
+	final int INSIDE_TIMING_REPORT = 36;
+	final int INSIDE_INCREMENTAL = 37;
+	final int INSIDE_READ_AHEAD = 38;
+	final int INSIDE_READ_THREADS = 39;
 
 	final int DEFAULT = 0;
 	ArrayList<String> bootclasspaths = new ArrayList<>(DEFAULT_SIZE_CLASSPATH);
@@ -1979,6 +2051,48 @@ public void configure(String[] argv) {
 					mode = INSIDE_MAX_PROBLEMS;
 					continue;
 				}
+				if (currentArg.equals("-parseWorkers")) { //$NON-NLS-1$
+					if (this.parseWorkers > 0)
+						throw new IllegalArgumentException(
+							this.bind("configure.duplicateParseWorkers", currentArg)); //$NON-NLS-1$
+					mode = INSIDE_PARSE_WORKERS;
+					continue;
+				}
+				if (currentArg.equals("-waveSize")) { //$NON-NLS-1$
+					if (this.waveSize > 0)
+						throw new IllegalArgumentException(
+							this.bind("configure.duplicateWaveSize", currentArg)); //$NON-NLS-1$
+					mode = INSIDE_WAVE_SIZE;
+					continue;
+				}
+				if (currentArg.equals("-readAhead")) { //$NON-NLS-1$
+					if (this.readAheadDepth > 0)
+						throw new IllegalArgumentException(
+							this.bind("configure.duplicateReadAhead", currentArg)); //$NON-NLS-1$
+					mode = INSIDE_READ_AHEAD;
+					continue;
+				}
+				if (currentArg.equals("-readThreads")) { //$NON-NLS-1$
+					if (this.readAheadThreads > 0)
+						throw new IllegalArgumentException(
+							this.bind("configure.duplicateReadThreads", currentArg)); //$NON-NLS-1$
+					mode = INSIDE_READ_THREADS;
+					continue;
+				}
+				if (currentArg.equals("-timingReport")) { //$NON-NLS-1$
+					if (this.timingReport != null)
+						throw new IllegalArgumentException(
+							this.bind("configure.duplicateTimingReport", currentArg)); //$NON-NLS-1$
+					mode = INSIDE_TIMING_REPORT;
+					continue;
+				}
+				if (currentArg.equals("-incremental")) { //$NON-NLS-1$
+					if (this.incrementalState != null)
+						throw new IllegalArgumentException(
+							this.bind("configure.duplicateIncremental", currentArg)); //$NON-NLS-1$
+					mode = INSIDE_INCREMENTAL;
+					continue;
+				}
 				if (currentArg.equals("--release")) { //$NON-NLS-1$
 					mode = INSIDE_RELEASE;
 					continue;
@@ -2484,6 +2598,18 @@ public void configure(String[] argv) {
 					mode = DEFAULT;
 					continue;
 				}
+				if (currentArg.equals("-methodLookupCache")) { //$NON-NLS-1$
+					this.options.put(
+						CompilerOptions.OPTION_MethodLookupCache,
+						CompilerOptions.ENABLED);
+					mode = DEFAULT;
+					continue;
+				}
+				if (currentArg.equals("-uncompressed")) { //$NON-NLS-1$
+					this.uncompressedArchive = true;
+					mode = DEFAULT;
+					continue;
+				}
 				if (currentArg.equals("-proc:none")) { //$NON-NLS-1$
 					disableAnnotationProcessing = true;
 					this.options.put(
@@ -2585,6 +2711,58 @@ public void configure(String[] argv) {
 				}
 				mode = DEFAULT;
 				continue;
+			case INSIDE_PARSE_WORKERS :
+				try {
+					this.parseWorkers = Integer.parseInt(currentArg);
+					if (this.parseWorkers <= 0) {
+						throw new IllegalArgumentException(this.bind("configure.parseWorkers", currentArg)); //$NON-NLS-1$
+					}
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException(this.bind("configure.parseWorkers", currentArg), e); //$NON-NLS-1$
+				}
+				mode = DEFAULT;
+				continue;
+			case INSIDE_WAVE_SIZE :
+				try {
+					this.waveSize = Integer.parseInt(currentArg);
+					if (this.waveSize <= 0) {
+						throw new IllegalArgumentException(this.bind("configure.waveSize", currentArg)); //$NON-NLS-1$
+					}
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException(this.bind("configure.waveSize", currentArg), e); //$NON-NLS-1$
+				}
+				mode = DEFAULT;
+				continue;
+			case INSIDE_READ_AHEAD :
+				try {
+					this.readAheadDepth = Integer.parseInt(currentArg);
+					if (this.readAheadDepth <= 0) {
+						throw new IllegalArgumentException(this.bind("configure.readAhead", currentArg)); //$NON-NLS-1$
+					}
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException(this.bind("configure.readAhead", currentArg), e); //$NON-NLS-1$
+				}
+				mode = DEFAULT;
+				continue;
+			case INSIDE_READ_THREADS :
+				try {
+					this.readAheadThreads = Integer.parseInt(currentArg);
+					if (this.readAheadThreads <= 0) {
+						throw new IllegalArgumentException(this.bind("configure.readThreads", currentArg)); //$NON-NLS-1$
+					}
+				} catch (NumberFormatException e) {
+					throw new IllegalArgumentException(this.bind("configure.readThreads", currentArg), e); //$NON-NLS-1$
+				}
+				mode = DEFAULT;
+				continue;
+			case INSIDE_TIMING_REPORT :
+				this.timingReport = currentArg;
+				mode = DEFAULT;
+				continue;
+			case INSIDE_INCREMENTAL :
+				this.incrementalState = currentArg;
+				mode = DEFAULT;
+				continue;
 			case INSIDE_RELEASE:
 				// If release is < 9, the following are disallowed:
 				// bootclasspath, -Xbootclasspath, -Xbootclasspath/a:, -Xbootclasspath/p:,
@@ -2847,11 +3025,7 @@ public void configure(String[] argv) {
 			throw new IllegalArgumentException(
 				this.bind("configure.unrecognizedOption", currentSourceDirectory)); //$NON-NLS-1$
 		}
-		String[] resultJava = FileFinder.find(dir, SuffixConstants.SUFFIX_STRING_java);
-		String[] resultMaxJ = FileFinder.find(dir, SuffixConstants.SUFFIX_STRING_maxjava);
-		String[] result = new String[resultJava.length + resultMaxJ.length];
-		System.arraycopy(resultJava, 0, result, 0, resultJava.length);
-		System.arraycopy(resultMaxJ, 0, result, resultJava.length, resultMaxJ.length);
+		String[] result = FileFinder.find(dir, new String[] { SuffixConstants.SUFFIX_STRING_java, SuffixConstants.SUFFIX_STRING_maxjava });
 		if (NONE.equals(customDestinationPath)) {
 			customDestinationPath = NONE; // ensure == comparison
 		}
@@ -2963,6 +3137,11 @@ public void configure(String[] argv) {
 	// Enable annotation processing by default in batch mode when compliance is at least 1.6
 	// see bug https://bugs.eclipse.org/bugs/show_bug.cgi?id=185768
 	if (!disableAnnotationProcessing) {
+		if (ClassFileArchive.isArchive(this.destinationPath)) {
+			// processors write their class output into the -d directory
+			throw new IllegalArgumentException(
+				this.bind("configure.archiveWithAnnotationProcessing", this.destinationPath)); //$NON-NLS-1$
+		}
 		this.options.put(CompilerOptions.OPTION_Process_Annotations, CompilerOptions.ENABLED);
 	}
 
@@ -4621,7 +4800,10 @@ private static boolean isParentOf(char[] folderName, char[] fileName) {
 // Dump classfiles onto disk for all compilation units that where successful
 // and do not carry a -d none spec, either directly or inherited from Main.
 public void outputClassFiles(CompilationResult unitResult) {
-	if (!((unitResult == null) || (unitResult.hasErrors() && !this.proceedOnError))) {
+	boolean writesClassFiles = !((unitResult == null) || (unitResult.hasErrors() && !this.proceedOnError));
+	if (this.incrementalBuild != null && unitResult != null)
+		this.incrementalBuild.acceptResult(unitResult, writesClassFiles);
+	if (writesClassFiles) {
 		ClassFile[] classFiles = unitResult.getClassFiles();
 		String currentDestinationPath = null;
 		boolean generateClasspathStructure = false;
@@ -4650,14 +4832,19 @@ public void outputClassFiles(CompilationResult unitResult) {
 			generateClasspathStructure = true;
 		} // else leave currentDestinationPath null
 		if (currentDestinationPath != null) {
+			if (currentDestinationPath == this.destinationPath && ClassFileArchive.isArchive(currentDestinationPath)) {
+				outputToArchive(classFiles);
+				return;
+			}
+			if (this.classFileWriter != null) {
+				String[] relativeNames = new String[classFiles.length];
+				for (int i = 0; i < classFiles.length; i++)
+					relativeNames[i] = relativeClassFileName(classFiles[i]);
+				this.classFileWriter.write(classFiles, generateClasspathStructure, currentDestinationPath, relativeNames);
+				return;
+			}
 			for (ClassFile classFile : classFiles) {
-				char[] filename = classFile.fileName();
-				int length = filename.length;
-				char[] relativeName = new char[length + 6];
-				System.arraycopy(filename, 0, relativeName, 0, length);
-				System.arraycopy(SuffixConstants.SUFFIX_class, 0, relativeName, length, 6);
-				CharOperation.replace(relativeName, '/', File.separatorChar);
-				String relativeStringName = new String(relativeName);
+				String relativeStringName = relativeClassFileName(classFile);
 				try {
 					if (this.compilerOptions.verbose)
 						this.out.println(
@@ -4685,12 +4872,118 @@ public void outputClassFiles(CompilationResult unitResult) {
 		}
 	}
 }
+/*
+ * Write the given class files into the archive named by -d, on the accepting thread so that the entries
+ * are in the order the units are accepted.
+ */
+private void outputToArchive(ClassFile[] classFiles) {
+	for (ClassFile classFile : classFiles) {
+		String relativeStringName = relativeClassFileName(classFile);
+		try {
+			if (this.compilerOptions.verbose)
+				this.out.println(
+					Messages.bind(
+						Messages.compilation_write,
+						new String[] {
+							String.valueOf(this.exportedClassFilesCounter+1),
+							relativeStringName
+						}));
+			if (this.classFileArchive == null)
+				this.classFileArchive = new ClassFileArchive(new File(this.destinationPath), this.uncompressedArchive);
+			this.classFileArchive.write(classFile);
+			this.logger.logClassFile(true, this.destinationPath, relativeStringName);
+			this.exportedClassFilesCounter++;
+		} catch (IOException e) {
+			this.logger.logNoClassFileCreated(this.destinationPath, relativeStringName, e);
+		}
+	}
+	this.batchCompiler.lookupEnvironment.releaseClassFiles(classFiles);
+}
+/*
+ * Create or truncate the archive named by -d, so that a compilation writing no class files
+ * does not leave the class files of a previous one.
+ */
+private void openClassFileArchive() {
+	try {
+		this.classFileArchive = new ClassFileArchive(new File(this.destinationPath), this.uncompressedArchive);
+	} catch (IOException e) {
+		this.logger.logNoArchiveCreated(this.destinationPath, e);
+	}
+}
+/*
+ * Complete the archive the class files were written into, if any.
+ */
+private void closeClassFileArchive() {
+	ClassFileArchive archive = this.classFileArchive;
+	if (archive != null) {
+		this.classFileArchive = null;
+		try {
+			archive.close();
+		} catch (IOException e) {
+			this.logger.logNoArchiveCreated(this.destinationPath, e);
+		}
+	}
+}
+private static String relativeClassFileName(ClassFile classFile) {
+	char[] filename = classFile.fileName();
+	int length = filename.length;
+	char[] relativeName = new char[length + 6];
+	System.arraycopy(filename, 0, relativeName, 0, length);
+	System.arraycopy(SuffixConstants.SUFFIX_class, 0, relativeName, length, 6);
+	CharOperation.replace(relativeName, '/', File.separatorChar);
+	return new String(relativeName);
+}
+/*
+ * Hand the class files of the results accepted from now on to worker threads, unless
+ * every class file has to be logged while its unit is being logged.
+ */
+protected void startWritingClassFiles() {
+	if (!this.compilerOptions.verbose && (this.logger.tagBits & Logger.XML) == 0)
+		this.classFileWriter = ClassFileWriter.create(this);
+}
+/*
+ * Wait for the class files handed to worker threads to be written.
+ */
+protected void endWritingClassFiles() {
+	ClassFileWriter writer = this.classFileWriter;
+	if (writer != null) {
+		this.classFileWriter = null;
+		writer.flush();
+	}
+}
 /*
  *  Low-level API performing the actual compilation
  */
 public void performCompilation() {
 	this.startTime = System.currentTimeMillis();
 
+	this.incrementalBuild = this.incrementalState != null ? IncrementalBuild.create(this, new File(this.incrementalState)) : null;
+	if (this.incrementalBuild == null) {
+		if (ClassFileArchive.isArchive(this.destinationPath))
+			openClassFileArchive();
+		try {
+			compileRound();
+		} finally {
+			closeClassFileArchive();
+		}
+		this.logger.printStats();
+		return;
+	}
+	try {
+		this.incrementalBuild.start();
+		do {
+			compileRound();
+		} while (this.incrementalBuild.nextRound());
+		this.incrementalBuild.end();
+	} finally {
+		this.incrementalBuild = null;
+	}
+	this.logger.printStats();
+}
+/*
+ * Compile the sources given by filenames, see IncrementalBuild for the sources compiled in each round.
+ */
+private void compileRound() {
 	FileSystem environment = getLibraryAccess();
 	try {
 		this.compilerOptions = new CompilerOptions(this.options);
@@ -4709,6 +5002,16 @@ public void performCompilation() {
 		// temporary code to allow the compiler to revert to a single thread
 		String setting = System.getProperty("jdt.compiler.useSingleThread"); //$NON-NLS-1$
 		this.batchCompiler.useSingleThread = setting != null && setting.equals("true"); //$NON-NLS-1$
+		if (this.parseWorkers > 0)
+			this.batchCompiler.parseWorkers = this.parseWorkers;
+		if (this.waveSize > 0)
+			this.batchCompiler.waveSize = this.waveSize;
+		if (this.readAheadDepth > 0)
+			this.batchCompiler.readAheadDepth = this.readAheadDepth;
+		if (this.readAheadThreads > 0)
+			this.batchCompiler.readAheadThreads = this.readAheadThreads;
+		if (this.timingReport != null)
+			this.batchCompiler.unitTimings = new UnitTimings();
 
 		if (this.compilerOptions.processAnnotations) {
 			initializeAnnotationProcessorManager();
@@ -4720,10 +5023,13 @@ public void performCompilation() {
 
 		// set the non-externally configurable options.
 		this.compilerOptions.verbose = this.verbose;
-		this.compilerOptions.produceReferenceInfo = this.produceRefInfo;
+		this.compilerOptions.produceReferenceInfo = this.produceRefInfo || this.incrementalBuild != null;
 		try {
 			this.logger.startLoggingSources();
-			this.batchCompiler.compile(getCompilationUnits());
+			CompilationUnit[] sourceUnits = getCompilationUnits();
+			if (this.waveSize > 0)
+				this.batchCompiler.classFileDirectory = classFileDirectory(sourceUnits);
+			this.batchCompiler.compile(sourceUnits);
 		} finally {
 			this.logger.endLoggingSources();
 		}
@@ -4735,13 +5041,36 @@ public void performCompilation() {
 		if (this.compilerStats != null) {
 			this.compilerStats[this.currentRepetition] = this.batchCompiler.stats;
 		}
-		this.logger.printStats();
+		if (this.timingReport != null)
+			writeTimingReport(this.batchCompiler.unitTimings);
 	}
 	finally {
 	// cleanup
 		environment.cleanup();
 	}
 }
+/*
+ * Write the time spent by each unit in each phase to the timing report file, see -timingReport.
+ */
+private void writeTimingReport(UnitTimings unitTimings) {
+	try (Writer writer = new OutputStreamWriter(new FileOutputStream(this.timingReport), StandardCharsets.UTF_8)) {
+		unitTimings.writeJson(writer);
+	} catch (IOException e) {
+		this.logger.logNoTimingReportCreated(this.timingReport, e);
+	}
+}
+/*
+ * Answer the directory where the class files of all the given units are written in their package structure, if any.
+ */
+private String classFileDirectory(CompilationUnit[] sourceUnits) {
+	if (this.destinationPath == null || this.destinationPath == NONE || ClassFileArchive.isArchive(this.destinationPath))
+		return null;
+	for (CompilationUnit sourceUnit : sourceUnits) {
+		if (sourceUnit.destinationPath != null || sourceUnit.module != null)
+			return null;
+	}
+	return this.destinationPath;
+}
 protected void loggingExtraProblems() {
 	this.logger.loggingExtraProblems(this);
 }
@@ -130,6 +130,18 @@ public static ClassFileReader read(byte[] classFileBytes, String fileName, boole
 	return classFileReader;
 }
 
+/**
+ * Answers a reader for the given class file bytes, read from the given location.
+ */
+public static ClassFileReader read(URI uri, byte[] classFileBytes, String fileName, boolean fullyInitialize)
+		throws ClassFormatException {
+	ClassFileReader classFileReader = new ClassFileReader(uri, classFileBytes, fileName.toCharArray());
+	if (fullyInitialize) {
+		classFileReader.initialize();
+	}
+	return classFileReader;
+}
+
 public static ClassFileReader read(
 	java.util.zip.ZipFile zip,
 	String filename)
@@ -162,14 +174,22 @@ public static ClassFileReader read(java.util.zip.ZipFile zip, String filename, b
 		return null;
 	}
 	try (InputStream stream = zip.getInputStream(ze)) {
-		URI uri =  URI.create("jar:file://" + toUri(zip.getName()).getRawPath() + "!/" + filename); //$NON-NLS-1$ //$NON-NLS-2$
-		ClassFileReader classFileReader = new ClassFileReader(uri, Util.getInputStreamAsByteArray(stream),
-				filename.toCharArray());
-		if (fullyInitialize) {
-			classFileReader.initialize();
-		}
-		return classFileReader;
+		return read(zip.getName(), filename, Util.getInputStreamAsByteArray(stream), fullyInitialize);
+	}
+}
+
+/**
+ * Answers a reader for the given bytes of an entry of the given zip file, as read by
+ * {@link #read(java.util.zip.ZipFile, String, boolean)}.
+ */
+public static ClassFileReader read(String zipFileName, String filename, byte[] classFileBytes, boolean fullyInitialize)
+		throws ClassFormatException {
+	URI uri =  URI.create("jar:file://" + toUri(zipFileName).getRawPath() + "!/" + filename); //$NON-NLS-1$ //$NON-NLS-2$
+	ClassFileReader classFileReader = new ClassFileReader(uri, classFileBytes, filename.toCharArray());
+	if (fullyInitialize) {
+		classFileReader.initialize();
 	}
+	return classFileReader;
 }
 
 /**
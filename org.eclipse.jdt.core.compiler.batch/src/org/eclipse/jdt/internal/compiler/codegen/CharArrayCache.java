@@ -106,7 +106,8 @@ public int get(char[] key) {
  */
 public int putIfAbsent(char[] key, int value) {
 	// assumes the threshold is never equal to the size of the table
-	if (++this.elementSize > this.threshold) {
+	// only insertions count: frequent lookups of existing keys must not grow the table
+	if (this.elementSize >= this.threshold) {
 		rehash();
 	}
 	int length = this.keyTable.length;
@@ -120,6 +121,7 @@ public int putIfAbsent(char[] key, int value) {
 	}
 	this.keyTable[index] = key;
 	this.valueTable[index] = value;
+	this.elementSize++;
 
 	return -value; // negative when added (value is assumed to be > 0)
 }
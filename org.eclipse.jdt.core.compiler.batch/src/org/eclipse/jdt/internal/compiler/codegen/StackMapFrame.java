@@ -87,8 +87,12 @@ public class StackMapFrame {
 		}
 	}
 
+	/**
+	 * Only stack entries, which get merged, and uninitialized entries, which a constructor call turns into objects,
+	 * are copied. Other locals are never modified and are shared with the receiver.
+	 */
 	public StackMapFrame duplicate() {
-		Map<VerificationTypeInfo, VerificationTypeInfo> cache = new HashMap<>();
+		Map<VerificationTypeInfo, VerificationTypeInfo> cache = null;
 		int length = this.locals.length;
 		StackMapFrame result = new StackMapFrame(length);
 		result.numberOfLocals = -1;
@@ -97,10 +101,15 @@ public class StackMapFrame {
 		result.numberOfStackItems = this.numberOfStackItems;
 
 		if (length != 0) {
-			result.locals = new VerificationTypeInfo[length];
+			VerificationTypeInfo[] resultLocals = result.locals;
+			System.arraycopy(this.locals, 0, resultLocals, 0, length);
 			for (int i = 0; i < length; i++) {
-				final VerificationTypeInfo verificationTypeInfo = this.locals[i];
-				result.locals[i] = getCachedValue(cache, verificationTypeInfo);
+				final VerificationTypeInfo verificationTypeInfo = resultLocals[i];
+				if (verificationTypeInfo != null && isUninitialized(verificationTypeInfo)) {
+					if (cache == null)
+						cache = new HashMap<>();
+					resultLocals[i] = getCachedValue(cache, verificationTypeInfo);
+				}
 			}
 		}
 		length = this.numberOfStackItems;
@@ -108,25 +117,28 @@ public class StackMapFrame {
 			result.stackItems = new VerificationTypeInfo[length];
 			for (int i = 0; i < length; i++) {
 				final VerificationTypeInfo verificationTypeInfo = this.stackItems[i];
-				result.stackItems[i] = getCachedValue(cache, verificationTypeInfo);
+				if (isUninitialized(verificationTypeInfo)) {
+					if (cache == null)
+						cache = new HashMap<>();
+					result.stackItems[i] = getCachedValue(cache, verificationTypeInfo);
+				} else {
+					result.stackItems[i] = verificationTypeInfo.duplicate();
+				}
 			}
 		}
 		return result;
 	}
 
+	private static boolean isUninitialized(VerificationTypeInfo value) {
+		return value.tag == VerificationTypeInfo.ITEM_UNINITIALIZED || value.tag == VerificationTypeInfo.ITEM_UNINITIALIZED_THIS;
+	}
+
 	private static VerificationTypeInfo getCachedValue(Map<VerificationTypeInfo, VerificationTypeInfo> cache, VerificationTypeInfo value) {
-		VerificationTypeInfo cachedValue = value;
-		if (value != null) {
-			if (value.tag == VerificationTypeInfo.ITEM_UNINITIALIZED || value.tag == VerificationTypeInfo.ITEM_UNINITIALIZED_THIS) {
-				// we use the cache only for uninitialized info
-				cachedValue = cache.get(value);
-				if (cachedValue == null) {
-					cachedValue = value.duplicate();
-					cache.put(value, cachedValue);
-				}
-			} else {
-				cachedValue = value.duplicate();
-			}
+		// we use the cache only for uninitialized info
+		VerificationTypeInfo cachedValue = cache.get(value);
+		if (cachedValue == null) {
+			cachedValue = value.duplicate();
+			cache.put(value, cachedValue);
 		}
 		return cachedValue;
 	}
@@ -379,6 +391,10 @@ public class StackMapFrame {
 	}
 
 	private static boolean equals(VerificationTypeInfo info, VerificationTypeInfo info2) {
+		if (info == info2) {
+			// locals are shared between frames
+			return true;
+		}
 		if (info == null) {
 			return info2 == null;
 		}
@@ -392,6 +408,14 @@ public class StackMapFrame {
 			// branching
 			return this;
 		}
+		return mergeStackItems(frame, scope);
+	}
+
+	/**
+	 * Merges the stack entries of the given frame into those of the receiver, whatever the pc of the given frame.
+	 * The given frame is left unchanged and none of its entries is retained.
+	 */
+	public StackMapFrame mergeStackItems(StackMapFrame frame, Scope scope) {
 		if (this.numberOfStackItems == frame.numberOfStackItems) {
 			for (int i = 0, max = this.numberOfStackItems; i < max; i++) {
 				this.stackItems[i] = this.stackItems[i].merge(frame.stackItems[i], scope);
@@ -106,6 +106,8 @@ public class UnconditionalFlowInfo extends FlowInfo {
 		// extra[DEFINN] is iDefNNBit
 		// lifecycle is extra == null or else all extra[]'s are allocated
 		// arrays which have the same size
+	private boolean extraShared;
+		// whether the extra[]'s may be shared with copies, see copy()
 
 	public int maxFieldCount; // limit between fields and locals
 
@@ -115,6 +117,9 @@ public class UnconditionalFlowInfo extends FlowInfo {
 	public static final int INN = 7;
 	public static final int DEFIN = 8;
 	public static final int DEFINN = 9;
+	// minimal length of the extra[]'s from which copies share them until either side changes them,
+	// 16 longs are about a thousand variables
+	static final int SHARED_EXTRA_LENGTH = 16;
 
 /* fakeInitializedFlowInfo: For Lambda expressions tentative analysis during overload resolution.
    We presume that any and all outer locals touched by the lambda are definitely assigned and
@@ -141,6 +146,7 @@ public FlowInfo addNullInfoFrom(FlowInfo inits) {
 	return addInfoFrom(inits, false);
 }
 private FlowInfo addInfoFrom(FlowInfo inits, boolean handleInits) {
+	unshareExtra();
 	if (this == DEAD_END)
 		return this;
 	if (inits == DEAD_END)
@@ -417,6 +423,7 @@ private FlowInfo addInfoFrom(FlowInfo inits, boolean handleInits) {
 
 @Override
 public FlowInfo addPotentialInitializationsFrom(FlowInfo inits) {
+	unshareExtra();
 	if (this == DEAD_END){
 		return this;
 	}
@@ -473,6 +480,7 @@ public FlowInfo addPotentialInitializationsFrom(FlowInfo inits) {
  */
 public UnconditionalFlowInfo addPotentialNullInfoFrom(
 		UnconditionalFlowInfo otherInits) {
+	unshareExtra();
 	if ((this.tagBits & UNREACHABLE) != 0 ||
 			(otherInits.tagBits & UNREACHABLE) != 0 ||
 			(otherInits.tagBits & NULL_FLAG_MASK) == 0) {
@@ -631,6 +639,7 @@ public UnconditionalFlowInfo addPotentialNullInfoFrom(
  * then corresponding (non)nullness from other should override existing state.
  */
 public void acceptIncomingNullnessFrom(UnconditionalFlowInfo other) {
+	unshareExtra();
 	if (this.iDefNNBit != 0 || this.iDefNBit != 0) {
 		long b1 = other.nullBit1, b2 = other.nullBit2, nb2 = ~b2, b3 = other.nullBit3, nb3 = ~b3, nb4 = ~other.nullBit4;
 		long acceptNN = this.iDefNNBit & b1 & nb2 & b3 & nb4; // 1010 is def nonnull
@@ -792,7 +801,20 @@ public FlowInfo copy() {
 	copy.iDefNNBit = this.iDefNNBit;
 	copy.tagBits = this.tagBits;
 	copy.maxFieldCount = this.maxFieldCount;
-	if (this.extra != null) {
+	if (this.extra != null && this.extra[0].length >= SHARED_EXTRA_LENGTH) {
+		// huge methods: most copies are only read (e.g. by flow contexts), defer copying to the first change
+		copy.extra = new long[extraLength][];
+		for (int j = 0; j < extraLength; j++) {
+			copy.extra[j] = this.extra[j];
+		}
+		if (!hasNullInfo) {
+			int length = this.extra[0].length;
+			for (int j = 2; j < 6; j++) {
+				copy.extra[j] = new long[length];
+			}
+		}
+		this.extraShared = copy.extraShared = true;
+	} else if (this.extra != null) {
 		int length;
 		copy.extra = new long[extraLength][];
 		System.arraycopy(this.extra[0], 0,
@@ -825,6 +847,7 @@ public FlowInfo copy() {
  * @return this flow info, minus definite inits and potential inits
  */
 public UnconditionalFlowInfo discardInitializationInfo() {
+	unshareExtra();
 	if (this == DEAD_END) {
 		return this;
 	}
@@ -858,6 +881,7 @@ public UnconditionalFlowInfo discardNonFieldInitializations() {
 		this.iDefNNBit &= mask;
 	}
 	// use extra vector
+	unshareExtra();
 	if (this.extra == null) {
 		return this; // if vector not yet allocated, then not initialized
 	}
@@ -1269,6 +1293,7 @@ public void markAsComparedEqualToNonNull(LocalVariableBinding local) {
 		}
 		else {
 			// use extra vector
+			unshareExtra();
 			int vectorIndex = (position / BitCacheSize) - 1;
 			if (this.extra == null) {
 				int length = vectorIndex + 1;
@@ -1362,6 +1387,7 @@ public void markAsComparedEqualToNull(LocalVariableBinding local) {
 		}
 		else {
 			// use extra vector
+			unshareExtra();
 			int vectorIndex = (position / BitCacheSize) - 1;
 			mask = 1L << (position % BitCacheSize);
 			if (this.extra == null) {
@@ -1423,6 +1449,7 @@ final private void markAsDefinitelyAssigned(int position) {
 		}
 		else {
 			// use extra vector
+			unshareExtra();
 			int vectorIndex = (position / BitCacheSize) - 1;
 			if (this.extra == null) {
 				int length = vectorIndex + 1;
@@ -1481,6 +1508,7 @@ public void markAsDefinitelyNonNull(LocalVariableBinding local) {
     	}
     	else {
     		// use extra vector
+    		unshareExtra();
     		int vectorIndex = (position / BitCacheSize) - 1;
     		if (this.extra == null) {
     			int length = vectorIndex + 1;
@@ -1537,6 +1565,7 @@ public void markAsDefinitelyNull(LocalVariableBinding local) {
     	}
     	else {
     		// use extra vector
+    		unshareExtra();
     		int vectorIndex = (position / BitCacheSize) - 1;
     		if (this.extra == null) {
     			int length = vectorIndex + 1;
@@ -1601,6 +1630,7 @@ public void markAsDefinitelyUnknown(LocalVariableBinding local) {
 		}
 		else {
 			// use extra vector
+			unshareExtra();
 			int vectorIndex = (position / BitCacheSize) - 1;
 			if (this.extra == null) {
 				int length = vectorIndex + 1;
@@ -1649,6 +1679,7 @@ public void resetNullInfo(LocalVariableBinding local) {
             this.iDefNNBit &= mask;
         } else {
     		// use extra vector
+    		unshareExtra();
     		int vectorIndex = (position / BitCacheSize) - 1;
     		if (this.extra == null || vectorIndex >= this.extra[2].length) {
     			// in case we attempt to reset the null info of a variable that has not been encountered
@@ -1689,6 +1720,7 @@ public void markPotentiallyUnknownBit(LocalVariableBinding local) {
 			}
         } else {
     		// use extra vector
+    		unshareExtra();
     		int vectorIndex = (position / BitCacheSize) - 1;
     		if (this.extra == null) {
 				int length = vectorIndex + 1;
@@ -1734,6 +1766,7 @@ public void markPotentiallyNullBit(LocalVariableBinding local) {
 			}
         } else {
     		// use extra vector
+    		unshareExtra();
     		int vectorIndex = (position / BitCacheSize) - 1;
     		if (this.extra == null) {
 				int length = vectorIndex + 1;
@@ -1779,6 +1812,7 @@ public void markPotentiallyNonNullBit(LocalVariableBinding local) {
 			}
         } else {
     		// use extra vector
+    		unshareExtra();
     		int vectorIndex  = (position / BitCacheSize) - 1;
     		if (this.extra == null) {
 				int length = vectorIndex + 1;
@@ -1807,6 +1841,7 @@ public void markPotentiallyNonNullBit(LocalVariableBinding local) {
 
 @Override
 public UnconditionalFlowInfo mergedWith(UnconditionalFlowInfo otherInits) {
+	unshareExtra();
 	if ((otherInits.tagBits & UNREACHABLE_OR_DEAD) != 0 && this != DEAD_END) {
 		if (COVERAGE_TEST_FLAG) {
 			if(CoverageTestId == 28) {
@@ -2173,6 +2208,7 @@ public FlowInfo safeInitsWhenTrue() {
 
 @Override
 public FlowInfo setReachMode(int reachMode) {
+	unshareExtra();
 	if (this == DEAD_END) {// cannot modify DEAD_END
 		return this;
 	}
@@ -2341,6 +2377,7 @@ public UnconditionalFlowInfo unconditionalInitsWithoutSideEffect() {
 }
 @Override
 public UnconditionalFlowInfo mergeDefiniteInitsWith(UnconditionalFlowInfo otherInits) {
+	unshareExtra();
 	if ((otherInits.tagBits & UNREACHABLE_OR_DEAD) != 0 && this != DEAD_END) {
 		return this;
 	}
@@ -2403,6 +2440,7 @@ public void resetAssignmentInfo(int position) {
 			this.potentialInits &= mask;
 		} else {
 			// use extra vector
+			unshareExtra();
 			int vectorIndex = (position / BitCacheSize) - 1;
 			if (this.extra == null || vectorIndex >= this.extra[0].length) return;	// variable doesnt exist in flow info
 			long mask;
@@ -2413,7 +2451,23 @@ public void resetAssignmentInfo(int position) {
 	}
 }
 
+/**
+ * Take ownership of the extra bit fields before changing them, if they may be
+ * shared with copies.
+ */
+private void unshareExtra() {
+	if (this.extraShared) {
+		if (this.extra != null) {
+			for (int j = 0; j < extraLength; j++) {
+				this.extra[j] = this.extra[j].clone();
+			}
+		}
+		this.extraShared = false;
+	}
+}
+
 private void createExtraSpace(int length) {
+	this.extraShared = false;
 	this.extra = new long[extraLength][];
 	for (int j = 0; j < extraLength; j++) {
 		this.extra[j] = new long[length];
@@ -2432,6 +2486,7 @@ public void growSpace(int newLength, int copyStart, int copyLength) {
 			(this.extra[j] = new long[newLength]), copyStart,
 			copyLength);
 	}
+	this.extraShared = false;
 	if ((this.tagBits & UNROOTED) != 0) {
 		Arrays.fill(this.extra[IN], copyStart+copyLength, newLength, -1);
 		Arrays.fill(this.extra[INN], copyStart+copyLength, newLength, -1);
@@ -2441,6 +2496,7 @@ public void growSpace(int newLength, int copyStart, int copyLength) {
 }
 
 public void acceptAllIncomingNullness() {
+	unshareExtra();
 	this.iNBit = -1L;
 	this.iNNBit = -1L;
 	this.iDefNBit = -1L;
@@ -0,0 +1,198 @@
+package org.eclipse.jdt.internal.compiler.impl;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.FlightRecorder;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
+import org.eclipse.jdt.internal.compiler.lookup.MethodBinding;
+import org.eclipse.jdt.internal.compiler.lookup.TypeBinding;
+
+/**
+ * Java Flight Recorder events of the compiler, recorded under the "Eclipse Compiler for Java" category when a
+ * recording enables them (e.g. <code>java -XX:StartFlightRecording ... org.eclipse.jdt.internal.compiler.batch.Main</code>).
+ * <ul>
+ * <li>{@link Unit}: the processing of a compilation unit, from parsing its method bodies to generating its class
+ * files,</li>
+ * <li>{@link Phase}: one of the phases accounted for by {@link CompilerStats} for a compilation unit, see
+ * {@link PhaseTimer},</li>
+ * <li>{@link TypeLookup}: a lookup of a type on the class path,</li>
+ * <li>{@link OperatorResolution}: a search for the method implementing an overloaded operator, which was not
+ * answered by the {@link org.eclipse.jdt.internal.compiler.lookup.OperatorOverloadCache},</li>
+ * <li>{@link AnnotationProcessingRound}: a round of annotation processing.</li>
+ * </ul>
+ * <p>
+ * Events are only created when the <code>jdk.jfr</code> module can be loaded and the flight recorder was initialized
+ * when the compiler started, i.e. a recording was started with the JVM (see {@link #AVAILABLE}): the compiler still
+ * runs on a runtime without the module, and does not pay for loading the flight recorder and instrumenting the event
+ * classes when nothing is recorded. The factory methods answer <code>null</code> otherwise, and the end methods
+ * accept <code>null</code>. Event fields are only computed for events that are committed.
+ * </p>
+ */
+public final class CompilerEvents {
+
+	private static final String CATEGORY = "Eclipse Compiler for Java"; //$NON-NLS-1$
+
+	/** Whether Java Flight Recorder events are created. */
+	public static final boolean AVAILABLE = isAvailable();
+
+	private static boolean isAvailable() {
+		try {
+			Class.forName("jdk.jfr.FlightRecorder", false, CompilerEvents.class.getClassLoader()); //$NON-NLS-1$
+			return FlightRecorder.isInitialized();
+		} catch (ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+
+	private CompilerEvents() {
+		// not instantiable
+	}
+
+	@Name("org.eclipse.jdt.compiler.Unit")
+	@Label("Compilation Unit")
+	@Description("Processing of a compilation unit, from parsing its method bodies to generating its class files")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	public static final class Unit extends Event {
+		@Label("File")
+		public String file;
+		@Label("Lines")
+		public int lines;
+	}
+
+	@Name("org.eclipse.jdt.compiler.Phase")
+	@Label("Compile Phase")
+	@Description("A parse, resolve, analyze or generate phase of a compilation unit")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	public static final class Phase extends Event {
+		@Label("File")
+		public String file;
+		@Label("Phase")
+		public String phase;
+	}
+
+	@Name("org.eclipse.jdt.compiler.TypeLookup")
+	@Label("Type Lookup")
+	@Description("Lookup of a type on the class path")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	public static final class TypeLookup extends Event {
+		@Label("Type")
+		public String type;
+		@Label("Module")
+		public String module;
+		@Label("Found")
+		public boolean found;
+		@Label("Source")
+		public boolean source;
+	}
+
+	@Name("org.eclipse.jdt.compiler.OperatorResolution")
+	@Label("Operator Resolution")
+	@Description("Search for the method implementing an overloaded operator")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	public static final class OperatorResolution extends Event {
+		@Label("Method")
+		public String method;
+		@Label("Receiver Type")
+		public String receiverType;
+		@Label("Argument Types")
+		public String argumentTypes;
+		@Label("Resolved")
+		public boolean resolved;
+	}
+
+	@Name("org.eclipse.jdt.compiler.AnnotationProcessingRound")
+	@Label("Annotation Processing Round")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	public static final class AnnotationProcessingRound extends Event {
+		@Label("Round")
+		public int round;
+		@Label("Units")
+		public int units;
+		@Label("Generated Units")
+		public int generatedUnits;
+		@Label("Generated Class Files")
+		public int generatedClassFiles;
+		@Label("Last Round")
+		public boolean lastRound;
+	}
+
+	public static TypeLookup beginTypeLookup() {
+		if (!AVAILABLE)
+			return null;
+		TypeLookup event = new TypeLookup();
+		event.begin();
+		return event;
+	}
+
+	public static void endTypeLookup(TypeLookup event, String qualifiedTypeName, char[] moduleName, NameEnvironmentAnswer answer) {
+		if (event == null)
+			return;
+		event.end();
+		if (event.shouldCommit()) {
+			event.type = qualifiedTypeName.replace('/', '.');
+			event.module = moduleName == null ? null : new String(moduleName);
+			event.found = answer != null;
+			event.source = answer != null && answer.getCompilationUnit() != null;
+			event.commit();
+		}
+	}
+
+	public static OperatorResolution beginOperatorResolution() {
+		if (!AVAILABLE)
+			return null;
+		OperatorResolution event = new OperatorResolution();
+		event.begin();
+		return event;
+	}
+
+	public static void endOperatorResolution(OperatorResolution event, TypeBinding receiverType, char[] selector, TypeBinding[] argumentTypes, MethodBinding method) {
+		if (event == null)
+			return;
+		event.end();
+		if (event.shouldCommit()) {
+			event.method = new String(selector);
+			event.receiverType = receiverType == null ? null : new String(receiverType.readableName());
+			StringBuilder buffer = new StringBuilder();
+			for (int i = 0; i < argumentTypes.length; i++) {
+				if (i > 0)
+					buffer.append(", "); //$NON-NLS-1$
+				buffer.append(argumentTypes[i] == null ? CharOperation.NO_CHAR : argumentTypes[i].readableName());
+			}
+			event.argumentTypes = buffer.toString();
+			event.resolved = method != null && method.isValidBinding();
+			event.commit();
+		}
+	}
+
+	public static AnnotationProcessingRound beginAnnotationProcessingRound(int round, int units, boolean lastRound) {
+		if (!AVAILABLE)
+			return null;
+		AnnotationProcessingRound event = new AnnotationProcessingRound();
+		event.round = round;
+		event.units = units;
+		event.lastRound = lastRound;
+		event.begin();
+		return event;
+	}
+
+	public static void endAnnotationProcessingRound(AnnotationProcessingRound event, int generatedUnits, int generatedClassFiles) {
+		if (event == null)
+			return;
+		event.end();
+		if (event.shouldCommit()) {
+			event.generatedUnits = generatedUnits;
+			event.generatedClassFiles = generatedClassFiles;
+			event.commit();
+		}
+	}
+}
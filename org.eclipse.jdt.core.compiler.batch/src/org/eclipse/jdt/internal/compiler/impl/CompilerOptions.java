@@ -151,6 +151,7 @@ public class CompilerOptions {
 	public static final String OPTION_ReportOverridingMethodWithoutSuperInvocation =  "org.eclipse.jdt.core.compiler.problem.overridingMethodWithoutSuperInvocation"; //$NON-NLS-1$
 	public static final String OPTION_GenerateClassFiles = "org.eclipse.jdt.core.compiler.generateClassFiles"; //$NON-NLS-1$
 	public static final String OPTION_Process_Annotations = "org.eclipse.jdt.core.compiler.processAnnotations"; //$NON-NLS-1$
+	public static final String OPTION_MethodLookupCache = "org.eclipse.jdt.core.compiler.methodLookupCache"; //$NON-NLS-1$
 	// OPTION_Store_Annotations: undocumented option for testing purposes
 	public static final String OPTION_Store_Annotations = "org.eclipse.jdt.core.compiler.storeAnnotations"; //$NON-NLS-1$
 	public static final String OPTION_EmulateJavacBug8031744 = "org.eclipse.jdt.core.compiler.emulateJavacBug8031744"; //$NON-NLS-1$
@@ -536,6 +537,8 @@ public class CompilerOptions {
 	public boolean generateClassFiles;
 	/** Indicate if method bodies should be ignored */
 	public boolean ignoreMethodBodies;
+	/** Indicate if method lookups should be memoized per compilation unit, see {@link org.eclipse.jdt.internal.compiler.lookup.MethodLookupCache} */
+	public boolean methodLookupCache;
 	/** Raise null related warnings for variables tainted inside an assert statement (java 1.4 and above)*/
 	public boolean includeNullInfoFromAsserts;
 	/** Controls whether forced generic type problems get reported  */
@@ -1470,6 +1473,7 @@ public class CompilerOptions {
 		optionsMap.put(OPTION_ReportOverridingMethodWithoutSuperInvocation, getSeverityString(OverridingMethodWithoutSuperInvocation));
 		optionsMap.put(OPTION_GenerateClassFiles, this.generateClassFiles ? ENABLED : DISABLED);
 		optionsMap.put(OPTION_Process_Annotations, this.processAnnotations ? ENABLED : DISABLED);
+		optionsMap.put(OPTION_MethodLookupCache, this.methodLookupCache ? ENABLED : DISABLED);
 		optionsMap.put(OPTION_Store_Annotations, this.storeAnnotations ? ENABLED : DISABLED);
 		optionsMap.put(OPTION_EmulateJavacBug8031744, this.emulateJavacBug8031744 ? ENABLED : DISABLED);
 		optionsMap.put(OPTION_ReportRedundantSuperinterface, getSeverityString(RedundantSuperinterface));
@@ -1709,6 +1713,9 @@ public class CompilerOptions {
 		// ignore method bodies
 		this.ignoreMethodBodies = false;
 
+		// search methods at every invocation
+		this.methodLookupCache = false;
+
 		this.ignoreSourceFolderWarningOption = false;
 
 		// allow null info from asserts to be considered downstream by default
@@ -2235,6 +2242,9 @@ public class CompilerOptions {
 					this.storeAnnotations = false;
 			}
 		}
+		if ((optionValue = optionsMap.get(OPTION_MethodLookupCache)) != null) {
+			this.methodLookupCache = ENABLED.equals(optionValue);
+		}
 		if ((optionValue = optionsMap.get(OPTION_Store_Annotations)) != null) {
 			if (ENABLED.equals(optionValue)) {
 				this.storeAnnotations = true;
@@ -28,6 +28,19 @@ public class CompilerStats implements Comparable {
 	public long analyzeTime;
 	public long generateTime;
 
+	// operator overloading
+	public long operatorOverloadCacheHits;
+	public long operatorOverloadCacheMisses;
+	public long operatorOverloadCacheSkips;
+
+	// type inference
+	public long inferenceCacheHits;
+	public long inferenceCacheMisses;
+
+	// method lookup
+	public long methodLookupCacheHits;
+	public long methodLookupCacheMisses;
+
 /**
  * Returns the total elapsed time (between start and end)
  * @return the time spent between start and end
@@ -0,0 +1,101 @@
+package org.eclipse.jdt.internal.compiler.impl;
+
+/**
+ * Times the consecutive phases of a compilation unit (see {@link UnitTimings#PARSE} and others), recording a
+ * {@link CompilerEvents.Phase} event for each phase and adding the time spent to the {@link UnitTimings} of the
+ * compiler, if any.
+ * <p>
+ * A timer started with {@link #startUnit(char[], int, UnitTimings)} also records a {@link CompilerEvents.Unit} event
+ * spanning all its phases. Nothing is measured when neither flight recorder events nor unit timings are available.
+ * </p>
+ */
+public final class PhaseTimer {
+
+	private final char[] fileName;
+	private final UnitTimings timings;
+	private final CompilerEvents.Unit unitEvent;
+	private CompilerEvents.Phase phaseEvent;
+	private int phase;
+	private long phaseStart;
+
+	private PhaseTimer(char[] fileName, UnitTimings timings, boolean unit) {
+		this.fileName = fileName;
+		this.timings = timings;
+		if (unit && CompilerEvents.AVAILABLE) {
+			this.unitEvent = new CompilerEvents.Unit();
+			this.unitEvent.begin();
+		} else {
+			this.unitEvent = null;
+		}
+	}
+
+	/**
+	 * Starts timing the given phase of a unit.
+	 */
+	public static PhaseTimer start(char[] fileName, int phase, UnitTimings timings) {
+		PhaseTimer timer = new PhaseTimer(fileName, timings, false);
+		timer.begin(phase);
+		return timer;
+	}
+
+	/**
+	 * Starts timing the processing of a unit with its given first phase.
+	 */
+	public static PhaseTimer startUnit(char[] fileName, int phase, UnitTimings timings) {
+		PhaseTimer timer = new PhaseTimer(fileName, timings, true);
+		timer.begin(phase);
+		return timer;
+	}
+
+	private void begin(int nextPhase) {
+		this.phase = nextPhase;
+		if (this.timings != null)
+			this.phaseStart = System.nanoTime();
+		if (CompilerEvents.AVAILABLE) {
+			this.phaseEvent = new CompilerEvents.Phase();
+			this.phaseEvent.begin();
+		}
+	}
+
+	/**
+	 * Ends the current phase and starts timing the given one.
+	 */
+	public void next(int nextPhase) {
+		end();
+		begin(nextPhase);
+	}
+
+	/**
+	 * Ends the current phase.
+	 */
+	public void end() {
+		if (this.timings != null)
+			this.timings.add(this.fileName, this.phase, System.nanoTime() - this.phaseStart);
+		CompilerEvents.Phase event = this.phaseEvent;
+		if (event != null) {
+			this.phaseEvent = null;
+			event.end();
+			if (event.shouldCommit()) {
+				event.file = new String(this.fileName);
+				event.phase = UnitTimings.PHASE_NAMES[this.phase];
+				event.commit();
+			}
+		}
+	}
+
+	/**
+	 * Ends the current phase and the processing of the unit, which has the given number of lines.
+	 */
+	public void endUnit(int lines) {
+		end();
+		CompilerEvents.Unit event = this.unitEvent;
+		if (event != null) {
+			event.end();
+			if (event.shouldCommit()) {
+				event.file = new String(this.fileName);
+				event.lines = lines;
+				event.commit();
+			}
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package org.eclipse.jdt.internal.compiler.impl;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Time spent by each compilation unit in the phases accounted for by {@link CompilerStats}, collected by the
+ * {@link PhaseTimer}s of a compiler when set as its <code>unitTimings</code>.
+ * <p>
+ * Units compiled several times (e.g. diet parsed, then processed) accumulate their timings. Timings may be recorded
+ * from the processing thread of the compiler while the batch compiler writes class files.
+ * </p>
+ */
+public class UnitTimings {
+
+	public static final int PARSE = 0;
+	public static final int RESOLVE = 1;
+	public static final int ANALYZE = 2;
+	public static final int GENERATE = 3;
+
+	static final String[] PHASE_NAMES = { "parse", "resolve", "analyze", "generate" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+
+	private final Map<String, long[]> units = new HashMap<>(); // file name -> nanoseconds spent in each phase
+
+	synchronized void add(char[] fileName, int phase, long nanos) {
+		this.units.computeIfAbsent(new String(fileName), name -> new long[PHASE_NAMES.length])[phase] += nanos;
+	}
+
+	/**
+	 * Answers the nanoseconds spent in each phase by the given unit, or <code>null</code> if it was not timed.
+	 */
+	public synchronized long[] get(String fileName) {
+		long[] times = this.units.get(fileName);
+		return times == null ? null : times.clone();
+	}
+
+	/**
+	 * Writes the timings as a JSON object, units taking the most time first, times in milliseconds:
+	 * <pre>
+	 * {
+	 *   "total": 1234.567,
+	 *   "units": [
+	 *     { "file": "src/pkg/Kernel.maxj", "total": 345.678, "parse": 12.345, "resolve": 234.567, "analyze": 45.678, "generate": 53.088 },
+	 *     ...
+	 *   ]
+	 * }
+	 * </pre>
+	 */
+	public synchronized void writeJson(Writer writer) throws IOException {
+		List<Map.Entry<String, long[]>> entries = new ArrayList<>(this.units.entrySet());
+		Map<String, Long> unitTotals = new HashMap<>();
+		long total = 0;
+		for (Map.Entry<String, long[]> entry : entries) {
+			long unitTotal = 0;
+			for (long time : entry.getValue())
+				unitTotal += time;
+			unitTotals.put(entry.getKey(), unitTotal);
+			total += unitTotal;
+		}
+		entries.sort((e1, e2) -> {
+			int comparison = Long.compare(unitTotals.get(e2.getKey()), unitTotals.get(e1.getKey()));
+			return comparison != 0 ? comparison : e1.getKey().compareTo(e2.getKey());
+		});
+		writer.write("{\n  \"total\": "); //$NON-NLS-1$
+		writer.write(millis(total));
+		writer.write(",\n  \"units\": ["); //$NON-NLS-1$
+		for (int i = 0; i < entries.size(); i++) {
+			Map.Entry<String, long[]> entry = entries.get(i);
+			writer.write(i == 0 ? "\n" : ",\n"); //$NON-NLS-1$ //$NON-NLS-2$
+			writer.write("    { \"file\": "); //$NON-NLS-1$
+			writeString(writer, entry.getKey());
+			writer.write(", \"total\": "); //$NON-NLS-1$
+			writer.write(millis(unitTotals.get(entry.getKey())));
+			long[] times = entry.getValue();
+			for (int phase = 0; phase < times.length; phase++) {
+				writer.write(", \""); //$NON-NLS-1$
+				writer.write(PHASE_NAMES[phase]);
+				writer.write("\": "); //$NON-NLS-1$
+				writer.write(millis(times[phase]));
+			}
+			writer.write(" }"); //$NON-NLS-1$
+		}
+		writer.write(entries.isEmpty() ? "]\n}\n" : "\n  ]\n}\n"); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	private static String millis(long nanos) {
+		return String.format(Locale.ROOT, "%.3f", nanos / 1e6); //$NON-NLS-1$
+	}
+
+	private static void writeString(Writer writer, String value) throws IOException {
+		writer.write('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '"':
+				case '\\':
+					writer.write('\\');
+					writer.write(c);
+					break;
+				case '\n':
+					writer.write("\\n"); //$NON-NLS-1$
+					break;
+				case '\r':
+					writer.write("\\r"); //$NON-NLS-1$
+					break;
+				case '\t':
+					writer.write("\\t"); //$NON-NLS-1$
+					break;
+				default:
+					if (c < 0x20)
+						writer.write(String.format(Locale.ROOT, "\\u%04x", (int) c)); //$NON-NLS-1$
+					else
+						writer.write(c);
+			}
+		}
+		writer.write('"');
+	}
+}
@@ -2656,6 +2656,13 @@ public TypeBinding withoutToplevelNullAnnotation() {
 		return this.environment.createAnnotatedType(this.prototype, newAnnotations);
 	return this.prototype;
 }
+@Override
+public long operatorMethods() {
+	if (!isPrototype())
+		return this.prototype.operatorMethods();
+	return operatorMethods(this.methods);
+}
+
 @Override
 MethodBinding[] unResolvedMethods() { // for the MethodVerifier so it doesn't resolve types
 
@@ -43,6 +43,7 @@ import org.eclipse.jdt.internal.compiler.flow.FlowInfo;
 import org.eclipse.jdt.internal.compiler.impl.Constant;
 import org.eclipse.jdt.internal.compiler.impl.JavaFeature;
 import org.eclipse.jdt.internal.compiler.problem.ProblemReporter;
+import org.eclipse.jdt.internal.compiler.util.HashtableOfObject;
 
 public class BlockScope extends Scope {
 
@@ -75,6 +76,10 @@ public class BlockScope extends Scope {
 
     private boolean reparentLocals = false;
 
+	// locals by name (LocalVariableBinding[] in declaration order), only maintained for scopes with many locals
+	private HashtableOfObject localsByName;
+	private static final int LOCALS_BY_NAME_THRESHOLD = 32;
+
 public BlockScope(BlockScope parent) {
 	this(parent, true);
 }
@@ -160,6 +165,8 @@ public final void addLocalVariable(LocalVariableBinding binding) {
 				0,
 				this.localIndex);
 		this.locals[this.localIndex++] = binding;
+		if (this.localsByName != null)
+			indexLocalByName(binding);
 		binding.id = outerMostMethodScope().analysisIndex++; // share the outermost method scope analysisIndex
 	}
 
@@ -499,6 +506,22 @@ public LocalDeclaration[] findLocalVariableDeclarations(int position) {
 }
 @Override
 public LocalVariableBinding findVariable(char[] variableName) {
+	if (this.localIndex >= LOCALS_BY_NAME_THRESHOLD) {
+		// avoid scanning thousands of locals for each name reference in huge (generated) methods
+		if (this.localsByName == null) {
+			this.localsByName = new HashtableOfObject(this.localIndex * 2);
+			for (int i = 0; i < this.localIndex; i++)
+				indexLocalByName(this.locals[i]);
+		}
+		LocalVariableBinding[] candidates = (LocalVariableBinding[]) this.localsByName.get(variableName);
+		if (candidates != null) {
+			for (int i = candidates.length-1; i >= 0; i--) { // latest additions first
+				if ((candidates[i].modifiers & ExtraCompilerModifiers.AccOutOfFlowScope) == 0)
+					return candidates[i];
+			}
+		}
+		return null;
+	}
 	int varLength = variableName.length;
 	for (int i = this.localIndex-1; i >= 0; i--) { // lookup backward to reach latest additions first
 		LocalVariableBinding local = this.locals[i];
@@ -511,6 +534,18 @@ public LocalVariableBinding findVariable(char[] variableName) {
 	return null;
 }
 
+private void indexLocalByName(LocalVariableBinding local) {
+	LocalVariableBinding[] sameName = (LocalVariableBinding[]) this.localsByName.get(local.name);
+	if (sameName == null) {
+		sameName = new LocalVariableBinding[] { local };
+	} else {
+		int length = sameName.length;
+		System.arraycopy(sameName, 0, sameName = new LocalVariableBinding[length + 1], 0, length);
+		sameName[length] = local;
+	}
+	this.localsByName.put(local.name, sameName);
+}
+
 /* API
  * flag is a mask of the following values VARIABLE (= FIELD or LOCAL), TYPE.
  * Only bindings corresponding to the mask will be answered.
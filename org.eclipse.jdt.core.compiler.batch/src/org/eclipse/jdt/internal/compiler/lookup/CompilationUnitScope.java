@@ -59,6 +59,7 @@ public class CompilationUnitScope extends Scope {
 	private SortedCompoundNameVector qualifiedReferences;
 	private SortedSimpleNameVector simpleNameReferences;
 	private SortedSimpleNameVector rootReferences;
+	private SortedSimpleNameVector operatorReferences;
 	private LinkedHashSet<ReferenceBindingSetWrapper> referencedTypes;
 	private Set<ReferenceBindingSetWrapper> referencedSuperTypesSet;
 	private ObjectVector referencedSuperTypes;
@@ -77,6 +78,8 @@ public class CompilationUnitScope extends Scope {
 	private ArrayList<Invocation> inferredInvocations;
 	/** Cache of interned inference variables. Access only via {@link InferenceVariable#get(TypeBinding, int, InvocationSite, Scope, ReferenceBinding, boolean)}. */
 	Map<InferenceVariable.InferenceVarKey, InferenceVariable> uniqueInferenceVariables = new HashMap<>();
+	/** Memo of method lookups performed for this unit, <code>null</code> unless enabled by {@link CompilerOptions#methodLookupCache}. */
+	public final MethodLookupCache methodLookupCache;
 
 	private RuntimeException deferredException; // enables deferring a CompletionNodeFound exception, not used during normal compilation
 
@@ -95,6 +98,7 @@ public CompilationUnitScope(CompilationUnitDeclaration unit, CompilerOptions com
 		this.qualifiedReferences = new SortedCompoundNameVector();
 		this.simpleNameReferences = new SortedSimpleNameVector();
 		this.rootReferences = new SortedSimpleNameVector();
+		this.operatorReferences = new SortedSimpleNameVector();
 		this.referencedTypes = new LinkedHashSet<>();
 		this.referencedSuperTypesSet = new HashSet<>();
 		this.referencedSuperTypes = new ObjectVector();
@@ -102,10 +106,12 @@ public CompilationUnitScope(CompilationUnitDeclaration unit, CompilerOptions com
 		this.qualifiedReferences = null; // used to test if dependencies should be recorded
 		this.simpleNameReferences = null;
 		this.rootReferences = null;
+		this.operatorReferences = null;
 		this.referencedTypes = null;
 		this.referencedSuperTypesSet = null;
 		this.referencedSuperTypes = null;
 	}
+	this.methodLookupCache = compilerOptions.methodLookupCache ? new MethodLookupCache() : null;
 	// client still needs to assign #environment
 }
 void buildFieldsAndMethods() {
@@ -902,6 +908,15 @@ void recordReference(ReferenceBinding type, char[] simpleName) {
 	if (actualType != null)
 		recordReference(actualType.compoundName, simpleName);
 }
+/**
+ * Records that an overloaded operator method named selector was looked up, whatever the receiver type. Types can
+ * gain or lose operator methods without any change to the types named by the unit, e.g. in a superclass.
+ */
+void recordOperatorReference(char[] selector) {
+	if (this.operatorReferences == null) return; // not recording dependencies
+
+	this.operatorReferences.add(selector);
+}
 void recordRootReference(char[] simpleName) {
 	if (this.rootReferences == null) return; // not recording dependencies
 
@@ -1008,6 +1023,12 @@ public void storeDependencyInfo() {
 	for (int i = 0; i < size; i++)
 		rootRefs[i] = this.rootReferences.elementAt(i);
 	this.referenceContext.compilationResult.rootReferences = rootRefs;
+
+	size = this.operatorReferences.size;
+	char[][] operatorRefs = new char[size][];
+	for (int i = 0; i < size; i++)
+		operatorRefs[i] = this.operatorReferences.elementAt(i);
+	this.referenceContext.compilationResult.operatorReferences = operatorRefs;
 }
 @Override
 public String toString() {
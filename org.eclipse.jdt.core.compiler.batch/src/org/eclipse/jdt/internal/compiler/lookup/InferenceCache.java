@@ -0,0 +1,154 @@
+package org.eclipse.jdt.internal.compiler.lookup;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.jdt.internal.compiler.ast.Expression;
+import org.eclipse.jdt.internal.compiler.ast.Invocation;
+
+/**
+ * Per-compilation memo of type inference outcomes for invocations of generic methods that are not poly expressions.
+ * <p>
+ * Kernel libraries expose generic helpers (e.g. <code>&lt;T extends KernelObject&lt;T&gt;&gt; T mux(...)</code>)
+ * that are invoked thousands of times with the same argument types. When such an invocation is not a poly
+ * expression, its arguments are not poly expressions either and all types involved are proper, the outcome of
+ * {@link InferenceContext18} only depends on the method, the argument types and the target type, which make up the
+ * key. The argument types are taken before boxing: whether an argument needs boxing decides between strict and
+ * loose applicability, which in turn decides the most specific method. Only successful inferences are cached, so
+ * that diagnostics are always produced by a full inference.
+ * </p>
+ * <p>
+ * On a hit, the invocation receives a completed inference context and the inferred method is registered for its
+ * target type, as the full inference would have done.
+ * </p>
+ * The cache lives in the root {@link LookupEnvironment} and is flushed by {@link LookupEnvironment#reset()}.
+ */
+public class InferenceCache {
+
+	static final class Key {
+		final MethodBinding method;
+		final TypeBinding[] argumentTypes;
+		final TypeBinding targetType;
+		final boolean requireBoxing;
+		final int hash;
+
+		Key(MethodBinding method, TypeBinding[] argumentTypes, boolean requireBoxing, TypeBinding targetType) {
+			this.method = method;
+			this.argumentTypes = argumentTypes.clone(); // inference updates the arguments it is given
+			this.requireBoxing = requireBoxing;
+			this.targetType = targetType;
+			int h = System.identityHashCode(method);
+			for (TypeBinding argumentType : argumentTypes)
+				h = 31 * h + System.identityHashCode(argumentType);
+			h = 31 * h + (requireBoxing ? 1 : 0);
+			this.hash = 31 * h + System.identityHashCode(targetType);
+		}
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+		@Override
+		public boolean equals(Object other) {
+			Key that = (Key) other; // homogeneous container.
+			if (this.hash != that.hash
+					|| this.method != that.method //$IDENTITY-COMPARISON$
+					|| this.requireBoxing != that.requireBoxing
+					|| this.targetType != that.targetType //$IDENTITY-COMPARISON$
+					|| this.argumentTypes.length != that.argumentTypes.length)
+				return false;
+			for (int i = 0; i < this.argumentTypes.length; i++) {
+				if (this.argumentTypes[i] != that.argumentTypes[i]) //$IDENTITY-COMPARISON$
+					return false;
+			}
+			return true;
+		}
+	}
+
+	private static final class Outcome {
+		final ParameterizedGenericMethodBinding method;
+		final int inferenceKind;
+
+		Outcome(ParameterizedGenericMethodBinding method, int inferenceKind) {
+			this.method = method;
+			this.inferenceKind = inferenceKind;
+		}
+	}
+
+	private final Map<Key, Outcome> outcomes = new HashMap<>();
+
+	/** number of inferences answered from the cache */
+	public int hits;
+	/** number of cacheable inferences that were performed */
+	public int misses;
+
+	/**
+	 * Answer the key of an inference that is not nested in the inference of an enclosing invocation, or
+	 * <code>null</code> if its outcome may depend on more than the types of the invocation.
+	 */
+	Key createKey(MethodBinding originalMethod, TypeBinding[] argumentTypes, boolean requireBoxing, Scope scope,
+			InvocationSite invocationSite, boolean isPolyExpression) {
+		if (isPolyExpression || !(invocationSite instanceof Invocation))
+			return null;
+		if (scope.compilerOptions().isAnnotationBasedNullAnalysisEnabled) // checks contradictions against the site
+			return null;
+		Expression[] arguments = ((Invocation) invocationSite).arguments();
+		if (arguments != null) {
+			for (Expression argument : arguments) {
+				// the outcome is forwarded to poly arguments
+				if (argument == null || argument.getPolyExpressions().length != 0 || argument.resolvedType instanceof PolyTypeBinding)
+					return null;
+			}
+		}
+		for (TypeBinding argumentType : argumentTypes) {
+			if (!isCacheable(argumentType))
+				return null;
+		}
+		TypeBinding targetType = invocationSite.invocationTargetType();
+		if (targetType != null && !isCacheable(targetType))
+			return null;
+		return new Key(originalMethod, argumentTypes, requireBoxing, targetType);
+	}
+
+	/**
+	 * Answer the method inferred earlier for the given key, or <code>null</code> if none was recorded. On a hit,
+	 * the given fresh context is completed and registered with the invocation.
+	 */
+	ParameterizedGenericMethodBinding get(Key key, InvocationSite invocationSite, InferenceContext18 context) {
+		Outcome outcome = this.outcomes.get(key);
+		if (outcome == null) {
+			this.misses++;
+			return null;
+		}
+		this.hits++;
+		Invocation invocation = (Invocation) invocationSite;
+		context.inferenceKind = outcome.inferenceKind;
+		context.stepCompleted = InferenceContext18.TYPE_INFERRED_FINAL;
+		if (key.targetType != null)
+			invocation.registerResult(key.targetType, outcome.method);
+		invocation.registerInferenceContext(outcome.method, context);
+		return outcome.method;
+	}
+
+	/**
+	 * Record the outcome of a successful inference, unless the inferred type arguments are specific to the site.
+	 */
+	void put(Key key, ParameterizedGenericMethodBinding method, InferenceContext18 context) {
+		if (method instanceof PolyParameterizedGenericMethodBinding || method.inferredWithUncheckedConversion)
+			return;
+		for (TypeBinding typeArgument : method.typeArguments) {
+			if (!isCacheable(typeArgument))
+				return;
+		}
+		this.outcomes.put(key, new Outcome(method, context.inferenceKind));
+	}
+
+	public void reset() {
+		this.outcomes.clear();
+		this.hits = 0;
+		this.misses = 0;
+	}
+
+	private static boolean isCacheable(TypeBinding type) {
+		return type != null && type.isValidBinding() && type.isProperType(false)
+				&& (type.tagBits & (TagBits.HasMissingType | TagBits.HasCapturedWildcard)) == 0 && !type.isCapture();
+	}
+}
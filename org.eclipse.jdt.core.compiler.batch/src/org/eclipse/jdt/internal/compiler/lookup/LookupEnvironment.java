@@ -103,6 +103,9 @@ public class LookupEnvironment implements ProblemReasons, TypeConstants {
 
 	public ProblemReporter problemReporter; 	// SHARED
 	public ClassFilePool classFilePool; 		// SHARED
+	public final OperatorOverloadCache operatorOverloadCache; // SHARED
+	public final InferenceCache inferenceCache; // SHARED
+	int swappedTypes; // ROOT_ONLY, number of unresolved types swapped for their resolved type, see MethodLookupCache
 	// indicate in which step on the compilation we are.
 	private CompleteTypeBindingsSteps stepCompleted = CompleteTypeBindingsSteps.NONE; // ROOT_ONLY
 	public ITypeRequestor typeRequestor;		// SHARED
@@ -217,6 +220,8 @@ public LookupEnvironment(ITypeRequestor typeRequestor, CompilerOptions globalOpt
 	this.missingTypes = null;
 	this.accessRestrictions = new HashMap<>();
 	this.classFilePool = ClassFilePool.newInstance();
+	this.operatorOverloadCache = new OperatorOverloadCache();
+	this.inferenceCache = new InferenceCache();
 	this.typesBeingConnected = new LinkedHashSet<>();
 	this.deferredEnumMethods = new ArrayList<>();
 	this.typeSystem = this.globalOptions.storeAnnotations ? new AnnotatableTypeSystem(this) : new TypeSystem(this);
@@ -242,6 +247,8 @@ LookupEnvironment(LookupEnvironment rootEnv, ModuleBinding module) {
 	this.missingTypes = null;
 	this.accessRestrictions = new HashMap<>();
 	this.classFilePool = rootEnv.classFilePool;
+	this.operatorOverloadCache = rootEnv.operatorOverloadCache;
+	this.inferenceCache = rootEnv.inferenceCache;
 	this.typesBeingConnected = rootEnv.typesBeingConnected;
 	this.deferredEnumMethods = rootEnv.deferredEnumMethods;
 	this.typeSystem = rootEnv.typeSystem;
@@ -2354,6 +2361,8 @@ public void reset() {
 	this.unitBeingCompleted = null; // in case AbortException occurred
 
 	this.classFilePool.reset();
+	this.operatorOverloadCache.reset();
+	this.inferenceCache.reset();
 	this.typeSystem.reset();
 	// name environment has a longer life cycle, and must be reset in
 	// the code which created it.
@@ -2371,6 +2380,7 @@ public void setAccessRestriction(ReferenceBinding type, AccessRestriction access
 
 void updateCaches(UnresolvedReferenceBinding unresolvedType, ReferenceBinding resolvedType) {
 	this.typeSystem.updateCaches(unresolvedType, resolvedType);
+	this.root.swappedTypes++;
 }
 
 public IQualifiedTypeResolutionListener[] resolutionListeners;	// ROOT_ONLY
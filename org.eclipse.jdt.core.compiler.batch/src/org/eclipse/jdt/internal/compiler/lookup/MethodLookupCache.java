@@ -0,0 +1,162 @@
+package org.eclipse.jdt.internal.compiler.lookup;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.ast.Expression;
+import org.eclipse.jdt.internal.compiler.ast.JavadocMessageSend;
+import org.eclipse.jdt.internal.compiler.ast.MessageSend;
+
+/**
+ * Per-unit memo of method lookups, enabled by {@link org.eclipse.jdt.internal.compiler.impl.CompilerOptions#OPTION_MethodLookupCache}.
+ * <p>
+ * Kernel code repeats calls such as <code>io.output(...)</code> or <code>constant.var(...)</code> with the same
+ * receiver and argument types, each of which collects the candidates of the selector, checks their compatibility
+ * and picks the most specific one. This cache remembers the outcome of {@link Scope#getMethod(TypeBinding, char[],
+ * TypeBinding[], InvocationSite)} and of the search of each enclosing type in {@link Scope#getImplicitMethod(char[],
+ * TypeBinding[], InvocationSite)}, keyed by the receiver type, the selector, the argument types, the type performing
+ * the invocation (which decides visibility) and the properties of the invocation site the search depends on.
+ * </p>
+ * <p>
+ * Only message sends with proper argument types and no poly argument are cached, and only when they resolve to a
+ * valid method that is not generic: such invocations are not poly expressions and their lookup does not involve an
+ * inference context. Problems are not cached, so that diagnostics always come from a full lookup. The type references
+ * a lookup records for the unit are already recorded when the same lookup is answered again in the same unit.
+ * </p>
+ * The cache is held by the {@link CompilationUnitScope} of the unit. It is flushed whenever an unresolved type is
+ * swapped for its resolved type (see {@link LookupEnvironment#updateCaches(UnresolvedReferenceBinding, ReferenceBinding)}),
+ * since types wrapping the unresolved type change in place.
+ */
+public class MethodLookupCache {
+
+	// properties of the lookup that are not captured by types
+	private static final int IMPLICIT = 1;
+	private static final int SUPER_ACCESS = 2;
+	private static final int TYPE_ACCESS = 4;
+	private static final int IMPLICIT_THIS = 8;
+
+	static final class Key {
+		final char[] selector;
+		final TypeBinding receiverType;
+		final TypeBinding[] argumentTypes;
+		final ReferenceBinding invocationType;
+		final int flags;
+		final int hash;
+
+		Key(char[] selector, TypeBinding receiverType, TypeBinding[] argumentTypes, ReferenceBinding invocationType, int flags) {
+			this.selector = selector;
+			this.receiverType = receiverType;
+			this.argumentTypes = argumentTypes.clone(); // the invocation site owns the array
+			this.invocationType = invocationType;
+			this.flags = flags;
+			int h = CharOperation.hashCode(selector);
+			h = 31 * h + System.identityHashCode(receiverType);
+			for (TypeBinding argumentType : argumentTypes)
+				h = 31 * h + System.identityHashCode(argumentType);
+			h = 31 * h + System.identityHashCode(invocationType);
+			this.hash = 31 * h + flags;
+		}
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+		@Override
+		public boolean equals(Object other) {
+			Key that = (Key) other; // homogeneous container.
+			if (this.hash != that.hash
+					|| this.flags != that.flags
+					|| this.receiverType != that.receiverType //$IDENTITY-COMPARISON$
+					|| this.invocationType != that.invocationType //$IDENTITY-COMPARISON$
+					|| this.argumentTypes.length != that.argumentTypes.length
+					|| !CharOperation.equals(this.selector, that.selector))
+				return false;
+			for (int i = 0; i < this.argumentTypes.length; i++) {
+				if (this.argumentTypes[i] != that.argumentTypes[i]) //$IDENTITY-COMPARISON$
+					return false;
+			}
+			return true;
+		}
+	}
+
+	private final Map<Key, MethodBinding> methods = new HashMap<>();
+	private int swappedTypes; // LookupEnvironment#swappedTypes when the entries were recorded
+
+	/** number of lookups answered from the cache */
+	public int hits;
+	/** number of cacheable lookups that were performed */
+	public int misses;
+
+	/**
+	 * Answer the key of a lookup of selector on the receiver type from the given scope, or <code>null</code> if its
+	 * outcome may depend on more than the types of the invocation.
+	 *
+	 * @param implicit whether the lookup searches an enclosing type on behalf of {@link Scope#getImplicitMethod(char[], TypeBinding[], InvocationSite)}
+	 */
+	Key createKey(Scope scope, ReferenceBinding receiverType, char[] selector, TypeBinding[] argumentTypes, InvocationSite invocationSite, boolean implicit) {
+		if (!(invocationSite instanceof MessageSend) || invocationSite instanceof JavadocMessageSend)
+			return null;
+		MessageSend messageSend = (MessageSend) invocationSite;
+		if (messageSend.typeArguments != null || messageSend.argumentsHaveErrors)
+			return null;
+		if (messageSend.arguments != null) {
+			for (Expression argument : messageSend.arguments) {
+				// the outcome of poly arguments depends on the site, not only on types
+				if (argument.resolvedType instanceof PolyTypeBinding || argument.getPolyExpressions().length != 0)
+					return null;
+			}
+		}
+		if (!isCacheable(receiverType) || receiverType.isTypeVariable() || receiverType.isIntersectionType18()
+				|| (receiverType.tagBits & TagBits.HasDirectWildcard) != 0) // captured at the site
+			return null;
+		for (TypeBinding argumentType : argumentTypes) {
+			if (!isCacheable(argumentType))
+				return null;
+		}
+		ReferenceBinding invocationType = scope.enclosingSourceType();
+		if (invocationType == null)
+			return null;
+		int flags = implicit ? IMPLICIT : 0;
+		if (invocationSite.isSuperAccess())
+			flags |= SUPER_ACCESS;
+		if (invocationSite.isTypeAccess())
+			flags |= TYPE_ACCESS;
+		if (invocationSite.receiverIsImplicitThis())
+			flags |= IMPLICIT_THIS;
+		return new Key(selector, receiverType, argumentTypes, invocationType, flags);
+	}
+
+	/**
+	 * Answer the method found earlier for the given key, or <code>null</code> if the lookup must be performed.
+	 */
+	MethodBinding get(Key key, LookupEnvironment environment) {
+		if (this.swappedTypes != environment.root.swappedTypes) {
+			this.methods.clear();
+			this.swappedTypes = environment.root.swappedTypes;
+		}
+		MethodBinding method = this.methods.get(key);
+		if (method == null)
+			this.misses++;
+		else
+			this.hits++;
+		return method;
+	}
+
+	/**
+	 * Record the outcome of a lookup, unless it is a problem or it involved inferring the method.
+	 */
+	void put(Key key, MethodBinding method, LookupEnvironment environment) {
+		if (method == null || !method.isValidBinding() || this.swappedTypes != environment.root.swappedTypes)
+			return;
+		if (method instanceof ParameterizedGenericMethodBinding || method instanceof PolymorphicMethodBinding
+				|| method.original().typeVariables != Binding.NO_TYPE_VARIABLES)
+			return;
+		this.methods.put(key, method);
+	}
+
+	private static boolean isCacheable(TypeBinding type) {
+		if (type == null || !type.isValidBinding() || !type.isProperType(false) || type.isCapture()
+				|| (type.tagBits & TagBits.HasMissingType) != 0)
+			return false;
+		return !(type.leafComponentType() instanceof UnresolvedReferenceBinding); // swapped once resolved
+	}
+}
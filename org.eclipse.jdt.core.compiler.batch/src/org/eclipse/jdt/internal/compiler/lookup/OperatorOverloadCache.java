@@ -0,0 +1,318 @@
+package org.eclipse.jdt.internal.compiler.lookup;
+
+import java.util.HashMap;
+import java.util.Map;
+import org.eclipse.jdt.core.compiler.CharOperation;
+import org.eclipse.jdt.internal.compiler.ast.Expression;
+import org.eclipse.jdt.internal.compiler.ast.FunctionalExpression;
+import org.eclipse.jdt.internal.compiler.ast.Invocation;
+import org.eclipse.jdt.internal.compiler.impl.CompilerEvents;
+import org.eclipse.jdt.internal.compiler.problem.AbortCompilation;
+import org.eclipse.jdt.internal.compiler.util.HashtableOfIntValues;
+import org.eclipse.jdt.internal.compiler.util.HashtableOfObject;
+
+/**
+ * Per-compilation memo of operator overload resolutions.
+ * <p>
+ * Generated kernels contain thousands of identical operator sites (e.g. <code>DFEVar + DFEVar</code>), all of
+ * which end up in {@link Scope#getMethod(TypeBinding, char[], TypeBinding[], InvocationSite)} with the very same
+ * arguments. Lookups are keyed by selector, receiver type, argument types, the target type of the synthetic
+ * invocation site and the type performing the invocation (which decides visibility), so a cached answer is the
+ * answer the full lookup would have produced. Negative answers (problem bindings) are cached as well.
+ * </p>
+ * <p>
+ * On top of plain lookups, binary operators remember which operand side was chosen for a pair of operand types
+ * as a {@link Resolution}.
+ * </p>
+ * <p>
+ * Types that do not declare nor inherit any method named after an operator (see {@link
+ * ReferenceBinding#operatorMethods()}) are not searched at all, so that plain Java code does not pay for overloading.
+ * </p>
+ * The cache lives in the root {@link LookupEnvironment} and is flushed by {@link LookupEnvironment#reset()}.
+ */
+public class OperatorOverloadCache {
+
+	/** Outcome of choosing between the left and the right operand method of an overloaded binary operator. */
+	public static final class Resolution {
+		/** the chosen method, a problem binding if ambiguous, or <code>null</code> if no overload applies */
+		public final MethodBinding binding;
+		/** index of the operand receiving the call, only meaningful for a valid binding */
+		public final int side;
+		/** whether the chosen method was static, which must be reported at every site */
+		public final boolean isStatic;
+
+		public Resolution(MethodBinding binding, int side, boolean isStatic) {
+			this.binding = binding;
+			this.side = side;
+			this.isStatic = isStatic;
+		}
+	}
+
+	/**
+	 * Control-flow operator method (<code>_IF</code>, <code>_ELSE</code>, <code>_SWITCH</code>, ...) of a class, together
+	 * with the diagnostics that apply to every statement using it.
+	 */
+	public static final class ControlFlowOperator {
+		/** the method can be invoked */
+		public static final int VALID = 0;
+		/** no applicable method was found, {@link #binding} is a problem binding */
+		public static final int MISSING = 1;
+		/** the method is static */
+		public static final int STATIC = 2;
+		/** the method does not return void */
+		public static final int NOT_VOID = 3;
+
+		public final MethodBinding binding;
+		public final int status;
+
+		ControlFlowOperator(MethodBinding binding) {
+			this.binding = binding;
+			if (binding == null || !binding.isValidBinding())
+				this.status = MISSING;
+			else if (binding.isStatic())
+				this.status = STATIC;
+			else if (binding.returnType != TypeBinding.VOID)
+				this.status = NOT_VOID;
+			else
+				this.status = VALID;
+		}
+	}
+
+	private static final class Key {
+		final char[] selector;
+		final TypeBinding receiverType;
+		final TypeBinding[] argumentTypes;
+		final TypeBinding targetType;
+		final ReferenceBinding invocationType;
+		final int hash;
+
+		Key(char[] selector, TypeBinding receiverType, TypeBinding[] argumentTypes, TypeBinding targetType, ReferenceBinding invocationType) {
+			this.selector = selector;
+			this.receiverType = receiverType;
+			this.argumentTypes = argumentTypes;
+			this.targetType = targetType;
+			this.invocationType = invocationType;
+			int h = CharOperation.hashCode(selector);
+			h = 31 * h + System.identityHashCode(receiverType);
+			for (TypeBinding argumentType : argumentTypes)
+				h = 31 * h + System.identityHashCode(argumentType);
+			h = 31 * h + System.identityHashCode(targetType);
+			this.hash = 31 * h + System.identityHashCode(invocationType);
+		}
+		@Override
+		public int hashCode() {
+			return this.hash;
+		}
+		@Override
+		public boolean equals(Object other) {
+			Key that = (Key) other; // homogeneous container.
+			return this.hash == that.hash
+					&& this.receiverType == that.receiverType //$IDENTITY-COMPARISON$
+					&& this.targetType == that.targetType //$IDENTITY-COMPARISON$
+					&& this.invocationType == that.invocationType //$IDENTITY-COMPARISON$
+					&& CharOperation.equals(this.selector, that.selector)
+					&& typesEqual(this.argumentTypes, that.argumentTypes);
+		}
+		private static boolean typesEqual(TypeBinding[] one, TypeBinding[] two) {
+			if (one.length != two.length)
+				return false;
+			for (int i = 0; i < one.length; i++) {
+				if (one[i] != two[i]) //$IDENTITY-COMPARISON$
+					return false;
+			}
+			return true;
+		}
+	}
+
+	/** Summary of a type that may declare any operator method, see {@link ReferenceBinding#operatorMethods()}. */
+	public static final long ANY_OPERATOR = Long.MAX_VALUE;
+
+	private static final Map<String, char[]> SELECTORS = new HashMap<>();
+	private static final Map<String, char[]> RHS_SELECTORS = new HashMap<>();
+	private static final HashtableOfObject RHS_SELECTORS_BY_SELECTOR = new HashtableOfObject();
+	private static final HashtableOfIntValues OPERATOR_BITS = new HashtableOfIntValues();
+	static {
+		String[] binaryOperators = { "add", "sub", "mul", "div", "cat", "mod", "and", "or", "xor", "eq", "neq", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$ //$NON-NLS-11$
+				"shiftLeft", "shiftRight", "unsignedShiftRight", "gt", "gte", "lt", "lte", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+				"CECINESTPASUNOPERATEUR_eq", "CECINESTPASUNOPERATEUR_neq" }; //$NON-NLS-1$ //$NON-NLS-2$
+		for (String name : binaryOperators) {
+			SELECTORS.put(name, name.toCharArray());
+			RHS_SELECTORS.put(name, (name + "AsRHS").toCharArray()); //$NON-NLS-1$
+			RHS_SELECTORS_BY_SELECTOR.put(SELECTORS.get(name), RHS_SELECTORS.get(name));
+		}
+		String[] otherOperators = { "logicalNot", "neg", "complement", "plus", "get", "put", "connect", //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+				"_IF", "_ELSE", "_END_IF", "_SWITCH", "_END_SWITCH", "_CASE", "_OTHERWISE" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+		for (String name : otherOperators)
+			SELECTORS.put(name, name.toCharArray());
+		for (char[] selector : SELECTORS.values())
+			OPERATOR_BITS.put(selector, OPERATOR_BITS.size());
+		for (char[] selector : RHS_SELECTORS.values())
+			OPERATOR_BITS.put(selector, OPERATOR_BITS.size());
+		// one bit per selector, ANY_OPERATOR covers them all
+		assert OPERATOR_BITS.size() < 63;
+	}
+
+	private final Map<Key, MethodBinding> lookups = new HashMap<>();
+	private final Map<Key, Resolution> resolutions = new HashMap<>();
+
+	/** number of lookups answered without searching methods */
+	public int hits;
+	/** number of lookups that searched methods */
+	public int misses;
+	/** number of lookups not performed because the receiver type has no method named after the operator */
+	public int skips;
+
+	/**
+	 * Memoizing variant of {@link Scope#getMethod(TypeBinding, char[], TypeBinding[], InvocationSite)} for the
+	 * synthetic invocation sites of overloaded operators.
+	 */
+	public MethodBinding getMethod(Scope scope, TypeBinding receiverType, char[] selector, TypeBinding[] argumentTypes, InvocationSite invocationSite) {
+		scope.compilationUnitScope().recordOperatorReference(selector);
+		if (!mayDeclare(scope, receiverType, selector, invocationSite)) {
+			this.skips++;
+			scope.compilationUnitScope().recordTypeReference(receiverType);
+			return new ProblemMethodBinding(selector, argumentTypes, ProblemReasons.NotFound);
+		}
+		Key key = createKey(scope, receiverType, selector, argumentTypes, invocationSite);
+		if (key == null)
+			return search(scope, receiverType, selector, argumentTypes, invocationSite);
+		MethodBinding method = this.lookups.get(key);
+		if (method != null) {
+			this.hits++;
+			// keep the dependency information of the unit exact, as the full lookup would have done
+			scope.compilationUnitScope().recordTypeReference(receiverType);
+			return method;
+		}
+		method = search(scope, receiverType, selector, argumentTypes, invocationSite);
+		if (method != null && !(method instanceof PolyParameterizedGenericMethodBinding))
+			this.lookups.put(key, method);
+		return method;
+	}
+
+	private MethodBinding search(Scope scope, TypeBinding receiverType, char[] selector, TypeBinding[] argumentTypes, InvocationSite invocationSite) {
+		this.misses++;
+		CompilerEvents.OperatorResolution event = CompilerEvents.beginOperatorResolution();
+		MethodBinding method = scope.getMethod(receiverType, selector, argumentTypes, invocationSite);
+		CompilerEvents.endOperatorResolution(event, receiverType, selector, argumentTypes, method);
+		return method;
+	}
+
+	/**
+	 * Answer the operand side chosen earlier for a binary operator with the given operand types, or <code>null</code>
+	 * if this combination has not been resolved (or cannot be cached).
+	 */
+	public Resolution getResolution(Scope scope, char[] selector, TypeBinding leftType, TypeBinding rightType, InvocationSite invocationSite) {
+		Key key = createKey(scope, leftType, selector, new TypeBinding[] { rightType }, invocationSite);
+		if (key == null)
+			return null;
+		Resolution resolution = this.resolutions.get(key);
+		if (resolution != null) {
+			this.hits++;
+			CompilationUnitScope unitScope = scope.compilationUnitScope();
+			unitScope.recordTypeReference(leftType);
+			unitScope.recordTypeReference(rightType);
+			unitScope.recordOperatorReference(selector);
+			char[] rhsSelector = (char[]) RHS_SELECTORS_BY_SELECTOR.get(selector);
+			if (rhsSelector != null)
+				unitScope.recordOperatorReference(rhsSelector);
+		}
+		return resolution;
+	}
+
+	public void putResolution(Scope scope, char[] selector, TypeBinding leftType, TypeBinding rightType, InvocationSite invocationSite, Resolution resolution) {
+		if (resolution.binding instanceof PolyParameterizedGenericMethodBinding)
+			return;
+		Key key = createKey(scope, leftType, selector, new TypeBinding[] { rightType }, invocationSite);
+		if (key != null)
+			this.resolutions.put(key, resolution);
+	}
+
+	/**
+	 * Answer the control-flow operator named selector of the given class. Kernels use the same few control-flow
+	 * operators of their class for every hardware <code>IF</code> and <code>SWITCH</code>, so these are searched once
+	 * per class, as any other operator method.
+	 */
+	public ControlFlowOperator getControlFlowOperator(Scope scope, TypeBinding type, char[] selector, TypeBinding[] argumentTypes, InvocationSite invocationSite) {
+		return new ControlFlowOperator(getMethod(scope, type, selector, argumentTypes, invocationSite));
+	}
+
+	/**
+	 * Answer the bit representing the given operator selector in the summaries of {@link
+	 * ReferenceBinding#operatorMethods()}, or 0 if the selector does not name an operator method.
+	 */
+	public static long operatorBit(char[] selector) {
+		int bit = OPERATOR_BITS.get(selector);
+		return bit == HashtableOfIntValues.NO_VALUE ? 0 : 1L << bit;
+	}
+
+	/**
+	 * Answer whether a method named selector may be found on the receiver type. Answers <code>true</code> when
+	 * unsure, i.e. the full lookup remains the reference.
+	 */
+	private static boolean mayDeclare(Scope scope, TypeBinding receiverType, char[] selector, InvocationSite invocationSite) {
+		long bit = operatorBit(selector);
+		if (bit == 0 || !(receiverType instanceof ReferenceBinding) || !isCacheable(receiverType))
+			return true;
+		// building the summary may resolve supertypes, report missing ones against this site as the lookup would
+		LookupEnvironment environment = scope.environment();
+		try {
+			environment.missingClassFileLocation = invocationSite;
+			return (((ReferenceBinding) receiverType).operatorMethods() & bit) != 0;
+		} catch (AbortCompilation e) {
+			e.updateContext(invocationSite, scope.referenceCompilationUnit().compilationResult);
+			throw e;
+		} finally {
+			environment.missingClassFileLocation = null;
+		}
+	}
+
+	/**
+	 * Answer the selector for an operator method name. Selectors of all known operators are shared, so that
+	 * resolving an operator does not allocate.
+	 */
+	public static char[] selector(String methodName) {
+		char[] selector = SELECTORS.get(methodName);
+		return selector != null ? selector : methodName.toCharArray();
+	}
+
+	/** Answer the selector of the method implementing the given binary operator for a right hand side receiver. */
+	public static char[] rhsSelector(String methodName) {
+		char[] selector = RHS_SELECTORS.get(methodName);
+		return selector != null ? selector : (methodName + "AsRHS").toCharArray(); //$NON-NLS-1$
+	}
+
+	public void reset() {
+		this.lookups.clear();
+		this.resolutions.clear();
+		this.hits = 0;
+		this.misses = 0;
+		this.skips = 0;
+	}
+
+	private Key createKey(Scope scope, TypeBinding receiverType, char[] selector, TypeBinding[] argumentTypes, InvocationSite invocationSite) {
+		if (!isCacheable(receiverType))
+			return null;
+		for (TypeBinding argumentType : argumentTypes) {
+			if (!isCacheable(argumentType))
+				return null;
+		}
+		if (invocationSite instanceof Invocation) {
+			Expression[] arguments = ((Invocation) invocationSite).arguments();
+			if (arguments != null) {
+				for (Expression argument : arguments) {
+					// the outcome of poly arguments depends on the site, not only on types
+					if (argument instanceof FunctionalExpression || (argument != null && argument.resolvedType instanceof PolyTypeBinding))
+						return null;
+				}
+			}
+		}
+		ReferenceBinding invocationType = scope.enclosingSourceType();
+		if (invocationType == null)
+			return null;
+		return new Key(selector, receiverType, argumentTypes, invocationSite.invocationTargetType(), invocationType);
+	}
+
+	private static boolean isCacheable(TypeBinding type) {
+		return type != null && type.isValidBinding() && (type.tagBits & TagBits.HasMissingType) == 0;
+	}
+}
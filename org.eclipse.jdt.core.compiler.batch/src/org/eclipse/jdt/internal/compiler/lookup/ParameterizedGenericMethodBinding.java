@@ -151,6 +151,7 @@ public class ParameterizedGenericMethodBinding extends ParameterizedMethodBindin
 		boolean allArgumentsAreProper = true;
 
 		// See if we should start in loose inference mode.
+		TypeBinding [] argumentTypes = arguments; // before boxing, they are the key of the inference cache
 		TypeBinding [] argumentsCopy = new TypeBinding[arguments.length];
 		for (int i = 0, length = arguments.length, parametersLength = parameters.length ; i < length; i++) {
 			TypeBinding parameter = i < parametersLength ? parameters[i] : parameters[parametersLength - 1];
@@ -177,6 +178,15 @@ public class ParameterizedGenericMethodBinding extends ParameterizedMethodBindin
 					((Expression)invocationSite).isPolyExpression(originalMethod);
 			boolean isDiamond = isPolyExpression && originalMethod.isConstructor();
 			boolean isInexactVarargsInference = false;
+			InferenceCache inferenceCache = environment.root.inferenceCache;
+			InferenceCache.Key cacheKey = previousContext == null
+					? inferenceCache.createKey(originalMethod, argumentTypes, requireBoxing, scope, invocationSite, isPolyExpression)
+					: null;
+			if (cacheKey != null) {
+				ParameterizedGenericMethodBinding cachedMethod = inferenceCache.get(cacheKey, invocationSite, infCtx18);
+				if (cachedMethod != null)
+					return cachedMethod;
+			}
 			if (arguments.length == parameters.length) {
 				infCtx18.inferenceKind = requireBoxing ? InferenceContext18.CHECK_LOOSE : InferenceContext18.CHECK_STRICT; // engine may still slip into loose mode and adjust level.
 				infCtx18.inferInvocationApplicability(originalMethod, arguments, isDiamond);
@@ -263,6 +273,8 @@ public class ParameterizedGenericMethodBinding extends ParameterizedMethodBindin
 								}
 								return problemMethod;
 							}
+							if (cacheKey != null && !hasReturnProblem && infCtx18.missingType == null && !isInexactVarargsInference)
+								inferenceCache.put(cacheKey, methodSubstitute, infCtx18);
 						} else {
 							methodSubstitute = new PolyParameterizedGenericMethodBinding(methodSubstitute);
 							if (InferenceContext18.DEBUG) {
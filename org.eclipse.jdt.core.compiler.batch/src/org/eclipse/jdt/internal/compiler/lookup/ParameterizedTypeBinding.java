@@ -657,6 +657,12 @@ public class ParameterizedTypeBinding extends ReferenceBinding implements Substi
 		return this.type;
 	}
 
+	@Override
+	public long operatorMethods() {
+		// type arguments do not change the selectors of the generic type
+		return genericType().operatorMethods();
+	}
+
 	/**<pre>{@code
 	 * Ltype<param1 ... paramN>;
 	 * LY<TT;>;
@@ -93,6 +93,7 @@ abstract public class ReferenceBinding extends TypeBinding {
 
 	int typeBits; // additional bits characterizing this type
 	protected MethodBinding [] singleAbstractMethod;
+	private long operatorMethods = Long.MIN_VALUE; // not computed yet, see operatorMethods()
 
 	public static final ReferenceBinding LUB_GENERIC = new ReferenceBinding() { /* used for lub computation */
 		{ this.id = TypeIds.T_undefined; }
@@ -2103,6 +2104,34 @@ MethodBinding[] unResolvedMethods() { // for the MethodVerifier so it doesn't re
 	return methods();
 }
 
+/**
+ * Answer the set of operator methods declared by this type or one of its supertypes, as a combination of
+ * {@link OperatorOverloadCache#operatorBit(char[])}. Used to skip the lookup of overloaded operators on plain
+ * Java types. Types whose methods are not known answer {@link OperatorOverloadCache#ANY_OPERATOR}.
+ */
+public long operatorMethods() {
+	return OperatorOverloadCache.ANY_OPERATOR;
+}
+
+long operatorMethods(MethodBinding[] declaredMethods) {
+	if (this.operatorMethods == Long.MIN_VALUE) {
+		this.operatorMethods = OperatorOverloadCache.ANY_OPERATOR; // protect against cycles in the hierarchy
+		long summary = 0;
+		for (MethodBinding method : declaredMethods)
+			summary |= OperatorOverloadCache.operatorBit(method.selector);
+		ReferenceBinding superclass = superclass();
+		if (superclass != null)
+			summary |= superclass.operatorMethods();
+		ReferenceBinding[] superInterfaces = superInterfaces();
+		if (superInterfaces != null) {
+			for (ReferenceBinding superInterface : superInterfaces)
+				summary |= superInterface.operatorMethods();
+		}
+		this.operatorMethods = summary;
+	}
+	return this.operatorMethods;
+}
+
 public FieldBinding[] unResolvedFields() {
 	return Binding.NO_FIELDS;
 }
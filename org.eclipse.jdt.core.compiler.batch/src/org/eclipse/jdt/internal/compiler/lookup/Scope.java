@@ -2608,11 +2608,18 @@ public abstract class Scope {
 					ClassScope classScope = (ClassScope) scope;
 					ReferenceBinding receiverType = classScope.enclosingReceiverType();
 					if (!insideTypeAnnotation) {
-						// retrieve an exact visible match (if possible)
-						// compilationUnitScope().recordTypeReference(receiverType);   not needed since receiver is the source type
-						MethodBinding methodBinding = classScope.findExactMethod(receiverType, selector, argumentTypes, invocationSite);
-						if (methodBinding == null)
-							methodBinding = classScope.findMethod(receiverType, selector, argumentTypes, invocationSite, false);
+						MethodLookupCache lookupCache = compilationUnitScope().methodLookupCache;
+						MethodLookupCache.Key key = lookupCache == null ? null : lookupCache.createKey(classScope, receiverType, selector, argumentTypes, invocationSite, true);
+						MethodBinding methodBinding = key == null ? null : lookupCache.get(key, environment());
+						if (methodBinding == null) {
+							// retrieve an exact visible match (if possible)
+							// compilationUnitScope().recordTypeReference(receiverType);   not needed since receiver is the source type
+							methodBinding = classScope.findExactMethod(receiverType, selector, argumentTypes, invocationSite);
+							if (methodBinding == null)
+								methodBinding = classScope.findMethod(receiverType, selector, argumentTypes, invocationSite, false);
+							if (key != null)
+								lookupCache.put(key, methodBinding, environment());
+						}
 						if (methodBinding != null) { // skip it if we did not find anything
 							 if (methodBinding.isValidBinding()) {
 							 	if (lacksRequiredInstanceScope(methodBinding, insideConstructorCall, insideStaticContext)) {
@@ -3084,23 +3091,15 @@ public abstract class Scope {
 			if (!currentType.canBeSeenBy(this))
 				return new ProblemMethodBinding(selector, argumentTypes, ProblemReasons.ReceiverTypeNotVisible);
 
-			// retrieve an exact visible match (if possible)
-			MethodBinding methodBinding = findExactMethod(currentType, selector, argumentTypes, invocationSite);
-			if (methodBinding != null && methodBinding.isValidBinding())
-				return methodBinding;
-
-			methodBinding = findMethod(currentType, selector, argumentTypes, invocationSite, false);
-			if (methodBinding == null)
-				return new ProblemMethodBinding(selector, argumentTypes, ProblemReasons.NotFound);
-			if (!methodBinding.isValidBinding())
-				return methodBinding;
-
-			// special treatment for Object.getClass() in 1.5 mode (substitute parameterized return type)
-			if (argumentTypes == Binding.NO_PARAMETERS
-			    && CharOperation.equals(selector, TypeConstants.GETCLASS)
-			    && methodBinding.returnType.isParameterizedType()/*1.5*/) {
-					return environment().createGetClassMethod(receiverType, methodBinding, this);
-		    }
+			MethodLookupCache lookupCache = unitScope.methodLookupCache;
+			MethodLookupCache.Key key = lookupCache == null ? null : lookupCache.createKey(this, currentType, selector, argumentTypes, invocationSite, false);
+			if (key == null)
+				return getMethod0(currentType, selector, argumentTypes, invocationSite);
+			MethodBinding methodBinding = lookupCache.get(key, env);
+			if (methodBinding == null) {
+				methodBinding = getMethod0(currentType, selector, argumentTypes, invocationSite);
+				lookupCache.put(key, methodBinding, env);
+			}
 			return methodBinding;
 		} catch (AbortCompilation e) {
 			e.updateContext(invocationSite, referenceCompilationUnit().compilationResult);
@@ -3110,6 +3109,27 @@ public abstract class Scope {
 		}
 	}
 
+	private MethodBinding getMethod0(ReferenceBinding receiverType, char[] selector, TypeBinding[] argumentTypes, InvocationSite invocationSite) {
+		// retrieve an exact visible match (if possible)
+		MethodBinding methodBinding = findExactMethod(receiverType, selector, argumentTypes, invocationSite);
+		if (methodBinding != null && methodBinding.isValidBinding())
+			return methodBinding;
+
+		methodBinding = findMethod(receiverType, selector, argumentTypes, invocationSite, false);
+		if (methodBinding == null)
+			return new ProblemMethodBinding(selector, argumentTypes, ProblemReasons.NotFound);
+		if (!methodBinding.isValidBinding())
+			return methodBinding;
+
+		// special treatment for Object.getClass() in 1.5 mode (substitute parameterized return type)
+		if (argumentTypes == Binding.NO_PARAMETERS
+		    && CharOperation.equals(selector, TypeConstants.GETCLASS)
+		    && methodBinding.returnType.isParameterizedType()/*1.5*/) {
+				return environment().createGetClassMethod(receiverType, methodBinding, this);
+	    }
+		return methodBinding;
+	}
+
 	/* Answer the package from the compoundName or null if it begins with a type.
 	* Intended to be used while resolving a qualified type name.
 	*
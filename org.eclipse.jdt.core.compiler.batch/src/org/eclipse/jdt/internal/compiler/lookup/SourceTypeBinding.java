@@ -1705,6 +1705,15 @@ public boolean hasMemberTypes() {
     return this.memberTypes.length > 0;
 }
 
+@Override
+public long operatorMethods() {
+	if (!isPrototype())
+		return this.prototype.operatorMethods();
+	if (!areMethodsInitialized())
+		return OperatorOverloadCache.ANY_OPERATOR;
+	return operatorMethods(this.methods);
+}
+
 // NOTE: the return type, arg & exception types of each method of a source type are resolved when needed
 @Override
 public MethodBinding[] methods() {
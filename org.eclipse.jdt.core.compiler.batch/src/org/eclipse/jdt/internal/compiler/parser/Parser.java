@@ -78,6 +78,8 @@ public class Parser implements ParserBasicInformation, ConflictedParser, Operato
 
 	protected static final int THIS_CALL = ExplicitConstructorCall.This;
 	protected static final int SUPER_CALL = ExplicitConstructorCall.Super;
+	// operators of a chain of '-', '*', '/', ... past which it is parsed as a CombinedBinaryExpression
+	protected static final int COMBINED_CHAIN_THRESHOLD = CombinedBinaryExpression.ARITY_MAX_MIN;
 	public static final char[] FALL_THROUGH_TAG = "$FALL-THROUGH$".toCharArray(); //$NON-NLS-1$
 	public static final char[] CASES_OMITTED_TAG = "$CASES-OMITTED$".toCharArray(); //$NON-NLS-1$
 
@@ -1952,7 +1954,9 @@ protected void consumeBinaryExpression(int op) {
 					} else {
 						this.expressionStack[this.expressionPtr] = new BinaryExpression(expr1, expr2, PLUS);
 					}
-				} else if (expr1 instanceof CombinedBinaryExpression expr) {
+				} else if (expr1 instanceof CombinedBinaryExpression expr
+						&& ((expr1.bits & ASTNode.OperatorMASK) >>
+							ASTNode.OperatorSHIFT) == OperatorIds.PLUS) {
 					CombinedBinaryExpression cursor;
 					// left branch is comprised of PLUS BEs
 					// cursor is shifted upwards, while needed BEs are added
@@ -1997,7 +2001,9 @@ protected void consumeBinaryExpression(int op) {
 					this.expressionStack[this.expressionPtr] =
 						new BinaryExpression(expr1, expr2, PLUS);
 				}
-			} else if (expr1 instanceof CombinedBinaryExpression expr) {
+			} else if (expr1 instanceof CombinedBinaryExpression expr
+					&& ((expr1.bits & ASTNode.OperatorMASK) >>
+							ASTNode.OperatorSHIFT) == OperatorIds.PLUS) {
 					CombinedBinaryExpression cursor;
 					// shift cursor; create BE/CBE as needed
 					if ((cursor = expr).arity < cursor.arityMax) {
@@ -2030,14 +2036,28 @@ protected void consumeBinaryExpression(int op) {
 			}
 			break;
 		case LESS :
-		case MULTIPLY :
-			this.intPtr--; // star end position or starting position of angle bracket
+			this.intPtr--; // starting position of angle bracket
 			this.expressionStack[this.expressionPtr] =
 				new BinaryExpression(
 					expr1,
 					expr2,
 					op);
 			break;
+		case MULTIPLY :
+			this.intPtr--; // star end position
+			this.expressionStack[this.expressionPtr] =
+				combineBinaryExpressions(expr1, expr2, op);
+			break;
+		case MINUS :
+		case DIVIDE :
+		case REMAINDER :
+		case AND :
+		case OR :
+		case XOR :
+		case CAT :
+			this.expressionStack[this.expressionPtr] =
+				combineBinaryExpressions(expr1, expr2, op);
+			break;
 		default :
 			this.expressionStack[this.expressionPtr] =
 				new BinaryExpression(
@@ -2046,6 +2066,43 @@ protected void consumeBinaryExpression(int op) {
 					op);
 	}
 }
+/**
+ * Build the binary expression for expr1 op expr2, leveraging {@link
+ * CombinedBinaryExpression} when expr1 is a long chain of the same operator.
+ * Generated code (MaxJ kernels in particular) may chain thousands of
+ * arithmetic operators, which would otherwise lead to very deep left
+ * branches. Unlike string concatenations, chains of these operators are
+ * short in hand written code, so they are only combined past
+ * {@link #COMBINED_CHAIN_THRESHOLD} operators and keep the plain binary
+ * expressions of the Java compiler otherwise.
+ */
+private Expression combineBinaryExpressions(Expression expr1, Expression expr2, int op) {
+	if (expr1 instanceof CombinedBinaryExpression cursor
+			&& ((expr1.bits & ASTNode.OperatorMASK) >> ASTNode.OperatorSHIFT) == op) {
+		// shift cursor; create BE/CBE as needed
+		if (cursor.arity < cursor.arityMax) {
+			cursor.left = new BinaryExpression(cursor);
+			cursor.arity++;
+		} else {
+			cursor.left = new CombinedBinaryExpression(cursor);
+			cursor.arity = 0;
+			cursor.tuneArityMax();
+		}
+		// clear the bits on cursor
+		cursor.bits &= ~ASTNode.ParenthesizedMASK;
+		cursor.right = expr2;
+		cursor.sourceEnd = expr2.sourceEnd;
+		return cursor;
+	}
+	Expression chain = expr1;
+	for (int length = 0; chain instanceof BinaryExpression
+			&& ((chain.bits & ASTNode.OperatorMASK) >> ASTNode.OperatorSHIFT) == op; length++) {
+		if (length == COMBINED_CHAIN_THRESHOLD)
+			return new CombinedBinaryExpression(expr1, expr2, op, 1);
+		chain = ((BinaryExpression) chain).left;
+	}
+	return new BinaryExpression(expr1, expr2, op);
+}
 /**
  * @param op binary operator
  */
@@ -1484,6 +1484,7 @@ protected TerminalToken getNextToken0() throws InvalidInputException {
 			int offset;
 			int unicodePtr;
 			boolean checkIfUnicode = false;
+			hasWhiteSpaces = jumpOverAsciiWhiteSpace();
 			do {
 				unicodePtr = this.withoutUnicodePtr;
 				offset = this.currentPosition;
@@ -1732,6 +1733,13 @@ protected TerminalToken getNextToken0() throws InvalidInputException {
 						if (test == 0) { //line comment
 							this.lastCommentLinePosition = this.currentPosition;
 							try { //get the next char
+								boolean isUnicode = false;
+								int lineEnd = findAsciiLineEnd();
+								if (lineEnd >= 0) {
+									this.lastCommentLinePosition = lineEnd;
+									this.currentCharacter = this.source[lineEnd];
+									this.currentPosition = lineEnd + 1;
+								} else {
 								if (((this.currentCharacter = this.source[this.currentPosition++]) == '\\')
 										&& (this.source[this.currentPosition] == 'u')) {
 									getNextUnicodeChar();
@@ -1742,7 +1750,6 @@ protected TerminalToken getNextToken0() throws InvalidInputException {
 									if (this.source[this.currentPosition] == '\\')
 										this.currentPosition++;
 								} //jump over the \\
-								boolean isUnicode = false;
 								while (this.currentCharacter != '\r' && this.currentCharacter != '\n') {
 									if (this.currentPosition >= this.eofPosition) {
 										this.lastCommentLinePosition = this.currentPosition;
@@ -1764,6 +1771,7 @@ protected TerminalToken getNextToken0() throws InvalidInputException {
 											this.currentPosition++;
 									} //jump over the \\
 								}
+								}
 								/*
 								 * We need to completely consume the line break
 								 */
@@ -1862,48 +1870,7 @@ protected TerminalToken getNextToken0() throws InvalidInputException {
 									isJavadoc = false;
 								}
 								//loop until end of comment */
-								int firstTag = 0;
-								while ((this.currentCharacter != '/') || (!star)) {
-									if (this.currentPosition >= this.eofPosition) {
-										throw unterminatedComment();
-									}
-									if ((this.currentCharacter == '\r') || (this.currentCharacter == '\n')) {
-										if (this.recordLineSeparator) {
-											if (isUnicode) {
-												pushUnicodeLineSeparator();
-											} else {
-												pushLineSeparator();
-											}
-										}
-									}
-									switch (this.currentCharacter) {
-										case '*':
-											star = true;
-											break;
-										case '@':
-											if (firstTag == 0 && this.isFirstTag()) {
-												firstTag = previous;
-											}
-											//$FALL-THROUGH$ default case to set star to false
-										default:
-											star = false;
-									}
-									//get next char
-									previous = this.currentPosition;
-									if (((this.currentCharacter = this.source[this.currentPosition++]) == '\\')
-										&& (this.source[this.currentPosition] == 'u')) {
-										//-------------unicode treatement ------------
-										getNextUnicodeChar();
-										isUnicode = true;
-									} else {
-										isUnicode = false;
-									}
-									//handle the \\u case manually into comment
-									if (this.currentCharacter == '\\') {
-										if (this.source[this.currentPosition] == '\\')
-											this.currentPosition++;
-									} //jump over the \\
-								}
+								int firstTag = jumpOverBlockComment(star, previous, isUnicode);
 								TerminalToken token = isJavadoc ? TokenNameCOMMENT_JAVADOC : TokenNameCOMMENT_BLOCK;
 								recordComment(token);
 								this.commentTagStarts[this.commentPtr] = firstTag;
@@ -2464,6 +2431,7 @@ public final void jumpOverMethodBody() {
 			this.withoutUnicodePtr = 0;
 			// ---------Consume white space and handles startPosition---------
 			boolean isWhiteSpace;
+			jumpOverAsciiWhiteSpace();
 			do {
 				this.startPosition = this.currentPosition;
 				if (((this.currentCharacter = this.source[this.currentPosition++]) == '\\')
@@ -2640,6 +2608,13 @@ public final void jumpOverMethodBody() {
 						if (test == 0) { //line comment
 							try {
 								this.lastCommentLinePosition = this.currentPosition;
+								boolean isUnicode = false;
+								int lineEnd = findAsciiLineEnd();
+								if (lineEnd >= 0) {
+									this.lastCommentLinePosition = lineEnd;
+									this.currentCharacter = this.source[lineEnd];
+									this.currentPosition = lineEnd + 1;
+								} else {
 								//get the next char
 								if (((this.currentCharacter = this.source[this.currentPosition++]) == '\\')
 										&& (this.source[this.currentPosition] == 'u')) {
@@ -2650,7 +2625,6 @@ public final void jumpOverMethodBody() {
 									if (this.source[this.currentPosition] == '\\')
 										this.currentPosition++;
 								} //jump over the \\
-								boolean isUnicode = false;
 								while (this.currentCharacter != '\r' && this.currentCharacter != '\n') {
 									if (this.currentPosition >= this.eofPosition) {
 										this.lastCommentLinePosition = this.currentPosition;
@@ -2672,6 +2646,7 @@ public final void jumpOverMethodBody() {
 											this.currentPosition++;
 									} //jump over the \\
 								}
+								}
 								/*
 								 * We need to completely consume the line break
 								 */
@@ -2765,46 +2740,13 @@ public final void jumpOverMethodBody() {
 									isJavadoc = false;
 								}
 								//loop until end of comment */
-								int firstTag = 0;
-								while ((this.currentCharacter != '/') || (!star)) {
-									if (this.currentPosition >= this.eofPosition) {
+								int firstTag;
+								try {
+									firstTag = jumpOverBlockComment(star, previous, isUnicode);
+								} catch (InvalidInputException e) {
+									if (UNTERMINATED_COMMENT.equals(e.getMessage()))
 										return;
-									}
-									if ((this.currentCharacter == '\r') || (this.currentCharacter == '\n')) {
-										if (this.recordLineSeparator) {
-											if (isUnicode) {
-												pushUnicodeLineSeparator();
-											} else {
-												pushLineSeparator();
-											}
-										}
-									}
-									switch (this.currentCharacter) {
-										case '*':
-											star = true;
-											break;
-										case '@':
-											if (firstTag == 0 && this.isFirstTag()) {
-												firstTag = previous;
-											}
-											//$FALL-THROUGH$ default case to set star to false
-										default:
-											star = false;
-									}
-									//get next char
-									previous = this.currentPosition;
-									if (((this.currentCharacter = this.source[this.currentPosition++]) == '\\')
-											&& (this.source[this.currentPosition] == 'u')) {
-										getNextUnicodeChar();
-										isUnicode = true;
-									} else {
-										isUnicode = false;
-									}
-									//handle the \\u case manually into comment
-									if (this.currentCharacter == '\\') {
-										if (this.source[this.currentPosition] == '\\')
-											this.currentPosition++;
-									} //jump over the \\
+									throw e;
 								}
 								recordComment(isJavadoc ? TokenNameCOMMENT_JAVADOC : TokenNameCOMMENT_BLOCK);
 								this.commentTagStarts[this.commentPtr] = firstTag;
@@ -2961,6 +2903,156 @@ public final void jumpOverMethodBody() {
 	}
 	return;
 }
+/*
+ * Jumps over the ASCII identifier parts at the current position, up to the first other character, which
+ * may still continue the identifier (a unicode escape or a non ASCII character) and is left to the caller.
+ */
+private void jumpOverAsciiIdentifierPart() {
+	char[] src = this.source;
+	int end = this.eofPosition < src.length ? this.eofPosition : src.length;
+	int pos = this.currentPosition;
+	while (pos < end) {
+		char c = src[pos];
+		if (c >= ScannerHelper.MAX_OBVIOUS || (ScannerHelper.OBVIOUS_IDENT_CHAR_NATURES[c] &
+				(ScannerHelper.C_UPPER_LETTER | ScannerHelper.C_LOWER_LETTER | ScannerHelper.C_IDENT_PART | ScannerHelper.C_DIGIT)) == 0)
+			break;
+		pos++;
+	}
+	this.currentPosition = pos;
+}
+/*
+ * Answers the position of the next line separator when the rest of the line contains no backslash, thus no
+ * unicode escape, or -1 if it does or if there is none before the end of the source.
+ */
+private int findAsciiLineEnd() {
+	char[] src = this.source;
+	int end = this.eofPosition < src.length ? this.eofPosition : src.length;
+	for (int pos = this.currentPosition; pos < end; pos++) {
+		char c = src[pos];
+		if (c == '\r' || c == '\n')
+			return pos;
+		if (c == '\\')
+			return -1;
+	}
+	return -1;
+}
+/*
+ * Jumps over the rest of a block comment, from the current character up to the closing slash, and answers
+ * the position of its first tag (0 if none). Same as the loop of getNextToken0(), reading the runs of
+ * characters which only reset star through locals.
+ */
+private int jumpOverBlockComment(boolean star, int previous, boolean isUnicode) throws InvalidInputException {
+	char[] src = this.source;
+	int eof = this.eofPosition;
+	int end = eof < src.length ? eof : src.length;
+	int pos = this.currentPosition;
+	char c = this.currentCharacter;
+	int firstTag = 0;
+	try {
+		while (c != '/' || !star) {
+			if (pos >= eof) {
+				this.currentPosition = pos;
+				throw unterminatedComment();
+			}
+			switch (c) {
+				case '*' :
+					star = true;
+					break;
+				case '\r' :
+				case '\n' :
+					if (this.recordLineSeparator) {
+						this.currentCharacter = c;
+						this.currentPosition = pos;
+						if (isUnicode) {
+							pushUnicodeLineSeparator();
+						} else {
+							pushLineSeparator();
+						}
+						pos = this.currentPosition; // past a merged cr+lf
+					}
+					star = false;
+					break;
+				case '@' :
+					if (firstTag == 0) {
+						this.currentCharacter = c;
+						this.currentPosition = pos;
+						if (isFirstTag())
+							firstTag = previous;
+					}
+					//$FALL-THROUGH$ default case to set star to false
+				default :
+					star = false;
+			}
+			// jump over the characters which have no other effect than resetting star
+			int plain = pos;
+			while (plain < end) {
+				char next = src[plain];
+				if (next <= '\\' && (next == '*' || next == '/' || next == '@' || next == '\\' || next == '\r' || next == '\n'))
+					break;
+				plain++;
+			}
+			if (plain != pos) {
+				previous = plain - 1;
+				c = src[previous];
+				pos = plain;
+				isUnicode = false;
+				continue;
+			}
+			previous = pos;
+			c = src[pos++];
+			if (c == '\\' && src[pos] == 'u') {
+				this.currentPosition = pos;
+				getNextUnicodeChar();
+				c = this.currentCharacter;
+				pos = this.currentPosition;
+				isUnicode = true;
+			} else {
+				isUnicode = false;
+			}
+			if (c == '\\' && src[pos] == '\\')
+				pos++; //jump over the \\
+		}
+	} catch (IndexOutOfBoundsException e) {
+		this.currentPosition = pos;
+		throw e;
+	}
+	this.currentCharacter = c;
+	this.currentPosition = pos;
+	return firstTag;
+}
+/*
+ * Jumps over the white spaces at the current position of a source without unicode escapes, up to the
+ * character the next token starts with, and answers whether there were any.
+ */
+private boolean jumpOverAsciiWhiteSpace() {
+	char[] src = this.source;
+	int start = this.currentPosition;
+	int end = this.eofPosition < src.length ? this.eofPosition : src.length;
+	int pos = start;
+	while (pos < end) {
+		char c = src[pos];
+		switch (c) {
+			case '\r' :
+			case '\n' :
+				pos++;
+				if (this.recordLineSeparator) {
+					this.currentCharacter = c;
+					this.currentPosition = pos;
+					pushLineSeparator();
+					pos = this.currentPosition; // past a merged cr+lf
+				}
+				continue;
+			case ' ' :
+			case '\t' :
+			case '\f' :
+				pos++;
+				continue;
+		}
+		break;
+	}
+	this.currentPosition = pos;
+	return pos != start;
+}
 public final boolean jumpOverUnicodeWhiteSpace() throws InvalidInputException {
 	//BOOLEAN
 	//handle the case of unicode. Jump over the next whiteSpace
@@ -3468,6 +3560,8 @@ public TerminalToken scanIdentifierOrKeyword() {
 	identLoop: {
 		int pos;
 		int srcLength = this.eofPosition;
+		if (this.withoutUnicodePtr == 0)
+			jumpOverAsciiIdentifierPart();
 		while (true) {
 			if ((pos = this.currentPosition) >= srcLength) // handle the obvious case upfront
 				break identLoop;
@@ -15,6 +15,7 @@ package org.eclipse.jdt.internal.compiler.problem;
 
 import org.eclipse.jdt.core.compiler.CategorizedProblem;
 import org.eclipse.jdt.core.compiler.IProblem;
+import org.eclipse.jdt.internal.compiler.util.HashtableOfInt;
 import org.eclipse.jdt.internal.compiler.util.Messages;
 import org.eclipse.jdt.internal.compiler.util.Util;
 
@@ -27,7 +28,12 @@ public class DefaultProblem extends CategorizedProblem {
 	public int column;
 	public int severity;
 	private final String[] arguments;
-	private final String message;
+	private String message;
+
+	// inputs of the message, formatted on first request (see DefaultProblemFactory#createProblem)
+	private final HashtableOfInt messageTemplates;
+	private final int elaborationId;
+	private final String[] messageArguments;
 
 	// cannot directly point to IJavaModelMarker constants from within batch compiler
 	private static final String MARKER_TYPE_PROBLEM = "org.eclipse.jdt.core.problem"; //$NON-NLS-1$
@@ -55,6 +61,39 @@ public DefaultProblem(
 	this.endPosition = endPosition;
 	this.line = line;
 	this.column = column;
+	this.messageTemplates = null;
+	this.elaborationId = 0;
+	this.messageArguments = null;
+}
+/**
+ * Creates a problem whose message is formatted from the given templates and message arguments when it is
+ * first requested, so that problems which are never displayed (e.g. beyond the maximum number of reported
+ * problems) do not pay for it.
+ */
+public DefaultProblem(
+	char[] originatingFileName,
+	HashtableOfInt messageTemplates,
+	int id,
+	String[] stringArguments,
+	int elaborationId,
+	String[] messageArguments,
+	int severity,
+	int startPosition,
+	int endPosition,
+	int line,
+	int column) {
+
+	this.fileName = originatingFileName;
+	this.messageTemplates = messageTemplates;
+	this.id = id;
+	this.arguments = stringArguments;
+	this.elaborationId = elaborationId;
+	this.messageArguments = messageArguments;
+	this.severity = severity;
+	this.startPosition = startPosition;
+	this.endPosition = endPosition;
+	this.line = line;
+	this.column = column;
 }
 public void reportError() {
 	// Do nothing by default
@@ -197,7 +236,12 @@ public String getMarkerType() {
 
 @Override
 public String getMessage() {
-	return this.message;
+	String result = this.message;
+	if (result == null && this.messageTemplates != null) {
+		// formatting is idempotent, racing threads compute equal messages
+		this.message = result = DefaultProblemFactory.formatMessage(this.messageTemplates, this.id, this.elaborationId, this.messageArguments);
+	}
+	return result;
 }
 
 @Override
@@ -273,8 +317,9 @@ public void setSourceStart(int sourceStart) {
 @Override
 public String toString() {
 	String s = "Pb(" + (this.id & IProblem.IgnoreCategoriesMask) + ") "; //$NON-NLS-1$ //$NON-NLS-2$
-	if (this.message != null) {
-		s += this.message;
+	String problemMessage = getMessage();
+	if (problemMessage != null) {
+		s += problemMessage;
 	} else {
 		if (this.arguments != null)
 			for (String argument : this.arguments)
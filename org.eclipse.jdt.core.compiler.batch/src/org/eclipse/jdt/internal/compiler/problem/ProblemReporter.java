@@ -1833,6 +1833,8 @@ public void defaultModifierIllegallySpecified(int sourceStart, int sourceEnd) {
 }
 
 public void deprecatedField(final FieldBinding field, ASTNode location) {
+	int severity = computeSeverity((field.tagBits & TagBits.AnnotationTerminallyDeprecated) == 0 ? IProblem.UsingDeprecatedField : IProblem.UsingTerminallyDeprecatedField);
+	if (severity == ProblemSeverities.Ignore) return;
 	String fieldName = new String(field.name);
 	int sourceStart = nodeSourceStart(field, location);
 	int sourceEnd = nodeSourceEnd(field, location);
@@ -1842,17 +1844,22 @@ public void deprecatedField(final FieldBinding field, ASTNode location) {
 			(field.tagBits & TagBits.AnnotationTerminallyDeprecated) == 0 ? IProblem.UsingDeprecatedSinceVersionField : IProblem.UsingTerminallyDeprecatedSinceVersionField,
 			new String[] {new String(field.declaringClass.readableName()), fieldName, sinceValue},
 			new String[] {new String(field.declaringClass.shortReadableName()), fieldName, sinceValue},
+			severity,
 			sourceStart, sourceEnd);
 	} else {
 		this.handle(
 			(field.tagBits & TagBits.AnnotationTerminallyDeprecated) == 0 ? IProblem.UsingDeprecatedField : IProblem.UsingTerminallyDeprecatedField,
 			new String[] {new String(field.declaringClass.readableName()), fieldName},
 			new String[] {new String(field.declaringClass.shortReadableName()), fieldName},
+			severity,
 			sourceStart, sourceEnd);
 	}
 }
 
 public void deprecatedMethod(final MethodBinding method, ASTNode location) {
+	boolean terminally = (method.tagBits & TagBits.AnnotationTerminallyDeprecated) != 0;
+	int severity = computeSeverity(terminally ? IProblem.UsingTerminallyDeprecatedMethod : IProblem.UsingDeprecatedMethod);
+	if (severity == ProblemSeverities.Ignore) return;
 	// common arguments:
 	String readableClassName = new String(method.declaringClass.readableName());
 	String shortReadableClassName = new String(method.declaringClass.shortReadableName());
@@ -1883,7 +1890,6 @@ public void deprecatedMethod(final MethodBinding method, ASTNode location) {
 	final int sourceEnd = (end == -1) ? location.sourceEnd : end;
 
 	// discriminate:
-	boolean terminally = (method.tagBits & TagBits.AnnotationTerminallyDeprecated) != 0;
 	String sinceValue = deprecatedSinceValue(() -> method.getAnnotations());
 	if (sinceValue == null && method.isConstructor()) {
 		sinceValue = deprecatedSinceValue(() -> method.declaringClass.getAnnotations()); // for default ctor
@@ -1894,12 +1900,14 @@ public void deprecatedMethod(final MethodBinding method, ASTNode location) {
 				terminally ? IProblem.UsingTerminallyDeprecatedSinceVersionConstructor : IProblem.UsingDeprecatedSinceVersionConstructor,
 				new String[] {readableClassName, signature, sinceValue},
 				new String[] {shortReadableClassName, shortSignature, sinceValue},
+				severity,
 				sourceStart, sourceEnd);
 		} else {
 			this.handle(
 				terminally ? IProblem.UsingTerminallyDeprecatedSinceVersionMethod : IProblem.UsingDeprecatedSinceVersionMethod,
 				new String[] {readableClassName, selector, signature, sinceValue},
 				new String[] {shortReadableClassName, selector, shortSignature, sinceValue},
+				severity,
 				sourceStart, sourceEnd);
 		}
 	} else {
@@ -1908,12 +1916,14 @@ public void deprecatedMethod(final MethodBinding method, ASTNode location) {
 				terminally ? IProblem.UsingTerminallyDeprecatedConstructor : IProblem.UsingDeprecatedConstructor,
 				new String[] {readableClassName, signature},
 				new String[] {shortReadableClassName, shortSignature},
+				severity,
 				sourceStart, sourceEnd);
 		} else {
 			this.handle(
 				terminally ? IProblem.UsingTerminallyDeprecatedMethod : IProblem.UsingDeprecatedMethod,
 				new String[] {readableClassName, selector, signature},
 				new String[] {shortReadableClassName, selector, shortSignature},
+				severity,
 				sourceStart, sourceEnd);
 		}
 	}
@@ -1926,6 +1936,8 @@ public void deprecatedType(TypeBinding type, ASTNode location) {
 public void deprecatedType(TypeBinding type, ASTNode location, int index) {
 	if (location == null) return; // 1G828DN - no type ref for synthetic arguments
 	final TypeBinding leafType = type.leafComponentType();
+	int severity = computeSeverity((leafType.tagBits & TagBits.AnnotationTerminallyDeprecated) == 0 ? IProblem.UsingDeprecatedType : IProblem.UsingTerminallyDeprecatedType);
+	if (severity == ProblemSeverities.Ignore) return;
 	if (!leafType.isReadyForAnnotations() && scheduleProblemForContext(() -> deprecatedType(type, location, index)))
 		return;
 	int sourceStart = -1;
@@ -1941,6 +1953,7 @@ public void deprecatedType(TypeBinding type, ASTNode location, int index) {
 			((leafType.tagBits & TagBits.AnnotationTerminallyDeprecated) == 0) ? IProblem.UsingDeprecatedSinceVersionType : IProblem.UsingTerminallyDeprecatedSinceVersionType,
 			new String[] {new String(leafType.readableName()), sinceValue},
 			new String[] {new String(leafType.shortReadableName()), sinceValue},
+			severity,
 			(sourceStart == -1) ? location.sourceStart : sourceStart,
 			nodeSourceEnd(null, location, index));
 	} else {
@@ -1948,6 +1961,7 @@ public void deprecatedType(TypeBinding type, ASTNode location, int index) {
 			((leafType.tagBits & TagBits.AnnotationTerminallyDeprecated) == 0) ? IProblem.UsingDeprecatedType : IProblem.UsingTerminallyDeprecatedType,
 			new String[] {new String(leafType.readableName())},
 			new String[] {new String(leafType.shortReadableName())},
+			severity,
 			(sourceStart == -1) ? location.sourceStart : sourceStart,
 			nodeSourceEnd(null, location, index));
 	}
@@ -6918,10 +6932,13 @@ private void missingEnumConstantCase(CaseStatement defaultCase, FieldBinding enu
 }
 public void missingDefaultCase(SwitchStatement switchStatement, boolean isEnumSwitch, TypeBinding expressionType) {
 	if (isEnumSwitch) {
+		int severity = computeSeverity(IProblem.MissingEnumDefaultCase);
+		if (severity == ProblemSeverities.Ignore) return;
 		this.handle(
 				IProblem.MissingEnumDefaultCase,
 				new String[] {new String(expressionType.readableName())},
 				new String[] {new String(expressionType.shortReadableName())},
+				severity,
 				switchStatement.expression.sourceStart,
 				switchStatement.expression.sourceEnd);
 	} else {
@@ -6987,15 +7004,20 @@ public void missingSemiColon(Expression expression){
 		expression.sourceEnd);
 }
 public void missingSerialVersion(TypeDeclaration typeDecl) {
+	int severity = computeSeverity(IProblem.MissingSerialVersion);
+	if (severity == ProblemSeverities.Ignore) return;
 	String[] arguments = new String[] {new String(typeDecl.name)};
 	this.handle(
 		IProblem.MissingSerialVersion,
 		arguments,
 		arguments,
+		severity,
 		typeDecl.sourceStart,
 		typeDecl.sourceEnd);
 }
 public void missingSynchronizedOnInheritedMethod(MethodBinding currentMethod, MethodBinding inheritedMethod) {
+	int severity = computeSeverity(IProblem.MissingSynchronizedModifierInInheritedMethod);
+	if (severity == ProblemSeverities.Ignore) return;
 	this.handle(
 			IProblem.MissingSynchronizedModifierInInheritedMethod,
 			new String[] {
@@ -7008,6 +7030,7 @@ public void missingSynchronizedOnInheritedMethod(MethodBinding currentMethod, Me
 					new String(currentMethod.selector),
 					typesAsString(currentMethod, true),
 			},
+			severity,
 			currentMethod.sourceStart(),
 			currentMethod.sourceEnd());
 }
@@ -7421,10 +7444,13 @@ public void nonStaticAccessToStaticField(ASTNode location, FieldBinding field, i
 		nodeSourceEnd(field, location, index));
 }
 public void nonStaticAccessToStaticMethod(ASTNode location, MethodBinding method) {
+	int severity = computeSeverity(IProblem.NonStaticAccessToStaticMethod);
+	if (severity == ProblemSeverities.Ignore) return;
 	this.handle(
 		IProblem.NonStaticAccessToStaticMethod,
 		new String[] {new String(method.declaringClass.readableName()), new String(method.selector), typesAsString(method, false)},
 		new String[] {new String(method.declaringClass.shortReadableName()), new String(method.selector), typesAsString(method, true)},
+		severity,
 		location.sourceStart,
 		location.sourceEnd);
 }
@@ -7551,6 +7577,9 @@ public void operatorOnlyValidOnNumericType(CompoundAssignment  assignment, TypeB
 		assignment.sourceEnd);
 }
 public void overridesDeprecatedMethod(MethodBinding localMethod, MethodBinding inheritedMethod) {
+	int severity = computeSeverity((inheritedMethod.tagBits & TagBits.AnnotationTerminallyDeprecated) != 0
+			? IProblem.OverridingTerminallyDeprecatedMethod : IProblem.OverridingDeprecatedMethod);
+	if (severity == ProblemSeverities.Ignore) return;
 	String localMethodName = new String(
 								CharOperation.concat(
 									localMethod.declaringClass.readableName(),
@@ -7574,6 +7603,7 @@ public void overridesDeprecatedMethod(MethodBinding localMethod, MethodBinding i
 				localMethodShortName,
 				new String(inheritedMethod.declaringClass.shortReadableName()),
 				sinceValue},
+			severity,
 			localMethod.sourceStart(),
 			localMethod.sourceEnd());
 
@@ -7587,11 +7617,14 @@ public void overridesDeprecatedMethod(MethodBinding localMethod, MethodBinding i
 			new String[] {
 				localMethodShortName,
 				new String(inheritedMethod.declaringClass.shortReadableName())},
+			severity,
 			localMethod.sourceStart(),
 			localMethod.sourceEnd());
 	}
 }
 public void overridesMethodWithoutSuperInvocation(MethodBinding localMethod) {
+	int severity = computeSeverity(IProblem.OverridingMethodWithoutSuperInvocation);
+	if (severity == ProblemSeverities.Ignore) return;
 	this.handle(
 		IProblem.OverridingMethodWithoutSuperInvocation,
 		new String[] {
@@ -7608,10 +7641,13 @@ public void overridesMethodWithoutSuperInvocation(MethodBinding localMethod) {
 						localMethod.shortReadableName(),
 						'.'))
 			},
+		severity,
 		localMethod.sourceStart(),
 		localMethod.sourceEnd());
 }
 public void overridesPackageDefaultMethod(MethodBinding localMethod, MethodBinding inheritedMethod) {
+	int severity = computeSeverity(IProblem.OverridingNonVisibleMethod);
+	if (severity == ProblemSeverities.Ignore) return;
 	this.handle(
 		IProblem.OverridingNonVisibleMethod,
 		new String[] {
@@ -7628,6 +7664,7 @@ public void overridesPackageDefaultMethod(MethodBinding localMethod, MethodBindi
 						localMethod.shortReadableName(),
 						'.')),
 			new String(inheritedMethod.declaringClass.shortReadableName())},
+		severity,
 		localMethod.sourceStart(),
 		localMethod.sourceEnd());
 }
@@ -8026,11 +8063,14 @@ public void rawMemberTypeCannotBeParameterized(ASTNode location, ReferenceBindin
 		location.sourceEnd);
 }
 public void rawTypeReference(ASTNode location, TypeBinding type) {
+	int severity = computeSeverity(IProblem.RawTypeReference);
+	if (severity == ProblemSeverities.Ignore) return;
 	type = type.leafComponentType();
     this.handle(
 		IProblem.RawTypeReference,
 		new String[] {new String(type.readableName()), new String(type.erasure().readableName()), },
 		new String[] {new String(type.shortReadableName()),new String(type.erasure().shortReadableName()),},
+		severity,
 		location.sourceStart,
 		nodeSourceEnd(null, location, Integer.MAX_VALUE));
 }
@@ -8368,10 +8408,13 @@ public void scannerError(Parser parser, String errorTokenName) {
 		parser.compilationUnit.compilationResult);
 }
 public void shouldImplementHashcode(SourceTypeBinding type) {
+	int severity = computeSeverity(IProblem.ShouldImplementHashcode);
+	if (severity == ProblemSeverities.Ignore) return;
 	this.handle(
 		IProblem.ShouldImplementHashcode,
 		new String[] {new String(type.readableName())},
 		new String[] {new String(type.shortReadableName())},
+		severity,
 		type.sourceStart(),
 		type.sourceEnd());
 }
@@ -9169,13 +9212,16 @@ public void unnecessaryNLSTags(int sourceStart, int sourceEnd) {
 		sourceEnd);
 }
 public void unnecessaryTypeArgumentsForMethodInvocation(MethodBinding method, TypeBinding[] genericTypeArguments, TypeReference[] typeArguments) {
+	int problemId = method.isConstructor()
+		? IProblem.UnusedTypeArgumentsForConstructorInvocation
+		: IProblem.UnusedTypeArgumentsForMethodInvocation;
+	int severity = computeSeverity(problemId);
+	if (severity == ProblemSeverities.Ignore) return;
 	String methodName = method.isConstructor()
 		? new String(method.declaringClass.shortReadableName())
 		: new String(method.selector);
 	this.handle(
-			method.isConstructor()
-				? IProblem.UnusedTypeArgumentsForConstructorInvocation
-				: IProblem.UnusedTypeArgumentsForMethodInvocation,
+			problemId,
 		new String[] {
 				methodName,
 		        typesAsString(method, false),
@@ -9186,10 +9232,13 @@ public void unnecessaryTypeArgumentsForMethodInvocation(MethodBinding method, Ty
 		        typesAsString(method, true),
 		        new String(method.declaringClass.shortReadableName()),
 		        typesAsString(genericTypeArguments, true) },
+		severity,
 		typeArguments[0].sourceStart,
 		typeArguments[typeArguments.length-1].sourceEnd);
 }
 public void unqualifiedFieldAccess(NameReference reference, FieldBinding field) {
+	int severity = computeSeverity(IProblem.UnqualifiedFieldAccess);
+	if (severity == ProblemSeverities.Ignore) return;
 	int sourceStart = reference.sourceStart;
 	int sourceEnd = reference.sourceEnd;
 	if (reference instanceof SingleNameReference) {
@@ -9209,6 +9258,7 @@ public void unqualifiedFieldAccess(NameReference reference, FieldBinding field)
 		IProblem.UnqualifiedFieldAccess,
 		new String[] {new String(field.declaringClass.readableName()), new String(field.name)},
 		new String[] {new String(field.declaringClass.shortReadableName()), new String(field.name)},
+		severity,
 		sourceStart,
 		sourceEnd);
 }
@@ -10056,11 +10106,14 @@ public void safeVarargsOnNonFinalInstanceMethod(MethodBinding method) {
 		method.sourceEnd());
 }
 public void possibleHeapPollutionFromVararg(AbstractVariableDeclaration vararg) {
+	int severity = computeSeverity(IProblem.PotentialHeapPollutionFromVararg);
+	if (severity == ProblemSeverities.Ignore) return;
 	String[] arguments = new String[] {new String(vararg.name)};
 	this.handle(
 		IProblem.PotentialHeapPollutionFromVararg,
 		arguments,
 		arguments,
+		severity,
 		vararg.sourceStart,
 		vararg.sourceEnd);
 }
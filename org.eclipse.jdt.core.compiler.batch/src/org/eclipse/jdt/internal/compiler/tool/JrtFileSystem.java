@@ -60,12 +60,19 @@ public class JrtFileSystem extends Archive {
 			return;
 		}
 
+		List<String> knownModules = JRTUtil.getJrtSystem(this.file, null).getKnownModules();
+		if (knownModules != null) {
+			for (String module : knownModules)
+				this.modulePathMap.put(module, this.modules.resolve(module));
+			return;
+		}
 		org.eclipse.jdt.internal.compiler.util.JRTUtil.walkModuleImage(this.file,
 				new org.eclipse.jdt.internal.compiler.util.JRTUtil.JrtFileVisitor<Path>() {
 			@Override
 			public FileVisitResult visitModule(Path path, String name) throws IOException {
 				JrtFileSystem.this.modulePathMap.put(name, path);
-				return FileVisitResult.CONTINUE;
+				// only modules are of interest
+				return FileVisitResult.SKIP_SUBTREE;
 			}
 		}, JRTUtil.NOTIFY_MODULES);
 	}
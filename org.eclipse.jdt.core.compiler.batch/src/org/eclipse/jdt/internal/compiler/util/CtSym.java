@@ -330,9 +330,23 @@ public class CtSym {
 	 * javax/net/ssl/SSLSocketFactory.sig -> /89ABC/java.base/javax/net/ssl/SSLSocketFactory.sig
 	 * <p>
 	 * before 12: javax/net/ssl/SSLSocketFactory.sig -> /89ABC/java.base/javax/net/ssl/SSLSocketFactory.sig
+	 * <p>
+	 * If JDK image snapshots are enabled (see {@link JrtSnapshot}), the paths are only collected once per ct.sym file
+	 * and release.
 	 */
 	private Map<String, Path> getCachedReleasePaths(String releaseCode) {
 		Map<String, Path> result = this.allReleasesPaths.computeIfAbsent(releaseCode, x -> {
+			String snapshotKey = JrtSnapshot.imageKey(this.ctSymFile, releaseCode);
+			Path snapshotFile = JrtSnapshot.getFile("ctsym", snapshotKey); //$NON-NLS-1$
+			JrtSnapshot snapshot = JrtSnapshot.load(snapshotFile, snapshotKey);
+			String[] snapshotPaths = snapshot == null ? null : snapshot.getIndex().get(releaseCode);
+			if (snapshotPaths != null) {
+				// pairs of keys and paths, see below
+				Map<String, Path> allReleaseFiles = new HashMap<>(snapshotPaths.length);
+				for (int i = 0; i + 1 < snapshotPaths.length; i += 2)
+					allReleaseFiles.put(snapshotPaths[i], this.fs.getPath(snapshotPaths[i + 1]));
+				return Collections.unmodifiableMap(allReleaseFiles);
+			}
 			List<Path> roots = releaseRoots(releaseCode);
 			Map<String, Path> allReleaseFiles = new HashMap<>(4999);
 			for (Path start : roots) {
@@ -362,6 +376,14 @@ public class CtSym {
 					}
 				}
 			}
+			if (snapshotFile != null) {
+				List<String> paths = new ArrayList<>(allReleaseFiles.size() * 2);
+				for (Map.Entry<String, Path> entry : allReleaseFiles.entrySet()) {
+					paths.add(entry.getKey());
+					paths.add(entry.getValue().toString());
+				}
+				JrtSnapshot.write(snapshotFile, snapshotKey, Map.of(releaseCode, paths.toArray(new String[0])), null, null);
+			}
 			return Collections.unmodifiableMap(allReleaseFiles);
 		});
 		return result;
@@ -36,6 +36,11 @@ public class JRTUtil {
 
 	public static final boolean DISABLE_CACHE = Boolean.getBoolean("org.eclipse.jdt.disable_JRT_cache"); //$NON-NLS-1$
 	public static final boolean PROPAGATE_IO_ERRORS = Boolean.getBoolean("org.eclipse.jdt.propagate_io_errors"); //$NON-NLS-1$
+	/**
+	 * Directory where snapshots of the JDK images are persisted (see {@link JrtSnapshot}), or <code>null</code> if
+	 * images are walked by each compiler run.
+	 */
+	static Path SNAPSHOT_DIRECTORY = getSnapshotDirectory();
 
 	public static final String JAVA_BASE = "java.base"; //$NON-NLS-1$
 	public static final char[] JAVA_BASE_CHAR = JAVA_BASE.toCharArray();
@@ -197,11 +202,23 @@ public class JRTUtil {
 		return ctSym;
 	}
 
-	/** TEST ONLY (use when changing the "modules.to.load" property). */
+	/** TEST ONLY (use when changing the "modules.to.load" or "org.eclipse.jdt.JRT_snapshot_directory" property). */
 	public static void reset() {
 		images.clear();
 		classCache.clear();
 		MODULE_TO_LOAD = System.getProperty("modules.to.load"); //$NON-NLS-1$
+		SNAPSHOT_DIRECTORY = getSnapshotDirectory();
+	}
+
+	private static Path getSnapshotDirectory() {
+		String directory = System.getProperty("org.eclipse.jdt.JRT_snapshot_directory"); //$NON-NLS-1$
+		if (directory == null || directory.isEmpty())
+			return null;
+		try {
+			return Paths.get(directory).toAbsolutePath();
+		} catch (InvalidPathException e) {
+			return null;
+		}
 	}
 
 	/**
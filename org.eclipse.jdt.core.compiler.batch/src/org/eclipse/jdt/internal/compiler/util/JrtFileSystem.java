@@ -16,6 +16,8 @@ package org.eclipse.jdt.internal.compiler.util;
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
 import java.nio.file.DirectoryStream;
 import java.nio.file.FileSystem;
 import java.nio.file.FileVisitResult;
@@ -24,10 +26,13 @@ import java.nio.file.Path;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
@@ -39,11 +44,28 @@ public class JrtFileSystem {
 
 	private final Map<String, List<String>> packageToModules = new HashMap<>();
 
+	private static final String SNAPSHOT_MODULES = "modules"; //$NON-NLS-1$
+	private static final String SNAPSHOT_PACKAGE = "package:"; //$NON-NLS-1$
+	private static final String SNAPSHOT_FILES = "files:"; //$NON-NLS-1$
+
 	FileSystem fs;
-	final Path modRoot;
+	Path modRoot;
 	final Jdk jdk;
 	final String release;
 
+	/*
+	 * When snapshots are enabled (see JrtSnapshot), the modules, the modules of each package and the class files of
+	 * each package of each module ("module/package") are known from the snapshot index, and the jrt file system is
+	 * only opened to read class files which are not yet in the snapshot. These are added to the snapshot when it is
+	 * saved.
+	 */
+	private Path snapshotFile;
+	private String snapshotKey;
+	private Map<String, String[]> snapshotIndex;
+	private volatile JrtSnapshot snapshot;
+	private final Map<String, byte[]> snapshotAdditions = new ConcurrentHashMap<>();
+	private boolean snapshotOutdated;
+
 	public static JrtFileSystem getNewJrtFileSystem(Jdk jdk, String release) throws IOException {
 		if (release == null || jdk.sameRelease(release)) {
 			return new JrtFileSystem(jdk, null);
@@ -60,10 +82,127 @@ public class JrtFileSystem {
 		this.jdk = jdkHome;
 		this.release = release;
 		JRTUtil.MODULE_TO_LOAD = System.getProperty("modules.to.load"); //$NON-NLS-1$
+		if (release == null) {
+			this.snapshotKey = JrtSnapshot.imageKey(this.jdk.path.resolve("lib").resolve("modules"), this.jdk.release); //$NON-NLS-1$ //$NON-NLS-2$
+			this.snapshotFile = JrtSnapshot.getFile("jrt", this.snapshotKey); //$NON-NLS-1$
+			if (this.snapshotFile != null && loadSnapshot())
+				return;
+		}
 		this.fs = JRTUtil.getJrtFileSystem(this.jdk.path);
 		this.modRoot = this.fs.getPath(JRTUtil.MODULES_SUBDIR);
 		// Set up the root directory where modules are located
 		walkJrtForModules();
+		if (this.snapshotFile != null)
+			indexModuleImage();
+	}
+
+	private boolean loadSnapshot() {
+		JrtSnapshot loaded = JrtSnapshot.load(this.snapshotFile, this.snapshotKey);
+		if (loaded == null)
+			return false;
+		Map<String, String[]> index = loaded.getIndex();
+		if (index.get(SNAPSHOT_MODULES) == null)
+			return false;
+		for (Map.Entry<String, String[]> entry : index.entrySet()) {
+			String name = entry.getKey();
+			if (!name.startsWith(SNAPSHOT_PACKAGE))
+				continue;
+			String packageName = name.substring(SNAPSHOT_PACKAGE.length()).intern();
+			String[] modules = entry.getValue();
+			if (modules.length == 1) {
+				this.packageToModule.put(packageName, modules[0]);
+			} else {
+				this.packageToModules.put(packageName, new ArrayList<>(Arrays.asList(modules)));
+				this.packageToModule.put(packageName, JRTUtil.MULTIPLE);
+			}
+		}
+		this.snapshotIndex = index;
+		this.snapshot = loaded;
+		return true;
+	}
+
+	/*
+	 * Records the packages found by walkJrtForModules(), and the modules and class files of the image, in a new
+	 * snapshot index, before walkModuleImage() adds default packages to the package cache.
+	 */
+	private void indexModuleImage() throws IOException {
+		Map<String, String[]> index = new LinkedHashMap<>();
+		for (Map.Entry<String, String> entry : this.packageToModule.entrySet()) {
+			String module = entry.getValue();
+			index.put(SNAPSHOT_PACKAGE + entry.getKey(), module == JRTUtil.MULTIPLE
+					? this.packageToModules.get(entry.getKey()).toArray(new String[0]) : new String[] { module });
+		}
+		List<String> modules = new ArrayList<>();
+		Map<String, List<String>> files = new HashMap<>();
+		Files.walkFileTree(this.modRoot, new SimpleFileVisitor<>() {
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+				if (dir.getNameCount() == 2)
+					modules.add(JRTUtil.sanitizedFileName(dir.getName(1)));
+				return FileVisitResult.CONTINUE;
+			}
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+				String fileName = file.getFileName().toString();
+				if (fileName.endsWith(SuffixConstants.SUFFIX_STRING_class)) {
+					int count = file.getNameCount();
+					String packageName = count == 3 ? JRTUtil.DEFAULT_PACKAGE : file.subpath(2, count - 1).toString();
+					files.computeIfAbsent(file.getName(1) + "/" + packageName, k -> new ArrayList<>()).add(fileName); //$NON-NLS-1$
+				}
+				return FileVisitResult.CONTINUE;
+			}
+		});
+		index.put(SNAPSHOT_MODULES, modules.toArray(new String[0]));
+		for (Map.Entry<String, List<String>> entry : files.entrySet()) {
+			String[] names = entry.getValue().toArray(new String[0]);
+			Arrays.sort(names);
+			index.put(SNAPSHOT_FILES + entry.getKey(), names);
+		}
+		this.snapshotIndex = index;
+		this.snapshotOutdated = true;
+	}
+
+	/**
+	 * Persists the snapshot of this image if it has changed since it was loaded, e.g. because class files were read
+	 * which were not yet in it. Does nothing if snapshots are disabled (see
+	 * <code>org.eclipse.jdt.JRT_snapshot_directory</code>).
+	 */
+	public synchronized void saveSnapshot() {
+		if (this.snapshotIndex == null || (!this.snapshotOutdated && this.snapshotAdditions.isEmpty()))
+			return;
+		Map<String, byte[]> additions = new HashMap<>(this.snapshotAdditions);
+		JrtSnapshot written = JrtSnapshot.write(this.snapshotFile, this.snapshotKey, this.snapshotIndex, this.snapshot, additions);
+		if (written != null) {
+			this.snapshot = written;
+			this.snapshotAdditions.keySet().removeAll(additions.keySet());
+			this.snapshotOutdated = false;
+		}
+	}
+
+	/**
+	 * Answers the names of the modules of the image if they are known without walking it (see
+	 * {@link #saveSnapshot()}), <code>null</code> otherwise.
+	 */
+	public List<String> getKnownModules() {
+		if (this.snapshotIndex == null)
+			return null;
+		List<String> modules = new ArrayList<>();
+		for (String module : this.snapshotIndex.get(SNAPSHOT_MODULES)) {
+			if (JRTUtil.MODULE_TO_LOAD != null && JRTUtil.MODULE_TO_LOAD.length() > 0
+					&& JRTUtil.MODULE_TO_LOAD.indexOf(module) == -1) {
+				continue;
+			}
+			modules.add(module);
+		}
+		return modules;
+	}
+
+	private synchronized FileSystem getFileSystem() throws IOException {
+		if (this.fs == null && this.snapshotIndex != null) {
+			this.fs = JRTUtil.getJrtFileSystem(this.jdk.path);
+			this.modRoot = this.fs.getPath(JRTUtil.MODULES_SUBDIR);
+		}
+		return this.fs;
 	}
 
 	public List<String> getModulesDeclaringPackage(String qualifiedPackageName, String moduleName) {
@@ -118,6 +257,10 @@ public class JrtFileSystem {
 		String knownModule = this.packageToModule.get(qualifiedPackageName);
 		if (knownModule == null || (knownModule != JRTUtil.MULTIPLE && !knownModule.equals(module)))
 			return false;
+		if (this.snapshotIndex != null) {
+			String[] files = this.snapshotIndex.get(SNAPSHOT_FILES + module + '/' + qualifiedPackageName);
+			return files != null && files.length > 0;
+		}
 		Path packagePath = this.fs.getPath(JRTUtil.MODULES_SUBDIR, module, qualifiedPackageName);
 		if (!Files.exists(packagePath))
 			return false;
@@ -181,7 +324,33 @@ public class JrtFileSystem {
 	}
 
 	private byte[] getFileBytes(String fileName, String module) throws IOException {
-		Path path = this.fs.getPath(JRTUtil.MODULES_SUBDIR, module, fileName);
+		if (this.snapshotIndex != null && fileName.endsWith(SuffixConstants.SUFFIX_STRING_class))
+			return getSnapshotBytes(fileName, module);
+		return readFileBytes(fileName, module);
+	}
+
+	private byte[] getSnapshotBytes(String fileName, String module) throws IOException {
+		int idx = fileName.lastIndexOf('/');
+		String pack = idx == -1 ? JRTUtil.DEFAULT_PACKAGE : fileName.substring(0, idx);
+		String[] files = this.snapshotIndex.get(SNAPSHOT_FILES + module + '/' + pack);
+		if (files == null || Arrays.binarySearch(files, fileName.substring(idx + 1)) < 0)
+			return null;
+		String entry = module + '/' + fileName;
+		JrtSnapshot current = this.snapshot;
+		byte[] bytes = current == null ? null : current.getBytes(entry);
+		if (bytes == null) {
+			bytes = this.snapshotAdditions.get(entry);
+			if (bytes == null) {
+				bytes = readFileBytes(fileName, module);
+				if (bytes != null)
+					this.snapshotAdditions.put(entry, bytes);
+			}
+		}
+		return bytes;
+	}
+
+	private byte[] readFileBytes(String fileName, String module) throws IOException {
+		Path path = getFileSystem().getPath(JRTUtil.MODULES_SUBDIR, module, fileName);
 		if(JRTUtil.DISABLE_CACHE) {
 			return JRTUtil.safeReadBytes(path);
 		} else {
@@ -190,21 +359,27 @@ public class JrtFileSystem {
 	}
 
 	ClassFileReader getClassfileFromModule(String fileName, String module) throws IOException, ClassFormatException {
-		Path path = this.fs.getPath(JRTUtil.MODULES_SUBDIR, module, fileName);
-		byte[] content = null;
-		if(JRTUtil.DISABLE_CACHE) {
-			content = JRTUtil.safeReadBytes(path);
-		} else {
-			content = JRTUtil.classCache.getClassBytes(this.jdk, path);
-		}
+		byte[] content = getFileBytes(fileName, module);
 		if (content != null) {
-			ClassFileReader reader = new ClassFileReader(path.toUri(), content, fileName.toCharArray());
+			ClassFileReader reader = new ClassFileReader(toUri(fileName, module), content, fileName.toCharArray());
 			reader.moduleName = module.toCharArray();
 			return reader;
 		} else {
 			return null;
 		}
 	}
+	private URI toUri(String fileName, String module) throws IOException {
+		if (this.fs == null) {
+			// same as the URI of the jrt path, without opening the jrt file system
+			try {
+				return new URI("jrt", null, '/' + module + '/' + fileName, null); //$NON-NLS-1$
+			} catch (URISyntaxException e) {
+				throw new IOException(e);
+			}
+		}
+		return this.fs.getPath(JRTUtil.MODULES_SUBDIR, module, fileName).toUri();
+	}
+
 	public ClassFileReader getClassfile(String fileName, String module, Predicate<String> moduleNameFilter) throws IOException, ClassFormatException {
 		ClassFileReader reader = null;
 		if (module == null) {
@@ -247,6 +422,7 @@ public class JrtFileSystem {
 	}
 
 	void walkModuleImage(final JRTUtil.JrtFileVisitor<Path> visitor, final int notify) throws IOException {
+		getFileSystem();
 		Files.walkFileTree(this.modRoot, new SimpleFileVisitor<>() {
 			@Override
 			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
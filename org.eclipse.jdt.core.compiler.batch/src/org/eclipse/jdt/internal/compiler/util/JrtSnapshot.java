@@ -0,0 +1,236 @@
+package org.eclipse.jdt.internal.compiler.util;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A snapshot of what the compiler needs to know about a JDK image (the jrt file system or ct.sym), persisted in the
+ * directory given by the <code>org.eclipse.jdt.JRT_snapshot_directory</code> system property so that later compiler
+ * runs against the same image do not need to walk it again.
+ * <p>
+ * A snapshot consists of an index, mapping names to string arrays, and of named byte entries (e.g. class files),
+ * which are stored after the index and memory mapped when the snapshot is loaded. The snapshot is identified by a key
+ * which includes the size and time stamp of the image (see {@link #imageKey(Path, String)}), and is ignored when its
+ * key does not match.
+ * </p>
+ * <p>
+ * Snapshots are only an optimization: they are written to a temporary file which then replaces the previous
+ * snapshot, and any I/O error when reading or writing them is ignored.
+ * </p>
+ */
+final class JrtSnapshot {
+
+	private static final int MAGIC = 0x4A445453; // "JDTS"
+	private static final int VERSION = 1;
+
+	private final Map<String, String[]> index;
+	private final Map<String, int[]> entries; // name -> offset and length in data
+	private final ByteBuffer data;
+
+	private JrtSnapshot(Map<String, String[]> index, Map<String, int[]> entries, ByteBuffer data) {
+		this.index = index;
+		this.entries = entries;
+		this.data = data;
+	}
+
+	/**
+	 * Answers the file of the snapshot of the given kind (e.g. "jrt") for the given key, or <code>null</code> if
+	 * snapshots are disabled or the key is <code>null</code>.
+	 */
+	static Path getFile(String kind, String key) {
+		Path directory = JRTUtil.SNAPSHOT_DIRECTORY;
+		if (directory == null || key == null)
+			return null;
+		return directory.resolve(kind + '-' + Integer.toHexString(key.hashCode()) + ".snapshot"); //$NON-NLS-1$
+	}
+
+	/**
+	 * Answers a key identifying the current content of the given image file, or <code>null</code> if it cannot be
+	 * read.
+	 */
+	static String imageKey(Path image, String qualifier) {
+		try {
+			BasicFileAttributes attributes = Files.readAttributes(image, BasicFileAttributes.class);
+			return image.toAbsolutePath().normalize() + "|" + attributes.size() + "|" //$NON-NLS-1$ //$NON-NLS-2$
+					+ attributes.lastModifiedTime().toMillis() + "|" + qualifier; //$NON-NLS-1$
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Loads the snapshot in the given file, answering <code>null</code> if there is none, if it is unreadable or if
+	 * it was written for another key.
+	 */
+	static JrtSnapshot load(Path file, String key) {
+		if (file == null || !Files.isRegularFile(file))
+			return null;
+		try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+			ByteBuffer header = ByteBuffer.allocate(12);
+			while (header.hasRemaining()) {
+				if (channel.read(header) < 0)
+					return null;
+			}
+			header.flip();
+			if (header.getInt() != MAGIC || header.getInt() != VERSION)
+				return null;
+			int indexLength = header.getInt();
+			if (indexLength < 0 || 12L + indexLength > channel.size())
+				return null;
+			ByteBuffer indexBytes = ByteBuffer.allocate(indexLength);
+			while (indexBytes.hasRemaining()) {
+				if (channel.read(indexBytes) < 0)
+					return null;
+			}
+			DataInputStream input = new DataInputStream(new ByteArrayInputStream(indexBytes.array()));
+			if (!key.equals(input.readUTF()))
+				return null;
+			int indexSize = input.readInt();
+			Map<String, String[]> index = new HashMap<>(indexSize * 4 / 3 + 1);
+			for (int i = 0; i < indexSize; i++) {
+				String name = input.readUTF();
+				String[] values = new String[input.readInt()];
+				for (int j = 0; j < values.length; j++)
+					values[j] = input.readUTF().intern();
+				index.put(name, values);
+			}
+			int entryCount = input.readInt();
+			Map<String, int[]> entries = new HashMap<>(entryCount * 4 / 3 + 1);
+			long offset = 0;
+			for (int i = 0; i < entryCount; i++) {
+				String name = input.readUTF();
+				int length = input.readInt();
+				entries.put(name, new int[] { (int) offset, length });
+				offset += length;
+			}
+			long dataStart = 12L + indexLength;
+			if (dataStart + offset != channel.size() || offset > Integer.MAX_VALUE)
+				return null;
+			ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, dataStart, offset);
+			return new JrtSnapshot(Collections.unmodifiableMap(index), entries, data);
+		} catch (IOException | RuntimeException e) {
+			// unusable snapshot, the image will be walked again
+			return null;
+		}
+	}
+
+	/**
+	 * Writes a snapshot with the given index and with the entries of the given previous snapshot (if any) and the
+	 * given additional entries, answering the written snapshot or <code>null</code> if it could not be written.
+	 */
+	static JrtSnapshot write(Path file, String key, Map<String, String[]> index, JrtSnapshot previous, Map<String, byte[]> additions) {
+		Map<String, byte[]> newEntries = new LinkedHashMap<>();
+		if (additions != null) {
+			for (Map.Entry<String, byte[]> addition : additions.entrySet()) {
+				if (previous == null || !previous.entries.containsKey(addition.getKey()))
+					newEntries.put(addition.getKey(), addition.getValue());
+			}
+		}
+		Path temporary = null;
+		try {
+			ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+			DataOutputStream output = new DataOutputStream(indexBytes);
+			output.writeUTF(key);
+			output.writeInt(index.size());
+			for (Map.Entry<String, String[]> entry : index.entrySet()) {
+				output.writeUTF(entry.getKey());
+				output.writeInt(entry.getValue().length);
+				for (String value : entry.getValue())
+					output.writeUTF(value);
+			}
+			List<Map.Entry<String, int[]>> previousEntries = previous == null ? Collections.emptyList() : previous.sortedEntries();
+			output.writeInt(previousEntries.size() + newEntries.size());
+			for (Map.Entry<String, int[]> entry : previousEntries) {
+				output.writeUTF(entry.getKey());
+				output.writeInt(entry.getValue()[1]);
+			}
+			for (Map.Entry<String, byte[]> entry : newEntries.entrySet()) {
+				output.writeUTF(entry.getKey());
+				output.writeInt(entry.getValue().length);
+			}
+			output.flush();
+
+			Files.createDirectories(file.getParent());
+			temporary = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp"); //$NON-NLS-1$
+			try (OutputStream stream = Files.newOutputStream(temporary);
+					DataOutputStream fileOutput = new DataOutputStream(new BufferedOutputStream(stream, 1 << 16))) {
+				fileOutput.writeInt(MAGIC);
+				fileOutput.writeInt(VERSION);
+				fileOutput.writeInt(indexBytes.size());
+				indexBytes.writeTo(fileOutput);
+				for (Map.Entry<String, int[]> entry : previousEntries)
+					fileOutput.write(previous.getBytes(entry.getValue()));
+				for (byte[] bytes : newEntries.values())
+					fileOutput.write(bytes);
+			}
+			try {
+				Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+			}
+			temporary = null;
+		} catch (IOException | RuntimeException e) {
+			// snapshots are optional, e.g. the directory may not be writable or the file may be in use
+			return null;
+		} finally {
+			if (temporary != null) {
+				try {
+					Files.deleteIfExists(temporary);
+				} catch (IOException e) {
+					// ignore
+				}
+			}
+		}
+		return load(file, key);
+	}
+
+	private List<Map.Entry<String, int[]>> sortedEntries() {
+		// in data order, so that entries are copied in the order of their offsets
+		List<Map.Entry<String, int[]>> sorted = new ArrayList<>(this.entries.entrySet());
+		sorted.sort((e1, e2) -> Integer.compare(e1.getValue()[0], e2.getValue()[0]));
+		return sorted;
+	}
+
+	/**
+	 * Answers the (unmodifiable) index of the snapshot.
+	 */
+	Map<String, String[]> getIndex() {
+		return this.index;
+	}
+
+	/**
+	 * Answers a copy of the bytes of the entry with the given name, or <code>null</code> if the snapshot has no
+	 * such entry.
+	 */
+	byte[] getBytes(String name) {
+		int[] entry = this.entries.get(name);
+		return entry == null ? null : getBytes(entry);
+	}
+
+	private byte[] getBytes(int[] entry) {
+		byte[] bytes = new byte[entry[1]];
+		ByteBuffer buffer = this.data.duplicate();
+		buffer.position(entry[0]);
+		buffer.get(bytes);
+		return bytes;
+	}
+}
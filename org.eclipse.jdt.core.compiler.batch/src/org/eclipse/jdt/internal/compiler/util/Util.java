@@ -22,6 +22,10 @@ import java.io.StringWriter;
 import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -392,7 +396,12 @@ public class Util implements SuffixConstants {
 	 * @throws IOException if a problem occured reading the file.
 	 */
 	public static char[] getFileCharContent(File file, String encoding) throws IOException {
-		return org.eclipse.jdt.internal.compiler.util.Util.getBytesAsCharArray(Files.readAllBytes(file.toPath()), encoding);
+		Charset charset = getCharset(encoding);
+		if (!charset.equals(StandardCharsets.UTF_8) && !charset.equals(StandardCharsets.US_ASCII)) {
+			return org.eclipse.jdt.internal.compiler.util.Util.getBytesAsCharArray(Files.readAllBytes(file.toPath()), encoding);
+		}
+		// not mapped: a mapped file stays locked on Windows until the buffer is collected
+		return decodeBulk(Files.readAllBytes(file.toPath()), charset);
 	}
 	private static File getFile(boolean generatePackagesStructure, String outputPath, String relativeFileName) throws IOException {
 		if (generatePackagesStructure) {
@@ -463,13 +472,7 @@ public class Util implements SuffixConstants {
 	}
 
 	public static char[] getBytesAsCharArray(byte[] byteContents, String encoding) {
-		Charset charset;
-		try {
-			charset = Charset.forName(encoding);
-		} catch (IllegalArgumentException e) {
-			// encoding is not supported
-			charset = Charset.defaultCharset();
-		}
+		Charset charset = getCharset(encoding);
 
 		// check for BOM in encoded byte content
 		// (instead of after decoding to avoid array copy after decoding):
@@ -491,7 +494,55 @@ public class Util implements SuffixConstants {
 	 **/
 	private static char[] decode(byte[] srcBytes, int start, int length, Charset charset) {
 		ByteBuffer srcBuffer = ByteBuffer.wrap(srcBytes, start, length);
-		CharBuffer destBuffer = charset.decode(srcBuffer);
+		return toCharArray(charset.decode(srcBuffer));
+	}
+
+	private static Charset getCharset(String encoding) {
+		try {
+			return Charset.forName(encoding);
+		} catch (IllegalArgumentException e) {
+			// encoding is not supported
+			return Charset.defaultCharset();
+		}
+	}
+
+	/**
+	 * Decodes UTF-8 or US-ASCII content straight into the returned array, equivalent to
+	 * {@link #getBytesAsCharArray(byte[], String)}. Neither charset decodes a byte into more than one char, so the
+	 * array is sized by the byte count and plain ASCII, the common case for sources, is widened without a decoder.
+	 */
+	private static char[] decodeBulk(byte[] bytes, Charset charset) {
+		int start = 0;
+		byte[] bom = bomByEncoding.get(charset.name());
+		if (bom != null && startsWith(bytes, bom)) {
+			start = bom.length; // skip BOM
+		}
+		int length = bytes.length - start;
+		char[] dst = new char[length];
+		int chars = 0;
+		while (chars < length && bytes[start + chars] >= 0) {
+			dst[chars] = (char) bytes[start + chars];
+			chars++;
+		}
+		if (chars < length) {
+			// same replacement of malformed input as Charset#decode(ByteBuffer)
+			CharsetDecoder decoder = charset.newDecoder()
+					.onMalformedInput(CodingErrorAction.REPLACE)
+					.onUnmappableCharacter(CodingErrorAction.REPLACE);
+			ByteBuffer src = ByteBuffer.wrap(bytes, start + chars, length - chars);
+			CharBuffer destBuffer = CharBuffer.wrap(dst, chars, length - chars);
+			CoderResult result = decoder.decode(src, destBuffer, true);
+			if (result.isUnderflow())
+				result = decoder.flush(destBuffer);
+			if (!result.isUnderflow()) {
+				return decode(bytes, start, length, charset);
+			}
+			chars = destBuffer.position();
+		}
+		return chars == length ? dst : Arrays.copyOf(dst, chars);
+	}
+
+	private static char[] toCharArray(CharBuffer destBuffer) {
 		char[] dst = destBuffer.array();
 		int chars = destBuffer.remaining();
 		if (chars != dst.length) {
@@ -0,0 +1,151 @@
+package org.eclipse.jdt.core.tests.benchmarks;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.eclipse.jdt.internal.compiler.ClassFile;
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.Compiler;
+import org.eclipse.jdt.internal.compiler.ICompilerRequestor;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem;
+import org.eclipse.jdt.internal.compiler.batch.Main;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compiles a single MaxJ kernel whose method declares thousands of locals, as generated code for large designs
+ * does.
+ * <p>
+ * Every local is a <code>Var</code>. Every eighth local is followed by an <code>if</code>/<code>else</code>
+ * comparing locals to <code>null</code> and assigning them through overloaded operators. Every branch copies
+ * and merges the flow info of all locals. The name references in the branches look up locals in a scope holding
+ * thousands of them. The method stays below the 64KB code size limit up to 4000 locals.
+ * </p>
+ * The resolve and analyze throughput reported through {@link PhaseCounters} should not drop as the number of
+ * locals grows.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xss16m", "-Xmx2g" }) //$NON-NLS-1$ //$NON-NLS-2$
+public class HugeMethodBenchmark {
+
+	private static final int LOCALS_PER_BRANCH = 8;
+
+	@Param({ "500", "2000", "4000" })
+	public int locals;
+
+	private Path sourceRoot;
+	private Path outputDirectory;
+	private Map<String, String> sources;
+	private Main configuredMain;
+
+	/**
+	 * Answers the source of a kernel with one method declaring the given number of locals.
+	 */
+	public static String hugeKernel(int localCount) {
+		StringBuilder buffer = new StringBuilder();
+		buffer.append("package ").append(MaxjSourceGenerator.PACKAGE).append(";\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append("public class HugeKernel extends KernelBase {\n"); //$NON-NLS-1$
+		buffer.append("\tpublic Var define(Var x, Var o, int k) {\n"); //$NON-NLS-1$
+		for (int i = 0; i < localCount; i++) {
+			buffer.append("\t\tVar v").append(i).append(i == 0 ? " = x;\n" : " = v" + (i - 1) + ";\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			if (i % LOCALS_PER_BRANCH == LOCALS_PER_BRANCH - 1) {
+				int other = (i * 7) % (i + 1);
+				buffer.append("\t\tif (k > ").append(i).append(") {\n"); //$NON-NLS-1$ //$NON-NLS-2$
+				buffer.append("\t\t\tv").append(i).append(" = v").append(other).append(" + o;\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				buffer.append("\t\t} else if (v").append(other).append(" == null) {\n"); //$NON-NLS-1$ //$NON-NLS-2$
+				buffer.append("\t\t\tv").append(other).append(" = x * v").append(i).append(";\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				buffer.append("\t\t}\n"); //$NON-NLS-1$
+			}
+		}
+		buffer.append("\t\treturn v").append(localCount - 1).append(";\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append("\t}\n"); //$NON-NLS-1$
+		buffer.append("}\n"); //$NON-NLS-1$
+		return buffer.toString();
+	}
+
+	@Setup(Level.Trial)
+	public void generate() throws IOException {
+		this.sources = MaxjSourceGenerator.library();
+		this.sources.put(MaxjSourceGenerator.PACKAGE + "/HugeKernel.maxj", hugeKernel(this.locals)); //$NON-NLS-1$
+		this.sourceRoot = Files.createTempDirectory("maxj-benchmark-src"); //$NON-NLS-1$
+		this.outputDirectory = Files.createTempDirectory("maxj-benchmark-bin"); //$NON-NLS-1$
+		for (Map.Entry<String, String> entry : this.sources.entrySet()) {
+			Path file = this.sourceRoot.resolve(entry.getKey());
+			Files.createDirectories(file.getParent());
+			Files.write(file, entry.getValue().getBytes(StandardCharsets.UTF_8));
+		}
+		String[] batchArguments = {
+			"-17", //$NON-NLS-1$
+			"-nowarn", //$NON-NLS-1$
+			"-d", this.outputDirectory.toString(), //$NON-NLS-1$
+			this.sourceRoot.toString()
+		};
+
+		// the generated kernel must compile cleanly, in particular it must not exceed the code size limit
+		StringWriter errors = new StringWriter();
+		Main main = new Main(new PrintWriter(Writer.nullWriter()), new PrintWriter(errors), false, null, null);
+		if (!main.compile(batchArguments))
+			throw new IllegalStateException("Generated sources do not compile:\n" + errors); //$NON-NLS-1$
+
+		this.configuredMain = new Main(new PrintWriter(Writer.nullWriter()), new PrintWriter(Writer.nullWriter()), false, null, null);
+		this.configuredMain.configure(batchArguments);
+	}
+
+	@TearDown(Level.Trial)
+	public void delete() throws IOException {
+		delete(this.sourceRoot);
+		delete(this.outputDirectory);
+	}
+
+	private static void delete(Path root) throws IOException {
+		try (Stream<Path> files = Files.walk(root)) {
+			for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator)
+				Files.delete(file);
+		}
+	}
+
+	@Benchmark
+	public void compiler(PhaseCounters counters, final Blackhole blackhole) {
+		ICompilerRequestor requestor = new ICompilerRequestor() {
+			@Override
+			public void acceptResult(CompilationResult result) {
+				for (ClassFile classFile : result.getClassFiles())
+					blackhole.consume(classFile.getBytes());
+			}
+		};
+		Main main = this.configuredMain;
+		FileSystem environment = main.getLibraryAccess();
+		try {
+			Compiler compiler = new Compiler(environment, main.getHandlingPolicy(), new CompilerOptions(main.options), requestor, main.getProblemFactory());
+			compiler.compile(MaxjCompilationBenchmark.compilationUnits(this.sources));
+			counters.record(compiler.stats);
+		} finally {
+			environment.cleanup();
+		}
+	}
+}
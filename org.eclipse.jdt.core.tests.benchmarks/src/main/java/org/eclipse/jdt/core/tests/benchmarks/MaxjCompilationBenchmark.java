@@ -0,0 +1,151 @@
+package org.eclipse.jdt.core.tests.benchmarks;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.eclipse.jdt.internal.compiler.ClassFile;
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.Compiler;
+import org.eclipse.jdt.internal.compiler.ICompilerRequestor;
+import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem;
+import org.eclipse.jdt.internal.compiler.batch.Main;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compiles a synthetic MaxJ project (see {@link MaxjSourceGenerator}) in-process.
+ * <ul>
+ * <li>{@link #batchCompiler(PhaseCounters)} runs {@link Main} end to end, including reading the sources and
+ * writing the class files,</li>
+ * <li>{@link #compiler(PhaseCounters, Blackhole)} drives {@link Compiler} directly on in-memory compilation
+ * units and discards the class files, which isolates the parse, resolve, analyze and generate phases.</li>
+ * </ul>
+ * Both report the compiler's own per-phase timings through {@link PhaseCounters}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xss4m", "-Xmx2g" }) //$NON-NLS-1$ //$NON-NLS-2$
+public class MaxjCompilationBenchmark {
+
+	@Param({ "16" })
+	public int kernels;
+
+	@Param({ "8" })
+	public int methodsPerKernel;
+
+	@Param({ "20", "500" })
+	public int chainLength;
+
+	@Param({ "4" })
+	public int nestingDepth;
+
+	private Path sourceRoot;
+	private Path outputDirectory;
+	private String[] batchArguments;
+	private Map<String, String> sources;
+	private Main configuredMain;
+
+	@Setup(Level.Trial)
+	public void generate() throws IOException {
+		MaxjSourceGenerator generator = new MaxjSourceGenerator(this.kernels, this.methodsPerKernel, this.chainLength, this.nestingDepth);
+		this.sourceRoot = Files.createTempDirectory("maxj-benchmark-src"); //$NON-NLS-1$
+		this.outputDirectory = Files.createTempDirectory("maxj-benchmark-bin"); //$NON-NLS-1$
+		generator.writeTo(this.sourceRoot);
+		this.batchArguments = new String[] {
+			"-17", //$NON-NLS-1$
+			"-nowarn", //$NON-NLS-1$
+			"-d", this.outputDirectory.toString(), //$NON-NLS-1$
+			this.sourceRoot.toString()
+		};
+
+		this.sources = generator.generate();
+
+		// the generated project must compile cleanly, otherwise we would measure error reporting
+		StringWriter errors = new StringWriter();
+		Main main = new Main(new PrintWriter(Writer.nullWriter()), new PrintWriter(errors), false, null, null);
+		if (!main.compile(this.batchArguments))
+			throw new IllegalStateException("Generated sources do not compile:\n" + errors); //$NON-NLS-1$
+
+		this.configuredMain = new Main(new PrintWriter(Writer.nullWriter()), new PrintWriter(Writer.nullWriter()), false, null, null);
+		this.configuredMain.configure(this.batchArguments);
+	}
+
+	@TearDown(Level.Trial)
+	public void delete() throws IOException {
+		delete(this.sourceRoot);
+		delete(this.outputDirectory);
+	}
+
+	private static void delete(Path root) throws IOException {
+		try (Stream<Path> files = Files.walk(root)) {
+			for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator)
+				Files.delete(file);
+		}
+	}
+
+	/**
+	 * Answers new compilation units for the given sources. Units cannot be reused across compilations: they keep
+	 * the module binding of the first lookup environment they were compiled in.
+	 */
+	static ICompilationUnit[] compilationUnits(Map<String, String> sources) {
+		List<ICompilationUnit> units = new ArrayList<>(sources.size());
+		for (Map.Entry<String, String> entry : sources.entrySet())
+			units.add(new CompilationUnit(entry.getValue().toCharArray(), entry.getKey(), null));
+		return units.toArray(new ICompilationUnit[units.size()]);
+	}
+
+	@Benchmark
+	public boolean batchCompiler(PhaseCounters counters) {
+		Main main = new Main(new PrintWriter(Writer.nullWriter()), new PrintWriter(Writer.nullWriter()), false, null, null);
+		boolean succeeded = main.compile(this.batchArguments);
+		counters.record(main.batchCompiler.stats);
+		return succeeded;
+	}
+
+	@Benchmark
+	public void compiler(PhaseCounters counters, final Blackhole blackhole) {
+		ICompilerRequestor requestor = new ICompilerRequestor() {
+			@Override
+			public void acceptResult(CompilationResult result) {
+				for (ClassFile classFile : result.getClassFiles())
+					blackhole.consume(classFile.getBytes());
+			}
+		};
+		Main main = this.configuredMain;
+		FileSystem environment = main.getLibraryAccess();
+		try {
+			Compiler compiler = new Compiler(environment, main.getHandlingPolicy(), new CompilerOptions(main.options), requestor, main.getProblemFactory());
+			compiler.compile(compilationUnits(this.sources));
+			counters.record(compiler.stats);
+		} finally {
+			environment.cleanup();
+		}
+	}
+}
@@ -0,0 +1,191 @@
+package org.eclipse.jdt.core.tests.benchmarks;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Generates a synthetic MaxJ project exercising operator overloading.
+ * <p>
+ * The project consists of a small support library (<code>Var</code>, <code>Vector</code> and
+ * <code>KernelBase</code>, written as plain <code>.java</code> files) and a configurable number of
+ * <code>.maxj</code> kernels. Every kernel method contains
+ * </p>
+ * <ul>
+ * <li>two arithmetic chains of <code>chainLength</code> overloaded binary operators, one left-associative
+ * and one spread over all precedence levels,</li>
+ * <li>hardware <code>IF</code>/<code>ELSE</code> statements nested <code>nestingDepth</code> deep,
+ * each level containing a <code>SWITCH</code> with <code>CASE</code> and <code>OTHERWISE</code> labels,</li>
+ * <li><code>get</code>/<code>put</code> array overloads on both <code>Var</code> and <code>Vector</code>,</li>
+ * <li><code>&lt;==</code> connect assignments, and</li>
+ * <li>overloads with generic return types (<code>Var.cast</code>, <code>Vector.mul</code>).</li>
+ * </ul>
+ * The generated sources compile without problems.
+ */
+public class MaxjSourceGenerator {
+
+	public static final String PACKAGE = "bench"; //$NON-NLS-1$
+
+	private final int kernels;
+	private final int methodsPerKernel;
+	private final int chainLength;
+	private final int nestingDepth;
+
+	public MaxjSourceGenerator(int kernels, int methodsPerKernel, int chainLength, int nestingDepth) {
+		if (kernels < 1 || methodsPerKernel < 1 || chainLength < 1 || nestingDepth < 0)
+			throw new IllegalArgumentException();
+		this.kernels = kernels;
+		this.methodsPerKernel = methodsPerKernel;
+		this.chainLength = chainLength;
+		this.nestingDepth = nestingDepth;
+	}
+
+	/**
+	 * Answers the generated sources, keyed by their path relative to the source root.
+	 */
+	public Map<String, String> generate() {
+		Map<String, String> sources = library();
+		for (int i = 0; i < this.kernels; i++)
+			sources.put(PACKAGE + "/Kernel" + i + ".maxj", kernel(i)); //$NON-NLS-1$ //$NON-NLS-2$
+		return sources;
+	}
+
+	/**
+	 * Answers the support library the kernels are compiled against, keyed by path relative to the source root.
+	 */
+	public static Map<String, String> library() {
+		Map<String, String> sources = new LinkedHashMap<>();
+		sources.put(PACKAGE + "/Var.java", var()); //$NON-NLS-1$
+		sources.put(PACKAGE + "/Vector.java", vector()); //$NON-NLS-1$
+		sources.put(PACKAGE + "/KernelBase.java", kernelBase()); //$NON-NLS-1$
+		return sources;
+	}
+
+	/**
+	 * Writes the generated sources below the given source root.
+	 */
+	public void writeTo(Path sourceRoot) throws IOException {
+		for (Map.Entry<String, String> entry : generate().entrySet()) {
+			Path file = sourceRoot.resolve(entry.getKey());
+			Files.createDirectories(file.getParent());
+			Files.write(file, entry.getValue().getBytes(StandardCharsets.UTF_8));
+		}
+	}
+
+	private static String var() {
+		StringBuilder buffer = new StringBuilder();
+		buffer.append("package ").append(PACKAGE).append(";\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append("public class Var {\n"); //$NON-NLS-1$
+		for (String operator : new String[] { "add", "sub", "mul", "div", "and", "or", "xor", "gt", "lt", "eq" }) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$ //$NON-NLS-8$ //$NON-NLS-9$ //$NON-NLS-10$
+			buffer.append("\tpublic Var ").append(operator).append("(Var o) { return this; }\n"); //$NON-NLS-1$ //$NON-NLS-2$
+			buffer.append("\tpublic Var ").append(operator).append("(int o) { return this; }\n"); //$NON-NLS-1$ //$NON-NLS-2$
+			buffer.append("\tpublic Var ").append(operator).append("AsRHS(int o) { return this; }\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		}
+		buffer.append("\tpublic Var neg() { return this; }\n"); //$NON-NLS-1$
+		buffer.append("\tpublic Var get(int i) { return this; }\n"); //$NON-NLS-1$
+		buffer.append("\tpublic Var get(Var i) { return this; }\n"); //$NON-NLS-1$
+		buffer.append("\tpublic void put(int i, Var v) {}\n"); //$NON-NLS-1$
+		buffer.append("\tpublic void connect(Var v) {}\n"); //$NON-NLS-1$
+		buffer.append("\t@SuppressWarnings(\"unchecked\")\n"); //$NON-NLS-1$
+		buffer.append("\tpublic <T extends Var> T cast(T type) { return (T) this; }\n"); //$NON-NLS-1$
+		buffer.append("}\n"); //$NON-NLS-1$
+		return buffer.toString();
+	}
+
+	private static String vector() {
+		return "package " + PACKAGE + ";\n\n" + //$NON-NLS-1$ //$NON-NLS-2$
+			"public class Vector<T extends Var> {\n" + //$NON-NLS-1$
+			"\tprivate final T element;\n" + //$NON-NLS-1$
+			"\tpublic Vector(T element) { this.element = element; }\n" + //$NON-NLS-1$
+			"\tpublic T get(int i) { return this.element; }\n" + //$NON-NLS-1$
+			"\tpublic void put(int i, T v) {}\n" + //$NON-NLS-1$
+			"\tpublic Vector<T> add(Vector<T> o) { return this; }\n" + //$NON-NLS-1$
+			"\tpublic <U extends Var> Vector<U> mul(Vector<U> o) { return o; }\n" + //$NON-NLS-1$
+			"\tpublic void connect(Vector<T> o) {}\n" + //$NON-NLS-1$
+			"}\n"; //$NON-NLS-1$
+	}
+
+	private static String kernelBase() {
+		return "package " + PACKAGE + ";\n\n" + //$NON-NLS-1$ //$NON-NLS-2$
+			"public abstract class KernelBase {\n" + //$NON-NLS-1$
+			"\tpublic void _IF(Var condition) {}\n" + //$NON-NLS-1$
+			"\tpublic void _ELSE() {}\n" + //$NON-NLS-1$
+			"\tpublic void _END_IF() {}\n" + //$NON-NLS-1$
+			"\tpublic void _SWITCH(Var control) {}\n" + //$NON-NLS-1$
+			"\tpublic void _END_SWITCH() {}\n" + //$NON-NLS-1$
+			"\tpublic void _CASE(int value) {}\n" + //$NON-NLS-1$
+			"\tpublic void _OTHERWISE() {}\n" + //$NON-NLS-1$
+			"}\n"; //$NON-NLS-1$
+	}
+
+	private String kernel(int index) {
+		StringBuilder buffer = new StringBuilder();
+		buffer.append("package ").append(PACKAGE).append(";\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append("public class Kernel").append(index).append(" extends KernelBase {\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append("\tprivate final Var a = new Var(), b = new Var(), c = new Var(), d = new Var();\n"); //$NON-NLS-1$
+		buffer.append("\tprivate final Vector<Var> v = new Vector<>(this.a), w = new Vector<>(this.b);\n\n"); //$NON-NLS-1$
+		for (int m = 0; m < this.methodsPerKernel; m++)
+			method(buffer, m);
+		buffer.append("}\n"); //$NON-NLS-1$
+		return buffer.toString();
+	}
+
+	private static final String[] OPERATORS = { " + ", " - ", " * ", " / ", " & ", " | ", " ^ " }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+	private static final String[] OPERANDS = { "a", "b", "c", "d", "x", "1", "t" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$ //$NON-NLS-5$ //$NON-NLS-6$ //$NON-NLS-7$
+
+	private void method(StringBuilder buffer, int m) {
+		buffer.append("\tpublic Var compute").append(m).append("(Var x, Var o) {\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		// deep left-associative chain, mixing Var and int operands (t is not assigned yet)
+		buffer.append("\t\tVar t = a"); //$NON-NLS-1$
+		for (int i = 0; i < this.chainLength; i++)
+			buffer.append((i & 1) == 0 ? " + " : " - ").append(OPERANDS[(i + m) % (OPERANDS.length - 1)]); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append(";\n"); //$NON-NLS-1$
+		// the same number of operators across all precedence levels
+		buffer.append("\t\tt = a"); //$NON-NLS-1$
+		for (int i = 0; i < this.chainLength; i++)
+			buffer.append(OPERATORS[(i + m) % OPERATORS.length]).append(OPERANDS[(i * 3 + m) % OPERANDS.length]);
+		buffer.append(";\n"); //$NON-NLS-1$
+		// nested hardware control flow
+		controlFlow(buffer, 2, this.nestingDepth);
+		// array overloads
+		buffer.append("\t\ta[").append(m).append("] = t + b;\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append("\t\tVar e = a[").append(m + 1).append("] * b[t];\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append("\t\tv[").append(m).append("] = w[0] - e;\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		// generic return types
+		buffer.append("\t\tVector<Var> p = v + w;\n"); //$NON-NLS-1$
+		buffer.append("\t\tVector<Var> q = v * p;\n"); //$NON-NLS-1$
+		buffer.append("\t\tVar r = e.cast(t) + q[1];\n"); //$NON-NLS-1$
+		// connect assignments
+		buffer.append("\t\tv <== q;\n"); //$NON-NLS-1$
+		buffer.append("\t\to <== r * t;\n"); //$NON-NLS-1$
+		buffer.append("\t\treturn -r;\n"); //$NON-NLS-1$
+		buffer.append("\t}\n\n"); //$NON-NLS-1$
+	}
+
+	private static void controlFlow(StringBuilder buffer, int indent, int depth) {
+		if (depth == 0) {
+			indent(buffer, indent).append("o <== t + x;\n"); //$NON-NLS-1$
+			return;
+		}
+		indent(buffer, indent).append("IF (t > ").append(depth).append(") {\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		indent(buffer, indent + 1).append("SWITCH (x) {\n"); //$NON-NLS-1$
+		indent(buffer, indent + 2).append("CASE (0) { o <== a * t; }\n"); //$NON-NLS-1$
+		indent(buffer, indent + 2).append("CASE (").append(depth).append(") { o <== b - t; }\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		indent(buffer, indent + 2).append("OTHERWISE {\n"); //$NON-NLS-1$
+		controlFlow(buffer, indent + 3, depth - 1);
+		indent(buffer, indent + 2).append("}\n"); //$NON-NLS-1$
+		indent(buffer, indent + 1).append("}\n"); //$NON-NLS-1$
+		indent(buffer, indent).append("} ELSE {\n"); //$NON-NLS-1$
+		indent(buffer, indent + 1).append("o <== t < x;\n"); //$NON-NLS-1$
+		indent(buffer, indent).append("}\n"); //$NON-NLS-1$
+	}
+
+	private static StringBuilder indent(StringBuilder buffer, int indent) {
+		for (int i = 0; i < indent; i++)
+			buffer.append('\t');
+		return buffer;
+	}
+}
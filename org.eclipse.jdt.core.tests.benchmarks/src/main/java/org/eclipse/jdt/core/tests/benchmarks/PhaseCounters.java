@@ -0,0 +1,87 @@
+package org.eclipse.jdt.core.tests.benchmarks;
+
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+/**
+ * Per-phase compiler statistics, reported by JMH next to the primary score.
+ * <p>
+ * The public fields are secondary results accumulated from the {@link CompilerStats} of every benchmark
+ * invocation of an iteration. At the end of the trial the per-phase throughput (lines per second spent in
+ * the phase) and the operator overload cache hit rate are printed to the benchmark output.
+ * </p>
+ */
+@State(Scope.Thread)
+@AuxCounters(AuxCounters.Type.EVENTS)
+public class PhaseCounters {
+
+	public long lines;
+	public long parseMillis;
+	public long resolveMillis;
+	public long analyzeMillis;
+	public long generateMillis;
+	public long operatorLookups;
+	public long operatorCacheHits;
+
+	private final CompilerStats trial = new CompilerStats();
+
+	@Setup(Level.Iteration)
+	public void reset() {
+		this.lines = 0;
+		this.parseMillis = 0;
+		this.resolveMillis = 0;
+		this.analyzeMillis = 0;
+		this.generateMillis = 0;
+		this.operatorLookups = 0;
+		this.operatorCacheHits = 0;
+	}
+
+	public void record(CompilerStats stats) {
+		this.lines += stats.lineCount;
+		this.parseMillis += stats.parseTime;
+		this.resolveMillis += stats.resolveTime;
+		this.analyzeMillis += stats.analyzeTime;
+		this.generateMillis += stats.generateTime;
+		this.operatorLookups += stats.operatorOverloadCacheHits + stats.operatorOverloadCacheMisses;
+		this.operatorCacheHits += stats.operatorOverloadCacheHits;
+
+		this.trial.lineCount += stats.lineCount;
+		this.trial.parseTime += stats.parseTime;
+		this.trial.resolveTime += stats.resolveTime;
+		this.trial.analyzeTime += stats.analyzeTime;
+		this.trial.generateTime += stats.generateTime;
+		this.trial.operatorOverloadCacheHits += stats.operatorOverloadCacheHits;
+		this.trial.operatorOverloadCacheMisses += stats.operatorOverloadCacheMisses;
+		this.trial.operatorOverloadCacheSkips += stats.operatorOverloadCacheSkips;
+	}
+
+	@TearDown(Level.Trial)
+	public void report() {
+		CompilerStats stats = this.trial;
+		if (stats.lineCount == 0)
+			return;
+		StringBuilder buffer = new StringBuilder("\n[throughput in lines/s, parse: "); //$NON-NLS-1$
+		buffer.append(throughput(stats.lineCount, stats.parseTime));
+		buffer.append(", resolve: ").append(throughput(stats.lineCount, stats.resolveTime)); //$NON-NLS-1$
+		buffer.append(", analyze: ").append(throughput(stats.lineCount, stats.analyzeTime)); //$NON-NLS-1$
+		buffer.append(", generate: ").append(throughput(stats.lineCount, stats.generateTime)); //$NON-NLS-1$
+		buffer.append(']');
+		long lookups = stats.operatorOverloadCacheHits + stats.operatorOverloadCacheMisses;
+		if (lookups != 0) {
+			buffer.append("\n[operator overload cache: ") //$NON-NLS-1$
+				.append(stats.operatorOverloadCacheHits * 1000 / lookups / 10.0)
+				.append("% of ").append(lookups).append(" lookups answered from cache, ") //$NON-NLS-1$ //$NON-NLS-2$
+				.append(stats.operatorOverloadCacheSkips).append(" skipped]"); //$NON-NLS-1$
+		}
+		System.out.println(buffer);
+	}
+
+	private static String throughput(long lines, long millis) {
+		return millis == 0 ? "n/a" : String.valueOf(lines * 1000 / millis); //$NON-NLS-1$
+	}
+}
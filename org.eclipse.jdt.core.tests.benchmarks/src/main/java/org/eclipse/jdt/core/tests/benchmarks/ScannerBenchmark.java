@@ -0,0 +1,88 @@
+package org.eclipse.jdt.core.tests.benchmarks;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import org.eclipse.jdt.core.compiler.InvalidInputException;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
+import org.eclipse.jdt.internal.compiler.parser.Scanner;
+import org.eclipse.jdt.internal.compiler.parser.TerminalToken;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Tokenizes a set of sources with a single {@link Scanner}, as the parser does.
+ * <ul>
+ * <li><code>jcl</code> scans the <code>java.util</code> sources of the running JDK, which are dominated by
+ * comments and long identifiers,</li>
+ * <li><code>kernels</code> scans synthetic MaxJ kernels (see {@link MaxjSourceGenerator}), which are dominated by
+ * short identifiers and operators.</li>
+ * </ul>
+ * Both are plain ASCII, so they take the fast paths of the scanner.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1)
+public class ScannerBenchmark {
+
+	@Param({ "jcl", "kernels" })
+	public String sources;
+
+	private char[][] contents;
+
+	@Setup(Level.Trial)
+	public void load() throws IOException {
+		List<char[]> loaded = new ArrayList<>();
+		if ("jcl".equals(this.sources)) { //$NON-NLS-1$
+			Path sourceZip = Paths.get(System.getProperty("java.home"), "lib", "src.zip"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			try (ZipFile zip = new ZipFile(sourceZip.toFile())) {
+				for (Enumeration<? extends ZipEntry> entries = zip.entries(); entries.hasMoreElements();) {
+					ZipEntry entry = entries.nextElement();
+					if (!entry.getName().startsWith("java.base/java/util/") || !entry.getName().endsWith(".java")) //$NON-NLS-1$ //$NON-NLS-2$
+						continue;
+					try (InputStream input = zip.getInputStream(entry)) {
+						loaded.add(new String(input.readAllBytes(), StandardCharsets.UTF_8).toCharArray());
+					}
+				}
+			}
+		} else {
+			for (String source : new MaxjSourceGenerator(16, 8, 500, 4).generate().values())
+				loaded.add(source.toCharArray());
+		}
+		this.contents = loaded.toArray(new char[loaded.size()][]);
+	}
+
+	@Benchmark
+	public int tokenize() throws InvalidInputException {
+		Scanner scanner = new Scanner(false /*comment*/, false /*whitespace*/, false /*nls*/, ClassFileConstants.JDK17,
+				null /*taskTags*/, null /*taskPriorities*/, true /*taskCaseSensitive*/);
+		int tokens = 0;
+		for (char[] source : this.contents) {
+			scanner.setSource(source);
+			while (scanner.getNextToken() != TerminalToken.TokenNameEOF)
+				tokens++;
+		}
+		return tokens;
+	}
+}
@@ -0,0 +1,165 @@
+package org.eclipse.jdt.core.tests.benchmarks;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.eclipse.jdt.internal.compiler.ClassFile;
+import org.eclipse.jdt.internal.compiler.CompilationResult;
+import org.eclipse.jdt.internal.compiler.Compiler;
+import org.eclipse.jdt.internal.compiler.ICompilerRequestor;
+import org.eclipse.jdt.internal.compiler.batch.FileSystem;
+import org.eclipse.jdt.internal.compiler.batch.Main;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * Compiles a single MaxJ kernel whose method is close to the 64KB code size limit and has thousands of branch
+ * targets, as unrolled generated code for large designs has.
+ * <p>
+ * Every local is a <code>Var</code>. Every fourth local is followed, in turn, by an <code>if</code>/<code>else
+ * if</code>, a <code>switch</code> with two cases and a default, or a conditional expression choosing between
+ * locals. Each of them adds stack map frames whose locals are all the locals declared so far, so the number of
+ * frames and the number of locals per frame both grow with the method. At 4000 locals the method uses more than
+ * 62KB of code.
+ * </p>
+ * The time spent in code generation should grow with the size of the stack map table, not with the number of
+ * frames times the number of branches.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = { "-Xss16m", "-Xmx2g" }) //$NON-NLS-1$ //$NON-NLS-2$
+public class StackMapFrameBenchmark {
+
+	private static final int LOCALS_PER_BRANCH = 4;
+
+	@Param({ "1000", "2000", "4000" })
+	public int locals;
+
+	private Path sourceRoot;
+	private Path outputDirectory;
+	private Map<String, String> sources;
+	private Main configuredMain;
+
+	/**
+	 * Answers the source of a kernel with one branching method declaring the given number of locals.
+	 */
+	public static String branchyKernel(int localCount) {
+		StringBuilder buffer = new StringBuilder();
+		buffer.append("package ").append(MaxjSourceGenerator.PACKAGE).append(";\n\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append("public class BranchyKernel extends KernelBase {\n"); //$NON-NLS-1$
+		buffer.append("\tpublic Var define(Var x, Var o, int k) {\n"); //$NON-NLS-1$
+		for (int i = 0; i < localCount; i++) {
+			buffer.append("\t\tVar v").append(i).append(i == 0 ? " = x;\n" : " = v" + (i - 1) + ";\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			if (i % LOCALS_PER_BRANCH != LOCALS_PER_BRANCH - 1)
+				continue;
+			int other = i - 2;
+			switch ((i / LOCALS_PER_BRANCH) % 3) {
+				case 0:
+					buffer.append("\t\tif (k > ").append(i).append(") {\n"); //$NON-NLS-1$ //$NON-NLS-2$
+					buffer.append("\t\t\tv").append(i).append(" = v").append(other).append(" + o;\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					buffer.append("\t\t} else if (v").append(other).append(" == null) {\n"); //$NON-NLS-1$ //$NON-NLS-2$
+					buffer.append("\t\t\tv").append(other).append(" = o;\n"); //$NON-NLS-1$ //$NON-NLS-2$
+					buffer.append("\t\t}\n"); //$NON-NLS-1$
+					break;
+				case 1:
+					buffer.append("\t\tswitch (k) {\n"); //$NON-NLS-1$
+					buffer.append("\t\tcase ").append(i).append(": v").append(i).append(" = o; break;\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					buffer.append("\t\tcase ").append(i + 1).append(": v").append(other).append(" = x; break;\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					buffer.append("\t\tdefault: break;\n"); //$NON-NLS-1$
+					buffer.append("\t\t}\n"); //$NON-NLS-1$
+					break;
+				default:
+					buffer.append("\t\tv").append(i).append(" = k > ").append(i).append(" ? v").append(other).append(" : o;\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+			}
+		}
+		buffer.append("\t\treturn v").append(localCount - 1).append(";\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		buffer.append("\t}\n"); //$NON-NLS-1$
+		buffer.append("}\n"); //$NON-NLS-1$
+		return buffer.toString();
+	}
+
+	@Setup(Level.Trial)
+	public void generate() throws IOException {
+		this.sources = MaxjSourceGenerator.library();
+		this.sources.put(MaxjSourceGenerator.PACKAGE + "/BranchyKernel.maxj", branchyKernel(this.locals)); //$NON-NLS-1$
+		this.sourceRoot = Files.createTempDirectory("maxj-benchmark-src"); //$NON-NLS-1$
+		this.outputDirectory = Files.createTempDirectory("maxj-benchmark-bin"); //$NON-NLS-1$
+		for (Map.Entry<String, String> entry : this.sources.entrySet()) {
+			Path file = this.sourceRoot.resolve(entry.getKey());
+			Files.createDirectories(file.getParent());
+			Files.write(file, entry.getValue().getBytes(StandardCharsets.UTF_8));
+		}
+		String[] batchArguments = {
+			"-17", //$NON-NLS-1$
+			"-nowarn", //$NON-NLS-1$
+			"-d", this.outputDirectory.toString(), //$NON-NLS-1$
+			this.sourceRoot.toString()
+		};
+
+		// the generated kernel must compile cleanly, in particular it must not exceed the code size limit
+		StringWriter errors = new StringWriter();
+		Main main = new Main(new PrintWriter(Writer.nullWriter()), new PrintWriter(errors), false, null, null);
+		if (!main.compile(batchArguments))
+			throw new IllegalStateException("Generated sources do not compile:\n" + errors); //$NON-NLS-1$
+
+		this.configuredMain = new Main(new PrintWriter(Writer.nullWriter()), new PrintWriter(Writer.nullWriter()), false, null, null);
+		this.configuredMain.configure(batchArguments);
+	}
+
+	@TearDown(Level.Trial)
+	public void delete() throws IOException {
+		delete(this.sourceRoot);
+		delete(this.outputDirectory);
+	}
+
+	private static void delete(Path root) throws IOException {
+		try (Stream<Path> files = Files.walk(root)) {
+			for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator)
+				Files.delete(file);
+		}
+	}
+
+	@Benchmark
+	public void compiler(PhaseCounters counters, final Blackhole blackhole) {
+		ICompilerRequestor requestor = new ICompilerRequestor() {
+			@Override
+			public void acceptResult(CompilationResult result) {
+				for (ClassFile classFile : result.getClassFiles())
+					blackhole.consume(classFile.getBytes());
+			}
+		};
+		Main main = this.configuredMain;
+		FileSystem environment = main.getLibraryAccess();
+		try {
+			Compiler compiler = new Compiler(environment, main.getHandlingPolicy(), new CompilerOptions(main.options), requestor, main.getProblemFactory());
+			compiler.compile(MaxjCompilationBenchmark.compilationUnits(this.sources));
+			counters.record(compiler.stats);
+		} finally {
+			environment.cleanup();
+		}
+	}
+}
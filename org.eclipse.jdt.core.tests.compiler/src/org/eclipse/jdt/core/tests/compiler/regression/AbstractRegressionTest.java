@@ -68,8 +68,10 @@ import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
 import org.eclipse.jdt.internal.compiler.batch.FileSystem;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
 import org.eclipse.jdt.internal.compiler.env.INameEnvironment;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
 import org.eclipse.jdt.internal.compiler.impl.IrritantSet;
 import org.eclipse.jdt.internal.compiler.lookup.ReferenceBinding;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
@@ -1870,6 +1872,25 @@ protected static class JavacTestOptions {
 	protected CompilationUnit[] getCompilationUnits(String[] testFiles) {
 		return Util.compilationUnits(testFiles);
 	}
+	/*
+	 * Answers a compiler using the options, name environment and problem factory of the test, which reports
+	 * to the given requestor
+	 */
+	protected Compiler newCompiler(Requestor requestor) {
+		return new Compiler(getNameEnvironment(new String[0], null), getErrorHandlingPolicy(),
+				new CompilerOptions(getCompilerOptions()), requestor, getProblemFactory());
+	}
+	/*
+	 * Compiles the given source in memory, checks that no problem was reported and answers the statistics of the
+	 * compilation
+	 */
+	protected CompilerStats compileWithoutProblems(String fileName, String source) {
+		Requestor requestor = new Requestor(false, null /*no custom requestor*/, false, /* show category */ false /* show warning token*/);
+		Compiler compiler = newCompiler(requestor);
+		compiler.compile(new ICompilationUnit[] { new CompilationUnit(source.toCharArray(), fileName, null) });
+		assertEquals("Unexpected problems", "", requestor.problemLog);
+		return compiler.stats;
+	}
 
 	@Override
 	public void initialize(CompilerTestSetup setUp) {
@@ -44,9 +44,13 @@ import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.PrintWriter;
+import java.nio.file.Files;
 import java.text.MessageFormat;
+import java.util.Arrays;
 import java.util.Iterator;
 import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
 import javax.lang.model.SourceVersion;
 import junit.framework.Test;
 import org.eclipse.jdt.core.JavaCore;
@@ -59,6 +63,7 @@ import org.eclipse.jdt.internal.compiler.batch.FileSystem;
 import org.eclipse.jdt.internal.compiler.batch.FileSystem.Classpath;
 import org.eclipse.jdt.internal.compiler.batch.Main;
 import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
 import org.eclipse.jdt.internal.compiler.env.NameEnvironmentAnswer;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.compiler.lookup.TypeConstants;
@@ -638,6 +643,9 @@ public void test012(){
         "                       created); this option can be overridden per source\n" +
         "                       directory\n" +
         "    -d none            generate no .class files\n" +
+        "    -d <jar|zip>       write the .class files into a .jar or .zip archive\n" +
+        "                       (with -proc:none)\n" +
+        "    -uncompressed      store the entries of the -d archive uncompressed\n" +
         "    -encoding <enc>    specify default encoding for all source files. Each\n" +
         "                       file/directory can override it when suffixed with\n" +
         "                       ''[''<enc>'']'' (e.g. X.java[utf8]).\n" +
@@ -757,9 +765,29 @@ public void test012(){
         "    -referenceInfo     compute reference info\n" +
         "    -progress          show progress (only in -log mode)\n" +
         "    -time              display speed information \n" +
+        "    -timingReport <file>\n" +
+        "                       write the time spent by each compilation unit in each\n" +
+        "                       phase to a JSON file\n" +
         "    -noExit            do not call System.exit(n) at end of compilation (n==0\n" +
         "                       if no error)\n" +
         "    -repeat <n>        repeat compilation process <n> times for perf analysis\n" +
+        "    -parseWorkers <n>\n" +
+        "                       parse sources on <n> threads; method bodies,\n" +
+        "                       resolution, analysis and code generation stay on a\n" +
+        "                       single thread\n" +
+        "    -waveSize <n>      compile sources in dependency-ordered waves of about\n" +
+        "                       <n> units, reading the types of compiled waves back\n" +
+        "                       from their class files to bound memory (with\n" +
+        "                       -proc:none)\n" +
+        "    -readAhead <n>     read up to <n> source files ahead of parsing (default 15)\n" +
+        "    -readThreads <n>   read source files ahead on <n> threads (default: the\n" +
+        "                       number of processors minus 2)\n" +
+        "    -methodLookupCache memoize method lookups with the same receiver and\n" +
+        "                       argument types in each compilation unit\n" +
+        "    -incremental <file>\n" +
+        "                       compile only the sources changed since the compilation\n" +
+        "                       which wrote the state <file>, and the sources depending\n" +
+        "                       on them (with -d <dir>)\n" +
         "    -enableJavadoc     consider references in javadoc\n" +
         "    -parameters        generate method parameters attribute (for target >= 1.8)\n" +
         "    -genericsignature  generate generic signature for lambda expressions\n" +
@@ -1045,6 +1073,7 @@ public void test012b(){
 			"		<option key=\"org.eclipse.jdt.core.compiler.generateClassFiles\" value=\"enabled\"/>\n" +
 			"		<option key=\"org.eclipse.jdt.core.compiler.ignoreUnnamedModuleForSplitPackage\" value=\"disabled\"/>\n" +
 			"		<option key=\"org.eclipse.jdt.core.compiler.maxProblemPerUnit\" value=\"100\"/>\n" +
+			"		<option key=\"org.eclipse.jdt.core.compiler.methodLookupCache\" value=\"disabled\"/>\n" +
 			"		<option key=\"org.eclipse.jdt.core.compiler.problem.APILeak\" value=\"warning\"/>\n" +
 			"		<option key=\"org.eclipse.jdt.core.compiler.problem.annotatedTypeArgumentToUnannotated\" value=\"info\"/>\n" +
 			"		<option key=\"org.eclipse.jdt.core.compiler.problem.annotationSuperInterface\" value=\"warning\"/>\n" +
@@ -13326,4 +13355,309 @@ public void testIssue3827_3() {
 				"",
 				true);
 }
+// -timingReport writes the time spent by each unit in each phase
+public void testTimingReport() {
+	String reportFileName = OUTPUT_DIR + File.separator + "timings.json";
+	this.runConformTest(
+			new String[] {
+				"X.java",
+				"public class X {\n" +
+				"	Y y;\n" +
+				"}\n",
+				"Y.java",
+				"public class Y {}\n"
+				},
+				"\"" + OUTPUT_DIR +  File.separator + "X.java\" "
+				+ "\"" + OUTPUT_DIR +  File.separator + "Y.java\" "
+				+ " -1.8 -proc:none"
+				+ " -timingReport \"" + reportFileName + "\""
+				+ " -d \"" + OUTPUT_DIR + "\"",
+				"",
+				"",
+				true);
+	String report = Util.fileContent(reportFileName);
+	assertTrue("Unexpected report: " + report, report.startsWith("{\n  \"total\": "));
+	for (String fileName : new String[] { "X.java", "Y.java" }) {
+		String file = "{ \"file\": \"" + (OUTPUT_DIR + File.separator + fileName).replace("\\", "\\\\") + "\", \"total\": ";
+		assertTrue("Missing " + fileName + ": " + report, report.contains(file));
+	}
+	assertTrue("Missing phases: " + report, report.contains(", \"parse\": ") && report.contains(", \"resolve\": ")
+			&& report.contains(", \"analyze\": ") && report.contains(", \"generate\": "));
+}
+// -incremental compiles the changed sources, then the sources referring to the types which changed structurally
+public void testIncremental() {
+	String commandLine = "\"" + OUTPUT_DIR + File.separator + "src\""
+			+ " -1.8 -proc:none -verbose"
+			+ " -incremental \"" + OUTPUT_DIR + File.separator + "incremental.state\""
+			+ " -d \"" + OUTPUT_DIR + File.separator + "bin\"";
+	this.runTest(
+		true,
+		new String[] {
+			"src/p/X.java",
+			"package p;\n" +
+			"public class X {\n" +
+			"	int foo(Y y) { return y.bar(); }\n" +
+			"}\n",
+			"src/p/Y.java",
+			"package p;\n" +
+			"public class Y {\n" +
+			"	int bar() { return 1; }\n" +
+			"}\n",
+			"src/p/Z.java",
+			"package p;\n" +
+			"public class Z {}\n"
+		},
+		commandLine,
+		new SubstringMatcher("[incremental round 1: compiling 3 of 3 source files]"),
+		EMPTY_STRING_MATCHER,
+		true);
+	// a change to a method body does not affect X
+	this.runTest(
+		true,
+		new String[] {
+			"src/p/Y.java",
+			"package p;\n" +
+			"public class Y {\n" +
+			"	int bar() { return 12; }\n" +
+			"}\n"
+		},
+		commandLine,
+		new Matcher() {
+			@Override
+			boolean match(String effective) {
+				return effective.contains("[incremental round 1: compiling 1 of 3 source files]")
+						&& !effective.contains("[incremental round 2:");
+			}
+			@Override
+			String expected() {
+				return "*[incremental round 1: compiling 1 of 3 source files]*";
+			}
+		},
+		EMPTY_STRING_MATCHER,
+		false);
+	this.runTest(
+		true,
+		new String[] {
+			"src/p/Y.java",
+			"package p;\n" +
+			"public class Y {\n" +
+			"	int bar() { return 12; }\n" +
+			"	int baz() { return 2; }\n" +
+			"}\n"
+		},
+		commandLine,
+		new SubstringMatcher("[incremental round 2: compiling 1 of 3 source files]"),
+		EMPTY_STRING_MATCHER,
+		false);
+	assertTrue("Missing class file", new File(OUTPUT_DIR + File.separator + "bin" + File.separator + "p" + File.separator + "X.class").exists());
+	// a secondary type moving to another changed source keeps its class file
+	this.runTest(
+		true,
+		new String[] {
+			"src/p/A.java",
+			"package p;\n" +
+			"public class A {}\n",
+			"src/p/B.java",
+			"package p;\n" +
+			"public class B {}\n" +
+			"class T {}\n"
+		},
+		commandLine,
+		new SubstringMatcher("[incremental round 1: compiling 2 of 5 source files]"),
+		EMPTY_STRING_MATCHER,
+		false);
+	this.runTest(
+		true,
+		new String[] {
+			"src/p/A.java",
+			"package p;\n" +
+			"public class A {}\n" +
+			"class T {}\n",
+			"src/p/B.java",
+			"package p;\n" +
+			"public class B {}\n"
+		},
+		commandLine,
+		new SubstringMatcher("[incremental round 1: compiling 2 of 5 source files]"),
+		EMPTY_STRING_MATCHER,
+		false);
+	assertTrue("Missing class file", new File(OUTPUT_DIR + File.separator + "bin" + File.separator + "p" + File.separator + "T.class").exists());
+}
+// -parseWorkers only changes the threads parsing sources, problems and class files are those of a single thread
+public void testParseWorkers() throws IOException {
+	String[] testFiles = new String[48];
+	for (int i = 0; i < 24; i++) {
+		String body = i % 3 == 0
+				? "int x = ; return " + i + ";" // syntax error in a method body
+				: "return " + i + " + new A" + ((i + 1) % 24) + "().m();";
+		testFiles[2 * i] = "src/p/A" + i + ".java";
+		testFiles[2 * i + 1] =
+			"package p;\n" +
+			"public class A" + i + " {\n" +
+			"	int m() { " + body + " }\n" +
+			"	int n() { int y = 0; return y + " + (i % 5 == 0 ? "z" : "1") + "; }\n" +
+			"}\n";
+	}
+	String commandLine = "\"" + OUTPUT_DIR + File.separator + "src\" -1.8 -proc:none -proceedOnError";
+	String singleOutput = OUTPUT_DIR + File.separator + "bin1", parallelOutput = OUTPUT_DIR + File.separator + "bin4";
+	final String[] singleLog = new String[1];
+	this.runTest(
+		false,
+		testFiles,
+		commandLine + " -d \"" + singleOutput + "\"",
+		null,
+		new Matcher() {
+			@Override
+			boolean match(String effective) {
+				singleLog[0] = effective;
+				return effective.contains("ERROR in");
+			}
+			@Override
+			String expected() {
+				return "*ERROR in*";
+			}
+		},
+		true);
+	this.runTest(
+		false,
+		testFiles,
+		commandLine + " -parseWorkers 4 -d \"" + parallelOutput + "\"",
+		null,
+		new Matcher() {
+			@Override
+			boolean match(String effective) {
+				return effective.equals(singleLog[0]);
+			}
+			@Override
+			String expected() {
+				return singleLog[0];
+			}
+		},
+		false);
+	for (int i = 0; i < 24; i++) {
+		String name = "p" + File.separator + "A" + i + ".class";
+		assertTrue("Different class file " + name, Arrays.equals(
+				Files.readAllBytes(new File(singleOutput, name).toPath()),
+				Files.readAllBytes(new File(parallelOutput, name).toPath())));
+	}
+}
+// class files written into the archive named by -d
+public void testClassFileArchive() throws IOException {
+	String archive = OUTPUT_DIR + File.separator + "bin" + File.separator + "out.jar";
+	this.runConformTest(
+		new String[] {
+			"p/X.java",
+			"package p;\n" +
+			"public class X {\n" +
+			"	Runnable r = new Runnable() { public void run() {} };\n" +
+			"}\n",
+			"q/r/Y.java",
+			"package q.r;\n" +
+			"public class Y extends p.X {}\n"
+		},
+		"\"" + OUTPUT_DIR + File.separator + "p" + File.separator + "X.java\""
+		+ " \"" + OUTPUT_DIR + File.separator + "q" + File.separator + "r" + File.separator + "Y.java\""
+		+ " -1.8 -proc:none -uncompressed -sourcepath \"" + OUTPUT_DIR + "\""
+		+ " -d \"" + archive + "\"",
+		"",
+		"",
+		true);
+	try (ZipFile zipFile = new ZipFile(archive)) {
+		for (String name : new String[] { "p/", "p/X.class", "p/X$1.class", "q/", "q/r/", "q/r/Y.class" }) {
+			ZipEntry entry = zipFile.getEntry(name);
+			assertNotNull("Missing entry " + name, entry);
+			assertEquals("Unexpected method for " + name, ZipEntry.STORED, entry.getMethod());
+		}
+	}
+	// a compilation writing no class file does not leave those of the previous one
+	this.runNegativeTest(
+		new String[] {
+			"p/B.java",
+			"package p;\n" +
+			"public class B {\n" +
+			"	int x = ;\n" +
+			"}\n"
+		},
+		"\"" + OUTPUT_DIR + File.separator + "p" + File.separator + "B.java\""
+		+ " -1.8 -proc:none -d \"" + archive + "\"",
+		"",
+		"----------\n" +
+		"1. ERROR in ---OUTPUT_DIR_PLACEHOLDER---/p/B.java (at line 3)\n" +
+		"	int x = ;\n" +
+		"	      ^\n" +
+		"Syntax error on token \"=\", Expression expected after this token\n" +
+		"----------\n" +
+		"1 problem (1 error)\n",
+		false);
+	try (ZipFile zipFile = new ZipFile(archive)) {
+		assertNull("Stale entry p/X.class", zipFile.getEntry("p/X.class"));
+		assertEquals("Unexpected entries", 0, zipFile.size());
+	}
+}
+// a chain of units compiled in waves of two, each looking up the types of the previous waves
+private void runWavesTest(String destination) {
+	String[] files = new String[24];
+	StringBuilder commandLine = new StringBuilder();
+	for (int i = 0; i < 12; i++) {
+		files[2 * i] = "p/A" + i + ".java";
+		files[2 * i + 1] =
+			"package p;\n" +
+			"public class A" + i + (i == 0 ? "" : " extends A" + (i - 1)) + " {\n" +
+			"	Runnable r" + i + " = new Runnable() { public void run() {} };\n" +
+			"	static class N" + i + (i == 0 ? "" : " extends A" + (i - 1) + ".N" + (i - 1)) + " {}\n" +
+			"}\n";
+		commandLine.append(" \"").append(OUTPUT_DIR).append(File.separator).append("p").append(File.separator)
+			.append("A").append(i).append(".java\"");
+	}
+	this.runConformTest(
+		files,
+		commandLine
+		+ " -1.8 -proc:none -waveSize 2 -sourcepath \"" + OUTPUT_DIR + "\""
+		+ " -d \"" + destination + "\"",
+		"",
+		"",
+		true);
+}
+private static void assertWaveClassFile(String typeName, String superclassName, byte[] classFile) throws Exception {
+	assertNotNull("Missing class file " + typeName, classFile);
+	ClassFileReader reader = new ClassFileReader(classFile, (typeName + ".class").toCharArray());
+	assertEquals("Unexpected type", typeName, new String(reader.getName()));
+	assertEquals("Unexpected superclass of " + typeName, superclassName, new String(reader.getSuperclassName()));
+}
+public void testWavesToDirectory() throws Exception {
+	String output = OUTPUT_DIR + File.separator + "bin";
+	runWavesTest(output);
+	File directory = new File(output, "p");
+	for (int i = 0; i < 12; i++) {
+		assertWaveClassFile("p/A" + i, i == 0 ? "java/lang/Object" : "p/A" + (i - 1),
+				Files.readAllBytes(new File(directory, "A" + i + ".class").toPath()));
+		assertWaveClassFile("p/A" + i + "$N" + i, i == 0 ? "java/lang/Object" : "p/A" + (i - 1) + "$N" + (i - 1),
+				Files.readAllBytes(new File(directory, "A" + i + "$N" + i + ".class").toPath()));
+		assertWaveClassFile("p/A" + i + "$1", "java/lang/Object",
+				Files.readAllBytes(new File(directory, "A" + i + "$1.class").toPath()));
+	}
+}
+// the types of earlier waves are answered from their bytes when the class files go to an archive
+public void testWavesToArchive() throws Exception {
+	String archive = OUTPUT_DIR + File.separator + "bin" + File.separator + "out.jar";
+	runWavesTest(archive);
+	try (ZipFile zipFile = new ZipFile(archive)) {
+		for (int i = 0; i < 12; i++) {
+			assertWaveClassFile("p/A" + i, i == 0 ? "java/lang/Object" : "p/A" + (i - 1),
+					readEntry(zipFile, "p/A" + i + ".class"));
+			assertWaveClassFile("p/A" + i + "$N" + i, i == 0 ? "java/lang/Object" : "p/A" + (i - 1) + "$N" + (i - 1),
+					readEntry(zipFile, "p/A" + i + "$N" + i + ".class"));
+			assertWaveClassFile("p/A" + i + "$1", "java/lang/Object",
+					readEntry(zipFile, "p/A" + i + "$1.class"));
+		}
+	}
+}
+private static byte[] readEntry(ZipFile zipFile, String name) throws IOException {
+	ZipEntry entry = zipFile.getEntry(name);
+	if (entry == null)
+		return null;
+	try (InputStream stream = zipFile.getInputStream(entry)) {
+		return stream.readAllBytes();
+	}
+}
 }
\ No newline at end of file
@@ -0,0 +1,143 @@
+package org.eclipse.jdt.core.tests.compiler.regression;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+import junit.framework.Test;
+import org.eclipse.jdt.internal.compiler.batch.BinaryTypeCache;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileReader;
+
+/**
+ * Checks the types shared by {@link BinaryTypeCache} across compilations.
+ */
+public class BinaryTypeCacheTest extends AbstractRegressionTest {
+
+	public BinaryTypeCacheTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return buildMinimalComplianceTestSuite(testClass(), F_1_8);
+	}
+
+	public static Class<?> testClass() {
+		return BinaryTypeCacheTest.class;
+	}
+
+	static class First {
+		// read from the test class path
+	}
+
+	static class Second {
+		int field;
+
+		void method() {
+			this.field++;
+		}
+	}
+
+	private static byte[] classBytes(Class<?> type) throws IOException {
+		String name = type.getName();
+		try (InputStream stream = type.getResourceAsStream(name.substring(name.lastIndexOf('.') + 1) + ".class")) {
+			return stream.readAllBytes();
+		}
+	}
+
+	private File writeClass(String fileName, Class<?> type) throws IOException {
+		File directory = new File(OUTPUT_DIR, "cache");
+		directory.mkdirs();
+		File file = new File(directory, fileName);
+		Files.write(file.toPath(), classBytes(type));
+		return file;
+	}
+
+	private File writeJar(String fileName, Class<?>... types) throws IOException {
+		File directory = new File(OUTPUT_DIR, "cache");
+		directory.mkdirs();
+		File file = new File(directory, fileName);
+		try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(file))) {
+			for (Class<?> type : types) {
+				zip.putNextEntry(new ZipEntry(typeName(type) + ".class"));
+				zip.write(classBytes(type));
+				zip.closeEntry();
+			}
+		}
+		return file;
+	}
+
+	private static String typeName(Class<?> type) {
+		return type.getName().replace('.', '/');
+	}
+
+	public void testDirectoryTypeShared() throws Exception {
+		File file = writeClass("A.class", First.class);
+		BinaryTypeCache cache = new BinaryTypeCache();
+		ClassFileReader type = cache.getDirectory(file.getParent() + File.separator).readClass("A.class");
+		assertEquals("Unexpected type", typeName(First.class), new String(type.getName()));
+		assertSame("Type not shared", type, cache.getDirectory(file.getParent() + File.separator).readClass("A.class"));
+		assertNull("Unexpected type", cache.getDirectory(file.getParent() + File.separator).readClass("Missing.class"));
+	}
+
+	// a class file written between two compilations is read again
+	public void testDirectoryTypeModified() throws Exception {
+		File file = writeClass("B.class", First.class);
+		BinaryTypeCache cache = new BinaryTypeCache();
+		ClassFileReader type = cache.getDirectory(file.getParent() + File.separator).readClass("B.class");
+		assertEquals("Unexpected type", typeName(First.class), new String(type.getName()));
+		writeClass("B.class", Second.class);
+		type = cache.getDirectory(file.getParent() + File.separator).readClass("B.class");
+		assertEquals("Stale type", typeName(Second.class), new String(type.getName()));
+	}
+
+	// types which do not fit within the limit are evicted, oldest first
+	public void testLimit() throws Exception {
+		File file = writeClass("C.class", First.class);
+		writeClass("D.class", Second.class);
+		long limit = classBytes(Second.class).length + 64;
+		BinaryTypeCache cache = new BinaryTypeCache(limit);
+		BinaryTypeCache.Directory directory = cache.getDirectory(file.getParent() + File.separator);
+		ClassFileReader first = directory.readClass("C.class");
+		directory.readClass("D.class");
+		assertTrue("Limit exceeded", cache.size() <= limit);
+		assertNotSame("Type not evicted", first, directory.readClass("C.class"));
+		cache.clear();
+		assertEquals("Unexpected size", 0, cache.size());
+	}
+
+	// a jar rebuilt while a compilation uses it stays open for that compilation, and its types are no longer cached
+	public void testJarReplacedWhileUsed() throws Exception {
+		File file = writeJar("E.jar", First.class);
+		String firstName = typeName(First.class) + ".class", secondName = typeName(Second.class) + ".class";
+		BinaryTypeCache cache = new BinaryTypeCache();
+		BinaryTypeCache.Jar used = cache.getJar(file);
+		assertNotNull("Missing type", used.readClass(firstName));
+		assertTrue("Type not cached", cache.size() > 0);
+
+		writeJar("E.jar", First.class, Second.class);
+		BinaryTypeCache.Jar replacement = cache.getJar(file);
+		assertNotSame("Stale jar", used, replacement);
+		assertEquals("Types of the replaced jar still cached", 0, cache.size());
+		assertNotNull("Missing type", replacement.readClass(secondName));
+		long size = cache.size();
+
+		// the compilation using the old jar goes on, reading entries it did not read yet
+		assertNull("Unexpected type", used.readClass(secondName));
+		assertEquals("Types of the replaced jar cached", size, cache.size());
+		used.release();
+		try {
+			used.readClass("Missing.class");
+			fail("Replaced jar not closed");
+		} catch (IllegalStateException e) {
+			// closed
+		}
+		assertNotNull("Jar closed while used", replacement.readClass(firstName));
+		replacement.release();
+		assertSame("Jar not kept open", replacement, cache.getJar(file));
+		replacement.release();
+		cache.clear();
+	}
+}
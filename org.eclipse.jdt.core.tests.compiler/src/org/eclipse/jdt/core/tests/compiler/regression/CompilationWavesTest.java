@@ -0,0 +1,152 @@
+package org.eclipse.jdt.core.tests.compiler.regression;
+
+import java.io.File;
+import junit.framework.Test;
+import org.eclipse.jdt.core.tests.util.Util;
+import org.eclipse.jdt.internal.compiler.CompilationWaves;
+import org.eclipse.jdt.internal.compiler.Compiler;
+import org.eclipse.jdt.internal.compiler.batch.CompilationUnit;
+import org.eclipse.jdt.internal.compiler.env.ICompilationUnit;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+
+/**
+ * Checks that units compiled in waves see the types of earlier waves, see {@link CompilationWaves}.
+ */
+public class CompilationWavesTest extends AbstractRegressionTest {
+
+	public CompilationWavesTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return buildMinimalComplianceTestSuite(testClass(), F_1_8);
+	}
+
+	public static Class<?> testClass() {
+		return CompilationWavesTest.class;
+	}
+
+	private static ICompilationUnit[] units(String[] files) {
+		ICompilationUnit[] units = new ICompilationUnit[files.length / 2];
+		for (int i = 0; i < units.length; i++)
+			units[i] = new CompilationUnit(files[2 * i + 1].toCharArray(), files[2 * i], null);
+		return units;
+	}
+
+	private static String plan(String[] files, int waveSize) {
+		int[][] waves = CompilationWaves.plan(units(files), waveSize, new CompilerOptions());
+		if (waves == null)
+			return "null";
+		StringBuilder buffer = new StringBuilder();
+		for (int[] wave : waves) {
+			buffer.append('[');
+			for (int i = 0; i < wave.length; i++) {
+				if (i > 0)
+					buffer.append(',');
+				buffer.append(files[2 * wave[i]]);
+			}
+			buffer.append(']');
+		}
+		return buffer.toString();
+	}
+
+	private String compileInWaves(String[] files, int waveSize, String classFileDirectory) {
+		Requestor requestor = new Requestor(false, null /*no custom requestor*/, false, /* show category */ false /* show warning token*/);
+		requestor.outputPath = classFileDirectory;
+		Compiler compiler = newCompiler(requestor);
+		compiler.waveSize = waveSize;
+		compiler.classFileDirectory = classFileDirectory;
+		compiler.compile(units(files));
+		return requestor.problemLog;
+	}
+
+	private static final String[] LAYERS = {
+		"X.java",
+		"public class X extends Y {\n" +
+		"	int run() { return value().length(); }\n" +
+		"}\n",
+		"Y.java",
+		"public class Y {\n" +
+		"	Z z = new Z();\n" +
+		"	String value() { return z.value; }\n" +
+		"}\n",
+		"Z.java",
+		"public class Z {\n" +
+		"	String value = \"\";\n" +
+		"}\n",
+		"W.java",
+		"public class W {}\n",
+		"V.java",
+		"public class V {}\n",
+	};
+
+	public void testDependenciesCompiledFirst() {
+		assertEquals("Unexpected waves", "[Z.java][Y.java][X.java][W.java][V.java]", plan(LAYERS, 1));
+		assertEquals("Unexpected waves", "[Y.java,Z.java][X.java,W.java][V.java]", plan(LAYERS, 2));
+		assertEquals("Unexpected waves", "null", plan(LAYERS, 5));
+	}
+
+	public void testCyclicUnitsInSameWave() {
+		String[] files = {
+			"A.java",
+			"public class A { B b; }\n",
+			"B.java",
+			"public class B { A a; }\n",
+			"C.java",
+			"public class C {}\n",
+		};
+		assertEquals("Unexpected waves", "[A.java,B.java][C.java]", plan(files, 1));
+	}
+
+	public void testModuleNotCompiledInWaves() {
+		String[] files = {
+			"module-info.java",
+			"module m {}\n",
+			"p/A.java",
+			"package p; public class A {}\n",
+		};
+		assertEquals("Unexpected waves", "null", plan(files, 1));
+	}
+
+	public void testTypesOfEarlierWavesFromBytes() {
+		assertEquals("Unexpected problems", "", compileInWaves(LAYERS, 1, null));
+	}
+
+	public void testTypesOfEarlierWavesFromClassFiles() {
+		String classFileDirectory = OUTPUT_DIR + File.separator + "waves";
+		try {
+			assertEquals("Unexpected problems", "", compileInWaves(LAYERS, 1, classFileDirectory));
+			assertTrue("Missing class file", new File(classFileDirectory, "X.class").exists());
+		} finally {
+			Util.delete(classFileDirectory);
+		}
+	}
+
+	// an error in a unit of an earlier wave does not hide its types from later waves
+	public void testProblemsAcrossWaves() {
+		String[] files = {
+			"X.java",
+			"public class X {\n" +
+			"	void run(Y y) { y.undefined(); y.value(); }\n" +
+			"}\n",
+			"Y.java",
+			"public class Y {\n" +
+			"	void value() { missing(); }\n" +
+			"}\n",
+		};
+		assertEquals("Unexpected problems",
+			"----------\n" +
+			"1. ERROR in Y.java (at line 2)\n" +
+			"	void value() { missing(); }\n" +
+			"	               ^^^^^^^\n" +
+			"The method missing() is undefined for the type Y\n" +
+			"----------\n" +
+			"----------\n" +
+			"1. ERROR in X.java (at line 2)\n" +
+			"	void run(Y y) { y.undefined(); y.value(); }\n" +
+			"	                  ^^^^^^^^^\n" +
+			"The method undefined() is undefined for the type Y\n" +
+			"----------\n",
+			compileInWaves(files, 1, null));
+	}
+}
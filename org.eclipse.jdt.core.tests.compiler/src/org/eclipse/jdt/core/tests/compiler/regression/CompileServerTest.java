@@ -0,0 +1,148 @@
+package org.eclipse.jdt.core.tests.compiler.regression;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import junit.framework.Test;
+import org.eclipse.jdt.core.tests.util.Util;
+import org.eclipse.jdt.internal.compiler.batch.CompileClient;
+import org.eclipse.jdt.internal.compiler.batch.CompileServer;
+
+/**
+ * Checks compilations run by {@link CompileClient}, on a {@link CompileServer} when one accepts them and in-process
+ * otherwise.
+ */
+public class CompileServerTest extends AbstractRegressionTest {
+
+	private File directory;
+	private File portFile;
+	private CompileServer server;
+	private Thread serverThread;
+
+	public CompileServerTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return buildMinimalComplianceTestSuite(testClass(), F_1_8);
+	}
+
+	public static Class<?> testClass() {
+		return CompileServerTest.class;
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		this.directory = new File(OUTPUT_DIR, "server");
+		Util.flushDirectoryContent(this.directory);
+		this.directory.mkdirs();
+		this.portFile = new File(this.directory, "compile-server");
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		if (this.server != null) {
+			this.server.stop();
+			this.serverThread.join(10000);
+			this.server = null;
+		}
+		super.tearDown();
+	}
+
+	private void startServer() throws IOException {
+		this.server = new CompileServer(this.portFile, 0);
+		CompileServer started = this.server;
+		this.serverThread = new Thread(() -> {
+			try {
+				started.serve(0);
+			} catch (IOException e) {
+				// stopped
+			}
+		}, "Compile Server");
+		this.serverThread.setDaemon(true);
+		this.serverThread.start();
+	}
+
+	private String[] arguments(String typeName, String source) throws IOException {
+		File file = new File(this.directory, typeName + ".java");
+		Files.write(file.toPath(), source.getBytes(StandardCharsets.UTF_8));
+		return new String[] { file.getPath(), "-1.8", "-proc:none", "-d", new File(this.directory, "bin").getPath() };
+	}
+
+	private File classFile(String typeName) {
+		return new File(new File(this.directory, "bin"), typeName + ".class");
+	}
+
+	public void testRoundTrip() throws Exception {
+		startServer();
+		CompileClient client = new CompileClient(this.portFile);
+		StringWriter out = new StringWriter(), err = new StringWriter();
+		Boolean result = client.compileOnServer(arguments("X", "public class X {}\n"), null, new PrintWriter(out), new PrintWriter(err));
+		assertEquals("Not compiled on the server: " + err, Boolean.TRUE, result);
+		assertTrue("Missing class file", classFile("X").exists());
+		assertEquals("Unexpected output", "", out.toString());
+		assertEquals("Unexpected errors", "", err.toString());
+
+		// the problems of the compilation are forwarded to the client
+		result = client.compileOnServer(arguments("Y", "public class Y { int x = ; }\n"), null, new PrintWriter(out), new PrintWriter(err));
+		assertEquals("Not compiled on the server: " + err, Boolean.FALSE, result);
+		assertTrue("Missing problem: " + err, err.toString().contains("Syntax error on token \"=\", Expression expected after this token"));
+		assertTrue("Missing summary: " + err, err.toString().contains("1 problem (1 error)"));
+		assertFalse("Unexpected class file", classFile("Y").exists());
+
+		assertTrue("Server not stopped", client.stopServer());
+		this.serverThread.join(10000);
+		assertFalse("Server still running", this.serverThread.isAlive());
+		assertFalse("Port file not removed", this.portFile.exists());
+		this.server = null;
+	}
+
+	// a client presenting another token is turned away and compiles in-process, the server keeps serving
+	public void testInvalidToken() throws Exception {
+		startServer();
+		String content = new String(Files.readAllBytes(this.portFile.toPath()), StandardCharsets.UTF_8).trim();
+		String port = content.substring(0, content.indexOf(' '));
+		File otherPortFile = new File(this.directory, "other");
+		Files.write(otherPortFile.toPath(), (port + " 00112233445566778899aabbccddeeff\n").getBytes(StandardCharsets.UTF_8));
+		CompileClient client = new CompileClient(otherPortFile);
+		StringWriter out = new StringWriter(), err = new StringWriter();
+		String[] arguments = arguments("X", "public class X {}\n");
+		assertNull("Compiled on the server", client.compileOnServer(arguments, null, new PrintWriter(out), new PrintWriter(err)));
+		assertFalse("Unexpected class file", classFile("X").exists());
+		assertFalse("Server stopped", client.stopServer());
+
+		assertTrue("Not compiled in-process: " + err, client.compile(arguments, null, new PrintWriter(out), new PrintWriter(err)));
+		assertTrue("Missing class file", classFile("X").exists());
+
+		assertEquals("Not compiled on the server", Boolean.TRUE,
+				new CompileClient(this.portFile).compileOnServer(arguments("Y", "public class Y {}\n"), null, new PrintWriter(out), new PrintWriter(err)));
+		assertTrue("Missing class file", classFile("Y").exists());
+	}
+
+	// without a port file, or with the port file of a server which is gone, clients compile in-process
+	public void testNoServer() throws Exception {
+		CompileClient client = new CompileClient(this.portFile);
+		StringWriter out = new StringWriter(), err = new StringWriter();
+		String[] arguments = arguments("X", "public class X {}\n");
+		assertNull("Compiled on a server", client.compileOnServer(arguments, null, new PrintWriter(out), new PrintWriter(err)));
+		assertFalse("Stopped a server", client.stopServer());
+		assertTrue("Not compiled in-process: " + err, client.compile(arguments, null, new PrintWriter(out), new PrintWriter(err)));
+		assertTrue("Missing class file", classFile("X").exists());
+
+		int port;
+		try (ServerSocket socket = new ServerSocket(0, 1, InetAddress.getLoopbackAddress())) {
+			port = socket.getLocalPort();
+		}
+		Files.write(this.portFile.toPath(), (port + " 00112233445566778899aabbccddeeff\n").getBytes(StandardCharsets.UTF_8));
+		arguments = arguments("Y", "public class Y { int x = ; }\n");
+		assertNull("Compiled on a server", client.compileOnServer(arguments, null, new PrintWriter(out), new PrintWriter(err)));
+		assertFalse("Compiled in-process", client.compile(arguments, null, new PrintWriter(out), new PrintWriter(err)));
+		assertTrue("Missing summary: " + err, err.toString().contains("1 problem (1 error)"));
+	}
+}
@@ -4639,6 +4639,136 @@ public void testBug548318_030() {
 			null,
 			true);
 }
+// declares enough locals for the flow info of the next ones to share its bit vectors between copies
+private static final int SHARED_LOCALS = 1200;
+private static String manyLocals() {
+	StringBuilder buffer = new StringBuilder("		int v0 = p;\n");
+	for (int i = 1; i < SHARED_LOCALS; i++)
+		buffer.append("		int v").append(i).append(" = v").append(i - 1).append(" + 1;\n");
+	return buffer.toString();
+}
+// definite assignment in methods with more than a thousand locals: a branch does not see the assignments of another
+public void testManyLocalsDefiniteAssignment() {
+	int line = SHARED_LOCALS + 4;
+	this.runNegativeTest(
+		new String[] {
+			"X.java",
+			"public class X {\n" +
+			"	static void sink(int i) {}\n" +
+			"	static void m(boolean b, int p) {\n" +
+			manyLocals() +
+			"		int a;\n" +
+			"		if (b) {\n" +
+			"			a = 1;\n" +
+			"			sink(a);\n" +
+			"		} else {\n" +
+			"			sink(a);\n" +
+			"		}\n" +
+			"		int c;\n" +
+			"		if (b)\n" +
+			"			c = 1;\n" +
+			"		sink(c);\n" +
+			"		int d;\n" +
+			"		if (b)\n" +
+			"			d = 1;\n" +
+			"		else\n" +
+			"			d = 2;\n" +
+			"		sink(d);\n" +
+			"		sink(v" + (SHARED_LOCALS - 1) + ");\n" +
+			"	}\n" +
+			"}\n"
+		},
+		"----------\n" +
+		"1. ERROR in X.java (at line " + (line + 5) + ")\n" +
+		"	sink(a);\n" +
+		"	     ^\n" +
+		"The local variable a may not have been initialized\n" +
+		"----------\n" +
+		"2. ERROR in X.java (at line " + (line + 10) + ")\n" +
+		"	sink(c);\n" +
+		"	     ^\n" +
+		"The local variable c may not have been initialized\n" +
+		"----------\n");
+}
+// null analysis in methods with more than a thousand locals: a branch does not see the assignments of another
+public void testManyLocalsNullAnalysis() {
+	int line = SHARED_LOCALS + 4;
+	Map options = getCompilerOptions();
+	options.put(CompilerOptions.OPTION_ReportNullReference, CompilerOptions.ERROR);
+	options.put(CompilerOptions.OPTION_ReportPotentialNullReference, CompilerOptions.ERROR);
+	this.runNegativeTest(
+		true /* flush output directory */,
+		new String[] {
+			"X.java",
+			"public class X {\n" +
+			"	static void sink(int i) {}\n" +
+			"	static void m(boolean b, int p) {\n" +
+			manyLocals() +
+			"		Object o = \"o\";\n" +
+			"		if (b) {\n" +
+			"			o = null;\n" +
+			"		} else {\n" +
+			"			o.toString();\n" +
+			"		}\n" +
+			"		o.toString();\n" +
+			"		Object q = b ? null : \"q\";\n" +
+			"		if (q != null)\n" +
+			"			q.toString();\n" +
+			"		Object r = null;\n" +
+			"		r.toString();\n" +
+			"		sink(v" + (SHARED_LOCALS - 1) + ");\n" +
+			"	}\n" +
+			"}\n"
+		},
+		null /* no class libraries */,
+		options,
+		"----------\n" +
+		"1. ERROR in X.java (at line " + (line + 6) + ")\n" +
+		"	o.toString();\n" +
+		"	^\n" +
+		"Potential null pointer access: The variable o may be null at this location\n" +
+		"----------\n" +
+		"2. ERROR in X.java (at line " + (line + 11) + ")\n" +
+		"	r.toString();\n" +
+		"	^\n" +
+		"Null pointer access: The variable r can only be null at this location\n" +
+		"----------\n",
+		JavacTestOptions.Excuse.EclipseWarningConfiguredAsError);
+}
+public void testManyLocalsConform() {
+	this.runConformTest(
+		new String[] {
+			"X.java",
+			"public class X {\n" +
+			"	static int m(boolean b, int p) {\n" +
+			manyLocals() +
+			"		int a;\n" +
+			"		String s = null;\n" +
+			"		if (b) {\n" +
+			"			a = 1;\n" +
+			"			s = \"b\";\n" +
+			"		} else {\n" +
+			"			a = 2;\n" +
+			"		}\n" +
+			"		int sum = 0;\n" +
+			"		for (int i = 0; i < 3; i++) {\n" +
+			"			int e;\n" +
+			"			try {\n" +
+			"				e = i;\n" +
+			"			} finally {\n" +
+			"				sum += a;\n" +
+			"			}\n" +
+			"			sum += e;\n" +
+			"		}\n" +
+			"		return sum + (s != null ? s.length() : 0) + v" + (SHARED_LOCALS - 1) + ";\n" +
+			"	}\n" +
+			"	public static void main(String[] args) {\n" +
+			"		System.out.println(m(true, 0) + \" \" + m(false, 0));\n" +
+			"	}\n" +
+			"}\n"
+		},
+		(3 + 3 + 1 + SHARED_LOCALS - 1) + " " + (6 + 3 + SHARED_LOCALS - 1));
+}
 public static Class testClass() {
 	return FlowAnalysisTest.class;
 }
@@ -0,0 +1,120 @@
+package org.eclipse.jdt.core.tests.compiler.regression;
+
+import junit.framework.Test;
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
+
+/**
+ * Checks that repeated invocations of generic methods are inferred once per compilation, see
+ * {@link org.eclipse.jdt.internal.compiler.lookup.InferenceCache}.
+ */
+public class InferenceCacheTest extends AbstractRegressionTest {
+
+	public InferenceCacheTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return buildMinimalComplianceTestSuite(testClass(), F_1_8);
+	}
+
+	public static Class<?> testClass() {
+		return InferenceCacheTest.class;
+	}
+
+	private static final String KERNEL_TYPES =
+		"	interface V<T extends V<T>> {}\n" +
+		"	static final class A implements V<A> {}\n" +
+		"	static <T extends V<T>> T mux(T a, T b) { return a; }\n";
+
+	// invocations as statements and receivers are not poly expressions, invocations as arguments are
+	public void testRepeatedInvocationInferredOnce() {
+		CompilerStats stats = compileWithoutProblems("X.java",
+			"public class X {\n" +
+			KERNEL_TYPES +
+			"	void run(A a, A b) {\n" +
+			"		mux(a, b);\n" +
+			"		mux(a, b).hashCode();\n" +
+			"		mux(b, a);\n" +
+			"		mux(mux(a, b), a);\n" +
+			"	}\n" +
+			"}\n");
+		assertEquals("Unexpected number of inferences", 1, stats.inferenceCacheMisses);
+		assertEquals("Unexpected number of cached answers", 2, stats.inferenceCacheHits);
+	}
+
+	// an invocation in an assignment context is a poly expression, its inference depends on the target
+	public void testPolyInvocationNotCached() {
+		CompilerStats stats = compileWithoutProblems("X.java",
+			"public class X {\n" +
+			KERNEL_TYPES +
+			"	void run(A a, A b) {\n" +
+			"		A c = mux(a, b);\n" +
+			"		c = mux(a, c);\n" +
+			"	}\n" +
+			"}\n");
+		assertEquals("Unexpected number of inferences", 0, stats.inferenceCacheMisses);
+		assertEquals("Unexpected number of cached answers", 0, stats.inferenceCacheHits);
+	}
+
+	// an argument that needs boxing is inferred in loose mode, which must not reuse a strict inference
+	public void testBoxedArgumentNotAnsweredFromStrictInference() {
+		String[] files = {
+			"X.java",
+			"class Lib {\n" +
+			"	static <T extends Number> void m(T x) { System.out.println(\"T\"); }\n" +
+			"}\n" +
+			"class Sub extends Lib {\n" +
+			"	static void m(Integer x) { System.out.println(\"Integer\"); }\n" +
+			"}\n" +
+			"public class X {\n" +
+			"	public static void main(String[] args) {\n" +
+			"		Integer i = 1;\n" +
+			"		Lib.m(i);\n" +
+			"		Sub.m(5);\n" +
+			"	}\n" +
+			"}\n"
+		};
+		CompilerStats stats = compileWithoutProblems(files[0], files[1]);
+		assertEquals("Unexpected number of inferences", 2, stats.inferenceCacheMisses);
+		assertEquals("Unexpected number of cached answers", 0, stats.inferenceCacheHits);
+		runConformTest(files, "T\nInteger");
+	}
+
+	// the problems involving a cached inference, and failed inferences, are reported at every use
+	public void testProblemsReportedAtEachUse() {
+		runNegativeTest(
+			new String[] {
+				"X.java",
+				"public class X {\n" +
+				KERNEL_TYPES +
+				"	void run(A a, A b) {\n" +
+				"		mux(a, b).undefined();\n" +
+				"		mux(a, b).undefined();\n" +
+				"		mux(a, \"\");\n" +
+				"		mux(a, \"\");\n" +
+				"	}\n" +
+				"}\n"
+			},
+			"----------\n" +
+			"1. ERROR in X.java (at line 6)\n" +
+			"	mux(a, b).undefined();\n" +
+			"	          ^^^^^^^^^\n" +
+			"The method undefined() is undefined for the type X.A\n" +
+			"----------\n" +
+			"2. ERROR in X.java (at line 7)\n" +
+			"	mux(a, b).undefined();\n" +
+			"	          ^^^^^^^^^\n" +
+			"The method undefined() is undefined for the type X.A\n" +
+			"----------\n" +
+			"3. ERROR in X.java (at line 8)\n" +
+			"	mux(a, \"\");\n" +
+			"	^^^\n" +
+			"The method mux(T, T) in the type X is not applicable for the arguments (X.A, String)\n" +
+			"----------\n" +
+			"4. ERROR in X.java (at line 9)\n" +
+			"	mux(a, \"\");\n" +
+			"	^^^\n" +
+			"The method mux(T, T) in the type X is not applicable for the arguments (X.A, String)\n" +
+			"----------\n");
+	}
+}
@@ -15,6 +15,7 @@ package org.eclipse.jdt.core.tests.compiler.regression;
 
 import static org.eclipse.jdt.internal.compiler.parser.TerminalToken.TokenNameNotAToken;
 
+import java.util.Arrays;
 import junit.framework.Test;
 import org.eclipse.jdt.core.compiler.InvalidInputException;
 import org.eclipse.jdt.internal.compiler.parser.Scanner;
@@ -70,4 +71,84 @@ public class InternalScannerTest extends AbstractRegressionTest {
 		assertEquals("Wrong number of line ends", 2, scanner.getLineEnds().length);
 	}
 
+	private static String tokens(Scanner scanner, char[] source) throws InvalidInputException {
+		scanner.setSource(source);
+		StringBuilder buffer = new StringBuilder();
+		TerminalToken token;
+		while ((token = scanner.getNextToken()) != TerminalToken.TokenNameEOF) {
+			buffer.append(token).append(' ').append(scanner.getCurrentTokenSource()).append('\n');
+		}
+		return buffer.toString();
+	}
+
+	// unicode escapes after plain ASCII white spaces, identifiers and comments
+	public void test003() throws InvalidInputException {
+		String source =
+			"class X { // plain ASCII first\n" +
+			"\tint a; /* block */\n" +
+			"\tint \\u0062c; String s = \"\\u00e9\"; /* ends with an escaped star \\u002a/ int d;\n" +
+			"\t// ends with an escaped line feed \\u000a int e;\n" +
+			"\tint f\\u00e9g;\\u0020int h; }\n";
+		assertEquals("Wrong tokens",
+			"TokenNameclass class\n" +
+			"TokenNameIdentifier X\n" +
+			"TokenNameLBRACE {\n" +
+			"TokenNameint int\n" +
+			"TokenNameIdentifier a\n" +
+			"TokenNameSEMICOLON ;\n" +
+			"TokenNameint int\n" +
+			"TokenNameIdentifier bc\n" +
+			"TokenNameSEMICOLON ;\n" +
+			"TokenNameIdentifier String\n" +
+			"TokenNameIdentifier s\n" +
+			"TokenNameEQUAL =\n" +
+			"TokenNameStringLiteral \"\u00e9\"\n" +
+			"TokenNameSEMICOLON ;\n" +
+			"TokenNameint int\n" +
+			"TokenNameIdentifier d\n" +
+			"TokenNameSEMICOLON ;\n" +
+			"TokenNameint int\n" +
+			"TokenNameIdentifier e\n" +
+			"TokenNameSEMICOLON ;\n" +
+			"TokenNameint int\n" +
+			"TokenNameIdentifier f\u00e9g\n" +
+			"TokenNameSEMICOLON ;\n" +
+			"TokenNameint int\n" +
+			"TokenNameIdentifier h\n" +
+			"TokenNameSEMICOLON ;\n" +
+			"TokenNameRBRACE }\n",
+			tokens(new Scanner(), source.toCharArray()));
+	}
+
+	// a source array reused with other contents is scanned as a new source
+	public void test004() throws InvalidInputException {
+		String first = "int a; // a comment\n/* another comment */ int b;";
+		String second = "int a\\u0062; // \\u000a int c;\n/* \\u002a/ int d; /* */";
+		char[] source = new char[Math.max(first.length(), second.length())];
+		Scanner scanner = new Scanner();
+		Arrays.fill(source, ' ');
+		first.getChars(0, first.length(), source, 0);
+		assertEquals("Wrong tokens",
+			"TokenNameint int\n" +
+			"TokenNameIdentifier a\n" +
+			"TokenNameSEMICOLON ;\n" +
+			"TokenNameint int\n" +
+			"TokenNameIdentifier b\n" +
+			"TokenNameSEMICOLON ;\n",
+			tokens(scanner, source));
+		Arrays.fill(source, ' ');
+		second.getChars(0, second.length(), source, 0);
+		assertEquals("Wrong tokens",
+			"TokenNameint int\n" +
+			"TokenNameIdentifier ab\n" +
+			"TokenNameSEMICOLON ;\n" +
+			"TokenNameint int\n" +
+			"TokenNameIdentifier c\n" +
+			"TokenNameSEMICOLON ;\n" +
+			"TokenNameint int\n" +
+			"TokenNameIdentifier d\n" +
+			"TokenNameSEMICOLON ;\n",
+			tokens(scanner, source));
+	}
+
 }
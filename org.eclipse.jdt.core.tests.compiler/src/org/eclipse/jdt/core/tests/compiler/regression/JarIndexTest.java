@@ -0,0 +1,248 @@
+package org.eclipse.jdt.core.tests.compiler.regression;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+import junit.framework.Test;
+import org.eclipse.jdt.core.tests.util.Util;
+import org.eclipse.jdt.internal.compiler.batch.JarIndex;
+
+/**
+ * Checks the persistent jar index of {@link JarIndex}, and that the jars it cannot describe, or whose index is out of
+ * date or broken, are still read correctly.
+ */
+public class JarIndexTest extends AbstractRegressionTest {
+
+	private static final int CENTRAL_HEADER_SIGNATURE = 0x02014b50;
+
+	private File indexDirectory;
+
+	public JarIndexTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return buildMinimalComplianceTestSuite(testClass(), F_1_8);
+	}
+
+	public static Class<?> testClass() {
+		return JarIndexTest.class;
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		this.indexDirectory = new File(OUTPUT_DIR, "jarIndex");
+		Util.flushDirectoryContent(this.indexDirectory);
+		System.setProperty(JarIndex.CACHE_DIRECTORY_PROPERTY, this.indexDirectory.getPath());
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		System.clearProperty(JarIndex.CACHE_DIRECTORY_PROPERTY);
+		super.tearDown();
+	}
+
+	private static void addEntry(ZipOutputStream zip, String name, String contents, int method) throws IOException {
+		byte[] bytes = contents.getBytes(StandardCharsets.UTF_8);
+		ZipEntry entry = new ZipEntry(name);
+		entry.setMethod(method);
+		if (method == ZipEntry.STORED) {
+			CRC32 crc = new CRC32();
+			crc.update(bytes);
+			entry.setSize(bytes.length);
+			entry.setCompressedSize(bytes.length);
+			entry.setCrc(crc.getValue());
+		}
+		zip.putNextEntry(entry);
+		zip.write(bytes);
+		zip.closeEntry();
+	}
+
+	private static byte[] jarBytes(int method, String... namesAndContents) throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+			for (int i = 0; i < namesAndContents.length; i += 2)
+				addEntry(zip, namesAndContents[i], namesAndContents[i + 1], method);
+		}
+		return bytes.toByteArray();
+	}
+
+	private File writeJar(String name, byte[] bytes) throws IOException {
+		File directory = new File(OUTPUT_DIR, "jars");
+		directory.mkdirs();
+		File jar = new File(directory, name);
+		Files.write(jar.toPath(), bytes);
+		return jar;
+	}
+
+	// sets a 2 byte field of every central directory header
+	private static void patchCentralHeaders(byte[] jar, int fieldOffset, int value) {
+		for (int i = 0; i + 4 <= jar.length; i++) {
+			int signature = (jar[i] & 0xFF) | (jar[i + 1] & 0xFF) << 8 | (jar[i + 2] & 0xFF) << 16 | (jar[i + 3] & 0xFF) << 24;
+			if (signature == CENTRAL_HEADER_SIGNATURE) {
+				jar[i + fieldOffset] = (byte) value;
+				jar[i + fieldOffset + 1] = (byte) (value >> 8);
+			}
+		}
+	}
+
+	private File indexFile() {
+		File[] files = this.indexDirectory.listFiles((directory, name) -> name.endsWith(".idx"));
+		assertNotNull("Missing index directory", files);
+		assertEquals("Unexpected index files " + Arrays.toString(files), 1, files.length);
+		return files[0];
+	}
+
+	private static String read(JarIndex index, String name) throws IOException {
+		byte[] bytes = index.read(name);
+		return bytes == null ? null : new String(bytes, StandardCharsets.UTF_8);
+	}
+
+	public void testStoredAndDeflatedEntries() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+			addEntry(zip, "p/B.class", "deflated deflated deflated", ZipEntry.DEFLATED);
+			addEntry(zip, "p/A.class", "stored", ZipEntry.STORED);
+			addEntry(zip, "p/q/", "", ZipEntry.STORED);
+		}
+		File jar = writeJar("mixed.jar", bytes.toByteArray());
+		// written by the first compilation, mapped by the next one
+		for (int compilation = 0; compilation < 2; compilation++) {
+			JarIndex index = JarIndex.get(jar);
+			assertNotNull("Missing index", index);
+			try {
+				assertEquals("Unexpected names", Arrays.asList("p/A.class", "p/B.class", "p/q/"), index.names());
+				assertTrue("Missing entry", index.contains("p/q/"));
+				assertFalse("Unexpected entry", index.contains("p/C.class"));
+				assertEquals("Unexpected stored entry", "stored", read(index, "p/A.class"));
+				assertEquals("Unexpected deflated entry", "deflated deflated deflated", read(index, "p/B.class"));
+				assertNull("Unexpected entry", read(index, "p/C.class"));
+			} finally {
+				index.close();
+			}
+		}
+	}
+
+	// the same entry as ZipFile is answered for a name listed twice
+	public void testDuplicateEntries() throws IOException {
+		byte[] bytes = jarBytes(ZipEntry.DEFLATED, "p/A", "first", "p/B", "second", "p/C", "third");
+		for (int i = 0; i + 3 <= bytes.length; i++) {
+			if (bytes[i] == 'p' && bytes[i + 1] == '/' && bytes[i + 2] == 'B')
+				bytes[i + 2] = 'A';
+		}
+		File jar = writeJar("duplicates.jar", bytes);
+		String expected;
+		try (ZipFile zipFile = new ZipFile(jar)) {
+			expected = new String(zipFile.getInputStream(zipFile.getEntry("p/A")).readAllBytes(), StandardCharsets.UTF_8);
+		}
+		JarIndex index = JarIndex.get(jar);
+		assertNotNull("Missing index", index);
+		try {
+			assertEquals("Unexpected duplicate", expected, read(index, "p/A"));
+			assertEquals("Unexpected entry", "third", read(index, "p/C"));
+		} finally {
+			index.close();
+		}
+	}
+
+	// more than 65534 entries need a ZIP64 end of central directory
+	public void testZip64Unusable() throws IOException {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ZipOutputStream zip = new ZipOutputStream(bytes)) {
+			for (int i = 0; i < 0x10000; i++)
+				addEntry(zip, "p/" + i, "", ZipEntry.STORED);
+		}
+		File jar = writeJar("zip64.jar", bytes.toByteArray());
+		assertNull("Unexpected index", JarIndex.get(jar));
+		indexFile();
+		assertNull("Unexpected index", JarIndex.get(jar));
+	}
+
+	public void testEncryptedUnusable() throws IOException {
+		byte[] bytes = jarBytes(ZipEntry.DEFLATED, "p/A.class", "contents");
+		patchCentralHeaders(bytes, 8, 1); // general purpose flags
+		File jar = writeJar("encrypted.jar", bytes);
+		assertNull("Unexpected index", JarIndex.get(jar));
+		indexFile();
+		assertNull("Unexpected index", JarIndex.get(jar));
+	}
+
+	public void testUnknownMethodUnusable() throws IOException {
+		byte[] bytes = jarBytes(ZipEntry.DEFLATED, "p/A.class", "contents");
+		patchCentralHeaders(bytes, 10, 12); // bzip2
+		File jar = writeJar("bzip2.jar", bytes);
+		assertNull("Unexpected index", JarIndex.get(jar));
+		indexFile();
+		assertNull("Unexpected index", JarIndex.get(jar));
+	}
+
+	// a jar rebuilt between two compilations is indexed again
+	public void testStaleIndex() throws IOException {
+		File jar = writeJar("stale.jar", jarBytes(ZipEntry.DEFLATED, "p/A.class", "old"));
+		JarIndex index = JarIndex.get(jar);
+		assertEquals("Unexpected entry", "old", read(index, "p/A.class"));
+		index.close();
+
+		// different size
+		writeJar("stale.jar", jarBytes(ZipEntry.DEFLATED, "p/A.class", "new", "p/B.class", "added"));
+		index = JarIndex.get(jar);
+		try {
+			assertEquals("Stale entry", "new", read(index, "p/A.class"));
+			assertEquals("Missing entry", "added", read(index, "p/B.class"));
+		} finally {
+			index.close();
+		}
+
+		// same size, different timestamp
+		long length = jar.length(), lastModified = jar.lastModified();
+		writeJar("stale.jar", jarBytes(ZipEntry.DEFLATED, "p/A.class", "two", "p/C.class", "added"));
+		assertEquals("Unexpected size", length, jar.length());
+		assertTrue("Cannot set timestamp", jar.setLastModified(lastModified + 10000));
+		index = JarIndex.get(jar);
+		try {
+			assertFalse("Stale entry", index.contains("p/B.class"));
+			assertEquals("Stale entry", "two", read(index, "p/A.class"));
+			assertEquals("Missing entry", "added", read(index, "p/C.class"));
+		} finally {
+			index.close();
+		}
+	}
+
+	// an index file cut short, or overwritten, by another process is written again
+	public void testBrokenIndexFile() throws IOException {
+		File jar = writeJar("broken.jar", jarBytes(ZipEntry.DEFLATED, "p/A.class", "contents", "p/B.class", "other"));
+		JarIndex.get(jar).close();
+		File indexFile = indexFile();
+		long length = indexFile.length();
+
+		try (RandomAccessFile file = new RandomAccessFile(indexFile, "rw")) {
+			file.setLength(length - 3);
+		}
+		JarIndex index = JarIndex.get(jar);
+		try {
+			assertEquals("Unexpected entry", "contents", read(index, "p/A.class"));
+		} finally {
+			index.close();
+		}
+		assertEquals("Index not written again", length, indexFile().length());
+
+		byte[] garbage = new byte[(int) length];
+		Arrays.fill(garbage, (byte) 0x5a);
+		Files.write(indexFile.toPath(), garbage);
+		index = JarIndex.get(jar);
+		try {
+			assertEquals("Unexpected entry", "other", read(index, "p/B.class"));
+		} finally {
+			index.close();
+		}
+	}
+}
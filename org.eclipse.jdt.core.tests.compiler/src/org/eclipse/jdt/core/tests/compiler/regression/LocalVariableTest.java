@@ -909,6 +909,77 @@ public void testBug537033() {
 		"The local variable x may not have been initialized\n" +
 		"----------\n");
 }
+// declares enough locals for the scope to look them up by name
+private static String manyLocals() {
+	StringBuilder buffer = new StringBuilder("		int v0 = p;\n");
+	for (int i = 1; i < 40; i++)
+		buffer.append("		int v").append(i).append(" = v").append(i - 1).append(" + 1;\n");
+	return buffer.toString();
+}
+// a name resolves to the field until a local of the same name is declared, and to the locals of inner scopes there
+public void testManyLocalsShadowing() {
+	this.runConformTest(
+		new String[] {
+			"X.java",
+			"public class X {\n" +
+			"	static int f = 100;\n" +
+			"	static int m(int p) {\n" +
+			manyLocals() +
+			"		int r1 = f;\n" +
+			"		int f = 5;\n" +
+			"		int r2 = f;\n" +
+			"		final int last = v39;\n" +
+			"		int r3 = new Object() {\n" +
+			"			int h() {\n" +
+			"				int v0 = 1000;\n" +
+			"				return v0 + last;\n" +
+			"			}\n" +
+			"		}.h();\n" +
+			"		int r4 = 0;\n" +
+			"		for (int i = 0; i < 2; i++) {\n" +
+			"			int k = i + 1;\n" +
+			"			r4 += k;\n" +
+			"		}\n" +
+			"		{\n" +
+			"			int k = 10;\n" +
+			"			r4 += k;\n" +
+			"		}\n" +
+			"		return r1 + r2 + r3 + r4 + v39;\n" +
+			"	}\n" +
+			"	public static void main(String[] args) {\n" +
+			"		System.out.println(m(0));\n" +
+			"	}\n" +
+			"}\n"
+		},
+		"1196");
+}
+// pattern variables of the same name in a scope looking up its locals by name
+public void testManyLocalsPatternVariables() {
+	if (this.complianceLevel < ClassFileConstants.JDK16)
+		return;
+	this.runConformTest(
+		new String[] {
+			"X.java",
+			"public class X {\n" +
+			"	static int m(int p) {\n" +
+			manyLocals() +
+			"		Object o = p > 0 ? \"abc\" : Integer.valueOf(7);\n" +
+			"		int r = v39;\n" +
+			"		if (o instanceof String s)\n" +
+			"			r += s.length();\n" +
+			"		if (o instanceof Integer s)\n" +
+			"			r += s;\n" +
+			"		if (!(o instanceof String t))\n" +
+			"			return r;\n" +
+			"		return r + t.length() * 100;\n" +
+			"	}\n" +
+			"	public static void main(String[] args) {\n" +
+			"		System.out.println(m(1) + \" \" + m(-1));\n" +
+			"	}\n" +
+			"}\n"
+		},
+		"343 45");
+}
 public static Class testClass() {
 	return LocalVariableTest.class;
 }
@@ -0,0 +1,137 @@
+package org.eclipse.jdt.core.tests.compiler.regression;
+
+import java.util.Map;
+import junit.framework.Test;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
+
+/**
+ * Checks that repeated method lookups are answered once per compilation unit when enabled, see
+ * {@link org.eclipse.jdt.internal.compiler.lookup.MethodLookupCache}.
+ */
+public class MethodLookupCacheTest extends AbstractRegressionTest {
+
+	public MethodLookupCacheTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return buildMinimalComplianceTestSuite(testClass(), F_1_8);
+	}
+
+	public static Class<?> testClass() {
+		return MethodLookupCacheTest.class;
+	}
+
+	@Override
+	protected Map<String, String> getCompilerOptions() {
+		Map<String, String> options = super.getCompilerOptions();
+		options.put(CompilerOptions.OPTION_MethodLookupCache, CompilerOptions.ENABLED);
+		return options;
+	}
+
+	private static final String KERNEL_TYPES =
+		"	static class IO {\n" +
+		"		void output(String name, Object value) {}\n" +
+		"		void output(String name, Object value, int width) {}\n" +
+		"		void output(String name, String value) {}\n" +
+		"	}\n" +
+		"	static class Constant {\n" +
+		"		int var(double value) { return 0; }\n" +
+		"		int var(int value) { return 1; }\n" +
+		"		<T> T var(T value) { return value; }\n" +
+		"	}\n";
+
+	public void testRepeatedLookupAnsweredOnce() {
+		CompilerStats stats = compileWithoutProblems("X.java",
+			"public class X {\n" +
+			KERNEL_TYPES +
+			"	IO io = new IO();\n" +
+			"	Constant constant = new Constant();\n" +
+			"	void run(Object a, String s) {\n" +
+			"		io.output(\"a\", a);\n" +
+			"		io.output(\"b\", a);\n" +
+			"		io.output(\"c\", s);\n" +
+			"		io.output(\"d\", s);\n" +
+			"		io.output(\"e\", a, 8);\n" +
+			"		constant.var(1.0);\n" +
+			"		constant.var(2.0);\n" +
+			"	}\n" +
+			"}\n");
+		// output(String, Object), output(String, String), output(String, Object, int) and var(double)
+		assertEquals("Unexpected number of lookups", 4, stats.methodLookupCacheMisses);
+		assertEquals("Unexpected number of cached answers", 3, stats.methodLookupCacheHits);
+	}
+
+	// generic methods are inferred at every invocation
+	public void testGenericMethodNotCached() {
+		CompilerStats stats = compileWithoutProblems("X.java",
+			"public class X {\n" +
+			KERNEL_TYPES +
+			"	Constant constant = new Constant();\n" +
+			"	void run(String s) {\n" +
+			"		constant.var(s);\n" +
+			"		constant.var(s);\n" +
+			"	}\n" +
+			"}\n");
+		assertEquals("Unexpected number of lookups", 2, stats.methodLookupCacheMisses);
+		assertEquals("Unexpected number of cached answers", 0, stats.methodLookupCacheHits);
+	}
+
+	// the lookup of an unqualified invocation is cached for each enclosing type searched
+	public void testImplicitLookupCachedPerEnclosingType() {
+		CompilerStats stats = compileWithoutProblems("X.java",
+			"public class X {\n" +
+			"	void output(String name) {}\n" +
+			"	class Inner {\n" +
+			"		void run() {\n" +
+			"			output(\"a\");\n" +
+			"			output(\"b\");\n" +
+			"		}\n" +
+			"	}\n" +
+			"	void run() {\n" +
+			"		output(\"c\");\n" +
+			"	}\n" +
+			"}\n");
+		// Inner is searched twice without finding the method, X is searched from Inner and from X
+		assertEquals("Unexpected number of lookups", 3, stats.methodLookupCacheMisses);
+		assertEquals("Unexpected number of cached answers", 2, stats.methodLookupCacheHits);
+	}
+
+	// the visibility of a cached method is checked against the invoking type
+	public void testProblemsReportedAtEachUse() {
+		runNegativeTest(
+			new String[] {
+				"p/A.java",
+				"package p;\n" +
+				"public class A {\n" +
+				"	void hidden(int i) {}\n" +
+				"	public void shown(int i) {}\n" +
+				"	public void test() {\n" +
+				"		hidden(1);\n" +
+				"		hidden(2);\n" +
+				"	}\n" +
+				"}\n",
+				"X.java",
+				"public class X {\n" +
+				"	void run(p.A a) {\n" +
+				"		a.shown(1);\n" +
+				"		a.hidden(1);\n" +
+				"		a.shown(2);\n" +
+				"		a.hidden(2);\n" +
+				"	}\n" +
+				"}\n"
+			},
+			"----------\n" +
+			"1. ERROR in X.java (at line 4)\n" +
+			"	a.hidden(1);\n" +
+			"	  ^^^^^^\n" +
+			"The method hidden(int) from the type A is not visible\n" +
+			"----------\n" +
+			"2. ERROR in X.java (at line 6)\n" +
+			"	a.hidden(2);\n" +
+			"	  ^^^^^^\n" +
+			"The method hidden(int) from the type A is not visible\n" +
+			"----------\n");
+	}
+}
@@ -0,0 +1,233 @@
+package org.eclipse.jdt.core.tests.compiler.regression;
+
+import java.util.Map;
+import junit.framework.Test;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+
+/**
+ * Checks long chains of the same binary operator, which the parser builds as
+ * {@link org.eclipse.jdt.internal.compiler.ast.CombinedBinaryExpression}s and which are then resolved, analysed
+ * and generated without recursing through their left operands.
+ */
+public class OperatorChainTest extends AbstractRegressionTest {
+
+	public OperatorChainTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return buildAllCompliancesTestSuite(testClass());
+	}
+
+	public static Class<?> testClass() {
+		return OperatorChainTest.class;
+	}
+
+	private static final String OPERAND_TYPE =
+		"	static class V {\n" +
+		"		final int x;\n" +
+		"		V(int x) { this.x = x; }\n" +
+		"		public V add(V o) { return new V(this.x + o.x); }\n" +
+		"		private V sub(V o) { return new V(this.x - o.x); }\n" +
+		"	}\n";
+
+	private static String chain(String first, String operator, String operand, int count) {
+		StringBuilder buffer = new StringBuilder(first);
+		for (int i = 0; i < count; i++)
+			buffer.append(' ').append(operator).append(' ').append(operand);
+		return buffer.toString();
+	}
+
+	// generated kernels chain thousands of overloaded operators, they must compile with the default stack size
+	public void testDeepOverloadedChain() {
+		runConformTest(
+			new String[] {
+				"X.java",
+				"public class X {\n" +
+				OPERAND_TYPE +
+				"	public static void main(String[] args) {\n" +
+				"		V v = new V(1);\n" +
+				"		V r = " + chain("v", "+", "v", 4999) + ";\n" +
+				"		System.out.println(r.x);\n" +
+				"	}\n" +
+				"}\n"
+			},
+			"5000");
+	}
+
+	// every operator of the chain invokes the private method of the nested class through its accessor
+	public void testPrivateOperatorInChain() {
+		runConformTest(
+			new String[] {
+				"X.java",
+				"public class X {\n" +
+				OPERAND_TYPE +
+				"	public static void main(String[] args) {\n" +
+				"		V v = new V(1);\n" +
+				"		V r = " + chain("new V(100)", "-", "v", 60) + ";\n" +
+				"		System.out.println(r.x);\n" +
+				"	}\n" +
+				"}\n"
+			},
+			"40");
+	}
+
+	// a field known to be non-null after a dereference is forgotten after each operand, as in short chains
+	public void testNullCheckedFieldExpiresInChain() {
+		StringBuilder operands = new StringBuilder();
+		for (int i = 0; i < 30; i++)
+			operands.append("			- 1\n");
+		Map<String, String> options = getCompilerOptions();
+		options.put(CompilerOptions.OPTION_AnnotationBasedNullAnalysis, CompilerOptions.ENABLED);
+		options.put(CompilerOptions.OPTION_NullableAnnotationName, "p.Nullable");
+		options.put(CompilerOptions.OPTION_NonNullAnnotationName, "p.NonNull");
+		options.put(CompilerOptions.OPTION_ReportPotentialNullReference, CompilerOptions.WARNING);
+		options.put(CompilerOptions.OPTION_SyntacticNullAnalysisForFields, CompilerOptions.ENABLED);
+		Runner runner = new Runner();
+		runner.customOptions = options;
+		runner.testFiles = new String[] {
+			"p/Nullable.java",
+			"package p;\n" +
+			"import java.lang.annotation.*;\n" +
+			"@Retention(RetentionPolicy.CLASS)\n" +
+			"@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER, ElementType.LOCAL_VARIABLE})\n" +
+			"public @interface Nullable {}\n",
+			"p/NonNull.java",
+			"package p;\n" +
+			"import java.lang.annotation.*;\n" +
+			"@Retention(RetentionPolicy.CLASS)\n" +
+			"@Target({ElementType.FIELD, ElementType.METHOD, ElementType.PARAMETER, ElementType.LOCAL_VARIABLE})\n" +
+			"public @interface NonNull {}\n",
+			"p/X.java",
+			"package p;\n" +
+			"class Box { int v; }\n" +
+			"public class X {\n" +
+			"	@Nullable Box f;\n" +
+			"	int m() {\n" +
+			"		return this.f.v\n" +
+			"			- this.f.v\n" +
+			operands +
+			"			;\n" +
+			"	}\n" +
+			"}\n"
+		};
+		runner.expectedCompilerLog =
+			"----------\n" +
+			"1. WARNING in p\\X.java (at line 6)\n" +
+			"	return this.f.v\n" +
+			"	            ^\n" +
+			"Potential null pointer access: The field f is specified as @Nullable\n" +
+			"----------\n" +
+			"2. WARNING in p\\X.java (at line 7)\n" +
+			"	- this.f.v\n" +
+			"	       ^\n" +
+			"Potential null pointer access: The field f is specified as @Nullable\n" +
+			"----------\n";
+		runner.javacTestOptions = JavacTestOptions.SKIP;
+		runner.runWarningTest();
+	}
+
+	// plain Java chains are constant expressions, whether they are combined (past 20 operators) or not
+	public void testConstantChains() {
+		runConformTest(
+			new String[] {
+				"X.java",
+				"public class X {\n" +
+				"	static final int MINUS_SHORT = " + chain("10000", "-", "7", 3) + ";\n" +
+				"	static final int MINUS = " + chain("10000", "-", "7", 40) + ";\n" +
+				"	static final int MULTIPLY = " + chain("1", "*", "2", 30) + ";\n" +
+				"	static final int DIVIDE = " + chain("1073741824", "/", "2", 30) + ";\n" +
+				"	static final int REMAINDER = " + chain("1000003", "%", "1000", 25) + ";\n" +
+				"	static final int AND = " + chain("0x7fff", "&", "0x3ff", 25) + ";\n" +
+				"	static final int OR = " + chain("0x100", "|", "0x3", 25) + ";\n" +
+				"	static final int XOR = " + chain("0x55", "^", "0xff", 25) + ";\n" +
+				"	static final long LONG_MINUS = " + chain("10000000000L", "-", "1", 30) + ";\n" +
+				"	static final boolean BOOLEAN_XOR = " + chain("true", "^", "true", 25) + ";\n" +
+				"	static String name(int value) {\n" +
+				"		switch (value) {\n" +
+				"			case MINUS_SHORT: return \"MINUS_SHORT\";\n" +
+				"			case MINUS: return \"MINUS\";\n" +
+				"			case MULTIPLY: return \"MULTIPLY\";\n" +
+				"			case DIVIDE: return \"DIVIDE\";\n" +
+				"			case REMAINDER: return \"REMAINDER\";\n" +
+				"			case AND: return \"AND\";\n" +
+				"			case OR: return \"OR\";\n" +
+				"			case XOR: return \"XOR\";\n" +
+				"			default: return \"?\";\n" +
+				"		}\n" +
+				"	}\n" +
+				"	public static void main(String[] args) {\n" +
+				"		byte b = " + chain("100", "-", "1", 30) + ";\n" +
+				"		System.out.println(name(MINUS_SHORT) + name(MINUS) + name(MULTIPLY) + name(DIVIDE)\n" +
+				"			+ name(REMAINDER) + name(AND) + name(OR) + name(XOR));\n" +
+				"		System.out.println(MINUS_SHORT + \" \" + MINUS + \" \" + MULTIPLY + \" \" + DIVIDE + \" \" + REMAINDER\n" +
+				"			+ \" \" + AND + \" \" + OR + \" \" + XOR + \" \" + LONG_MINUS + \" \" + BOOLEAN_XOR + \" \" + b);\n" +
+				"	}\n" +
+				"}\n"
+			},
+			"MINUS_SHORTMINUSMULTIPLYDIVIDEREMAINDERANDORXOR\n" +
+			"9979 9720 1073741824 1 3 1023 259 170 9999999970 false 70");
+	}
+
+	// chains of other operators nested in a string concatenation
+	public void testChainsInStringConcatenation() {
+		runConformTest(
+			new String[] {
+				"X.java",
+				"public class X {\n" +
+				"	public static void main(String[] args) {\n" +
+				"		int a = 100;\n" +
+				"		System.out.println(\"r=\" + (" + chain("a", "-", "1", 25) + ") + \",\" + " + chain("a", "*", "1", 25)
+						+ " + \"-\" + " + chain("a", "/", "1", 25) + ");\n" +
+				"	}\n" +
+				"}\n"
+			},
+			"r=75,100-100");
+	}
+
+	// a string concatenation as the first operand of a '-' chain is reported once, as in short chains
+	public void testStringMinusChain() {
+		runNegativeTest(
+			new String[] {
+				"X.java",
+				"public class X {\n" +
+				"	String s = " + chain("\"a\" + 1", "-", "1", 3) + ";\n" +
+				"	String t = " + chain("\"a\" + 1", "-", "1", 25) + ";\n" +
+				"}\n"
+			},
+			"----------\n" +
+			"1. ERROR in X.java (at line 2)\n" +
+			"	String s = " + chain("\"a\" + 1", "-", "1", 3) + ";\n" +
+			"	           ^^^^^^^^^^^\n" +
+			"The operator - is undefined for the argument type(s) String, int\n" +
+			"----------\n" +
+			"2. ERROR in X.java (at line 3)\n" +
+			"	String t = " + chain("\"a\" + 1", "-", "1", 25) + ";\n" +
+			"	           ^^^^^^^^^^^\n" +
+			"The operator - is undefined for the argument type(s) String, int\n" +
+			"----------\n");
+	}
+
+	// parenthesized operands and sub-chains, and chains on the right of compound assignments
+	public void testParenthesizedAndCompoundChains() {
+		runConformTest(
+			new String[] {
+				"X.java",
+				"public class X {\n" +
+				"	public static void main(String[] args) {\n" +
+				"		int a = 1000, b = 3, c = 5;\n" +
+				"		int r1 = a" + " - (b - c)".repeat(25) + ";\n" +
+				"		int r2 = (" + chain("a", "-", "b", 25) + ") - (" + chain("a", "-", "c", 25) + ");\n" +
+				"		int r3 = " + "(".repeat(25) + "a" + " - b)".repeat(25) + ";\n" +
+				"		int r4 = " + chain("a", "-", "b * 2", 25) + ";\n" +
+				"		int x = a;\n" +
+				"		x -= " + chain("b", "-", "c", 25) + ";\n" +
+				"		int y = x;\n" +
+				"		y *= " + chain("c", "/", "1", 25) + ";\n" +
+				"		System.out.println(r1 + \" \" + r2 + \" \" + r3 + \" \" + r4 + \" \" + x + \" \" + y);\n" +
+				"	}\n" +
+				"}\n"
+			},
+			"1050 50 925 850 1122 5610");
+	}
+}
@@ -0,0 +1,196 @@
+package org.eclipse.jdt.core.tests.compiler.regression;
+
+import junit.framework.Test;
+import org.eclipse.jdt.internal.compiler.classfmt.ClassFileConstants;
+import org.eclipse.jdt.internal.compiler.impl.CompilerStats;
+
+/**
+ * Checks that overloaded operators are looked up once per class and compilation, see
+ * {@link org.eclipse.jdt.internal.compiler.lookup.OperatorOverloadCache}.
+ */
+public class OperatorOverloadCacheTest extends AbstractRegressionTest {
+
+	public OperatorOverloadCacheTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return buildAllCompliancesTestSuite(testClass());
+	}
+
+	public static Class<?> testClass() {
+		return OperatorOverloadCacheTest.class;
+	}
+
+	private static final String KERNEL_OPERATORS =
+		"	public void _IF(boolean c) {}\n" +
+		"	public void _ELSE() {}\n" +
+		"	public void _END_IF() {}\n" +
+		"	public void _SWITCH(int c) {}\n" +
+		"	public void _END_SWITCH() {}\n" +
+		"	public void _CASE(int c) {}\n" +
+		"	public void _OTHERWISE() {}\n";
+
+	// every hardware IF of a class uses the same _IF, _ELSE and _END_IF methods
+	public void testControlFlowOperatorsLookedUpOncePerClass() {
+		CompilerStats stats = compileWithoutProblems("X.java",
+			"public class X {\n" +
+			KERNEL_OPERATORS +
+			"	void run(int n) {\n" +
+			"		IF (n > 1) { n++; } ELSE { n--; }\n" +
+			"		IF (n > 2) { n++; } ELSE { n--; }\n" +
+			"		IF (n > 3) { n++; } ELSE { n--; }\n" +
+			"		IF (n > 4) { n++; } ELSE { n--; }\n" +
+			"		IF (n > 5) { n++; } ELSE { n--; }\n" +
+			"	}\n" +
+			"}\n" +
+			"class Y {\n" +
+			KERNEL_OPERATORS +
+			"	void run(int n) {\n" +
+			"		IF (n > 1) { n++; } ELSE { n--; }\n" +
+			"		IF (n > 2) { n++; } ELSE { n--; }\n" +
+			"		IF (n > 3) { n++; } ELSE { n--; }\n" +
+			"		IF (n > 4) { n++; } ELSE { n--; }\n" +
+			"		IF (n > 5) { n++; } ELSE { n--; }\n" +
+			"	}\n" +
+			"}\n");
+		// 3 operators in each of the 2 classes, used 5 times each
+		assertEquals("Unexpected number of lookups", 6, stats.operatorOverloadCacheMisses);
+		assertEquals("Unexpected number of cached answers", 24, stats.operatorOverloadCacheHits);
+	}
+
+	public void testSwitchOperatorsLookedUpOncePerClass() {
+		CompilerStats stats = compileWithoutProblems("X.java",
+			"public class X {\n" +
+			KERNEL_OPERATORS +
+			"	void run(int n) {\n" +
+			"		SWITCH (n) { CASE (1) { n++; } CASE (2) { n--; } OTHERWISE { n = 0; } }\n" +
+			"		SWITCH (n) { CASE (3) { n++; } CASE (4) { n--; } OTHERWISE { n = 0; } }\n" +
+			"	}\n" +
+			"}\n");
+		// _SWITCH, _END_SWITCH, _CASE and _OTHERWISE
+		assertEquals("Unexpected number of lookups", 4, stats.operatorOverloadCacheMisses);
+		assertEquals("Unexpected number of cached answers", 6, stats.operatorOverloadCacheHits);
+	}
+
+	// Derived has no method of its own, the inherited sub must still be found; subAsRHS is declared nowhere
+	public void testOperatorInheritedFromSuperclass() {
+		String source =
+			"class Base {\n" +
+			"	public String sub(Base o) { return \"Base.sub\"; }\n" +
+			"}\n" +
+			"class Derived extends Base {}\n" +
+			"public class X {\n" +
+			"	public static void main(String[] args) {\n" +
+			"		Derived a = new Derived(), b = new Derived();\n" +
+			"		System.out.println(a - b);\n" +
+			"		System.out.println(b - a);\n" +
+			"	}\n" +
+			"}\n";
+		CompilerStats stats = compileWithoutProblems("X.java", source);
+		assertEquals("Unexpected number of lookups", 1, stats.operatorOverloadCacheMisses);
+		assertEquals("Unexpected number of cached answers", 1, stats.operatorOverloadCacheHits);
+		assertEquals("Unexpected number of skipped lookups", 1, stats.operatorOverloadCacheSkips);
+		runConformTest(new String[] { "X.java", source }, "Base.sub\nBase.sub");
+	}
+
+	public void testOperatorInheritedFromInterface() {
+		if (this.complianceLevel < ClassFileConstants.JDK1_8)
+			return;
+		runConformTest(
+			new String[] {
+				"X.java",
+				"interface Negatable {\n" +
+				"	default String neg() { return \"Negatable.neg\"; }\n" +
+				"}\n" +
+				"interface Signed extends Negatable {}\n" +
+				"class V implements Signed {}\n" +
+				"public class X {\n" +
+				"	public static void main(String[] args) {\n" +
+				"		System.out.println(-new V());\n" +
+				"	}\n" +
+				"}\n"
+			},
+			"Negatable.neg");
+	}
+
+	// the operator methods of binary types, and of their binary superclasses, are known from their class files
+	public void testOperatorDeclaredInBinaryType() {
+		runConformTest(
+			new String[] {
+				"p/Lib.java",
+				"package p;\n" +
+				"public class Lib {\n" +
+				"	public String add(Lib other) { return \"Lib.add\"; }\n" +
+				"}\n",
+				"p/Sub.java",
+				"package p;\n" +
+				"public class Sub extends Lib {}\n"
+			},
+			"");
+		runConformTest(
+			new String[] {
+				"X.java",
+				"import java.math.BigInteger;\n" +
+				"import p.*;\n" +
+				"public class X {\n" +
+				"	public static void main(String[] args) {\n" +
+				"		System.out.println(new Lib() + new Sub());\n" +
+				"		System.out.println(new Sub() + new Lib());\n" +
+				"		System.out.println(BigInteger.ONE + BigInteger.TEN);\n" +
+				"	}\n" +
+				"}\n"
+			},
+			"Lib.add\nLib.add\n11",
+			null /* no class libraries */,
+			false /* do not flush output directory */,
+			null /* no vm arguments */);
+	}
+
+	// the diagnostics of a cached operator are reported at every use
+	public void testInvalidControlFlowOperatorReportedAtEachUse() {
+		runNegativeTest(
+			new String[] {
+				"X.java",
+				"public class X {\n" +
+				"	public static void _IF(boolean c) {}\n" +
+				"	public int _ELSE() { return 0; }\n" +
+				"	public void _END_IF() {}\n" +
+				"	void run(int n) {\n" +
+				"		IF (n > 1) { n++; }\n" +
+				"		IF (n > 2) { n++; }\n" +
+				"	}\n" +
+				"}\n" +
+				"class Y {\n" +
+				"	public void _IF(boolean c) {}\n" +
+				"	public int _ELSE() { return 0; }\n" +
+				"	public void _END_IF() {}\n" +
+				"	void run(int n) {\n" +
+				"		IF (n > 1) { n++; } ELSE { n--; }\n" +
+				"		IF (n > 2) { n++; } ELSE { n--; }\n" +
+				"	}\n" +
+				"}\n"
+			},
+			"----------\n" +
+			"1. ERROR in X.java (at line 6)\n" +
+			"	IF (n > 1) { n++; }\n" +
+			"	^^^^^^^^^^^^^^^^^^^\n" +
+			"Overloaded operator \'_IF\' must be a non-static member\n" +
+			"----------\n" +
+			"2. ERROR in X.java (at line 7)\n" +
+			"	IF (n > 2) { n++; }\n" +
+			"	^^^^^^^^^^^^^^^^^^^\n" +
+			"Overloaded operator \'_IF\' must be a non-static member\n" +
+			"----------\n" +
+			"3. ERROR in X.java (at line 15)\n" +
+			"	IF (n > 1) { n++; } ELSE { n--; }\n" +
+			"	^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^\n" +
+			"Invalid return type \'int\' for overloaded operator \'_ELSE\', \'void\' expected\n" +
+			"----------\n" +
+			"4. ERROR in X.java (at line 16)\n" +
+			"	IF (n > 2) { n++; } ELSE { n--; }\n" +
+			"	^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^^\n" +
+			"Invalid return type \'int\' for overloaded operator \'_ELSE\', \'void\' expected\n" +
+			"----------\n");
+	}
+}
@@ -0,0 +1,126 @@
+package org.eclipse.jdt.core.tests.compiler.regression;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import junit.framework.Test;
+import org.eclipse.jdt.core.compiler.CategorizedProblem;
+import org.eclipse.jdt.core.compiler.IProblem;
+import org.eclipse.jdt.core.tests.util.Util;
+import org.eclipse.jdt.internal.compiler.Compiler;
+import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
+import org.eclipse.jdt.internal.compiler.problem.DefaultProblemFactory;
+import org.eclipse.jdt.internal.compiler.problem.ProblemSeverities;
+
+/**
+ * Checks that the messages of problems, formatted when they are first requested, read as the messages formatted
+ * when the problems are created.
+ */
+public class ProblemMessageTest extends AbstractRegressionTest {
+
+	public ProblemMessageTest(String name) {
+		super(name);
+	}
+
+	public static Test suite() {
+		return buildMinimalComplianceTestSuite(testClass(), F_1_8);
+	}
+
+	public static Class<?> testClass() {
+		return ProblemMessageTest.class;
+	}
+
+	private void assertMessage(DefaultProblemFactory factory, int id, int elaborationId, String[] arguments, String expected) {
+		CategorizedProblem problem = factory.createProblem("X.java".toCharArray(), id, arguments, elaborationId, arguments,
+				ProblemSeverities.Warning, 0, 0, 1, 1);
+		// the message the factory used to bind when creating the problem
+		String eager = factory.getLocalizedMessage(id, elaborationId, arguments);
+		assertEquals("Unexpected eager message", expected, eager);
+		assertEquals("Unexpected lazy message", eager, problem.getMessage());
+		assertSame("Message formatted twice", problem.getMessage(), problem.getMessage());
+	}
+
+	public void testMessageArguments() {
+		DefaultProblemFactory factory = new DefaultProblemFactory(Locale.getDefault());
+		assertMessage(factory, IProblem.UsingDeprecatedMethod, 0, new String[] { "X", "foo", "int" },
+				"The method foo(int) from the type X is deprecated");
+		// elaborated message, doubled single quotes
+		assertMessage(factory, IProblem.ForbiddenReference, IProblem.ForbiddenReference << 8 | 0x4 | 0x2, new String[] { "lib.jar", "f", "Y" },
+				"Access restriction: The field 'Y.f' is not API (restriction on required library 'lib.jar')");
+		// javadoc prefix
+		assertMessage(factory, IProblem.JavadocMissingReturnTag, 0, new String[0], "Javadoc: Missing tag for return type");
+		// missing arguments
+		assertMessage(factory, IProblem.UsingDeprecatedMethod, 0, new String[] { "X" },
+				"Cannot bind message for problem (id: 103) \"The method {1}({2}) from the type {0} is deprecated\" with arguments: {X}");
+		assertMessage(factory, IProblem.UsingDeprecatedMethod, 0, null, "The method {1}({2}) from the type {0} is deprecated");
+	}
+
+	// problems keep the templates they were created with
+	public void testMessageAfterLocaleChange() {
+		DefaultProblemFactory factory = new DefaultProblemFactory(Locale.getDefault());
+		String[] arguments = { "X", "foo", "int" };
+		CategorizedProblem problem = factory.createProblem("X.java".toCharArray(), IProblem.UsingDeprecatedMethod, arguments, arguments,
+				ProblemSeverities.Warning, 0, 0, 1, 1);
+		factory.setLocale(Locale.getDefault().equals(Locale.ENGLISH) ? Locale.FRENCH : Locale.ENGLISH);
+		assertEquals("Unexpected message", "The method foo(int) from the type X is deprecated", problem.getMessage());
+	}
+
+	private String compile(Map<String, String> options, String[] testFiles) {
+		List<CategorizedProblem> problems = new ArrayList<>();
+		Compiler compiler = new Compiler(getNameEnvironment(new String[0], null), getErrorHandlingPolicy(),
+				new CompilerOptions(options), result -> {
+					if (result.hasProblems()) {
+						for (CategorizedProblem problem : result.getAllProblems()) {
+							problems.add(problem);
+						}
+					}
+				}, getProblemFactory());
+		compiler.compile(Util.compilationUnits(testFiles));
+		// the units are cleaned up by now, only the problems remain
+		StringBuilder buffer = new StringBuilder();
+		for (CategorizedProblem problem : problems) {
+			buffer.append(new String(problem.getOriginatingFileName())).append(':').append(problem.getSourceLineNumber())
+					.append(problem.isError() ? " ERROR " : " WARNING ").append(problem.getMessage()).append('\n');
+		}
+		return buffer.toString();
+	}
+
+	private static final String[] DEPRECATED_AND_RAW = {
+		"Y.java",
+		"public class Y {\n" +
+		"	@Deprecated public static void foo(int i) {}\n" +
+		"	@Deprecated public static int f;\n" +
+		"}\n",
+		"X.java",
+		"import java.util.List;\n" +
+		"public class X {\n" +
+		"	List list;\n" +
+		"	void bar() {\n" +
+		"		Y.foo(Y.f);\n" +
+		"		String s = 1;\n" +
+		"	}\n" +
+		"}\n"
+	};
+
+	public void testMessagesAfterCompilation() {
+		Map<String, String> options = getCompilerOptions();
+		options.put(CompilerOptions.OPTION_ReportRawTypeReference, CompilerOptions.WARNING);
+		options.put(CompilerOptions.OPTION_ReportDeprecation, CompilerOptions.WARNING);
+		assertEquals("Unexpected problems",
+				"X.java:3 WARNING List is a raw type. References to generic type List<E> should be parameterized\n" +
+				"X.java:5 WARNING The method foo(int) from the type Y is deprecated\n" +
+				"X.java:5 WARNING The field Y.f is deprecated\n" +
+				"X.java:6 ERROR Type mismatch: cannot convert from int to String\n",
+				compile(options, DEPRECATED_AND_RAW));
+	}
+
+	public void testIgnoredWarnings() {
+		Map<String, String> options = getCompilerOptions();
+		options.put(CompilerOptions.OPTION_ReportRawTypeReference, CompilerOptions.IGNORE);
+		options.put(CompilerOptions.OPTION_ReportDeprecation, CompilerOptions.IGNORE);
+		assertEquals("Unexpected problems",
+				"X.java:6 ERROR Type mismatch: cannot convert from int to String\n",
+				compile(options, DEPRECATED_AND_RAW));
+	}
+}
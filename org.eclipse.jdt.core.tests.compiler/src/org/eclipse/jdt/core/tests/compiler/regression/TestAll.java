@@ -26,6 +26,7 @@ package org.eclipse.jdt.core.tests.compiler.regression;
 import java.util.ArrayList;
 import junit.framework.Test;
 import junit.framework.TestSuite;
+import org.eclipse.jdt.core.tests.compiler.util.FileCharContentTest;
 import org.eclipse.jdt.core.tests.compiler.util.HashtableOfObjectTest;
 import org.eclipse.jdt.core.tests.compiler.util.JrtUtilTest;
 import org.eclipse.jdt.core.tests.dom.StandAloneASTParserTest;
@@ -80,6 +81,15 @@ public static Test suite() {
 		standardTests.add(NullReferenceImplTests.class);
 	}
 	standardTests.add(CompilerInvocationTests.class);
+	standardTests.add(OperatorOverloadCacheTest.class);
+	standardTests.add(OperatorChainTest.class);
+	standardTests.add(InferenceCacheTest.class);
+	standardTests.add(MethodLookupCacheTest.class);
+	standardTests.add(CompilationWavesTest.class);
+	standardTests.add(JarIndexTest.class);
+	standardTests.add(BinaryTypeCacheTest.class);
+	standardTests.add(CompileServerTest.class);
+	standardTests.add(ProblemMessageTest.class);
 	standardTests.add(InnerEmulationTest.class);
 	standardTests.add(SuperTypeTest.class);
 	standardTests.add(ForStatementTest.class);
@@ -267,6 +277,7 @@ public static Test suite() {
 	all.addTest(new TestSuite(StandAloneASTParserTest.class));
 	all.addTest(new TestSuite(HashtableOfObjectTest.class));
 	all.addTest(new TestSuite(JrtUtilTest.class));
+	all.addTest(new TestSuite(FileCharContentTest.class));
 	int possibleComplianceLevels = AbstractCompilerTest.getPossibleComplianceLevels();
 
 	if ((possibleComplianceLevels & AbstractCompilerTest.F_1_8) != 0) {
@@ -0,0 +1,110 @@
+package org.eclipse.jdt.core.tests.compiler.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Random;
+import org.eclipse.jdt.core.tests.junit.extension.TestCase;
+import org.eclipse.jdt.internal.compiler.util.Util;
+import org.junit.Test;
+
+/**
+ * Checks that {@link Util#getFileCharContent(File, String)} decodes UTF-8 and US-ASCII files as
+ * {@link Util#getBytesAsCharArray(byte[], String)} does, for small sources and large generated ones.
+ */
+public class FileCharContentTest extends TestCase {
+
+	private static final byte[] BOM = { (byte) 0xEF, (byte) 0xBB, (byte) 0xBF };
+	private static final int LARGE = 256 * 1024;
+
+	public FileCharContentTest(String name) {
+		super(name);
+	}
+
+	private static byte[] ascii(int length) {
+		byte[] bytes = new byte[length];
+		for (int i = 0; i < length; i++) {
+			bytes[i] = (byte) (i % 80 == 79 ? '\n' : 'a' + i % 26);
+		}
+		return bytes;
+	}
+
+	private static byte[] concat(byte[]... parts) {
+		int length = 0;
+		for (byte[] part : parts) {
+			length += part.length;
+		}
+		byte[] result = new byte[length];
+		int offset = 0;
+		for (byte[] part : parts) {
+			System.arraycopy(part, 0, result, offset, part.length);
+			offset += part.length;
+		}
+		return result;
+	}
+
+	private void assertDecoded(String name, byte[] bytes) throws IOException {
+		File file = File.createTempFile("source", ".java");
+		try {
+			Files.write(file.toPath(), bytes);
+			for (String encoding : new String[] { "UTF-8", "US-ASCII" }) {
+				char[] expected = Util.getBytesAsCharArray(bytes, encoding);
+				char[] actual = Util.getFileCharContent(file, encoding);
+				if (!Arrays.equals(expected, actual)) {
+					fail("Unexpected content of " + name + " (" + bytes.length + " bytes) in " + encoding);
+				}
+			}
+		} finally {
+			file.delete();
+		}
+	}
+
+	private void assertDecoded(String name, byte[] prefix, byte[] suffix) throws IOException {
+		assertDecoded(name, concat(prefix, suffix));
+		assertDecoded(name + " after a large ASCII prefix", concat(ascii(LARGE), prefix, suffix));
+		assertDecoded(name + " with BOM", concat(BOM, prefix, suffix));
+		assertDecoded(name + " with BOM and a large ASCII prefix", concat(BOM, ascii(LARGE), prefix, suffix));
+	}
+
+	@Test
+	public void testAscii() throws IOException {
+		assertDecoded("empty", new byte[0]);
+		assertDecoded("BOM only", BOM);
+		assertDecoded("ASCII", ascii(100), new byte[0]);
+	}
+
+	@Test
+	public void testNonAscii() throws IOException {
+		byte[] text = "class \u00C9t\u00E9 { String s = \"\u20AC \uD83D\uDE00\"; }\n".getBytes(StandardCharsets.UTF_8);
+		assertDecoded("non-ASCII", text, ascii(100));
+		assertDecoded("trailing non-ASCII", ascii(100), text);
+	}
+
+	@Test
+	public void testMalformed() throws IOException {
+		byte[][] malformed = {
+			{ (byte) 0xFF },
+			{ (byte) 0xC3 }, // truncated two-byte sequence
+			{ (byte) 0xE2, (byte) 0x82 }, // truncated three-byte sequence
+			{ (byte) 0xC0, (byte) 0x80 }, // overlong NUL
+			{ (byte) 0xED, (byte) 0xA0, (byte) 0x80 }, // lone surrogate
+			{ (byte) 0xF4, (byte) 0x90, (byte) 0x80, (byte) 0x80 }, // above U+10FFFF
+		};
+		for (byte[] bytes : malformed) {
+			assertDecoded("malformed " + Arrays.toString(bytes), ascii(10), bytes);
+			assertDecoded("trailing malformed " + Arrays.toString(bytes), bytes, ascii(10));
+		}
+	}
+
+	@Test
+	public void testRandom() throws IOException {
+		Random random = new Random(42);
+		for (int i = 0; i < 8; i++) {
+			byte[] bytes = new byte[i < 4 ? 1000 : LARGE + 1000];
+			random.nextBytes(bytes);
+			assertDecoded("random bytes " + i, bytes);
+		}
+	}
+}
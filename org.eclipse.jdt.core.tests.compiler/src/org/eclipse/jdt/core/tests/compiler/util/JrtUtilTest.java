@@ -18,11 +18,16 @@ import java.io.IOException;
 import java.net.URI;
 import java.nio.file.FileSystem;
 import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.Arrays;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.tests.junit.extension.TestCase;
+import org.eclipse.jdt.core.tests.util.Util;
 import org.eclipse.jdt.internal.compiler.impl.CompilerOptions;
 import org.eclipse.jdt.internal.compiler.util.JRTUtil;
+import org.eclipse.jdt.internal.compiler.util.JrtFileSystem;
 import org.junit.Before;
 import org.junit.Test;
 
@@ -88,6 +93,40 @@ public class JrtUtilTest extends TestCase {
 		}
 	}
 
+	@Test
+	public void testSnapshot() throws Exception {
+		Path directory = Files.createTempDirectory("jrt-snapshot");
+		System.setProperty("org.eclipse.jdt.JRT_snapshot_directory", directory.toString());
+		try {
+			JRTUtil.reset();
+			JrtFileSystem walked = JRTUtil.getJrtSystem(this.image, null);
+			byte[] object = JRTUtil.getClassfileContent(walked, "java/lang/Object.class", "java.base");
+			assertNotNull(object);
+			walked.saveSnapshot();
+			assertEquals("Unexpected snapshot files", 1, directory.toFile().list().length);
+
+			JRTUtil.reset();
+			JrtFileSystem loaded = JRTUtil.getJrtSystem(this.image, null);
+			assertNotSame(walked, loaded);
+			assertEquals(walked.getKnownModules(), loaded.getKnownModules());
+			assertTrue(loaded.getKnownModules().contains("java.base"));
+			assertEquals(walked.getModulesDeclaringPackage("java.lang", null), loaded.getModulesDeclaringPackage("java.lang", null));
+			assertTrue(JRTUtil.hasCompilationUnit(loaded, "java/util", "java.base"));
+			assertFalse(JRTUtil.hasCompilationUnit(loaded, "java/util", "java.sql"));
+			// from the snapshot:
+			assertTrue(Arrays.equals(object, JRTUtil.getClassfileContent(loaded, "java/lang/Object.class", "java.base")));
+			// not yet in the snapshot:
+			assertNotNull(JRTUtil.getClassfileContent(loaded, "java/lang/String.class", "java.base"));
+			assertNull(JRTUtil.getClassfileContent(loaded, "java/lang/DoesNotExist.class", "java.base"));
+			assertEquals("jrt:/java.base/java/lang/Object.class",
+					JRTUtil.getClassfile(this.image, "java/lang/Object.class", "java.base").getURI().toString());
+		} finally {
+			System.clearProperty("org.eclipse.jdt.JRT_snapshot_directory");
+			JRTUtil.reset();
+			Util.delete(directory.toFile());
+		}
+	}
+
 	private static int getMajorVersionSegment(String releaseVersion) {
 		int dot = releaseVersion.indexOf('.');
 		if (dot > 0) {